@@ -0,0 +1,382 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a <code>GeneratedServiceBinding</code> for every class annotated with <code>@UpnpService</code>, so the
+ * <code>AnnotationLocalServiceBinder</code> doesn't have to scan the class hierarchy with reflection when a service
+ * is bound at runtime.
+ * <p>
+ * The binding is a class in the package of the service class, named after the service class with the suffix
+ * <code>_ServiceBinding</code>. It lists the annotated fields and action methods, and reads or calls them directly
+ * when they are accessible from that package, the others are still accessed with reflection. The processor doesn't
+ * interpret the annotations: datatypes, allowed values and arguments are still bound and validated at runtime by the
+ * same binders, so the service metadata is the same with or without the processor. If a class can't be bound by
+ * generated code, for example because a superclass isn't accessible, no binding is generated and the runtime falls
+ * back to reflection.
+ * </p>
+ * <p>
+ * Add the <code>org.jupnp.processor</code> artifact to the annotation processor path of the compiler to use it.
+ * </p>
+ */
+@SupportedAnnotationTypes(ServiceBindingProcessor.UPNP_SERVICE)
+public class ServiceBindingProcessor extends AbstractProcessor {
+
+    static final String UPNP_SERVICE = "org.jupnp.binding.annotations.UpnpService";
+    static final String UPNP_STATE_VARIABLE = "org.jupnp.binding.annotations.UpnpStateVariable";
+    static final String UPNP_STATE_VARIABLES = "org.jupnp.binding.annotations.UpnpStateVariables";
+    static final String UPNP_ACTION = "org.jupnp.binding.annotations.UpnpAction";
+    static final String GENERATED_SERVICE_BINDING = "org.jupnp.binding.annotations.GeneratedServiceBinding";
+    static final String SUFFIX = "_ServiceBinding";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement upnpService = processingEnv.getElementUtils().getTypeElement(UPNP_SERVICE);
+        if (upnpService == null) {
+            return false;
+        }
+        // Includes the subclasses of annotated classes, @UpnpService is @Inherited
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(upnpService))) {
+            if (type.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            try {
+                generate(type);
+            } catch (UnsupportedServiceException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "No service binding generated, reflection will be used at runtime: " + e.getMessage(), type);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Could not write service binding: " + e, type);
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement type) throws UnsupportedServiceException, IOException {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        requireAccessible(type, pkg);
+
+        List<String> stateVariables = new ArrayList<>();
+        List<String> actions = new ArrayList<>();
+
+        AnnotationMirror declared = getAnnotation(processingEnv.getElementUtils().getAllAnnotationMirrors(type),
+                UPNP_STATE_VARIABLES);
+        if (declared != null) {
+            List<?> values = (List<?>) getValue(declared, "value");
+            boolean preferFields = (Boolean) getValue(declared, "preferFields");
+            for (int i = 0; i < values.size(); i++) {
+                AnnotationMirror stateVariable = (AnnotationMirror) ((AnnotationValue) values.get(i)).getValue();
+                String name = (String) getValue(stateVariable, "name");
+                String accessor = name.isEmpty() ? "null" : createDeclaredAccessor(type, pkg, name, preferFields);
+                stateVariables.add("stateVariables.declared(" + className(type) + ".class, " + i + ", " + accessor
+                        + ");");
+            }
+        }
+
+        for (TypeElement current = type; current != null; current = getSuperclass(current)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (getAnnotation(field.getAnnotationMirrors(), UPNP_STATE_VARIABLE) != null) {
+                    requireAccessible(current, pkg);
+                    stateVariables.add("stateVariables.field(" + className(current) + ".class, \""
+                            + field.getSimpleName() + "\", " + createReader(field, pkg) + ");");
+                }
+            }
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (getAnnotation(method.getAnnotationMirrors(), UPNP_ACTION) != null) {
+                    requireAccessible(current, pkg);
+                    actions.add(createAction(method, pkg));
+                }
+            }
+        }
+
+        String serviceClassName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String bindingName = serviceClassName.substring(serviceClassName.lastIndexOf('.') + 1).replace('$', '_')
+                + SUFFIX;
+        String qualifiedBindingName = pkg.isUnnamed() ? bindingName : pkg.getQualifiedName() + "." + bindingName;
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedBindingName, type).openWriter()) {
+            if (!pkg.isUnnamed()) {
+                writer.write("package " + pkg.getQualifiedName() + ";\n\n");
+            }
+            writer.write("import " + GENERATED_SERVICE_BINDING + ";\n\n");
+            writer.write("/**\n * Generated by the jUPnP annotation processor from {@link " + className(type)
+                    + "}, do not edit.\n */\n");
+            writer.write("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+            writer.write("public final class " + bindingName + " extends GeneratedServiceBinding {\n\n");
+            writer.write("    public " + bindingName + "() {\n");
+            writer.write("        super(" + className(type) + ".class);\n    }\n\n");
+            writer.write("    @Override\n    protected void bindStateVariables(StateVariables stateVariables)\n");
+            writer.write("            throws ReflectiveOperationException, "
+                    + "org.jupnp.binding.LocalServiceBindingException {\n");
+            for (String statement : stateVariables) {
+                writer.write("        " + statement + "\n");
+            }
+            writer.write("    }\n\n");
+            writer.write("    @Override\n    protected void bindActions(Actions actions)\n");
+            writer.write("            throws ReflectiveOperationException, "
+                    + "org.jupnp.binding.LocalServiceBindingException {\n");
+            for (String statement : actions) {
+                writer.write("        " + statement + "\n");
+            }
+            writer.write("    }\n}\n");
+        }
+    }
+
+    /**
+     * The accessor of a class-level state variable, a getter or field of the service class or its superclasses,
+     * like <code>AnnotationLocalServiceBinder</code> finds it.
+     */
+    private String createDeclaredAccessor(TypeElement type, PackageElement pkg, String name, boolean preferFields)
+            throws UnsupportedServiceException {
+        String propertyName = name.substring(0, 1).toLowerCase(Locale.ENGLISH) + name.substring(1);
+        ExecutableElement getter = findGetter(type, propertyName);
+        VariableElement field = findField(type, propertyName);
+        if (field != null && (getter == null || preferFields)) {
+            TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+            requireAccessible(declaringType, pkg);
+            return "stateVariables.accessor(" + className(declaringType) + ".class.getDeclaredField(\""
+                    + field.getSimpleName() + "\"), " + createReader(field, pkg) + ")";
+        } else if (getter != null) {
+            TypeElement declaringType = (TypeElement) getter.getEnclosingElement();
+            requireAccessible(declaringType, pkg);
+            String reader = "null";
+            if (getter.getReturnType().getKind() != TypeKind.VOID && isDirectlyCallable(getter, pkg)) {
+                reader = "instance -> ((" + className(declaringType) + ") instance)." + getter.getSimpleName()
+                        + "()";
+            }
+            return "stateVariables.accessor(" + className(declaringType) + ".class.getDeclaredMethod(\""
+                    + getter.getSimpleName() + "\"), " + reader + ")";
+        }
+        return "null";
+    }
+
+    private String createReader(VariableElement field, PackageElement pkg) {
+        if (field.getModifiers().contains(Modifier.STATIC) || !isAccessible(field, pkg)) {
+            return "null";
+        }
+        return "instance -> ((" + className((TypeElement) field.getEnclosingElement()) + ") instance)."
+                + field.getSimpleName();
+    }
+
+    private String createAction(ExecutableElement method, PackageElement pkg) throws UnsupportedServiceException {
+        TypeElement declaringType = (TypeElement) method.getEnclosingElement();
+        StringBuilder parameterTypes = new StringBuilder();
+        StringBuilder arguments = new StringBuilder();
+        List<? extends VariableElement> parameters = method.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            TypeMirror parameterType = parameters.get(i).asType();
+            String parameterTypeName = typeName(parameterType, pkg);
+            parameterTypes.append(i > 0 ? ", " : "").append(parameterTypeName).append(".class");
+            arguments.append(i > 0 ? ", " : "");
+            if (parameterType.getKind().isPrimitive()) {
+                arguments.append(parameterTypeName).append("Value(arguments[").append(i).append("])");
+            } else {
+                arguments.append("(").append(parameterTypeName).append(") arguments[").append(i).append("]");
+            }
+        }
+
+        String invoker = "null";
+        if (isDirectlyCallable(method, pkg)) {
+            String call = "((" + className(declaringType) + ") instance)." + method.getSimpleName() + "(" + arguments
+                    + ")";
+            invoker = method.getReturnType().getKind() == TypeKind.VOID
+                    ? "(instance, arguments) -> {\n            " + call + ";\n            return null;\n        }"
+                    : "(instance, arguments) -> " + call;
+        }
+        return "actions.method(" + className(declaringType) + ".class, \"" + method.getSimpleName() + "\", "
+                + (parameters.isEmpty() ? "new Class<?>[0]" : "new Class<?>[] { " + parameterTypes + " }") + ", "
+                + invoker + ");";
+    }
+
+    /**
+     * Whether generated code in the package can call the method directly, instead of with reflection.
+     */
+    private boolean isDirectlyCallable(ExecutableElement method, PackageElement pkg) {
+        if (method.getModifiers().contains(Modifier.STATIC) || !isAccessible(method, pkg)) {
+            return false;
+        }
+        TypeMirror exception = processingEnv.getElementUtils().getTypeElement("java.lang.Exception").asType();
+        for (TypeMirror thrownType : method.getThrownTypes()) {
+            if (!processingEnv.getTypeUtils().isAssignable(thrownType, exception)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Like <code>Reflections.getGetterMethod()</code>: the first method without parameters named "get" or "is" and
+     * the capitalized property name, in the class or its superclasses.
+     */
+    private ExecutableElement findGetter(TypeElement type, String propertyName) {
+        for (TypeElement current = type; current != null; current = getSuperclass(current)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                String methodName = method.getSimpleName().toString();
+                if (!method.getParameters().isEmpty()) {
+                    continue;
+                }
+                if ((methodName.startsWith("get") && decapitalize(methodName.substring(3)).equals(propertyName))
+                        || (methodName.startsWith("is")
+                                && decapitalize(methodName.substring(2)).equals(propertyName))) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    private VariableElement findField(TypeElement type, String name) {
+        for (TypeElement current = type; current != null; current = getSuperclass(current)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getSimpleName().contentEquals(name)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The superclass, or <code>null</code> for <code>java.lang.Object</code>, like the runtime scan.
+     */
+    private TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement superType = (TypeElement) ((DeclaredType) superclass).asElement();
+        return superType.getQualifiedName().contentEquals("java.lang.Object") ? null : superType;
+    }
+
+    private boolean isAccessible(Element member, PackageElement pkg) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        return modifiers.contains(Modifier.PUBLIC)
+                || processingEnv.getElementUtils().getPackageOf(member).equals(pkg);
+    }
+
+    private void requireAccessible(TypeElement type, PackageElement pkg) throws UnsupportedServiceException {
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            TypeElement currentType = (TypeElement) current;
+            if (currentType.getNestingKind() == NestingKind.LOCAL
+                    || currentType.getNestingKind() == NestingKind.ANONYMOUS || !isAccessible(currentType, pkg)) {
+                throw new UnsupportedServiceException("Class is not accessible: " + type);
+            }
+        }
+    }
+
+    /**
+     * @return The erased source name of a parameter type, which must be accessible for the generated class literal
+     *         and cast.
+     */
+    private String typeName(TypeMirror type, PackageElement pkg) throws UnsupportedServiceException {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        switch (erasure.getKind()) {
+            case ARRAY:
+                return typeName(((ArrayType) erasure).getComponentType(), pkg) + "[]";
+            case DECLARED:
+                TypeElement element = (TypeElement) ((DeclaredType) erasure).asElement();
+                requireAccessible(element, pkg);
+                return className(element);
+            default:
+                if (erasure.getKind().isPrimitive()) {
+                    return erasure.getKind().name().toLowerCase(Locale.ENGLISH);
+                }
+                throw new UnsupportedServiceException("Unsupported parameter type: " + type);
+        }
+    }
+
+    private static String className(TypeElement type) {
+        return type.getQualifiedName().toString();
+    }
+
+    private static AnnotationMirror getAnnotation(List<? extends AnnotationMirror> annotations, String name) {
+        for (AnnotationMirror annotation : annotations) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(name)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private Object getValue(AnnotationMirror annotation, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv.getElementUtils()
+                .getElementValuesWithDefaults(annotation).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Same as <code>Reflections.decapitalize()</code>.
+     */
+    static String decapitalize(String name) {
+        if (name.isEmpty() || (name.length() > 1 && Character.isUpperCase(name.charAt(1)))) {
+            return name;
+        }
+        char[] chars = name.toCharArray();
+        chars[0] = Character.toLowerCase(chars[0]);
+        return new String(chars);
+    }
+
+    private static class UnsupportedServiceException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedServiceException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jupnp.binding.annotations.AnnotationLocalServiceBinder;
+import org.jupnp.binding.annotations.GeneratedServiceBinding;
+import org.jupnp.binding.xml.UDA10ServiceDescriptorBinderImpl;
+import org.jupnp.model.DefaultServiceManager;
+import org.jupnp.model.ValidationException;
+import org.jupnp.model.action.ActionInvocation;
+import org.jupnp.model.action.MethodActionExecutor;
+import org.jupnp.model.meta.DeviceDetails;
+import org.jupnp.model.meta.DeviceIdentity;
+import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.model.state.FieldStateVariableAccessor;
+import org.jupnp.model.state.GetterStateVariableAccessor;
+import org.jupnp.model.types.UDADeviceType;
+import org.jupnp.model.types.UDN;
+import org.jupnp.model.types.UnsignedIntegerFourBytes;
+
+/**
+ * Compiles the example services in the test resources with and without the processor, and binds them.
+ */
+class ServiceBindingProcessorTest {
+
+    static final String[] SOURCES = { "example/processor/AbstractLight.java", "example/processor/Light.java" };
+
+    @TempDir
+    static Path tempDir;
+
+    static ClassLoader generated;
+    static ClassLoader reflective;
+
+    @BeforeAll
+    static void compile() throws Exception {
+        Path sources = tempDir.resolve("src");
+        for (String source : SOURCES) {
+            Path file = sources.resolve(source);
+            Files.createDirectories(file.getParent());
+            try (InputStream in = ServiceBindingProcessorTest.class.getClassLoader().getResourceAsStream(source)) {
+                Files.copy(in, file);
+            }
+        }
+        generated = compile(sources, tempDir.resolve("generated"), true);
+        reflective = compile(sources, tempDir.resolve("reflective"), false);
+    }
+
+    @Test
+    void bindingsGenerated() throws Exception {
+        assertNotNull(GeneratedServiceBinding.find(generated.loadClass("example.processor.Light")));
+        assertNotNull(GeneratedServiceBinding.find(generated.loadClass("example.processor.Light$Nested")));
+        assertNotNull(generated.loadClass("example.processor.Light_Nested_ServiceBinding"));
+
+        // Private classes, abstract classes without @UpnpService and classes compiled without the processor
+        assertNull(GeneratedServiceBinding.find(generated.loadClass("example.processor.Light$Hidden")));
+        assertNull(GeneratedServiceBinding.find(generated.loadClass("example.processor.AbstractLight")));
+        assertNull(GeneratedServiceBinding.find(reflective.loadClass("example.processor.Light")));
+    }
+
+    @Test
+    void sameMetadataAsReflection() throws Exception {
+        for (String className : new String[] { "example.processor.Light", "example.processor.Light$Nested",
+                "example.processor.Light$Hidden" }) {
+            LocalService<?> withBinding = read(generated.loadClass(className));
+            LocalService<?> withReflection = read(reflective.loadClass(className));
+            // The descriptor needs the UDA version of the device
+            createDevice(withBinding);
+            createDevice(withReflection);
+
+            UDA10ServiceDescriptorBinderImpl descriptorBinder = new UDA10ServiceDescriptorBinderImpl();
+            assertEquals(split(descriptorBinder.generate(withReflection)),
+                    split(descriptorBinder.generate(withBinding)));
+            assertEquals(withReflection.getStringConvertibleTypes(), withBinding.getStringConvertibleTypes());
+        }
+    }
+
+    @Test
+    void accessibleMembersCalledDirectly() throws Exception {
+        LocalService<?> service = read(generated.loadClass("example.processor.Light"));
+
+        assertNotSame(MethodActionExecutor.class, service.getExecutor("SetTarget").getClass());
+        assertNotSame(MethodActionExecutor.class, service.getExecutor("Play").getClass());
+        assertNotSame(MethodActionExecutor.class, service.getExecutor("GetStatus").getClass());
+
+        // Package-private field of the superclass, public field and getter, private field
+        assertNotSame(FieldStateVariableAccessor.class, service.getAccessor("Status").getClass());
+        assertNotSame(FieldStateVariableAccessor.class, service.getAccessor("Mode").getClass());
+        assertNotSame(GetterStateVariableAccessor.class, service.getAccessor("Brightness").getClass());
+        assertSame(FieldStateVariableAccessor.class, service.getAccessor("Target").getClass());
+        assertNull(service.getAccessor("A_ARG_TYPE_Uri"));
+    }
+
+    @Test
+    void invokeActions() throws Exception {
+        for (ClassLoader classLoader : Arrays.asList(generated, reflective)) {
+            Class serviceClass = classLoader.loadClass("example.processor.Light");
+            LocalService service = read(serviceClass);
+            service.setManager(new DefaultServiceManager(service, serviceClass));
+
+            ActionInvocation invocation = execute(service, "SetTarget", "NewTargetValue", true);
+            assertNull(invocation.getFailure());
+            invocation = execute(service, "GetStatus");
+            assertEquals(true, invocation.getOutput("ResultStatus").getValue());
+            invocation = execute(service, "GetTarget");
+            assertEquals(true, invocation.getOutput("RetTargetValue").getValue());
+
+            assertNull(execute(service, "SetBrightness", "NewBrightness", 42).getFailure());
+            assertEquals(42, service.getAccessor("Brightness").read(service.getManager().getImplementation()));
+
+            assertNull(execute(service, "SetMode", "NewMode", "PARTY", "Duration", new UnsignedIntegerFourBytes(60))
+                    .getFailure());
+            invocation = execute(service, "GetSettings");
+            assertEquals("PARTY", invocation.getOutput("Mode").getValue());
+            assertEquals(60L, ((UnsignedIntegerFourBytes) invocation.getOutput("Duration").getValue()).getValue());
+
+            // Exceptions of the method fail the action
+            invocation = execute(service, "SetMode", "NewMode", "DISCO");
+            assertNotNull(invocation.getFailure());
+            assertTrue(invocation.getFailure().getMessage().contains("DISCO"), invocation.getFailure().getMessage());
+
+            assertNull(execute(service, "Play", "Uri", "http://192.168.1.2/song.mp3").getFailure());
+            Object implementation = service.getManager().getImplementation();
+            assertEquals(URI.create("http://192.168.1.2/song.mp3"),
+                    implementation.getClass().getMethod("getLastUri").invoke(implementation));
+        }
+    }
+
+    static LocalService<?> read(Class<?> serviceClass) throws Exception {
+        return new AnnotationLocalServiceBinder().read(serviceClass);
+    }
+
+    /**
+     * @return The sorted elements of a service descriptor, actions and state variables are in hash order.
+     */
+    static List<String> split(String descriptor) {
+        List<String> elements = Arrays
+                .asList(descriptor.split("(?=<action>|<stateVariable |</actionList>|</serviceStateTable>)"));
+        Collections.sort(elements);
+        return elements;
+    }
+
+    static LocalDevice createDevice(LocalService<?> service) throws ValidationException {
+        return new LocalDevice(new DeviceIdentity(UDN.uniqueSystemIdentifier("Light")),
+                new UDADeviceType("Light", 1), new DeviceDetails("Light"), service);
+    }
+
+    static ActionInvocation execute(LocalService service, String action, Object... input) {
+        ActionInvocation invocation = new ActionInvocation(service.getAction(action));
+        for (int i = 0; i < input.length; i += 2) {
+            invocation.setInput((String) input[i], input[i + 1]);
+        }
+        service.getExecutor(invocation.getAction()).execute(invocation);
+        return invocation;
+    }
+
+    static ClassLoader compile(Path sources, Path output, boolean withProcessor) throws IOException {
+        Files.createDirectories(output);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<File> files = new ArrayList<>();
+            for (String source : SOURCES) {
+                files.add(sources.resolve(source).toFile());
+            }
+            List<String> options = new ArrayList<>(Arrays.asList("-d", output.toString(), "-s", output.toString(),
+                    "-classpath", System.getProperty("java.class.path")));
+            if (!withProcessor) {
+                options.add("-proc:none");
+            }
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(files));
+            if (withProcessor) {
+                task.setProcessors(List.of(new ServiceBindingProcessor()));
+            }
+            boolean success = task.call();
+            StringBuilder messages = new StringBuilder();
+            for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
+                messages.append(diagnostic).append('\n');
+            }
+            assertTrue(success, messages.toString());
+        }
+        return new URLClassLoader(new URL[] { output.toUri().toURL() },
+                ServiceBindingProcessorTest.class.getClassLoader());
+    }
+}
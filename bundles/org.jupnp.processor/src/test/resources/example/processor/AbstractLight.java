@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package example.processor;
+
+import org.jupnp.binding.annotations.UpnpAction;
+import org.jupnp.binding.annotations.UpnpOutputArgument;
+import org.jupnp.binding.annotations.UpnpStateVariable;
+
+public abstract class AbstractLight {
+
+    @UpnpStateVariable(defaultValue = "0")
+    boolean status;
+
+    @UpnpAction(out = @UpnpOutputArgument(name = "ResultStatus"))
+    public boolean getStatus() {
+        return status;
+    }
+}
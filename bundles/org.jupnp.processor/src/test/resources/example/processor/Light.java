@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package example.processor;
+
+import java.net.URI;
+
+import org.jupnp.binding.annotations.UpnpAction;
+import org.jupnp.binding.annotations.UpnpInputArgument;
+import org.jupnp.binding.annotations.UpnpOutputArgument;
+import org.jupnp.binding.annotations.UpnpService;
+import org.jupnp.binding.annotations.UpnpServiceId;
+import org.jupnp.binding.annotations.UpnpServiceType;
+import org.jupnp.binding.annotations.UpnpStateVariable;
+import org.jupnp.binding.annotations.UpnpStateVariables;
+import org.jupnp.model.types.UnsignedIntegerFourBytes;
+
+@UpnpService(serviceId = @UpnpServiceId("Light"), serviceType = @UpnpServiceType(value = "Light", version = 1))
+@UpnpStateVariables(preferFields = false, value = {
+        @UpnpStateVariable(name = "Brightness", datatype = "i4", sendEvents = false),
+        @UpnpStateVariable(name = "A_ARG_TYPE_Uri", datatype = "string", sendEvents = false) })
+public class Light extends AbstractLight {
+
+    public enum Mode {
+        NORMAL,
+        PARTY
+    }
+
+    @UpnpStateVariable(defaultValue = "0", sendEvents = false)
+    private boolean target;
+
+    @UpnpStateVariable(sendEvents = false)
+    public Mode mode = Mode.NORMAL;
+
+    @UpnpStateVariable(sendEvents = false, allowedValueMinimum = 0, allowedValueMaximum = 3600)
+    private UnsignedIntegerFourBytes duration = new UnsignedIntegerFourBytes(0);
+
+    private int brightness;
+
+    private URI lastUri;
+
+    public int getBrightness() {
+        return brightness;
+    }
+
+    @UpnpAction
+    public void setTarget(@UpnpInputArgument(name = "NewTargetValue") boolean newTargetValue) {
+        target = newTargetValue;
+        status = newTargetValue;
+    }
+
+    @UpnpAction(out = @UpnpOutputArgument(name = "RetTargetValue"))
+    public boolean getTarget() {
+        return target;
+    }
+
+    @UpnpAction
+    public void setBrightness(@UpnpInputArgument(name = "NewBrightness", stateVariable = "Brightness") int value) {
+        brightness = value;
+    }
+
+    @UpnpAction
+    public void setMode(@UpnpInputArgument(name = "NewMode") String mode, @UpnpInputArgument(name = "Duration")
+            UnsignedIntegerFourBytes duration) throws Exception {
+        this.mode = Mode.valueOf(mode);
+        this.duration = duration;
+    }
+
+    @UpnpAction(out = { @UpnpOutputArgument(name = "Mode", getterName = "getMode"),
+            @UpnpOutputArgument(name = "Duration", getterName = "getDuration") })
+    public void getSettings() {
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public UnsignedIntegerFourBytes getDuration() {
+        return duration;
+    }
+
+    @UpnpAction
+    public void play(@UpnpInputArgument(name = "Uri", stateVariable = "A_ARG_TYPE_Uri") URI uri) {
+        lastUri = uri;
+    }
+
+    public URI getLastUri() {
+        return lastUri;
+    }
+
+    @UpnpService(serviceId = @UpnpServiceId("Nested"), serviceType = @UpnpServiceType(value = "Nested", version = 1))
+    public static class Nested {
+
+        @UpnpStateVariable(sendEvents = false)
+        private String text;
+
+        @UpnpAction
+        public void setText(@UpnpInputArgument(name = "NewText") String text) {
+            this.text = text;
+        }
+    }
+
+    @UpnpService(serviceId = @UpnpServiceId("Hidden"), serviceType = @UpnpServiceType(value = "Hidden", version = 1))
+    private static class Hidden {
+
+        @UpnpStateVariable(sendEvents = false)
+        private String text;
+
+        @UpnpAction
+        public void setText(@UpnpInputArgument(name = "NewText") String text) {
+            this.text = text;
+        }
+    }
+}
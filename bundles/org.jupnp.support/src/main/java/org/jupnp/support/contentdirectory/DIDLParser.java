@@ -22,10 +22,8 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.net.URI;
 
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
@@ -45,6 +43,7 @@ import org.jupnp.support.model.container.Container;
 import org.jupnp.support.model.item.Item;
 import org.jupnp.util.io.IO;
 import org.jupnp.xml.SAXParser;
+import org.jupnp.xml.XMLFactories;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -300,12 +299,10 @@ public class DIDLParser extends SAXParser {
     // TODO: Yes, this only runs on Android 2.2
 
     protected String documentToString(Document document, boolean omitProlog) throws Exception {
-        TransformerFactory transFactory = TransformerFactory.newInstance();
-
         // Indentation not supported on Android 2.2
         // transFactory.setAttribute("indent-number", 4);
 
-        Transformer transformer = transFactory.newTransformer();
+        Transformer transformer = XMLFactories.newTransformer();
 
         if (omitProlog) {
             // TODO: UPNP VIOLATION: Terratec Noxon Webradio fails when DIDL content has a prolog
@@ -325,10 +322,7 @@ public class DIDLParser extends SAXParser {
 
     protected Document buildDOM(DIDLContent content, boolean nestedItems) throws Exception {
 
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-
-        Document d = factory.newDocumentBuilder().newDocument();
+        Document d = XMLFactories.newDocument();
 
         generateRoot(content, d, nestedItems);
 
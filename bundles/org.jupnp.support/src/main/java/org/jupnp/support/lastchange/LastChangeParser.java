@@ -24,14 +24,13 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-
 import org.jupnp.model.XMLUtil;
 import org.jupnp.model.types.UnsignedIntegerFourBytes;
 import org.jupnp.support.shared.AbstractMap;
 import org.jupnp.util.io.IO;
 import org.jupnp.xml.DOMParser;
 import org.jupnp.xml.SAXParser;
+import org.jupnp.xml.XMLFactories;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -193,10 +192,7 @@ public abstract class LastChangeParser extends SAXParser {
 
     protected Document buildDOM(Event event) throws Exception {
 
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-
-        Document d = factory.newDocumentBuilder().newDocument();
+        Document d = XMLFactories.newDocument();
         generateRoot(event, d);
 
         return d;
@@ -17,8 +17,7 @@ package org.jupnp.support.model;
 
 import java.net.URI;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-
+import org.jupnp.xml.XMLFactories;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -91,9 +90,7 @@ public class DescMeta<M> {
 
     public Document createMetadataDocument() {
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            Document d = factory.newDocumentBuilder().newDocument();
+            Document d = XMLFactories.newDocument();
             Element rootElement = d.createElementNS(DIDLContent.DESC_WRAPPER_NAMESPACE_URI, "desc-wrapper");
             d.appendChild(rootElement);
             return d;
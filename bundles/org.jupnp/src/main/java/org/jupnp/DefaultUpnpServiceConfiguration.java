@@ -15,19 +15,24 @@
  */
 package org.jupnp;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.jupnp.binding.xml.DeviceDescriptorBinder;
 import org.jupnp.binding.xml.ServiceDescriptorBinder;
 import org.jupnp.binding.xml.UDA10DeviceDescriptorBinderImpl;
 import org.jupnp.binding.xml.UDA10ServiceDescriptorBinderImpl;
+import org.jupnp.model.Constants;
 import org.jupnp.model.ModelUtil;
 import org.jupnp.model.Namespace;
 import org.jupnp.model.message.UpnpHeaders;
@@ -55,6 +60,7 @@ import org.jupnp.transport.spi.StreamClient;
 import org.jupnp.transport.spi.StreamClientConfiguration;
 import org.jupnp.transport.spi.StreamServer;
 import org.jupnp.util.Exceptions;
+import org.jupnp.util.VirtualThreads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -69,12 +75,29 @@ import org.slf4j.LoggerFactory;
  * {@link org.jupnp.binding.xml}.
  * </p>
  * <p>
- * The thread <code>Executor</code> is an <code>Executors.newCachedThreadPool()</code> with
- * a custom {@link JUPnPThreadFactory} (it only sets a thread name).
+ * Work is isolated in a bounded thread pool per {@link ExecutorRole}, so a flood of SSDP datagrams
+ * can't starve the processing of HTTP requests, and listener callbacks don't compete with protocol
+ * work:
  * </p>
+ * <ul>
+ * <li>{@link ExecutorRole#IO} - long-running receiver loops and the registry maintainer, every task
+ * gets a dedicated thread.</li>
+ * <li>{@link ExecutorRole#DATAGRAM} - processing of received datagrams and remote listener callbacks.</li>
+ * <li>{@link ExecutorRole#ASYNC_PROTOCOL} - outgoing search and notification messages, retrieval of remote
+ * descriptors.</li>
+ * <li>{@link ExecutorRole#STREAM} - received HTTP requests, outgoing HTTP requests, control point callbacks.</li>
+ * <li>{@link ExecutorRole#LISTENER} - registry listener and subscription callbacks.</li>
+ * </ul>
  * <p>
- * Note that this pool is effectively unlimited, so the number of threads will
- * grow (and shrink) as needed - or restricted by your JVM.
+ * The size, queue capacity, and the {@link RejectionPolicy} of each pool can be customized by overriding
+ * {@link #getThreadPoolSize(ExecutorRole)}, {@link #getThreadQueueSize(ExecutorRole)} and
+ * {@link #getRejectionPolicy(ExecutorRole)}, or by overriding {@link #createExecutorService(ExecutorRole)}.
+ * Pools are created on first use, and their threads are named after the role, e.g. <code>jupnp-stream-3</code>.
+ * Usage and rejection statistics are available from {@link #getExecutorServices()}.
+ * </p>
+ * <p>
+ * On Java 21 and newer, all roles except {@link ExecutorRole#IO} can run on virtual threads instead,
+ * see {@link #isVirtualThreadsEnabled()}.
  * </p>
  * <p>
  * The default {@link org.jupnp.model.Namespace} is configured without any
@@ -101,10 +124,71 @@ public class DefaultUpnpServiceConfiguration implements UpnpServiceConfiguration
     private static final int THREAD_QUEUE_SIZE = 1000;
     private static final boolean THREAD_POOL_CORE_TIMEOUT = true;
 
+    /**
+     * The purpose of a thread pool.
+     */
+    public enum ExecutorRole {
+
+        IO("io", 64, 0, RejectionPolicy.DISCARD),
+        DATAGRAM("datagram", 16, 500, RejectionPolicy.DISCARD),
+        ASYNC_PROTOCOL("async", 32, 500, RejectionPolicy.DISCARD),
+        STREAM("stream", 64, 200, RejectionPolicy.CALLER_RUNS),
+        LISTENER("listener", 8, 1000, RejectionPolicy.CALLER_RUNS);
+
+        private final String name;
+        private final int defaultPoolSize;
+        private final int defaultQueueSize;
+        private final RejectionPolicy defaultRejectionPolicy;
+
+        ExecutorRole(String name, int defaultPoolSize, int defaultQueueSize, RejectionPolicy defaultRejectionPolicy) {
+            this.name = name;
+            this.defaultPoolSize = defaultPoolSize;
+            this.defaultQueueSize = defaultQueueSize;
+            this.defaultRejectionPolicy = defaultRejectionPolicy;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getDefaultPoolSize() {
+            return defaultPoolSize;
+        }
+
+        /**
+         * @return The capacity of the task queue, zero hands every task directly to a thread.
+         */
+        public int getDefaultQueueSize() {
+            return defaultQueueSize;
+        }
+
+        public RejectionPolicy getDefaultRejectionPolicy() {
+            return defaultRejectionPolicy;
+        }
+    }
+
+    /**
+     * What happens to a task when all threads of a pool are busy and its queue is full.
+     */
+    public enum RejectionPolicy {
+
+        /**
+         * The task is logged and dropped, the submitting thread isn't slowed down.
+         */
+        DISCARD,
+
+        /**
+         * The task runs on the submitting thread, which slows down the producer of the work.
+         */
+        CALLER_RUNS
+    }
+
     private final int streamListenPort;
     private final int multicastResponsePort;
 
-    private final ExecutorService defaultExecutorService;
+    private final Map<ExecutorRole, ExecutorService> executorServices = new EnumMap<>(ExecutorRole.class);
+    private ExecutorService defaultExecutorService;
+    private boolean executorServicesShutdown;
 
     private final DatagramProcessor datagramProcessor;
     private final SOAPActionProcessor soapActionProcessor;
@@ -147,8 +231,6 @@ public class DefaultUpnpServiceConfiguration implements UpnpServiceConfiguration
         this.streamListenPort = streamListenPort;
         this.multicastResponsePort = multicastResponsePort;
 
-        defaultExecutorService = createDefaultExecutorService();
-
         datagramProcessor = createDatagramProcessor();
         soapActionProcessor = createSOAPActionProcessor();
         genaEventProcessor = createGENAEventProcessor();
@@ -158,7 +240,8 @@ public class DefaultUpnpServiceConfiguration implements UpnpServiceConfiguration
 
         namespace = createNamespace();
 
-        configuration = new StreamClientConfigurationImpl(defaultExecutorService);
+        // The executor of this configuration is not used, see createStreamClient()
+        configuration = new StreamClientConfigurationImpl(null);
         transportConfiguration = TransportConfigurationProvider.getDefaultTransportConfiguration();
     }
 
@@ -202,17 +285,17 @@ public class DefaultUpnpServiceConfiguration implements UpnpServiceConfiguration
 
     @Override
     public ExecutorService getMulticastReceiverExecutor() {
-        return getDefaultExecutorService();
+        return getExecutorService(ExecutorRole.IO);
     }
 
     @Override
     public ExecutorService getDatagramIOExecutor() {
-        return getDefaultExecutorService();
+        return getExecutorService(ExecutorRole.IO);
     }
 
     @Override
     public ExecutorService getStreamServerExecutorService() {
-        return getDefaultExecutorService();
+        return getExecutorService(ExecutorRole.IO);
     }
 
     @Override
@@ -271,12 +354,12 @@ public class DefaultUpnpServiceConfiguration implements UpnpServiceConfiguration
 
     @Override
     public ExecutorService getAsyncProtocolExecutor() {
-        return getDefaultExecutorService();
+        return getExecutorService(ExecutorRole.ASYNC_PROTOCOL);
     }
 
     @Override
     public ExecutorService getSyncProtocolExecutorService() {
-        return getDefaultExecutorService();
+        return getExecutorService(ExecutorRole.STREAM);
     }
 
     @Override
@@ -286,17 +369,17 @@ public class DefaultUpnpServiceConfiguration implements UpnpServiceConfiguration
 
     @Override
     public Executor getRegistryMaintainerExecutor() {
-        return getDefaultExecutorService();
+        return getExecutorService(ExecutorRole.IO);
     }
 
     @Override
     public Executor getRegistryListenerExecutor() {
-        return getDefaultExecutorService();
+        return getExecutorService(ExecutorRole.LISTENER);
     }
 
     @Override
     public Executor getRemoteListenerExecutor() {
-        return getDefaultExecutorService();
+        return getExecutorService(ExecutorRole.DATAGRAM);
     }
 
     @Override
@@ -306,8 +389,25 @@ public class DefaultUpnpServiceConfiguration implements UpnpServiceConfiguration
 
     @Override
     public void shutdown() {
-        logger.trace("Shutting down default executor service");
-        getDefaultExecutorService().shutdownNow();
+        logger.trace("Shutting down executor services");
+        synchronized (executorServices) {
+            executorServicesShutdown = true;
+            for (ExecutorService executorService : executorServices.values()) {
+                executorService.shutdownNow();
+            }
+            if (defaultExecutorService != null) {
+                defaultExecutorService.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * @return The thread pools that have been created so far, by role.
+     */
+    public Map<ExecutorRole, ExecutorService> getExecutorServices() {
+        synchronized (executorServices) {
+            return new EnumMap<>(executorServices);
+        }
     }
 
     protected NetworkAddressFactory createNetworkAddressFactory(int streamListenPort, int multicastResponsePort) {
@@ -338,8 +438,75 @@ public class DefaultUpnpServiceConfiguration implements UpnpServiceConfiguration
         return new Namespace();
     }
 
+    /**
+     * @return The thread pool of the given role, created on first use.
+     */
+    protected ExecutorService getExecutorService(ExecutorRole role) {
+        synchronized (executorServices) {
+            ExecutorService executorService = executorServices.get(role);
+            if (executorService == null) {
+                executorService = createExecutorService(role);
+                if (executorServicesShutdown) {
+                    executorService.shutdown();
+                }
+                executorServices.put(role, executorService);
+            }
+            return executorService;
+        }
+    }
+
+    protected ExecutorService createExecutorService(ExecutorRole role) {
+        if (isVirtualThreadsEnabled() && role != ExecutorRole.IO) {
+            if (VirtualThreads.isSupported()) {
+                logger.debug("Using virtual threads for executor role: {}", role);
+                return VirtualThreads.newThreadPerTaskExecutor("jupnp-" + role.getName() + "-virtual-");
+            }
+            logger.warn("Virtual threads are not supported by this runtime, using thread pool for: {}", role);
+        }
+        return new JUPnPExecutor(role.getName(), getThreadPoolSize(role), getThreadQueueSize(role),
+                getRejectionPolicy(role));
+    }
+
+    /**
+     * Enables virtual threads (Java 21 and newer) for all executor roles except {@link ExecutorRole#IO}.
+     * <p>
+     * Almost all protocol work blocks on network I/O, on timeouts, or on other protocols. On virtual
+     * threads, thousands of concurrent protocols don't need thousands of platform threads, and the pools
+     * of these roles are not bounded. On older runtimes the configured thread pools are used.
+     * </p>
+     *
+     * @return Defaults to the value of the system property {@link Constants#SYSTEM_PROPERTY_VIRTUAL_THREADS}.
+     */
+    protected boolean isVirtualThreadsEnabled() {
+        return Boolean.getBoolean(Constants.SYSTEM_PROPERTY_VIRTUAL_THREADS);
+    }
+
+    protected int getThreadPoolSize(ExecutorRole role) {
+        return role.getDefaultPoolSize();
+    }
+
+    protected int getThreadQueueSize(ExecutorRole role) {
+        return role.getDefaultQueueSize();
+    }
+
+    protected RejectionPolicy getRejectionPolicy(ExecutorRole role) {
+        return role.getDefaultRejectionPolicy();
+    }
+
+    /**
+     * @return A single shared thread pool, created on first use. It is no longer used by this configuration,
+     *         subclasses may still route their executors to it.
+     */
     protected ExecutorService getDefaultExecutorService() {
-        return defaultExecutorService;
+        synchronized (executorServices) {
+            if (defaultExecutorService == null) {
+                defaultExecutorService = createDefaultExecutorService();
+                if (executorServicesShutdown) {
+                    defaultExecutorService.shutdown();
+                }
+            }
+            return defaultExecutorService;
+        }
     }
 
     protected ExecutorService createDefaultExecutorService() {
@@ -348,6 +515,10 @@ public class DefaultUpnpServiceConfiguration implements UpnpServiceConfiguration
 
     public static class JUPnPExecutor extends ThreadPoolExecutor {
 
+        protected final String name;
+        protected final LongAdder rejectedCount = new LongAdder();
+        protected final LongAdder callerRunsCount = new LongAdder();
+
         public JUPnPExecutor() {
             this(new JUPnPThreadFactory(), new ThreadPoolExecutor.DiscardPolicy() {
                 // The pool is bounded and rejections will happen during shutdown
@@ -366,6 +537,72 @@ public class DefaultUpnpServiceConfiguration implements UpnpServiceConfiguration
             super(CORE_THREAD_POOL_SIZE, THREAD_POOL_SIZE, 10L, TimeUnit.SECONDS,
                     new ArrayBlockingQueue<>(THREAD_QUEUE_SIZE), threadFactory, rejectedHandler);
             allowCoreThreadTimeOut(THREAD_POOL_CORE_TIMEOUT);
+            this.name = "default";
+        }
+
+        /**
+         * Creates a bounded pool which starts up to <code>poolSize</code> threads before it queues tasks,
+         * idle threads terminate after 10 seconds.
+         *
+         * @param name The name of the pool, used as part of the thread names.
+         * @param poolSize The maximum number of threads.
+         * @param queueSize The capacity of the task queue, zero hands every task directly to a thread.
+         * @param rejectionPolicy What happens to a task when all threads are busy and the queue is full.
+         */
+        public JUPnPExecutor(String name, int poolSize, int queueSize, RejectionPolicy rejectionPolicy) {
+            super(poolSize, poolSize, 10L, TimeUnit.SECONDS,
+                    queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>(),
+                    new JUPnPThreadFactory("jupnp-" + name + "-"), new AbortPolicy());
+            allowCoreThreadTimeOut(true);
+            this.name = name;
+            setRejectedExecutionHandler((runnable, executor) -> rejected(runnable, rejectionPolicy));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The number of tasks that were dropped because the pool was saturated or shut down.
+         */
+        public long getRejectedCount() {
+            return rejectedCount.sum();
+        }
+
+        /**
+         * @return The number of tasks that ran on the submitting thread because the pool was saturated.
+         */
+        public long getCallerRunsCount() {
+            return callerRunsCount.sum();
+        }
+
+        public int getQueueSize() {
+            return getQueue().size();
+        }
+
+        protected void rejected(Runnable runnable, RejectionPolicy rejectionPolicy) {
+            if (isShutdown()) {
+                // Rejections are expected during shutdown
+                rejectedCount.increment();
+                return;
+            }
+            if (rejectionPolicy == RejectionPolicy.CALLER_RUNS) {
+                callerRunsCount.increment();
+                LoggerFactory.getLogger(DefaultUpnpServiceConfiguration.class)
+                        .debug("Thread pool '{}' is saturated, running {} on calling thread", name, runnable.getClass());
+                runnable.run();
+            } else {
+                rejectedCount.increment();
+                LoggerFactory.getLogger(DefaultUpnpServiceConfiguration.class)
+                        .warn("Thread pool '{}' rejected execution of {}", name, runnable.getClass());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "(" + getClass().getSimpleName() + ") '" + name + "', active: " + getActiveCount() + "/"
+                    + getMaximumPoolSize() + ", queued: " + getQueueSize() + ", completed: " + getCompletedTaskCount()
+                    + ", rejected: " + getRejectedCount() + ", caller runs: " + getCallerRunsCount();
         }
 
         @Override
@@ -391,10 +628,15 @@ public class DefaultUpnpServiceConfiguration implements UpnpServiceConfiguration
 
         protected final ThreadGroup group;
         protected final AtomicInteger threadNumber = new AtomicInteger(1);
-        protected final String namePrefix = "jupnp-";
+        protected final String namePrefix;
 
         public JUPnPThreadFactory() {
+            this("jupnp-");
+        }
+
+        public JUPnPThreadFactory(String namePrefix) {
             group = Thread.currentThread().getThreadGroup();
+            this.namePrefix = namePrefix;
         }
 
         @Override
@@ -131,6 +131,7 @@ public class OSGiUpnpServiceConfiguration implements UpnpServiceConfiguration {
     protected Integer timeoutSeconds = 10;
     protected Integer retryIterations = 5;
     protected Integer retryAfterSeconds = (int) TimeUnit.MINUTES.toSeconds(10);
+    protected boolean lazyServiceDescriptorRetrieval = false;
 
     protected HttpService httpService;
 
@@ -292,6 +293,11 @@ public class OSGiUpnpServiceConfiguration implements UpnpServiceConfiguration {
         return false;
     }
 
+    @Override
+    public boolean isLazyServiceDescriptorRetrieval() {
+        return lazyServiceDescriptorRetrieval;
+    }
+
     @Override
     public UpnpHeaders getDescriptorRetrievalHeaders(RemoteDeviceIdentity identity) {
         return null;
@@ -585,6 +591,15 @@ public class OSGiUpnpServiceConfiguration implements UpnpServiceConfiguration {
         }
         logger.info("OSGiUpnpServiceConfiguration timeoutSeconds = {}", timeoutSeconds);
 
+        prop = properties.get("lazyServiceDescriptorRetrieval");
+        if (prop instanceof String) {
+            lazyServiceDescriptorRetrieval = Boolean.parseBoolean((String) prop);
+        } else if (prop instanceof Boolean) {
+            lazyServiceDescriptorRetrieval = (Boolean) prop;
+        }
+        logger.info("OSGiUpnpServiceConfiguration lazyServiceDescriptorRetrieval = {}",
+                lazyServiceDescriptorRetrieval);
+
         // let's automatically determine the size for the remoteThreadPool
         if (!mainThreadPool || !asyncThreadPool) {
             remoteThreadPool = false;
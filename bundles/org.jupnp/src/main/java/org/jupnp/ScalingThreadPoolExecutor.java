@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp;
+
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jupnp.DefaultUpnpServiceConfiguration.JUPnPThreadFactory;
+
+/**
+ * A thread pool with the same behavior as the {@link QueueingThreadPoolExecutor}, without its dispatcher thread.
+ * <ul>
+ * <li>Threads are only created on demand, and terminated after being idle for at least 10 seconds.</li>
+ * <li>If an idle thread is available, a new task is handed over to it directly.</li>
+ * <li>Otherwise a new thread is added, as long as the pool has less than threadPoolSize threads.</li>
+ * <li>If threadPoolSize threads are busy, the task is put in an unbounded FIFO queue, tasks are never rejected
+ * (unless the pool has been shut down).</li>
+ * </ul>
+ * <p>
+ * The {@link QueueingThreadPoolExecutor} queues tasks in a second queue, which is drained by a separate thread
+ * guarded by a lock, so every queued task crosses two queues. This executor instead uses a single
+ * {@link ScalingQueue} as the work queue of the {@link ThreadPoolExecutor}: its {@link ScalingQueue#offer(Runnable)}
+ * refuses a task while the pool can still grow, which makes the executor start a new thread. Idle workers take
+ * queued tasks directly from that queue.
+ * </p>
+ */
+public class ScalingThreadPoolExecutor extends ThreadPoolExecutor {
+
+    /** we will use a core pool size of 1 since we allow to timeout core threads. */
+    static final int CORE_THREAD_POOL_SIZE = 1;
+
+    protected ScalingThreadPoolExecutor(String name, int threadPoolSize) {
+        this(threadPoolSize, new ScalingQueue(), name);
+    }
+
+    private ScalingThreadPoolExecutor(int threadPoolSize, ScalingQueue queue, String name) {
+        super(CORE_THREAD_POOL_SIZE, threadPoolSize, 10L, TimeUnit.SECONDS, queue,
+                new JUPnPThreadFactory(name + "-"), new ForceQueuePolicy());
+        queue.executor = this;
+        allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates a new instance of {@link ScalingThreadPoolExecutor}
+     *
+     * @param name the name of the thread pool, will be used as a prefix for the name of the threads
+     * @param threadPoolSize the maximum size of the pool
+     * @return the {@link ScalingThreadPoolExecutor} instance
+     */
+    public static ScalingThreadPoolExecutor createInstance(String name, int threadPoolSize) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("A thread pool name must be provided!");
+        }
+        return new ScalingThreadPoolExecutor(name, threadPoolSize);
+    }
+
+    /**
+     * This implementation does not allow setting a custom handler.
+     *
+     * @throws UnsupportedOperationException if called.
+     */
+    @Override
+    public void setRejectedExecutionHandler(RejectedExecutionHandler handler) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * The work queue, which only accepts a task if it can be handed over to an idle thread, or if the pool
+     * can't grow anymore.
+     */
+    protected static class ScalingQueue extends LinkedTransferQueue<Runnable> {
+
+        private static final long serialVersionUID = 1L;
+
+        transient ThreadPoolExecutor executor;
+
+        @Override
+        public boolean offer(Runnable runnable) {
+            // Idle workers are waiting in poll(), hand over without queueing
+            if (tryTransfer(runnable)) {
+                return true;
+            }
+            // Make the executor add a thread
+            if (executor.getPoolSize() < executor.getMaximumPoolSize()) {
+                return false;
+            }
+            return super.offer(runnable);
+        }
+
+        /**
+         * Queues the task unconditionally.
+         */
+        void force(Runnable runnable) {
+            super.offer(runnable);
+        }
+    }
+
+    /**
+     * Called when the pool reached its maximum size after {@link ScalingQueue#offer(Runnable)} refused a task,
+     * queues the task instead of rejecting it. Tasks submitted after shutdown are discarded.
+     */
+    private static class ForceQueuePolicy implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            if (!executor.isShutdown()) {
+                ((ScalingQueue) executor.getQueue()).force(runnable);
+                // All threads might have timed out since the task was refused
+                if (executor.getPoolSize() == 0) {
+                    executor.prestartCoreThread();
+                }
+            }
+        }
+    }
+}
@@ -16,8 +16,12 @@
 package org.jupnp;
 
 import org.jupnp.controlpoint.ControlPoint;
+import org.jupnp.metrics.NoUpnpServiceMetrics;
+import org.jupnp.metrics.UpnpServiceMetrics;
 import org.jupnp.protocol.ProtocolFactory;
 import org.jupnp.registry.Registry;
+import org.jupnp.tracing.NoUpnpTracer;
+import org.jupnp.tracing.UpnpTracer;
 import org.jupnp.transport.Router;
 
 /**
@@ -45,6 +49,20 @@ public interface UpnpService {
 
     Router getRouter();
 
+    /**
+     * @return The metrics recorded by the UPnP stack, the default implementation discards them.
+     */
+    default UpnpServiceMetrics getMetrics() {
+        return NoUpnpServiceMetrics.INSTANCE;
+    }
+
+    /**
+     * @return The tracer for the operations of the UPnP stack, the default implementation discards all spans.
+     */
+    default UpnpTracer getTracer() {
+        return NoUpnpTracer.INSTANCE;
+    }
+
     /**
      * Stopping the UPnP stack.
      * <p>
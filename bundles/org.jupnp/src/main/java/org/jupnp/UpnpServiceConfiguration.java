@@ -213,6 +213,26 @@ public interface UpnpServiceConfiguration {
      */
     UpnpHeaders getDescriptorRetrievalHeaders(RemoteDeviceIdentity identity);
 
+    /**
+     * Retrieve service descriptors of remote devices only when a service is used.
+     * <p>
+     * A discovered remote device is then added to the {@link org.jupnp.registry.Registry} as soon as its
+     * device descriptor has been parsed, its services have no actions and state variables. A service is
+     * described on first use, when a subscription is established, when an action is executed with
+     * {@link org.jupnp.controlpoint.ControlPoint#execute(RemoteService, String, java.util.function.Function)}
+     * or when it is requested with
+     * {@link org.jupnp.controlpoint.ControlPoint#describe(RemoteService)}, and the
+     * registered device is replaced with a graph containing the described service. Requires a registry which
+     * tracks {@link org.jupnp.registry.LazyServiceDescriptors}.
+     * </p>
+     *
+     * @return <code>false</code> (the default) to retrieve all service descriptors before a remote device is
+     *         added to the registry.
+     */
+    default boolean isLazyServiceDescriptorRetrieval() {
+        return false;
+    }
+
     /**
      * Optional extra headers for event subscription (almost HTTP) messages.
      * <p>
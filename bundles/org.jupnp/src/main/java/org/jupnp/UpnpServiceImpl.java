@@ -15,18 +15,28 @@
  */
 package org.jupnp;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import org.jupnp.DefaultUpnpServiceConfiguration.ExecutorRole;
 import org.jupnp.controlpoint.ControlPoint;
 import org.jupnp.controlpoint.ControlPointImpl;
+import org.jupnp.metrics.InMemoryUpnpServiceMetrics;
+import org.jupnp.metrics.NoUpnpServiceMetrics;
+import org.jupnp.metrics.UpnpServiceMetrics;
 import org.jupnp.model.message.header.STAllHeader;
 import org.jupnp.protocol.ProtocolFactory;
 import org.jupnp.protocol.ProtocolFactoryImpl;
 import org.jupnp.registry.Registry;
 import org.jupnp.registry.RegistryImpl;
+import org.jupnp.tracing.DefaultUpnpTracer;
+import org.jupnp.tracing.LoggingTraceSink;
+import org.jupnp.tracing.NoUpnpTracer;
+import org.jupnp.tracing.UpnpTracer;
 import org.jupnp.transport.Router;
 import org.jupnp.transport.RouterException;
 import org.jupnp.transport.RouterImpl;
@@ -64,6 +74,15 @@ public class UpnpServiceImpl implements UpnpService {
     public @interface Config {
         @AttributeDefinition(name = "initialSearchEnabled", description = "Enable initial search when starting jUPnP service.")
         boolean initialSearchEnabled() default true;
+
+        @AttributeDefinition(name = "metricsEnabled", description = "Record metrics of the UPnP stack in memory.")
+        boolean metricsEnabled() default false;
+
+        @AttributeDefinition(name = "tracingEnabled", description = "Log the timing of every operation of the UPnP stack at debug level.")
+        boolean tracingEnabled() default false;
+
+        @AttributeDefinition(name = "networkCheckInterval", description = "Interval in seconds to check for changed network interfaces and addresses, only the network services of changed interfaces are restarted (0 to disable).")
+        int networkCheckInterval() default 0;
     }
 
     private final Logger logger = LoggerFactory.getLogger(UpnpServiceImpl.class);
@@ -81,6 +100,9 @@ public class UpnpServiceImpl implements UpnpService {
     protected ControlPoint controlPoint;
     protected Router router;
 
+    protected volatile UpnpServiceMetrics metrics = NoUpnpServiceMetrics.INSTANCE;
+    protected volatile UpnpTracer tracer = NoUpnpTracer.INSTANCE;
+
     protected ScheduledExecutorService scheduledExecutorService;
 
     protected volatile ScheduledFuture<?> scheduledFuture;
@@ -92,12 +114,33 @@ public class UpnpServiceImpl implements UpnpService {
         this.configuration = configuration;
     }
 
+    public UpnpServiceImpl(UpnpServiceConfiguration configuration, UpnpServiceMetrics metrics) {
+        this.configuration = configuration;
+        this.metrics = metrics;
+    }
+
+    public UpnpServiceImpl(UpnpServiceConfiguration configuration, UpnpServiceMetrics metrics, UpnpTracer tracer) {
+        this.configuration = configuration;
+        this.metrics = metrics;
+        this.tracer = tracer;
+    }
+
     @Activate
     public void activate(Config config) {
         scheduledFuture = null;
         scheduledExecutorService = createExecutor();
         isInitialSearchEnabled = config.initialSearchEnabled();
+        if (config.metricsEnabled()) {
+            metrics = new InMemoryUpnpServiceMetrics();
+        }
+        if (config.tracingEnabled()) {
+            tracer = new DefaultUpnpTracer(new LoggingTraceSink());
+        }
         startup();
+        if (config.networkCheckInterval() > 0) {
+            scheduledExecutorService.scheduleWithFixedDelay(this::refreshNetwork, config.networkCheckInterval(),
+                    config.networkCheckInterval(), TimeUnit.SECONDS);
+        }
     }
 
     @Deactivate
@@ -174,6 +217,35 @@ public class UpnpServiceImpl implements UpnpService {
         return router;
     }
 
+    @Override
+    public UpnpServiceMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public UpnpTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Registers the gauges of the metrics, which read the current state when the metrics are collected.
+     */
+    protected void registerGauges() {
+        final Registry registry = this.registry;
+        metrics.registerGauge("registry.localDevices", () -> registry.getLocalDevices().size());
+        metrics.registerGauge("registry.remoteDevices", () -> registry.getRemoteDevices().size());
+        if (getConfiguration() instanceof DefaultUpnpServiceConfiguration) {
+            final DefaultUpnpServiceConfiguration defaultConfig = (DefaultUpnpServiceConfiguration) configuration;
+            for (final ExecutorRole role : ExecutorRole.values()) {
+                metrics.registerGauge("executor." + role.getName() + ".queue", () -> {
+                    ExecutorService executor = defaultConfig.getExecutorServices().get(role);
+                    return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getQueue().size()
+                            : 0;
+                });
+            }
+        }
+    }
+
     @Override
     public synchronized void shutdown() {
         shutdown(false);
@@ -213,6 +285,34 @@ public class UpnpServiceImpl implements UpnpService {
         }
     }
 
+    /**
+     * Restarts only the network services of changed network interfaces and addresses, the registry and the
+     * subscriptions are not affected. Searches for devices if the network changed.
+     */
+    protected void refreshNetwork() {
+        Router currentRouter;
+        ControlPoint currentControlPoint;
+        synchronized (lock) {
+            if (!isRunning) {
+                return;
+            }
+            currentRouter = router;
+            currentControlPoint = controlPoint;
+        }
+        // Not holding the lock while the router waits for the messages being sent, the router serializes a
+        // concurrent shutdown and doesn't refresh anymore once disabled
+        try {
+            if (currentRouter.refreshNetwork()) {
+                currentControlPoint.search(new STAllHeader());
+            }
+        } catch (RouterException e) {
+            logger.warn("Checking for network changes failed", e);
+        } catch (RuntimeException e) {
+            // Thrown out of the scheduled task, it would cancel all further checks
+            logger.warn("Unexpected failure while checking for network changes", e);
+        }
+    }
+
     protected void shutdownRegistry() {
         getRegistry().shutdown();
     }
@@ -267,6 +367,8 @@ public class UpnpServiceImpl implements UpnpService {
 
                 this.controlPoint = createControlPoint(protocolFactory, registry);
 
+                registerGauges();
+
                 logger.debug("UPnP service started successfully");
 
                 isRunning = true;
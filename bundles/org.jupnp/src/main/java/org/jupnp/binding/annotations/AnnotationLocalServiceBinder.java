@@ -51,6 +51,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Reads {@link org.jupnp.model.meta.LocalService} metadata from annotations.
+ * <p>
+ * The annotated members are found with the {@link GeneratedServiceBinding} of the service class if the annotation
+ * processor generated one, otherwise by scanning the class and its superclasses with reflection.
+ * </p>
  *
  * @author Christian Bauer
  */
@@ -145,6 +149,16 @@ public class AnnotationLocalServiceBinder implements LocalServiceBinder {
     protected Map<StateVariable, StateVariableAccessor> readStateVariables(Class<?> clazz,
             Set<Class> stringConvertibleTypes) throws LocalServiceBindingException {
 
+        GeneratedServiceBinding binding = GeneratedServiceBinding.find(clazz);
+        if (binding != null) {
+            try {
+                return binding.readStateVariables(stringConvertibleTypes);
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Generated binding doesn't match service class {}, using reflection: {}", clazz,
+                        e.toString());
+            }
+        }
+
         Map<StateVariable, StateVariableAccessor> map = new HashMap<>();
 
         // State variables declared on the class
@@ -226,6 +240,18 @@ public class AnnotationLocalServiceBinder implements LocalServiceBinder {
             Map<StateVariable, StateVariableAccessor> stateVariables, Set<Class> stringConvertibleTypes)
             throws LocalServiceBindingException {
 
+        GeneratedServiceBinding binding = GeneratedServiceBinding.find(clazz);
+        if (binding != null) {
+            try {
+                Map<Action, ActionExecutor> map = binding.readActions(stateVariables, stringConvertibleTypes);
+                map.keySet().removeIf(this::isActionExcluded);
+                return map;
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Generated binding doesn't match service class {}, using reflection: {}", clazz,
+                        e.toString());
+            }
+        }
+
         Map<Action, ActionExecutor> map = new HashMap<>();
 
         for (Method method : Reflections.getMethods(clazz, UpnpAction.class)) {
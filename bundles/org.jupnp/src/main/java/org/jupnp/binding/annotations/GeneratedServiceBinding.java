@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.binding.annotations;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.jupnp.binding.LocalServiceBindingException;
+import org.jupnp.model.action.ActionExecutor;
+import org.jupnp.model.action.MethodActionExecutor;
+import org.jupnp.model.meta.Action;
+import org.jupnp.model.meta.ActionArgument;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.model.meta.StateVariable;
+import org.jupnp.model.state.FieldStateVariableAccessor;
+import org.jupnp.model.state.GetterStateVariableAccessor;
+import org.jupnp.model.state.StateVariableAccessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The annotated members of an {@link UpnpService} class, found at compile time by the annotation processor of the
+ * <code>org.jupnp.processor</code> module.
+ * <p>
+ * The processor generates a subclass in the package of the service class, named after the service class with the
+ * suffix {@value #SUFFIX}. When it is available, the {@link AnnotationLocalServiceBinder} uses it instead of
+ * scanning the class hierarchy with reflection. The annotations are still read and validated by the same binders,
+ * so the service metadata is the same. Accessible getters, fields and action methods are called directly by
+ * the generated code, instead of through method handles.
+ * </p>
+ * <p>
+ * A binding which doesn't match its service class anymore, because it was not regenerated after a change, fails
+ * with a {@link ReflectiveOperationException}, the binder then falls back to reflection.
+ * </p>
+ */
+public abstract class GeneratedServiceBinding {
+
+    public static final String SUFFIX = "_ServiceBinding";
+
+    private static final Logger logger = LoggerFactory.getLogger(GeneratedServiceBinding.class);
+
+    // Bindings are stateless, misses are cached too, as most service classes have no binding
+    private static final ClassValue<GeneratedServiceBinding> BINDINGS = new ClassValue<>() {
+        @Override
+        protected GeneratedServiceBinding computeValue(Class<?> serviceClass) {
+            return load(serviceClass);
+        }
+    };
+
+    private final Class<?> serviceClass;
+
+    protected GeneratedServiceBinding(Class<?> serviceClass) {
+        this.serviceClass = serviceClass;
+    }
+
+    public Class<?> getServiceClass() {
+        return serviceClass;
+    }
+
+    /**
+     * Declares the state variables, in the order of {@link AnnotationLocalServiceBinder}: the class-level state
+     * variables and the annotated fields of the class and its superclasses.
+     */
+    protected abstract void bindStateVariables(StateVariables stateVariables)
+            throws ReflectiveOperationException, LocalServiceBindingException;
+
+    /**
+     * Declares the annotated action methods of the class and its superclasses.
+     */
+    protected abstract void bindActions(Actions actions)
+            throws ReflectiveOperationException, LocalServiceBindingException;
+
+    public Map<StateVariable, StateVariableAccessor> readStateVariables(Set<Class> stringConvertibleTypes)
+            throws ReflectiveOperationException, LocalServiceBindingException {
+        StateVariables stateVariables = new StateVariables(stringConvertibleTypes);
+        bindStateVariables(stateVariables);
+        return stateVariables.map;
+    }
+
+    public Map<Action, ActionExecutor> readActions(Map<StateVariable, StateVariableAccessor> stateVariables,
+            Set<Class> stringConvertibleTypes) throws ReflectiveOperationException, LocalServiceBindingException {
+        Actions actions = new Actions(stateVariables, stringConvertibleTypes);
+        bindActions(actions);
+        return actions.map;
+    }
+
+    /**
+     * @return The generated binding of the service class, or <code>null</code> if there is none.
+     */
+    public static GeneratedServiceBinding find(Class<?> serviceClass) {
+        return BINDINGS.get(serviceClass);
+    }
+
+    private static GeneratedServiceBinding load(Class<?> serviceClass) {
+        String name = getBindingClassName(serviceClass.getName());
+        try {
+            Class<?> bindingClass = Class.forName(name, true, serviceClass.getClassLoader());
+            GeneratedServiceBinding binding = (GeneratedServiceBinding) bindingClass.getDeclaredConstructor()
+                    .newInstance();
+            if (binding.getServiceClass() == serviceClass) {
+                return binding;
+            }
+            logger.warn("Ignoring generated binding {} of another class: {}", name, binding.getServiceClass());
+        } catch (ClassNotFoundException | LinkageError e) {
+            logger.trace("No generated binding of service class: {}", serviceClass.getName());
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            logger.warn("Ignoring generated binding {}: {}", name, e.toString());
+        }
+        return null;
+    }
+
+    /**
+     * @param serviceClassName The binary name of the service class.
+     * @return The binary name of its generated binding, a top-level class in the same package.
+     */
+    public static String getBindingClassName(String serviceClassName) {
+        int lastDot = serviceClassName.lastIndexOf('.');
+        return serviceClassName.substring(0, lastDot + 1) + serviceClassName.substring(lastDot + 1).replace('$', '_')
+                + SUFFIX;
+    }
+
+    // Conversions of action arguments to primitive parameters, with the widening conversions of reflection
+
+    protected static boolean booleanValue(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        throw argumentTypeMismatch(value, boolean.class);
+    }
+
+    protected static char charValue(Object value) {
+        if (value instanceof Character) {
+            return (Character) value;
+        }
+        throw argumentTypeMismatch(value, char.class);
+    }
+
+    protected static byte byteValue(Object value) {
+        if (value instanceof Byte) {
+            return (Byte) value;
+        }
+        throw argumentTypeMismatch(value, byte.class);
+    }
+
+    protected static short shortValue(Object value) {
+        if (value instanceof Short || value instanceof Byte) {
+            return ((Number) value).shortValue();
+        }
+        throw argumentTypeMismatch(value, short.class);
+    }
+
+    protected static int intValue(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        } else if (value instanceof Character) {
+            return (Character) value;
+        }
+        throw argumentTypeMismatch(value, int.class);
+    }
+
+    protected static long longValue(Object value) {
+        if (value instanceof Long) {
+            return (Long) value;
+        }
+        return intValue(value);
+    }
+
+    protected static float floatValue(Object value) {
+        if (value instanceof Float) {
+            return (Float) value;
+        }
+        return longValue(value);
+    }
+
+    protected static double doubleValue(Object value) {
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+        return floatValue(value);
+    }
+
+    private static IllegalArgumentException argumentTypeMismatch(Object value, Class<?> type) {
+        return new IllegalArgumentException("Argument type mismatch, expected " + type + ": "
+                + (value != null ? value.getClass().getName() : null));
+    }
+
+    /**
+     * Reads a state variable or output argument value directly from the service implementation.
+     */
+    @FunctionalInterface
+    public interface Reader {
+        Object read(Object instance) throws Exception;
+    }
+
+    /**
+     * Calls an action method directly on the service implementation.
+     */
+    @FunctionalInterface
+    public interface Invoker {
+        Object invoke(Object instance, Object[] arguments) throws Exception;
+    }
+
+    public static final class StateVariables {
+
+        private final Set<Class> stringConvertibleTypes;
+        private final Map<StateVariable, StateVariableAccessor> map = new HashMap<>();
+
+        StateVariables(Set<Class> stringConvertibleTypes) {
+            this.stringConvertibleTypes = stringConvertibleTypes;
+        }
+
+        /**
+         * A state variable declared with {@link UpnpStateVariables} on the service class.
+         *
+         * @param index The index of the state variable in {@link UpnpStateVariables#value()}.
+         * @param accessor The accessor, or <code>null</code> if the class has no matching field or getter.
+         */
+        public void declared(Class<?> serviceClass, int index, StateVariableAccessor accessor)
+                throws LocalServiceBindingException {
+            UpnpStateVariable annotation = serviceClass.getAnnotation(UpnpStateVariables.class).value()[index];
+            if (annotation.name().isEmpty()) {
+                throw new LocalServiceBindingException("Class-level @UpnpStateVariable name attribute value required");
+            }
+            add(annotation, annotation.name(), accessor);
+        }
+
+        /**
+         * A state variable declared with {@link UpnpStateVariable} on a field.
+         *
+         * @param reader Reads the field directly, or <code>null</code> if it is not accessible.
+         */
+        public void field(Class<?> declaringClass, String name, Reader reader)
+                throws ReflectiveOperationException, LocalServiceBindingException {
+            Field field = declaringClass.getDeclaredField(name);
+            UpnpStateVariable annotation = field.getAnnotation(UpnpStateVariable.class);
+            add(annotation,
+                    annotation.name().isEmpty() ? AnnotationLocalServiceBinder.toUpnpStateVariableName(name)
+                            : annotation.name(),
+                    accessor(field, reader));
+        }
+
+        public StateVariableAccessor accessor(Field field, Reader reader) {
+            return reader != null ? new DirectFieldAccessor(field, reader) : new FieldStateVariableAccessor(field);
+        }
+
+        public StateVariableAccessor accessor(Method getter, Reader reader) {
+            return reader != null ? new DirectGetterAccessor(getter, reader) : new GetterStateVariableAccessor(getter);
+        }
+
+        private void add(UpnpStateVariable annotation, String name, StateVariableAccessor accessor)
+                throws LocalServiceBindingException {
+            StateVariable stateVariable = new AnnotationStateVariableBinder(annotation, name, accessor,
+                    stringConvertibleTypes).createStateVariable();
+            map.put(stateVariable, accessor);
+        }
+    }
+
+    public static final class Actions {
+
+        private final Map<StateVariable, StateVariableAccessor> stateVariables;
+        private final Set<Class> stringConvertibleTypes;
+        private final Map<Action, ActionExecutor> map = new HashMap<>();
+
+        Actions(Map<StateVariable, StateVariableAccessor> stateVariables, Set<Class> stringConvertibleTypes) {
+            this.stateVariables = stateVariables;
+            this.stringConvertibleTypes = stringConvertibleTypes;
+        }
+
+        /**
+         * An action method annotated with {@link UpnpAction}.
+         *
+         * @param invoker Calls the method directly, or <code>null</code> if it is not accessible.
+         */
+        public void method(Class<?> declaringClass, String name, Class<?>[] parameterTypes, Invoker invoker)
+                throws ReflectiveOperationException, LocalServiceBindingException {
+            Method method = declaringClass.getDeclaredMethod(name, parameterTypes);
+            new AnnotationActionBinder(method, stateVariables, stringConvertibleTypes) {
+                @Override
+                protected ActionExecutor createExecutor(
+                        Map<ActionArgument<LocalService>, StateVariableAccessor> outputArguments) {
+                    return invoker != null ? new DirectMethodExecutor(outputArguments, method, invoker)
+                            : super.createExecutor(outputArguments);
+                }
+            }.appendAction(map);
+        }
+    }
+
+    private static class DirectFieldAccessor extends FieldStateVariableAccessor {
+
+        private final Reader reader;
+
+        DirectFieldAccessor(Field field, Reader reader) {
+            super(field, null);
+            this.reader = reader;
+        }
+
+        @Override
+        public Object read(Object serviceImpl) throws Exception {
+            return reader.read(serviceImpl);
+        }
+    }
+
+    private static class DirectGetterAccessor extends GetterStateVariableAccessor {
+
+        private final Reader reader;
+
+        DirectGetterAccessor(Method getter, Reader reader) {
+            super(getter, null);
+            this.reader = reader;
+        }
+
+        @Override
+        public Object read(Object serviceImpl) throws Exception {
+            return reader.read(serviceImpl);
+        }
+    }
+
+    private static class DirectMethodExecutor extends MethodActionExecutor {
+
+        private final Invoker invoker;
+
+        DirectMethodExecutor(Map<ActionArgument<LocalService>, StateVariableAccessor> outputArgumentAccessors,
+                Method method, Invoker invoker) {
+            super(outputArgumentAccessors, method, null);
+            this.invoker = invoker;
+        }
+
+        @Override
+        protected Object invoke(Object serviceImpl, Object[] inputArgumentValues) throws Exception {
+            return invoker.invoke(serviceImpl, inputArgumentValues);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.binding.xml;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jupnp.model.Namespace;
+import org.jupnp.model.meta.Device;
+import org.jupnp.model.meta.DeviceDetails;
+
+/**
+ * A device descriptor split into its static parts and a slot for the details of every device.
+ * <p>
+ * Only the {@link DeviceDetails} of a descriptor depend on the control point requesting it, the types,
+ * icons, services and embedded devices are the same for every client. The static parts are generated
+ * and encoded once, a descriptor for a combination of details is rendered by generating only the
+ * details elements and concatenating the bytes.
+ * </p>
+ */
+public class DeviceDescriptorTemplate {
+
+    private final UDA10DeviceDescriptorBinderImpl binder;
+    private final Namespace namespace;
+    private final byte[][] segments;
+    private final int staticLength;
+
+    /**
+     * @param segments The static parts of the descriptor, one more than devices.
+     */
+    public DeviceDescriptorTemplate(UDA10DeviceDescriptorBinderImpl binder, Namespace namespace, String[] segments) {
+        this.binder = binder;
+        this.namespace = namespace;
+        this.segments = new byte[segments.length][];
+        int length = 0;
+        for (int i = 0; i < segments.length; i++) {
+            this.segments[i] = segments[i].getBytes(StandardCharsets.UTF_8);
+            length += this.segments[i].length;
+        }
+        this.staticLength = length;
+    }
+
+    /**
+     * @return The number of devices with details in the descriptor, the root and all embedded devices.
+     */
+    public int getSlotCount() {
+        return segments.length - 1;
+    }
+
+    /**
+     * The template doesn't reference the device, it can be cached as long as the device.
+     *
+     * @param device The device the template has been generated for.
+     * @param details The details of the root and embedded devices, depth-first in the order of the descriptor.
+     * @return The UTF-8 encoded descriptor, equal to the one generated by the binder for these details.
+     */
+    public byte[] render(Device device, List<DeviceDetails> details) throws DescriptorBindingException {
+        List<Device> devices = new ArrayList<>(details.size());
+        collectDevices(device, devices);
+        if (devices.size() != getSlotCount() || details.size() != getSlotCount()) {
+            throw new IllegalArgumentException("Expected details of " + getSlotCount() + " devices: " + devices.size()
+                    + " devices and " + details.size() + " details");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(staticLength + 512 * devices.size());
+        for (int i = 0; i < devices.size(); i++) {
+            write(out, segments[i]);
+            write(out, binder.generateDetails(namespace, devices.get(i), details.get(i))
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        write(out, segments[segments.length - 1]);
+        return out.toByteArray();
+    }
+
+    protected void collectDevices(Device device, List<Device> result) {
+        result.add(device);
+        if (device.hasEmbeddedDevices()) {
+            for (Device embeddedDevice : device.getEmbeddedDevices()) {
+                collectDevices(embeddedDevice, result);
+            }
+        }
+    }
+
+    private static void write(ByteArrayOutputStream out, byte[] bytes) {
+        out.write(bytes, 0, bytes.length);
+    }
+}
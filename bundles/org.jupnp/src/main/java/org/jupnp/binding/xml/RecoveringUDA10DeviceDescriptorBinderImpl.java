@@ -18,6 +18,7 @@ package org.jupnp.binding.xml;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.jupnp.binding.staging.MutableDevice;
 import org.jupnp.model.ValidationException;
 import org.jupnp.model.meta.Device;
 import org.jupnp.model.meta.RemoteDevice;
@@ -28,6 +29,10 @@ import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXParseException;
 
 /**
+ * Reads device descriptors with the defects found in the wild in a single pass, see
+ * {@link TolerantDeviceDescriptorReader}. Descriptors it can't read are parsed again after each of the
+ * deprecated string fixes, which subclasses might override.
+ *
  * @author Michael Pujos
  * @author Kai Kreuzer - added faulty descriptors as found by Belkin WeMo
  * @author Roland Edelhoff - avoid description of Sonos group devices
@@ -37,21 +42,36 @@ public class RecoveringUDA10DeviceDescriptorBinderImpl extends UDA10DeviceDescri
 
     private final Logger logger = LoggerFactory.getLogger(RecoveringUDA10DeviceDescriptorBinderImpl.class);
 
+    @Override
+    public boolean isTemplateSupported() {
+        // Only parsing differs, descriptors are generated by the superclass
+        return getClass() == RecoveringUDA10DeviceDescriptorBinderImpl.class;
+    }
+
     @Override
     public <D extends Device> D describe(D undescribedDevice, String descriptorXml)
             throws DescriptorBindingException, ValidationException {
 
+        if (descriptorXml == null || descriptorXml.isEmpty()) {
+            throw new DescriptorBindingException("Null or empty descriptor");
+        }
+
         D device = null;
-        DescriptorBindingException originalException = null;
         try {
             try {
-                if (descriptorXml != null) {
-                    descriptorXml = descriptorXml.trim(); // Always trim whitespace
+                logger.trace("Populating device from XML descriptor: {}", undescribedDevice);
+
+                try {
+                    // A single pass which tolerates the known defects, instead of parsing again after each fix
+                    MutableDevice descriptor = new TolerantDeviceDescriptorReader(descriptorXml).read();
+                    device = buildInstance(undescribedDevice, descriptor);
+                } catch (DescriptorBindingException e) {
+                    logger.warn("Could not read device descriptor in a single pass, trying string fixes", e);
+                    device = describeWithFixes(undescribedDevice, descriptorXml.trim());
+                    if (device == null) {
+                        handleInvalidDescriptor(descriptorXml, e);
+                    }
                 }
-                String fixedXml = fixMimeTypes(descriptorXml);
-                fixedXml = fixWrongNamespaces(fixedXml);
-                fixedXml = fixWemoMakerUDN(fixedXml);
-                device = super.describe(undescribedDevice, fixedXml);
 
                 // Ignore Sonos group device since they have the same UDN as the corresponding player device
                 // and contains useless device details and services. The group device will be announced first
@@ -60,65 +80,80 @@ public class RecoveringUDA10DeviceDescriptorBinderImpl extends UDA10DeviceDescri
                 if (isSonosGroupDevice(device)) {
                     throw new IllegalArgumentException("Ignore Sonos group devices due to invalid descriptor content.");
                 }
-                return device;
+                if (device != null) {
+                    return device;
+                }
 
-            } catch (DescriptorBindingException e) {
-                logger.warn("Regular parsing failed", e);
-                originalException = e;
             } catch (IllegalArgumentException e) {
                 handleInvalidDescriptor(descriptorXml, new DescriptorBindingException(e.getMessage()));
             }
+        } catch (ValidationException e) {
+            device = handleInvalidDevice(descriptorXml, device, e);
+            if (device != null) {
+                return device;
+            }
+        }
+        throw new IllegalStateException("No device produced, did you swallow exceptions in your subclass?");
+    }
 
-            String fixedXml;
-            // The following modifications are not cumulative!
+    /**
+     * Parses the descriptor again after each string fix, with the fix hooks of this binder. Subclasses which
+     * override the hooks still recover the descriptors the single pass reader doesn't tolerate.
+     *
+     * @return The device, or <code>null</code> if no fix produced a parseable descriptor.
+     */
+    private <D extends Device> D describeWithFixes(D undescribedDevice, String descriptorXml)
+            throws ValidationException {
 
-            fixedXml = fixGarbageLeadingChars(descriptorXml);
-            if (fixedXml != null) {
-                try {
-                    device = super.describe(undescribedDevice, fixedXml);
-                    return device;
-                } catch (DescriptorBindingException e) {
-                    logger.warn("Removing leading garbage didn't work", e);
-                }
+        DescriptorBindingException originalException;
+        try {
+            String fixedXml = fixMimeTypes(descriptorXml);
+            fixedXml = fixWrongNamespaces(fixedXml);
+            fixedXml = fixWemoMakerUDN(fixedXml);
+            return super.describe(undescribedDevice, fixedXml);
+        } catch (DescriptorBindingException e) {
+            logger.warn("Regular parsing failed", e);
+            originalException = e;
+        }
+
+        String fixedXml;
+        // The following modifications are not cumulative!
+
+        fixedXml = fixGarbageLeadingChars(descriptorXml);
+        if (fixedXml != null) {
+            try {
+                return super.describe(undescribedDevice, fixedXml);
+            } catch (DescriptorBindingException e) {
+                logger.warn("Removing leading garbage didn't work", e);
             }
+        }
+
+        fixedXml = fixGarbageTrailingChars(descriptorXml, originalException);
+        if (fixedXml != null) {
+            try {
+                return super.describe(undescribedDevice, fixedXml);
+            } catch (DescriptorBindingException e) {
+                logger.warn("Removing trailing garbage didn't work", e);
+            }
+        }
 
-            fixedXml = fixGarbageTrailingChars(descriptorXml, originalException);
+        // Try to fix "up to five" missing namespace declarations
+        DescriptorBindingException lastException = originalException;
+        fixedXml = descriptorXml;
+        for (int retryCount = 0; retryCount < 5; retryCount++) {
+            fixedXml = fixMissingNamespaces(fixedXml, lastException);
             if (fixedXml != null) {
                 try {
-                    device = super.describe(undescribedDevice, fixedXml);
-                    return device;
+                    return super.describe(undescribedDevice, fixedXml);
                 } catch (DescriptorBindingException e) {
-                    logger.warn("Removing trailing garbage didn't work", e);
-                }
-            }
-
-            // Try to fix "up to five" missing namespace declarations
-            DescriptorBindingException lastException = originalException;
-            fixedXml = descriptorXml;
-            for (int retryCount = 0; retryCount < 5; retryCount++) {
-                fixedXml = fixMissingNamespaces(fixedXml, lastException);
-                if (fixedXml != null) {
-                    try {
-                        device = super.describe(undescribedDevice, fixedXml);
-                        return device;
-                    } catch (DescriptorBindingException e) {
-                        logger.warn("Fixing namespace prefix didn't work", e);
-                        lastException = e;
-                    }
-                } else {
-                    break; // We can stop, no more namespace fixing can be done
+                    logger.warn("Fixing namespace prefix didn't work", e);
+                    lastException = e;
                 }
-            }
-
-            handleInvalidDescriptor(descriptorXml, originalException);
-
-        } catch (ValidationException e) {
-            device = handleInvalidDevice(descriptorXml, device, e);
-            if (device != null) {
-                return device;
+            } else {
+                break; // We can stop, no more namespace fixing can be done
             }
         }
-        throw new IllegalStateException("No device produced, did you swallow exceptions in your subclass?");
+        return null;
     }
 
     private String fixGarbageLeadingChars(String descriptorXml) {
@@ -147,6 +182,10 @@ public class RecoveringUDA10DeviceDescriptorBinderImpl extends UDA10DeviceDescri
         return descriptorXml.substring(index);
     }
 
+    /**
+     * @deprecated Only called by the fallback for descriptors which {@link TolerantDeviceDescriptorReader} can't read.
+     */
+    @Deprecated
     protected String fixGarbageTrailingChars(String descriptorXml, DescriptorBindingException e) {
         int index = descriptorXml.indexOf("</root>");
         if (index == -1) {
@@ -160,6 +199,10 @@ public class RecoveringUDA10DeviceDescriptorBinderImpl extends UDA10DeviceDescri
         return null;
     }
 
+    /**
+     * @deprecated Only called by the fallback for descriptors which {@link TolerantDeviceDescriptorReader} can't read.
+     */
+    @Deprecated
     protected String fixMimeTypes(String descriptorXml) {
         if (descriptorXml.contains("<mimetype>jpg</mimetype>")) {
             SpecificationViolationReporter.report("Detected invalid mimetype 'jpg', replacing it with 'image/jpeg'");
@@ -168,6 +211,10 @@ public class RecoveringUDA10DeviceDescriptorBinderImpl extends UDA10DeviceDescri
         return descriptorXml;
     }
 
+    /**
+     * @deprecated Only called by the fallback for descriptors which {@link TolerantDeviceDescriptorReader} can't read.
+     */
+    @Deprecated
     protected String fixWrongNamespaces(String descriptorXml) {
         if (descriptorXml.contains("<root xmlns=\"urn:Belkin:device-1-0\">")) {
             SpecificationViolationReporter
@@ -178,6 +225,10 @@ public class RecoveringUDA10DeviceDescriptorBinderImpl extends UDA10DeviceDescri
         return descriptorXml;
     }
 
+    /**
+     * @deprecated Only called by the fallback for descriptors which {@link TolerantDeviceDescriptorReader} can't read.
+     */
+    @Deprecated
     protected String fixMissingNamespaces(String descriptorXml, DescriptorBindingException e) {
         // Windows: org.jupnp.binding.xml.DescriptorBindingException: Could not parse device descriptor:
         // org.jupnp.xml.ParserException: org.xml.sax.SAXParseException: The prefix "dlna" for element "dlna:X_DLNADOC"
@@ -239,6 +290,10 @@ public class RecoveringUDA10DeviceDescriptorBinderImpl extends UDA10DeviceDescri
     }
 
     // Belkin WeMo Maker contains illegal strings in UDN values
+    /**
+     * @deprecated Only called by the fallback for descriptors which {@link TolerantDeviceDescriptorReader} can't read.
+     */
+    @Deprecated
     protected String fixWemoMakerUDN(String descriptorXml) {
         if (descriptorXml.contains(":sensor:switch")) {
             SpecificationViolationReporter.report("Detected invalid UDN value ':sensor:switch', replacing it");
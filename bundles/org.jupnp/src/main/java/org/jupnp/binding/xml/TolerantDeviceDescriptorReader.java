@@ -0,0 +1,622 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.binding.xml;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jupnp.binding.staging.MutableDevice;
+import org.jupnp.binding.staging.MutableIcon;
+import org.jupnp.binding.staging.MutableService;
+import org.jupnp.binding.xml.Descriptor.Device.ELEMENT;
+import org.jupnp.model.types.DLNACaps;
+import org.jupnp.model.types.DLNADoc;
+import org.jupnp.model.types.InvalidValueException;
+import org.jupnp.model.types.ServiceId;
+import org.jupnp.model.types.ServiceType;
+import org.jupnp.model.types.UDN;
+import org.jupnp.util.MimeType;
+import org.jupnp.util.SpecificationViolationReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads a UDA 1.0 device descriptor into a {@link MutableDevice} in a single pass over the XML string.
+ * <p>
+ * This is not a general XML parser. It only knows the elements of a device descriptor and tolerates the defects
+ * found in the wild, without parsing the document again:
+ * </p>
+ * <ul>
+ * <li>Garbage before the document (e.g. HTTP headers) and after the <code>&lt;/root&gt;</code> element.</li>
+ * <li>Undeclared namespace prefixes (e.g. <code>dlna:X_DLNADOC</code>), elements are matched by local name and
+ * prefix, like the DOM binder does.</li>
+ * <li>A wrong or missing namespace on the <code>&lt;root&gt;</code> element (e.g. Belkin WeMo).</li>
+ * <li>Unescaped ampersands in text.</li>
+ * <li>The icon MIME type <code>jpg</code> and the <code>:sensor:switch</code> suffix of Belkin WeMo Maker UDNs.</li>
+ * </ul>
+ * <p>
+ * Unknown elements are skipped. Unbalanced tags and a truncated document are still fatal.
+ * </p>
+ */
+class TolerantDeviceDescriptorReader {
+
+    private static final Pattern XMLNS = Pattern.compile("(?:^|\\s)xmlns\\s*=\\s*([\"'])(.*?)\\1");
+
+    private final Logger logger = LoggerFactory.getLogger(TolerantDeviceDescriptorReader.class);
+
+    private final String xml;
+    private int pos;
+    private boolean unescapedAmpersandReported;
+
+    // The tag read last by nextTag()
+    private String qName;
+    private String prefix;
+    private String localName;
+    private String attributes;
+    private boolean endTag;
+    private boolean emptyTag;
+
+    TolerantDeviceDescriptorReader(String xml) {
+        this.xml = xml;
+    }
+
+    MutableDevice read() throws DescriptorBindingException {
+        try {
+            return readRoot();
+        } catch (DescriptorBindingException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new DescriptorBindingException("Could not parse device descriptor: " + e, e);
+        }
+    }
+
+    private MutableDevice readRoot() throws DescriptorBindingException {
+        int declaration = xml.indexOf("<?xml");
+        if (declaration > 0 && !xml.substring(0, declaration).trim().isEmpty()) {
+            SpecificationViolationReporter.report("Ignoring garbage characters before XML declaration");
+            pos = declaration;
+        }
+
+        if (!nextTag()) {
+            throw new DescriptorBindingException("No <root> element in descriptor");
+        }
+        if (endTag || !ELEMENT.root.name().equals(qName)) {
+            throw new DescriptorBindingException("Root element name is not <root>: " + qName);
+        }
+
+        Matcher matcher = XMLNS.matcher(attributes);
+        String namespace = matcher.find() ? matcher.group(2) : null;
+        if (!Descriptor.Device.NAMESPACE_URI.equals(namespace)) {
+            SpecificationViolationReporter.report("Wrong XML namespace declared on root element: {}", namespace);
+        }
+
+        MutableDevice descriptor = new MutableDevice();
+        boolean deviceFound = false;
+        String rootQName = enter();
+        while (nextChild(rootQName)) {
+            ELEMENT element = ELEMENT.valueOrNullOf(localName);
+            if (element == ELEMENT.specVersion) {
+                readSpecVersion(descriptor);
+            } else if (element == ELEMENT.URLBase) {
+                String urlString = readText();
+                try {
+                    if (!urlString.isEmpty()) {
+                        // We hope it's RFC 2396 and RFC 2732 compliant
+                        descriptor.baseURL = new URL(urlString);
+                    }
+                } catch (Exception e) {
+                    throw new DescriptorBindingException("Invalid URLBase: " + e.getMessage());
+                }
+            } else if (element == ELEMENT.device) {
+                if (deviceFound) {
+                    throw new DescriptorBindingException("Found multiple <device> elements in <root>");
+                }
+                deviceFound = true;
+                readDevice(descriptor);
+            } else {
+                logger.trace("Ignoring unknown element: {}", qName);
+                skipElement();
+            }
+        }
+
+        if (!xml.substring(pos).trim().isEmpty()) {
+            SpecificationViolationReporter.report("Ignoring garbage characters after </root> element");
+        }
+        if (!deviceFound) {
+            throw new DescriptorBindingException("No <device> element in <root>");
+        }
+        return descriptor;
+    }
+
+    private void readSpecVersion(MutableDevice descriptor) throws DescriptorBindingException {
+        String specVersionQName = enter();
+        while (nextChild(specVersionQName)) {
+            ELEMENT element = ELEMENT.valueOrNullOf(localName);
+            if (element == ELEMENT.major) {
+                String version = readText().trim();
+                if (!version.equals("1")) {
+                    SpecificationViolationReporter.report("Unsupported UDA major version, ignoring: " + version);
+                    version = "1";
+                }
+                descriptor.udaVersion.major = Integer.parseInt(version);
+            } else if (element == ELEMENT.minor) {
+                String version = readText().trim();
+                if (!version.equals("0")) {
+                    SpecificationViolationReporter.report("Unsupported UDA minor version, ignoring: " + version);
+                    version = "0";
+                }
+                descriptor.udaVersion.minor = Integer.parseInt(version);
+            } else {
+                skipElement();
+            }
+        }
+    }
+
+    private void readDevice(MutableDevice descriptor) throws DescriptorBindingException {
+        String deviceQName = enter();
+        while (nextChild(deviceQName)) {
+            ELEMENT element = ELEMENT.valueOrNullOf(localName);
+            if (element == null) {
+                skipElement();
+                continue;
+            }
+            switch (element) {
+                case deviceType:
+                    descriptor.deviceType = readText();
+                    break;
+                case friendlyName:
+                    descriptor.friendlyName = readText();
+                    break;
+                case manufacturer:
+                    descriptor.manufacturer = readText();
+                    break;
+                case manufacturerURL:
+                    descriptor.manufacturerURI = UDA10DeviceDescriptorBinderImpl.parseURI(readText());
+                    break;
+                case modelDescription:
+                    descriptor.modelDescription = readText();
+                    break;
+                case modelName:
+                    descriptor.modelName = readText();
+                    break;
+                case modelNumber:
+                    descriptor.modelNumber = readText();
+                    break;
+                case modelURL:
+                    descriptor.modelURI = UDA10DeviceDescriptorBinderImpl.parseURI(readText());
+                    break;
+                case presentationURL:
+                    descriptor.presentationURI = UDA10DeviceDescriptorBinderImpl.parseURI(readText());
+                    break;
+                case UPC:
+                    descriptor.upc = readText();
+                    break;
+                case serialNumber:
+                    descriptor.serialNumber = readText();
+                    break;
+                case UDN:
+                    String udn = readText();
+                    // Belkin WeMo Maker contains illegal strings in UDN values
+                    if (udn.contains(":sensor:switch")) {
+                        SpecificationViolationReporter
+                                .report("Detected invalid UDN value ':sensor:switch', replacing it");
+                        udn = udn.replace(":sensor:switch", "");
+                    }
+                    descriptor.udn = UDN.valueOf(udn);
+                    break;
+                case iconList:
+                    readIconList(descriptor);
+                    break;
+                case serviceList:
+                    readServiceList(descriptor);
+                    break;
+                case deviceList:
+                    readDeviceList(descriptor);
+                    break;
+                case X_DLNADOC:
+                    if (Descriptor.Device.DLNA_PREFIX.equals(prefix)) {
+                        String txt = readText();
+                        try {
+                            descriptor.dlnaDocs.add(DLNADoc.valueOf(txt));
+                        } catch (InvalidValueException e) {
+                            logger.info("Invalid X_DLNADOC value, ignoring value: {}", txt);
+                        }
+                    } else {
+                        skipElement();
+                    }
+                    break;
+                case X_DLNACAP:
+                    if (Descriptor.Device.DLNA_PREFIX.equals(prefix)) {
+                        descriptor.dlnaCaps = DLNACaps.valueOf(readText());
+                    } else {
+                        skipElement();
+                    }
+                    break;
+                default:
+                    skipElement();
+            }
+        }
+    }
+
+    private void readIconList(MutableDevice descriptor) throws DescriptorBindingException {
+        String iconListQName = enter();
+        while (nextChild(iconListQName)) {
+            if (ELEMENT.icon.name().equals(localName)) {
+                MutableIcon icon = new MutableIcon();
+                readIcon(icon);
+                descriptor.icons.add(icon);
+            } else {
+                skipElement();
+            }
+        }
+    }
+
+    private void readIcon(MutableIcon icon) throws DescriptorBindingException {
+        String iconQName = enter();
+        while (nextChild(iconQName)) {
+            ELEMENT element = ELEMENT.valueOrNullOf(localName);
+            if (element == ELEMENT.width) {
+                icon.width = Integer.parseInt(readText().trim());
+            } else if (element == ELEMENT.height) {
+                icon.height = Integer.parseInt(readText().trim());
+            } else if (element == ELEMENT.depth) {
+                String depth = readText();
+                try {
+                    icon.depth = Integer.parseInt(depth.trim());
+                } catch (NumberFormatException e) {
+                    SpecificationViolationReporter.report("Invalid icon depth '{}', using 16 as default: {}", depth, e);
+                    icon.depth = 16;
+                }
+            } else if (element == ELEMENT.url) {
+                icon.uri = UDA10DeviceDescriptorBinderImpl.parseURI(readText());
+            } else if (element == ELEMENT.mimetype) {
+                icon.mimeType = readText();
+                if ("jpg".equals(icon.mimeType)) {
+                    SpecificationViolationReporter
+                            .report("Detected invalid mimetype 'jpg', replacing it with 'image/jpeg'");
+                    icon.mimeType = "image/jpeg";
+                }
+                try {
+                    MimeType.valueOf(icon.mimeType);
+                } catch (IllegalArgumentException e) {
+                    SpecificationViolationReporter.report("Ignoring invalid icon mime type: " + icon.mimeType);
+                    icon.mimeType = "";
+                }
+            } else {
+                skipElement();
+            }
+        }
+    }
+
+    private void readServiceList(MutableDevice descriptor) throws DescriptorBindingException {
+        String serviceListQName = enter();
+        while (nextChild(serviceListQName)) {
+            if (ELEMENT.service.name().equals(localName)) {
+                MutableService service = new MutableService();
+                if (readService(service)) {
+                    descriptor.services.add(service);
+                }
+            } else {
+                skipElement();
+            }
+        }
+    }
+
+    /**
+     * @return <code>false</code> if the service declaration is invalid and has to be skipped.
+     */
+    private boolean readService(MutableService service) throws DescriptorBindingException {
+        String serviceQName = enter();
+        boolean valid = true;
+        while (nextChild(serviceQName)) {
+            ELEMENT element = ELEMENT.valueOrNullOf(localName);
+            try {
+                if (element == ELEMENT.serviceType) {
+                    service.serviceType = ServiceType.valueOf(readText());
+                } else if (element == ELEMENT.serviceId) {
+                    service.serviceId = ServiceId.valueOf(readText());
+                } else if (element == ELEMENT.SCPDURL) {
+                    service.descriptorURI = UDA10DeviceDescriptorBinderImpl.parseURI(readText());
+                } else if (element == ELEMENT.controlURL) {
+                    service.controlURI = UDA10DeviceDescriptorBinderImpl.parseURI(readText());
+                } else if (element == ELEMENT.eventSubURL) {
+                    service.eventSubscriptionURI = UDA10DeviceDescriptorBinderImpl.parseURI(readText());
+                } else {
+                    skipElement();
+                }
+            } catch (InvalidValueException e) {
+                // The text has been read, continue to the end of the service declaration
+                if (valid) {
+                    SpecificationViolationReporter.report("Skipping invalid service declaration. " + e.getMessage());
+                }
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private void readDeviceList(MutableDevice descriptor) throws DescriptorBindingException {
+        String deviceListQName = enter();
+        while (nextChild(deviceListQName)) {
+            if (ELEMENT.device.name().equals(localName)) {
+                MutableDevice embeddedDevice = new MutableDevice();
+                embeddedDevice.parentDevice = descriptor;
+                descriptor.embeddedDevices.add(embeddedDevice);
+                readDevice(embeddedDevice);
+            } else {
+                skipElement();
+            }
+        }
+    }
+
+    /* ############################################################################################################ */
+
+    /**
+     * @return The name of the current element, or <code>null</code> if it is empty and has no children.
+     */
+    private String enter() {
+        return emptyTag ? null : qName;
+    }
+
+    /**
+     * Moves to the next child element of the current element, or consumes the end tag of the current element.
+     *
+     * @param parentQName The name of the current element, as returned by {@link #enter()}.
+     * @return <code>true</code> if positioned on the start tag of a child element, <code>false</code> at the end of
+     *         the current element.
+     */
+    private boolean nextChild(String parentQName) throws DescriptorBindingException {
+        if (parentQName == null) {
+            return false;
+        }
+        if (!nextTag()) {
+            throw unexpectedEnd(parentQName);
+        }
+        if (endTag) {
+            checkEndTag(parentQName);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the text of the current element, up to and including its end tag. The text of nested elements is
+     * ignored.
+     */
+    private String readText() throws DescriptorBindingException {
+        if (emptyTag) {
+            return "";
+        }
+        String elementQName = qName;
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            int lt = xml.indexOf('<', pos);
+            if (lt == -1) {
+                throw unexpectedEnd(elementQName);
+            }
+            appendDecoded(text, pos, lt);
+            pos = lt;
+            if (xml.startsWith("<![CDATA[", pos)) {
+                int end = indexOfOrEnd("]]>", pos, elementQName);
+                text.append(xml, pos + 9, end);
+                pos = end + 3;
+            } else if (!skipMarkup()) {
+                readTag();
+                if (endTag) {
+                    checkEndTag(elementQName);
+                    return text.toString();
+                }
+                skipElement();
+            }
+        }
+    }
+
+    /**
+     * Skips the current element, including all nested elements and its end tag.
+     */
+    private void skipElement() throws DescriptorBindingException {
+        if (emptyTag) {
+            return;
+        }
+        Deque<String> open = new ArrayDeque<>();
+        open.push(qName);
+        while (!open.isEmpty()) {
+            if (!nextTag()) {
+                throw unexpectedEnd(open.peek());
+            }
+            if (endTag) {
+                checkEndTag(open.pop());
+            } else if (!emptyTag) {
+                open.push(qName);
+            }
+        }
+    }
+
+    /**
+     * Moves to the next start or end tag, skipping text, comments, CDATA sections, processing instructions and
+     * document type declarations.
+     *
+     * @return <code>false</code> at the end of the document.
+     */
+    private boolean nextTag() throws DescriptorBindingException {
+        while (true) {
+            int lt = xml.indexOf('<', pos);
+            if (lt == -1 || lt == xml.length() - 1) {
+                pos = xml.length();
+                return false;
+            }
+            pos = lt;
+            if (!skipMarkup()) {
+                readTag();
+                return true;
+            }
+        }
+    }
+
+    private boolean skipMarkup() throws DescriptorBindingException {
+        if (xml.startsWith("<!--", pos)) {
+            pos = indexOfOrEnd("-->", pos + 4, qName) + 3;
+        } else if (xml.startsWith("<?", pos)) {
+            pos = indexOfOrEnd("?>", pos + 2, qName) + 2;
+        } else if (xml.startsWith("<![CDATA[", pos)) {
+            pos = indexOfOrEnd("]]>", pos + 9, qName) + 3;
+        } else if (xml.startsWith("<!", pos)) {
+            // <!DOCTYPE ...> with an optional internal subset in brackets
+            int depth = 0;
+            for (int i = pos + 2; i < xml.length(); i++) {
+                char c = xml.charAt(i);
+                if (c == '[') {
+                    depth++;
+                } else if (c == ']') {
+                    depth--;
+                } else if (c == '>' && depth <= 0) {
+                    pos = i + 1;
+                    return true;
+                }
+            }
+            throw unexpectedEnd(qName);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void readTag() throws DescriptorBindingException {
+        endTag = xml.charAt(pos + 1) == '/';
+        int start = pos + (endTag ? 2 : 1);
+
+        // Find the end of the tag, '>' is allowed in quoted attribute values
+        int end = -1;
+        char quote = 0;
+        for (int i = start; i < xml.length(); i++) {
+            char c = xml.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                end = i;
+                break;
+            }
+        }
+        if (end == -1) {
+            throw unexpectedEnd(qName);
+        }
+        pos = end + 1;
+
+        emptyTag = !endTag && xml.charAt(end - 1) == '/';
+        int contentEnd = emptyTag ? end - 1 : end;
+        int nameEnd = start;
+        while (nameEnd < contentEnd && !Character.isWhitespace(xml.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        if (nameEnd == start) {
+            throw new DescriptorBindingException("Invalid tag at line " + getLineNumber(start));
+        }
+        qName = xml.substring(start, nameEnd);
+        attributes = xml.substring(nameEnd, contentEnd);
+        int colon = qName.indexOf(':');
+        prefix = colon == -1 ? null : qName.substring(0, colon);
+        localName = qName.substring(colon + 1);
+    }
+
+    private void checkEndTag(String expectedQName) throws DescriptorBindingException {
+        if (!qName.equals(expectedQName)) {
+            throw new DescriptorBindingException("Found </" + qName + "> at line " + getLineNumber(pos)
+                    + ", expected </" + expectedQName + ">");
+        }
+    }
+
+    private void appendDecoded(StringBuilder text, int start, int end) {
+        int amp = xml.indexOf('&', start);
+        while (amp != -1 && amp < end) {
+            text.append(xml, start, amp);
+            int semicolon = xml.indexOf(';', amp);
+            String decoded = semicolon != -1 && semicolon < end && semicolon - amp <= 10
+                    ? decodeReference(xml.substring(amp + 1, semicolon))
+                    : null;
+            if (decoded != null) {
+                text.append(decoded);
+                start = semicolon + 1;
+            } else {
+                if (!unescapedAmpersandReported) {
+                    SpecificationViolationReporter.report("Unescaped '&' in descriptor text at line {}",
+                            getLineNumber(amp));
+                    unescapedAmpersandReported = true;
+                }
+                text.append('&');
+                start = amp + 1;
+            }
+            amp = xml.indexOf('&', start);
+        }
+        text.append(xml, start, end);
+    }
+
+    private static String decodeReference(String reference) {
+        switch (reference) {
+            case "amp":
+                return "&";
+            case "lt":
+                return "<";
+            case "gt":
+                return ">";
+            case "quot":
+                return "\"";
+            case "apos":
+                return "'";
+            default:
+                if (reference.length() < 2 || reference.charAt(0) != '#') {
+                    return null;
+                }
+                try {
+                    int codePoint = reference.charAt(1) == 'x' || reference.charAt(1) == 'X'
+                            ? Integer.parseInt(reference.substring(2), 16)
+                            : Integer.parseInt(reference.substring(1));
+                    return new String(Character.toChars(codePoint));
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+        }
+    }
+
+    private int indexOfOrEnd(String token, int from, String elementQName) throws DescriptorBindingException {
+        int index = xml.indexOf(token, from);
+        if (index == -1) {
+            throw unexpectedEnd(elementQName);
+        }
+        return index;
+    }
+
+    private DescriptorBindingException unexpectedEnd(String elementQName) {
+        return new DescriptorBindingException(
+                "Unexpected end of descriptor" + (elementQName != null ? ", missing </" + elementQName + ">" : ""));
+    }
+
+    private int getLineNumber(int index) {
+        int line = 1;
+        for (int i = 0; i < index && i < xml.length(); i++) {
+            if (xml.charAt(i) == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+}
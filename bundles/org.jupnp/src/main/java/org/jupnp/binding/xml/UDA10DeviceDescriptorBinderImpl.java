@@ -21,10 +21,8 @@ import static org.jupnp.model.XMLUtil.appendNewElementIfNotNull;
 import java.io.StringReader;
 import java.net.URI;
 import java.net.URL;
-import java.util.Locale;
 
 import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 
 import org.jupnp.binding.staging.MutableDevice;
 import org.jupnp.binding.staging.MutableIcon;
@@ -50,6 +48,7 @@ import org.jupnp.model.types.ServiceType;
 import org.jupnp.model.types.UDN;
 import org.jupnp.util.MimeType;
 import org.jupnp.util.SpecificationViolationReporter;
+import org.jupnp.xml.XMLFactories;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -91,15 +90,7 @@ public class UDA10DeviceDescriptorBinderImpl implements DeviceDescriptorBinder,
             // And by the way... try this with JAXB instead of manual DOM processing! And you thought it couldn't get
             // worse....
 
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            try {
-                factory.setAttribute("http://apache.org/xml/properties/locale", Locale.ROOT);
-            } catch (IllegalArgumentException e) {
-                // Android parsers may not support this attribute
-                logger.debug("Parser does not support 'http://apache.org/xml/properties/locale' attribute", e);
-            }
-            DocumentBuilder documentBuilder = factory.newDocumentBuilder();
+            DocumentBuilder documentBuilder = XMLFactories.newDocumentBuilder();
             documentBuilder.setErrorHandler(this);
 
             Document d = documentBuilder.parse(new InputSource(
@@ -418,10 +409,7 @@ public class UDA10DeviceDescriptorBinderImpl implements DeviceDescriptorBinder,
         try {
             logger.trace("Generating DOM from device model: {}", deviceModel);
 
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-
-            Document d = factory.newDocumentBuilder().newDocument();
+            Document d = XMLFactories.newDocument();
             generateRoot(namespace, deviceModel, d, info);
 
             return d;
@@ -431,6 +419,60 @@ public class UDA10DeviceDescriptorBinderImpl implements DeviceDescriptorBinder,
         }
     }
 
+    /**
+     * Subclasses which change the generated descriptors are never rendered from a template, unless they
+     * override this method.
+     *
+     * @return <code>true</code> if {@link #generateTemplate(Device, Namespace)} renders the same descriptors as
+     *         {@link #generate(Device, RemoteClientInfo, Namespace)}.
+     */
+    public boolean isTemplateSupported() {
+        return getClass() == UDA10DeviceDescriptorBinderImpl.class;
+    }
+
+    /**
+     * Generates a descriptor once, with a slot instead of the details of every device.
+     *
+     * @return The template, or <code>null</code> if the static parts contain the slot marker.
+     */
+    public DeviceDescriptorTemplate generateTemplate(Device deviceModel, Namespace namespace)
+            throws DescriptorBindingException {
+        try {
+            logger.trace("Generating XML descriptor template from device model: {}", deviceModel);
+
+            TemplateSlots slots = new TemplateSlots();
+            Document d = XMLFactories.newDocument();
+            generateRoot(namespace, deviceModel, d, slots);
+
+            String[] segments = XMLUtil.documentToString(d).split(TemplateSlots.MARKER, -1);
+            if (segments.length != slots.count + 1) {
+                logger.debug("Can't split descriptor of device into a template: {}", deviceModel);
+                return null;
+            }
+            return new DeviceDescriptorTemplate(this, namespace, segments);
+
+        } catch (Exception e) {
+            throw new DescriptorBindingException("Could not generate device descriptor template: " + e.getMessage(),
+                    e);
+        }
+    }
+
+    /**
+     * @return The serialized details elements of a device, as they appear in its descriptor.
+     */
+    public String generateDetails(Namespace namespace, Device deviceModel, DeviceDetails deviceModelDetails)
+            throws DescriptorBindingException {
+        try {
+            Document d = XMLFactories.newDocument();
+            Element deviceElement = d.createElement(ELEMENT.device.toString());
+            d.appendChild(deviceElement);
+            generateDetails(namespace, deviceModel, deviceModelDetails, d, deviceElement);
+            return XMLUtil.childrenToString(deviceElement);
+        } catch (Exception e) {
+            throw new DescriptorBindingException("Could not generate device details: " + e.getMessage(), e);
+        }
+    }
+
     protected void generateRoot(Namespace namespace, Device deviceModel, Document descriptor, RemoteClientInfo info) {
 
         Element rootElement = descriptor.createElementNS(Descriptor.Device.NAMESPACE_URI, ELEMENT.root.toString());
@@ -462,7 +504,22 @@ public class UDA10DeviceDescriptorBinderImpl implements DeviceDescriptorBinder,
 
         appendNewElementIfNotNull(descriptor, deviceElement, ELEMENT.deviceType, deviceModel.getType());
 
-        DeviceDetails deviceModelDetails = deviceModel.getDetails(info);
+        if (info instanceof TemplateSlots) {
+            ((TemplateSlots) info).add(descriptor, deviceElement);
+        } else {
+            generateDetails(namespace, deviceModel, deviceModel.getDetails(info), descriptor, deviceElement);
+        }
+
+        generateIconList(namespace, deviceModel, descriptor, deviceElement);
+        generateServiceList(namespace, deviceModel, descriptor, deviceElement);
+        generateDeviceList(namespace, deviceModel, descriptor, deviceElement, info);
+    }
+
+    /**
+     * Generates the elements of the device details, the only part of a descriptor which depends on the client.
+     */
+    protected void generateDetails(Namespace namespace, Device deviceModel, DeviceDetails deviceModelDetails,
+            Document descriptor, Element deviceElement) {
         appendNewElementIfNotNull(descriptor, deviceElement, ELEMENT.friendlyName,
                 deviceModelDetails.getFriendlyName());
         if (deviceModelDetails.getManufacturerDetails() != null) {
@@ -503,10 +560,6 @@ public class UDA10DeviceDescriptorBinderImpl implements DeviceDescriptorBinder,
 
         appendNewElementIfNotNull(descriptor, deviceElement, Descriptor.Device.SEC_PREFIX + ":" + ELEMENT.X_ProductCap,
                 deviceModelDetails.getSecProductCaps(), Descriptor.Device.SEC_NAMESPACE_URI);
-
-        generateIconList(namespace, deviceModel, descriptor, deviceElement);
-        generateServiceList(namespace, deviceModel, descriptor, deviceElement);
-        generateDeviceList(namespace, deviceModel, descriptor, deviceElement, info);
     }
 
     protected void generateIconList(Namespace namespace, Device deviceModel, Document descriptor,
@@ -574,6 +627,23 @@ public class UDA10DeviceDescriptorBinderImpl implements DeviceDescriptorBinder,
         }
     }
 
+    /**
+     * Passed instead of a client to the generator of a template, marks the position of the details of every
+     * device.
+     */
+    protected static class TemplateSlots extends RemoteClientInfo {
+
+        // Not a valid XML character, can't be in the text of a descriptor
+        static final String MARKER = "\u0000";
+
+        int count;
+
+        void add(Document descriptor, Element deviceElement) {
+            deviceElement.appendChild(descriptor.createTextNode(MARKER));
+            count++;
+        }
+    }
+
     @Override
     public void warning(SAXParseException e) throws SAXException {
         logger.warn(e.toString());
@@ -52,6 +52,12 @@ public class UDA10DeviceDescriptorBinderSAXImpl extends UDA10DeviceDescriptorBin
 
     private final Logger logger = LoggerFactory.getLogger(DeviceDescriptorBinder.class);
 
+    @Override
+    public boolean isTemplateSupported() {
+        // Only parsing differs, descriptors are generated by the superclass
+        return getClass() == UDA10DeviceDescriptorBinderSAXImpl.class;
+    }
+
     @Override
     public <D extends Device> D describe(D undescribedDevice, String descriptorXml)
             throws DescriptorBindingException, ValidationException {
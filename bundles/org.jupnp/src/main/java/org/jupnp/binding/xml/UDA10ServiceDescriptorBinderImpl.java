@@ -24,7 +24,6 @@ import java.util.List;
 import java.util.Locale;
 
 import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 
 import org.jupnp.binding.staging.MutableAction;
 import org.jupnp.binding.staging.MutableActionArgument;
@@ -45,6 +44,7 @@ import org.jupnp.model.meta.StateVariableEventDetails;
 import org.jupnp.model.types.CustomDatatype;
 import org.jupnp.model.types.Datatype;
 import org.jupnp.util.SpecificationViolationReporter;
+import org.jupnp.xml.XMLFactories;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -76,9 +76,7 @@ public class UDA10ServiceDescriptorBinderImpl implements ServiceDescriptorBinder
         try {
             logger.trace("Populating service from XML descriptor: {}", undescribedService);
 
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            DocumentBuilder documentBuilder = factory.newDocumentBuilder();
+            DocumentBuilder documentBuilder = XMLFactories.newDocumentBuilder();
             documentBuilder.setErrorHandler(this);
 
             Document d = documentBuilder.parse(new InputSource(
@@ -355,10 +353,7 @@ public class UDA10ServiceDescriptorBinderImpl implements ServiceDescriptorBinder
         try {
             logger.trace("Generting XML descriptor from service model: {}", service);
 
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-
-            Document d = factory.newDocumentBuilder().newDocument();
+            Document d = XMLFactories.newDocument();
             generateScpd(service, d);
 
             return d;
@@ -16,14 +16,21 @@
 package org.jupnp.controlpoint;
 
 import java.util.concurrent.Future;
+import java.util.function.Function;
 
 import org.jupnp.UpnpServiceConfiguration;
+import org.jupnp.model.action.ActionException;
 import org.jupnp.model.message.header.UpnpHeader;
+import org.jupnp.model.meta.Action;
+import org.jupnp.model.meta.RemoteService;
+import org.jupnp.model.types.ErrorCode;
 import org.jupnp.protocol.ProtocolFactory;
+import org.jupnp.protocol.RetrieveRemoteServiceDescriptor;
 import org.jupnp.registry.Registry;
 
 /**
- * Unified API for the asynchronous execution of network searches, actions, event subscriptions.
+ * Unified API for the asynchronous execution of network searches, actions, event subscriptions, and service
+ * descriptor retrievals.
  *
  * @author Christian Bauer
  */
@@ -46,4 +53,50 @@ public interface ControlPoint {
     Future execute(ActionCallback callback);
 
     void execute(SubscriptionCallback callback);
+
+    /**
+     * Retrieves the descriptor of a remote service which has been registered without its actions and state
+     * variables, see {@link UpnpServiceConfiguration#isLazyServiceDescriptorRetrieval()}.
+     * <p>
+     * The default implementation retrieves the descriptor on the
+     * {@link UpnpServiceConfiguration#getSyncProtocolExecutorService()}.
+     * </p>
+     *
+     * @return The described service, or the given service if it has already been described.
+     */
+    default Future<RemoteService> describe(RemoteService service) {
+        return getConfiguration().getSyncProtocolExecutorService()
+                .submit(new RetrieveRemoteServiceDescriptor(getProtocolFactory().getUpnpService(), service));
+    }
+
+    /**
+     * Executes an action of a remote service which might have been registered without its actions and state
+     * variables, see {@link UpnpServiceConfiguration#isLazyServiceDescriptorRetrieval()}. The service is described
+     * first, then the callback for the action of the described service is created and executed.
+     * <p>
+     * The default implementation describes the service and runs the callback in one task on the
+     * {@link UpnpServiceConfiguration#getSyncProtocolExecutorService()}, like {@link #execute(ActionCallback)}.
+     * </p>
+     *
+     * @param callbackFactory Creates the callback with the invocation of the given action.
+     * @return Fails with an {@link ActionException} if the service has no action with the name, or with the
+     *         error of the service descriptor retrieval.
+     */
+    default Future execute(RemoteService service, String actionName,
+            Function<Action<RemoteService>, ActionCallback> callbackFactory) {
+        return getConfiguration().getSyncProtocolExecutorService().submit(() -> {
+            RemoteService describedService = new RetrieveRemoteServiceDescriptor(
+                    getProtocolFactory().getUpnpService(), service).call();
+            Action<RemoteService> action = describedService.getAction(actionName);
+            if (action == null) {
+                throw new ActionException(ErrorCode.INVALID_ACTION,
+                        "No action '" + actionName + "' on service: " + describedService);
+            }
+            ActionCallback callback = callbackFactory.apply(action);
+            callback.setControlPoint(this);
+            // Already running on the executor of action callbacks
+            callback.run();
+            return null;
+        });
+    }
 }
@@ -17,6 +17,7 @@ package org.jupnp.controlpoint;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.function.Function;
 
 import org.jupnp.UpnpServiceConfiguration;
 import org.jupnp.controlpoint.event.ExecuteAction;
@@ -24,6 +25,8 @@ import org.jupnp.controlpoint.event.Search;
 import org.jupnp.model.message.header.MXHeader;
 import org.jupnp.model.message.header.STAllHeader;
 import org.jupnp.model.message.header.UpnpHeader;
+import org.jupnp.model.meta.Action;
+import org.jupnp.model.meta.RemoteService;
 import org.jupnp.protocol.ProtocolFactory;
 import org.jupnp.registry.Registry;
 import org.slf4j.Logger;
@@ -117,4 +120,17 @@ public class ControlPointImpl implements ControlPoint {
         callback.setControlPoint(this);
         getConfiguration().getSyncProtocolExecutorService().execute(callback);
     }
+
+    @Override
+    public Future<RemoteService> describe(RemoteService service) {
+        logger.trace("Describing service in background: {}", service);
+        return ControlPoint.super.describe(service);
+    }
+
+    @Override
+    public Future execute(RemoteService service, String actionName,
+            Function<Action<RemoteService>, ActionCallback> callbackFactory) {
+        logger.trace("Describing service and invoking action '{}' in background: {}", actionName, service);
+        return ControlPoint.super.execute(service, actionName, callbackFactory);
+    }
 }
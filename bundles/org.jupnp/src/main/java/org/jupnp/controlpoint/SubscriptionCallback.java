@@ -16,6 +16,7 @@
 package org.jupnp.controlpoint;
 
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.jupnp.model.UnsupportedDataException;
 import org.jupnp.model.UserConstants;
@@ -28,6 +29,7 @@ import org.jupnp.model.meta.LocalService;
 import org.jupnp.model.meta.RemoteService;
 import org.jupnp.model.meta.Service;
 import org.jupnp.protocol.ProtocolCreationException;
+import org.jupnp.protocol.RetrieveRemoteServiceDescriptor;
 import org.jupnp.protocol.sync.SendingSubscribe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -77,8 +79,11 @@ public abstract class SubscriptionCallback implements Runnable {
     protected final Service service;
     protected final Integer requestedDurationSeconds;
 
-    private ControlPoint controlPoint;
-    private GENASubscription subscription;
+    // Guards the subscription lifecycle and the callbacks, without pinning virtual threads during network I/O
+    private final ReentrantLock callbackLock = new ReentrantLock();
+
+    private volatile ControlPoint controlPoint;
+    private volatile GENASubscription subscription;
 
     protected SubscriptionCallback(Service service) {
         this.service = service;
@@ -94,32 +99,40 @@ public abstract class SubscriptionCallback implements Runnable {
         return service;
     }
 
-    public synchronized ControlPoint getControlPoint() {
+    public ControlPoint getControlPoint() {
         return controlPoint;
     }
 
-    public synchronized void setControlPoint(ControlPoint controlPoint) {
+    public void setControlPoint(ControlPoint controlPoint) {
         this.controlPoint = controlPoint;
     }
 
-    public synchronized GENASubscription getSubscription() {
+    public GENASubscription getSubscription() {
         return subscription;
     }
 
-    public synchronized void setSubscription(GENASubscription subscription) {
+    public void setSubscription(GENASubscription subscription) {
         this.subscription = subscription;
     }
 
     @Override
-    public synchronized void run() {
-        if (getControlPoint() == null) {
-            throw new IllegalStateException("Callback must be executed through ControlPoint");
-        }
+    public void run() {
+        callbackLock.lock();
+        try {
+            if (getControlPoint() == null) {
+                throw new IllegalStateException("Callback must be executed through ControlPoint");
+            }
 
-        if (getService() instanceof LocalService) {
-            establishLocalSubscription((LocalService) service);
-        } else if (getService() instanceof RemoteService) {
-            establishRemoteSubscription((RemoteService) service);
+            if (getService() instanceof LocalService) {
+                establishLocalSubscription((LocalService) service);
+            } else if (getService() instanceof RemoteService) {
+                RemoteService remoteService = describeRemoteService((RemoteService) service);
+                if (remoteService != null) {
+                    establishRemoteSubscription(remoteService);
+                }
+            }
+        } finally {
+            callbackLock.unlock();
         }
     }
 
@@ -140,35 +153,47 @@ public abstract class SubscriptionCallback implements Runnable {
             localSubscription = new LocalGENASubscription(service, Integer.MAX_VALUE, List.of()) {
 
                 public void failed(Exception e) {
-                    synchronized (SubscriptionCallback.this) {
+                    callbackLock.lock();
+                    try {
                         SubscriptionCallback.this.setSubscription(null);
                         SubscriptionCallback.this.failed(null, null, e);
+                    } finally {
+                        callbackLock.unlock();
                     }
                 }
 
                 @Override
                 public void established() {
-                    synchronized (SubscriptionCallback.this) {
+                    callbackLock.lock();
+                    try {
                         SubscriptionCallback.this.setSubscription(this);
                         SubscriptionCallback.this.established(this);
+                    } finally {
+                        callbackLock.unlock();
                     }
                 }
 
                 @Override
                 public void ended(CancelReason reason) {
-                    synchronized (SubscriptionCallback.this) {
+                    callbackLock.lock();
+                    try {
                         SubscriptionCallback.this.setSubscription(null);
                         SubscriptionCallback.this.ended(this, reason, null);
+                    } finally {
+                        callbackLock.unlock();
                     }
                 }
 
                 @Override
                 public void eventReceived() {
-                    synchronized (SubscriptionCallback.this) {
+                    callbackLock.lock();
+                    try {
                         logger.trace("Local service state updated, notifying callback, sequence is: {}",
                                 getCurrentSequence());
                         SubscriptionCallback.this.eventReceived(this);
                         incrementSequence();
+                    } finally {
+                        callbackLock.unlock();
                     }
                 }
             };
@@ -196,51 +221,93 @@ public abstract class SubscriptionCallback implements Runnable {
         }
     }
 
+    /**
+     * Retrieves the descriptor of a service which has been registered without state variables, with
+     * {@link org.jupnp.UpnpServiceConfiguration#isLazyServiceDescriptorRetrieval()}.
+     *
+     * @return The described service, or <code>null</code> if the subscription failed.
+     */
+    private RemoteService describeRemoteService(RemoteService service) {
+        if (!getControlPoint().getConfiguration().isLazyServiceDescriptorRetrieval()) {
+            return service;
+        }
+        try {
+            return new RetrieveRemoteServiceDescriptor(getControlPoint().getProtocolFactory().getUpnpService(),
+                    service).call();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.debug("Could not describe service before subscribing: {}", service, e);
+            failed(null, null, e);
+            return null;
+        }
+    }
+
     private void establishRemoteSubscription(RemoteService service) {
         RemoteGENASubscription remoteSubscription = new RemoteGENASubscription(service, requestedDurationSeconds) {
 
             @Override
             public void failed(UpnpResponse responseStatus) {
-                synchronized (SubscriptionCallback.this) {
+                callbackLock.lock();
+                try {
                     SubscriptionCallback.this.setSubscription(null);
                     SubscriptionCallback.this.failed(this, responseStatus, null);
+                } finally {
+                    callbackLock.unlock();
                 }
             }
 
             @Override
             public void established() {
-                synchronized (SubscriptionCallback.this) {
+                callbackLock.lock();
+                try {
                     SubscriptionCallback.this.setSubscription(this);
                     SubscriptionCallback.this.established(this);
+                } finally {
+                    callbackLock.unlock();
                 }
             }
 
             @Override
             public void ended(CancelReason reason, UpnpResponse responseStatus) {
-                synchronized (SubscriptionCallback.this) {
+                callbackLock.lock();
+                try {
                     SubscriptionCallback.this.setSubscription(null);
                     SubscriptionCallback.this.ended(this, reason, responseStatus);
+                } finally {
+                    callbackLock.unlock();
                 }
             }
 
             @Override
             public void eventReceived() {
-                synchronized (SubscriptionCallback.this) {
+                callbackLock.lock();
+                try {
                     SubscriptionCallback.this.eventReceived(this);
+                } finally {
+                    callbackLock.unlock();
                 }
             }
 
             @Override
             public void eventsMissed(int numberOfMissedEvents) {
-                synchronized (SubscriptionCallback.this) {
+                getControlPoint().getProtocolFactory().getUpnpService().getMetrics().eventsMissed(numberOfMissedEvents);
+                callbackLock.lock();
+                try {
                     SubscriptionCallback.this.eventsMissed(this, numberOfMissedEvents);
+                } finally {
+                    callbackLock.unlock();
                 }
             }
 
             @Override
             public void invalidMessage(UnsupportedDataException e) {
-                synchronized (SubscriptionCallback.this) {
+                callbackLock.lock();
+                try {
                     SubscriptionCallback.this.invalidMessage(this, e);
+                } finally {
+                    callbackLock.unlock();
                 }
             }
         };
@@ -255,14 +322,19 @@ public abstract class SubscriptionCallback implements Runnable {
         protocol.run();
     }
 
-    public synchronized void end() {
-        if (subscription == null) {
-            return;
-        }
-        if (subscription instanceof LocalGENASubscription) {
-            endLocalSubscription((LocalGENASubscription) subscription);
-        } else if (subscription instanceof RemoteGENASubscription) {
-            endRemoteSubscription((RemoteGENASubscription) subscription);
+    public void end() {
+        callbackLock.lock();
+        try {
+            if (subscription == null) {
+                return;
+            }
+            if (subscription instanceof LocalGENASubscription) {
+                endLocalSubscription((LocalGENASubscription) subscription);
+            } else if (subscription instanceof RemoteGENASubscription) {
+                endRemoteSubscription((RemoteGENASubscription) subscription);
+            }
+        } finally {
+            callbackLock.unlock();
         }
     }
 
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.metrics;
+
+import org.jupnp.model.message.UpnpMessage;
+import org.jupnp.model.message.UpnpOperation;
+import org.jupnp.model.message.UpnpRequest;
+
+/**
+ * The kinds of UDP datagrams counted by {@link UpnpServiceMetrics}.
+ */
+public enum DatagramType {
+
+    NOTIFY,
+    SEARCH,
+    SEARCH_RESPONSE,
+    OTHER;
+
+    /**
+     * @param message A received or sent datagram message.
+     * @return The type of the message, never <code>null</code>.
+     */
+    public static DatagramType of(UpnpMessage<?> message) {
+        UpnpOperation operation = message.getOperation();
+        if (!(operation instanceof UpnpRequest)) {
+            return SEARCH_RESPONSE;
+        }
+        switch (((UpnpRequest) operation).getMethod()) {
+            case NOTIFY:
+                return NOTIFY;
+            case MSEARCH:
+                return SEARCH;
+            default:
+                return OTHER;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.jupnp.model.meta.Action;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.model.meta.Service;
+import org.jupnp.model.types.ServiceType;
+
+/**
+ * Keeps all metrics in memory, cheap enough to be always enabled.
+ * <p>
+ * Counters are {@link LongAdder}s, which are striped under contention, and recording a value never allocates once
+ * the histogram of an action exists. Action latencies are kept per service type and action name, separately for
+ * local actions invoked by remote clients and remote actions invoked by this control point, so the number of
+ * histograms doesn't grow with the number of discovered devices.
+ * </p>
+ */
+public class InMemoryUpnpServiceMetrics implements UpnpServiceMetrics {
+
+    private static final DatagramType[] DATAGRAM_TYPES = DatagramType.values();
+
+    protected final LongAdder[] datagramsReceived = newAdders(DATAGRAM_TYPES.length);
+    protected final LongAdder[] datagramsSent = newAdders(DATAGRAM_TYPES.length);
+    protected final LongAdder datagramParseFailures = new LongAdder();
+    protected final LatencyHistogram discoveryLatency = new LatencyHistogram();
+    protected final LongAdder eventsSent = new LongAdder();
+    protected final LongAdder eventsSendFailed = new LongAdder();
+    protected final LongAccumulator maxEventQueueDepth = new LongAccumulator(Math::max, 0);
+    protected final LongAdder eventsCoalesced = new LongAdder();
+    protected final LongAdder eventsDropped = new LongAdder();
+    protected final LongAdder eventsReceived = new LongAdder();
+    protected final LongAdder eventsMissed = new LongAdder();
+    protected final LongAdder streamRequestTimeouts = new LongAdder();
+
+    protected final ConcurrentMap<ServiceType, ConcurrentMap<String, LatencyHistogram>> localActionLatencies =
+            new ConcurrentHashMap<>();
+    protected final ConcurrentMap<ServiceType, ConcurrentMap<String, LatencyHistogram>> remoteActionLatencies =
+            new ConcurrentHashMap<>();
+
+    protected final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    @Override
+    public void datagramReceived(DatagramType type) {
+        datagramsReceived[type.ordinal()].increment();
+    }
+
+    @Override
+    public void datagramSent(DatagramType type) {
+        datagramsSent[type.ordinal()].increment();
+    }
+
+    @Override
+    public void datagramParseFailed() {
+        datagramParseFailures.increment();
+    }
+
+    @Override
+    public void remoteDeviceDiscovered(long nanos) {
+        discoveryLatency.record(nanos, false);
+    }
+
+    @Override
+    public void actionInvoked(Action<?> action, long nanos, boolean failed) {
+        Service<?, ?> service = action.getService();
+        if (service == null) {
+            return;
+        }
+        ConcurrentMap<ServiceType, ConcurrentMap<String, LatencyHistogram>> latencies = service instanceof LocalService
+                ? localActionLatencies
+                : remoteActionLatencies;
+        ConcurrentMap<String, LatencyHistogram> byName = latencies.get(service.getServiceType());
+        if (byName == null) {
+            byName = latencies.computeIfAbsent(service.getServiceType(), type -> new ConcurrentHashMap<>());
+        }
+        LatencyHistogram histogram = byName.get(action.getName());
+        if (histogram == null) {
+            histogram = byName.computeIfAbsent(action.getName(), name -> new LatencyHistogram());
+        }
+        histogram.record(nanos, failed);
+    }
+
+    @Override
+    public void eventSent(boolean failed) {
+        (failed ? eventsSendFailed : eventsSent).increment();
+    }
+
+    @Override
+    public void eventQueued(int pendingCount) {
+        maxEventQueueDepth.accumulate(pendingCount);
+    }
+
+    @Override
+    public void eventCoalesced() {
+        eventsCoalesced.increment();
+    }
+
+    @Override
+    public void eventsDropped(int count) {
+        eventsDropped.add(count);
+    }
+
+    @Override
+    public void eventReceived() {
+        eventsReceived.increment();
+    }
+
+    @Override
+    public void eventsMissed(int count) {
+        eventsMissed.add(count);
+    }
+
+    @Override
+    public void streamRequestTimedOut() {
+        streamRequestTimeouts.increment();
+    }
+
+    @Override
+    public void registerGauge(String name, LongSupplier gauge) {
+        gauges.put(name, gauge);
+    }
+
+    public long getDatagramsReceived(DatagramType type) {
+        return datagramsReceived[type.ordinal()].sum();
+    }
+
+    public long getDatagramsSent(DatagramType type) {
+        return datagramsSent[type.ordinal()].sum();
+    }
+
+    public long getDatagramParseFailures() {
+        return datagramParseFailures.sum();
+    }
+
+    public LatencyHistogram getDiscoveryLatency() {
+        return discoveryLatency;
+    }
+
+    public long getEventsSent() {
+        return eventsSent.sum();
+    }
+
+    public long getEventsSendFailed() {
+        return eventsSendFailed.sum();
+    }
+
+    /**
+     * @return The highest number of events that were waiting for delivery to a single subscriber.
+     */
+    public long getMaxEventQueueDepth() {
+        return maxEventQueueDepth.get();
+    }
+
+    public long getEventsCoalesced() {
+        return eventsCoalesced.sum();
+    }
+
+    public long getEventsDropped() {
+        return eventsDropped.sum();
+    }
+
+    public long getEventsReceived() {
+        return eventsReceived.sum();
+    }
+
+    public long getEventsMissed() {
+        return eventsMissed.sum();
+    }
+
+    public long getStreamRequestTimeouts() {
+        return streamRequestTimeouts.sum();
+    }
+
+    /**
+     * @return The latencies of local actions invoked by remote clients, keyed by "serviceType#actionName".
+     */
+    public Map<String, LatencyHistogram> getLocalActionLatencies() {
+        return flatten(localActionLatencies);
+    }
+
+    /**
+     * @return The latencies of remote actions invoked by this control point, keyed by "serviceType#actionName".
+     */
+    public Map<String, LatencyHistogram> getRemoteActionLatencies() {
+        return flatten(remoteActionLatencies);
+    }
+
+    /**
+     * @return The current values of all registered gauges, sorted by name.
+     */
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, LongSupplier> entry : gauges.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().getAsLong());
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("(").append(getClass().getSimpleName()).append(")");
+        for (DatagramType type : DATAGRAM_TYPES) {
+            sb.append(" datagrams.").append(type).append(": ").append(getDatagramsReceived(type)).append(" received/")
+                    .append(getDatagramsSent(type)).append(" sent");
+        }
+        sb.append(", parse failures: ").append(getDatagramParseFailures());
+        sb.append(", discovery: ").append(getDiscoveryLatency());
+        sb.append(", events: ").append(getEventsSent()).append(" sent/").append(getEventsSendFailed())
+                .append(" failed/").append(getEventsReceived()).append(" received/").append(getEventsMissed())
+                .append(" missed");
+        sb.append(", event queues: ").append(getMaxEventQueueDepth()).append(" max depth/")
+                .append(getEventsCoalesced()).append(" coalesced/").append(getEventsDropped()).append(" dropped");
+        sb.append(", stream timeouts: ").append(getStreamRequestTimeouts());
+        sb.append(", local actions: ").append(getLocalActionLatencies());
+        sb.append(", remote actions: ").append(getRemoteActionLatencies());
+        sb.append(", gauges: ").append(getGauges());
+        return sb.toString();
+    }
+
+    private static Map<String, LatencyHistogram> flatten(
+            ConcurrentMap<ServiceType, ConcurrentMap<String, LatencyHistogram>> latencies) {
+        Map<String, LatencyHistogram> flat = new TreeMap<>();
+        for (Map.Entry<ServiceType, ConcurrentMap<String, LatencyHistogram>> byType : latencies.entrySet()) {
+            for (Map.Entry<String, LatencyHistogram> byName : byType.getValue().entrySet()) {
+                flat.put(byType.getKey() + "#" + byName.getKey(), byName.getValue());
+            }
+        }
+        return Collections.unmodifiableMap(flat);
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * A histogram of latencies with fixed power-of-two buckets in milliseconds.
+     * <p>
+     * Bucket 0 counts latencies below 1 ms, bucket <code>i</code> latencies from <code>2^(i-1)</code> to below
+     * <code>2^i</code> ms, the last bucket everything above.
+     * </p>
+     */
+    public static class LatencyHistogram {
+
+        public static final int BUCKETS = 16;
+
+        protected final LongAdder[] buckets = newAdders(BUCKETS);
+        protected final LongAdder count = new LongAdder();
+        protected final LongAdder failures = new LongAdder();
+        protected final LongAdder totalNanos = new LongAdder();
+
+        public void record(long nanos, boolean failed) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(Math.max(0, nanos));
+            buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis))].increment();
+            count.increment();
+            totalNanos.add(nanos);
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        /**
+         * @param bucket The index of the bucket, from 0 to {@link #BUCKETS} - 1.
+         * @return The number of latencies recorded in this bucket.
+         */
+        public long getBucketCount(int bucket) {
+            return buckets[bucket].sum();
+        }
+
+        /**
+         * @param bucket The index of the bucket, from 0 to {@link #BUCKETS} - 1.
+         * @return The exclusive upper bound of the bucket in milliseconds, {@link Long#MAX_VALUE} for the last.
+         */
+        public static long getBucketUpperBoundMillis(int bucket) {
+            return bucket == BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+        }
+
+        /**
+         * @param percentile A value between 0 and 1.
+         * @return The upper bound in milliseconds of the bucket containing the given percentile, or 0 if nothing
+         *         was recorded.
+         */
+        public long getPercentileUpperBoundMillis(double percentile) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long threshold = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= threshold) {
+                    return getBucketUpperBoundMillis(i);
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public String toString() {
+            long n = getCount();
+            return "(count: " + n + ", failures: " + getFailures() + ", mean: "
+                    + (n == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(getTotalNanos() / n)) + " ms, p50 < "
+                    + getPercentileUpperBoundMillis(0.5) + " ms, p99 < " + getPercentileUpperBoundMillis(0.99)
+                    + " ms)";
+        }
+    }
+}
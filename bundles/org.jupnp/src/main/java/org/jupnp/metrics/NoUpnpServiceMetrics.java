@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.metrics;
+
+import java.util.function.LongSupplier;
+
+import org.jupnp.model.meta.Action;
+
+/**
+ * Discards all metrics, the default if nothing else is configured.
+ */
+public class NoUpnpServiceMetrics implements UpnpServiceMetrics {
+
+    public static final NoUpnpServiceMetrics INSTANCE = new NoUpnpServiceMetrics();
+
+    protected NoUpnpServiceMetrics() {
+    }
+
+    @Override
+    public void datagramReceived(DatagramType type) {
+    }
+
+    @Override
+    public void datagramSent(DatagramType type) {
+    }
+
+    @Override
+    public void datagramParseFailed() {
+    }
+
+    @Override
+    public void remoteDeviceDiscovered(long nanos) {
+    }
+
+    @Override
+    public void actionInvoked(Action<?> action, long nanos, boolean failed) {
+    }
+
+    @Override
+    public void eventSent(boolean failed) {
+    }
+
+    @Override
+    public void eventReceived() {
+    }
+
+    @Override
+    public void eventsMissed(int count) {
+    }
+
+    @Override
+    public void streamRequestTimedOut() {
+    }
+
+    @Override
+    public void registerGauge(String name, LongSupplier gauge) {
+    }
+}
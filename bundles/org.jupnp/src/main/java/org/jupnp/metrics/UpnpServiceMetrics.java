@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.metrics;
+
+import java.util.function.LongSupplier;
+
+import org.jupnp.model.meta.Action;
+
+/**
+ * Records what the UPnP stack is doing, for monitoring in production.
+ * <p>
+ * The stack calls these methods on its hot paths, from many threads at once. Implementations must be thread-safe,
+ * must not block, and should not allocate for each call. The default is {@link NoUpnpServiceMetrics}, the
+ * {@link InMemoryUpnpServiceMetrics} keeps counters and latency histograms which can be read at any time.
+ * </p>
+ * <p>
+ * Values which the stack already holds, like registry sizes or executor queue depths, are registered once as
+ * gauges with {@link #registerGauge(String, LongSupplier)} and only read when the metrics are collected.
+ * </p>
+ */
+public interface UpnpServiceMetrics {
+
+    /**
+     * A datagram was received and parsed.
+     */
+    void datagramReceived(DatagramType type);
+
+    /**
+     * A datagram was sent, counted once even if it went out on several interfaces.
+     */
+    void datagramSent(DatagramType type);
+
+    /**
+     * A received datagram could not be parsed and was dropped.
+     */
+    void datagramParseFailed();
+
+    /**
+     * A remote device was added to the registry after its descriptors were retrieved.
+     *
+     * @param nanos The time it took to retrieve and hydrate the descriptors.
+     */
+    void remoteDeviceDiscovered(long nanos);
+
+    /**
+     * An action was executed on a local service for a remote client, or invoked on a remote service.
+     *
+     * @param action The action, local and remote actions are distinct instances.
+     * @param nanos The time it took to read the request, execute and get the result.
+     * @param failed <code>true</code> if the invocation failed.
+     */
+    void actionInvoked(Action<?> action, long nanos, boolean failed);
+
+    /**
+     * An event message was sent to a subscriber of a local service.
+     *
+     * @param failed <code>true</code> if the subscriber didn't accept the message.
+     */
+    void eventSent(boolean failed);
+
+    /**
+     * An event was queued for delivery to a subscriber of a local service.
+     *
+     * @param pendingCount The number of events of this subscriber now waiting for delivery.
+     */
+    default void eventQueued(int pendingCount) {
+    }
+
+    /**
+     * An event for a slow subscriber of a local service was merged into the last pending event of the subscriber.
+     */
+    default void eventCoalesced() {
+    }
+
+    /**
+     * Pending events for a subscriber of a local service were dropped without being sent.
+     *
+     * @param count The number of dropped events.
+     */
+    default void eventsDropped(int count) {
+    }
+
+    /**
+     * An event message of a remote service was received.
+     */
+    void eventReceived();
+
+    /**
+     * The sequence of received event messages of a remote service had a gap.
+     *
+     * @param count The number of missed event messages.
+     */
+    void eventsMissed(int count);
+
+    /**
+     * A stream (HTTP) request didn't complete within the configured timeout.
+     */
+    void streamRequestTimedOut();
+
+    /**
+     * Registers a value which is read when the metrics are collected, replacing any gauge with the same name.
+     *
+     * @param name The name of the gauge, e.g. <code>registry.remoteDevices</code>.
+     * @param gauge Supplies the current value, must be cheap and thread-safe.
+     */
+    void registerGauge(String name, LongSupplier gauge);
+}
@@ -24,6 +24,8 @@ public interface Constants {
 
     String SYSTEM_PROPERTY_ANNOUNCE_MAC_ADDRESS = "org.jupnp.network.announceMACAddress";
 
+    String SYSTEM_PROPERTY_VIRTUAL_THREADS = "org.jupnp.virtualThreads";
+
     int UPNP_MULTICAST_PORT = 1900;
 
     // this is the port to which search responses should be sent; 0 means an ephemeral port is used
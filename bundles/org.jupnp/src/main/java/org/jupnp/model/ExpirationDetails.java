@@ -80,6 +80,16 @@ public class ExpirationDetails {
                 : (lastRefreshTimestampSeconds + maxAgeSeconds) - getCurrentTimestampSeconds();
     }
 
+    /**
+     * @param halfTime If <code>true</code> then half maximum age is used to determine expiration.
+     * @return The earliest time in milliseconds at which {@link #hasExpired(boolean)} returns <code>true</code>,
+     *         or {@link Long#MAX_VALUE} if the age is unlimited.
+     */
+    public long getExpirationTimestampMillis(boolean halfTime) {
+        return maxAgeSeconds == UNLIMITED_AGE ? Long.MAX_VALUE
+                : (lastRefreshTimestampSeconds + (maxAgeSeconds / (halfTime ? 2 : 1)) + 1) * 1000;
+    }
+
     protected long getCurrentTimestampSeconds() {
         return new Date().getTime() / 1000;
     }
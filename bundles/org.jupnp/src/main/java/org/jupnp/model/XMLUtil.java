@@ -52,6 +52,21 @@ public class XMLUtil {
                 document.getDocumentElement().getNamespaceURI());
     }
 
+    /**
+     * @return The child nodes of the element, serialized as if the element had no namespace declarations, a
+     *         prefix is declared on the first child using it.
+     */
+    public static String childrenToString(Element element) throws Exception {
+        StringBuilder b = new StringBuilder();
+        Set<String> prefixes = new HashSet<>();
+        NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            b.append(nodeToString(child, prefixes, child.getNamespaceURI()));
+        }
+        return b.toString();
+    }
+
     protected static String nodeToString(Node node, Set<String> parentPrefixes, String namespaceURI) throws Exception {
         StringBuilder b = new StringBuilder();
 
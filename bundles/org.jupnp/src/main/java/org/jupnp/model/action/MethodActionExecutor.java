@@ -15,10 +15,10 @@
  */
 package org.jupnp.model.action;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.jupnp.model.meta.ActionArgument;
@@ -31,7 +31,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Invokes methods on a service implementation instance with reflection.
+ * Invokes methods on a service implementation instance with method handles bound when the service is bound, or
+ * with reflection if the method can't be accessed with a handle.
  *
  * <p>
  * If the method has an additional last parameter of type
@@ -48,14 +49,33 @@ public class MethodActionExecutor extends AbstractActionExecutor {
 
     protected Method method;
 
+    // Bound once, the reflective lookups are expensive for actions called many times per second
+    private final MethodHandle invoker;
+    private final Class<?>[] parameterTypes;
+    private final MethodHandle[] stringConstructors;
+
     public MethodActionExecutor(Method method) {
-        this.method = method;
+        this(new HashMap<>(), method);
     }
 
     public MethodActionExecutor(Map<ActionArgument<LocalService>, StateVariableAccessor> outputArgumentAccessors,
             Method method) {
+        this(outputArgumentAccessors, method, Reflections.toInvoker(method));
+    }
+
+    /**
+     * For subclasses which call the method directly, by overriding {@link #invoke(Object, Object[])}.
+     */
+    protected MethodActionExecutor(Map<ActionArgument<LocalService>, StateVariableAccessor> outputArgumentAccessors,
+            Method method, MethodHandle invoker) {
         super(outputArgumentAccessors);
         this.method = method;
+        this.invoker = invoker;
+        this.parameterTypes = method.getParameterTypes();
+        this.stringConstructors = new MethodHandle[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            stringConstructors[i] = createStringConstructor(parameterTypes[i]);
+        }
     }
 
     public Method getMethod() {
@@ -71,7 +91,7 @@ public class MethodActionExecutor extends AbstractActionExecutor {
         // Simple case: no output arguments
         if (!actionInvocation.getAction().hasOutputArguments()) {
             logger.trace("Calling local service method with no output arguments: {}", method);
-            Reflections.invoke(method, serviceImpl, inputArgumentValues);
+            invoke(serviceImpl, inputArgumentValues);
             return;
         }
 
@@ -84,20 +104,20 @@ public class MethodActionExecutor extends AbstractActionExecutor {
 
             logger.trace(
                     "Action method is void, calling declared accessors(s) on service instance to retrieve output argument(s)");
-            Reflections.invoke(method, serviceImpl, inputArgumentValues);
+            invoke(serviceImpl, inputArgumentValues);
             result = readOutputArgumentValues(actionInvocation.getAction(), serviceImpl);
 
         } else if (isUseOutputArgumentAccessors(actionInvocation)) {
 
             logger.trace(
                     "Action method is not void, calling declared accessor(s) on returned instance to retrieve output argument(s)");
-            Object returnedInstance = Reflections.invoke(method, serviceImpl, inputArgumentValues);
+            Object returnedInstance = invoke(serviceImpl, inputArgumentValues);
             result = readOutputArgumentValues(actionInvocation.getAction(), returnedInstance);
 
         } else {
 
             logger.trace("Action method is not void, using returned value as (single) output argument");
-            result = Reflections.invoke(method, serviceImpl, inputArgumentValues);
+            result = invoke(serviceImpl, inputArgumentValues);
             isArrayResultProcessed = false; // We never want to process e.g. byte[] as individual variable values
         }
 
@@ -127,16 +147,27 @@ public class MethodActionExecutor extends AbstractActionExecutor {
         return false;
     }
 
+    protected Object invoke(Object serviceImpl, Object[] inputArgumentValues) throws Exception {
+        if (invoker != null) {
+            return Reflections.invoke(invoker, serviceImpl, inputArgumentValues);
+        }
+        return Reflections.invoke(method, serviceImpl, inputArgumentValues);
+    }
+
     protected Object[] createInputArgumentValues(ActionInvocation<LocalService> actionInvocation, Method method)
             throws ActionException {
 
         LocalService service = actionInvocation.getAction().getService();
+        Class<?>[] parameterTypes = method == this.method ? this.parameterTypes : method.getParameterTypes();
+        ActionArgument<LocalService>[] inputArguments = actionInvocation.getAction().getInputArguments();
 
-        List<Object> values = new ArrayList<>();
+        boolean hasClientInfo = parameterTypes.length > 0
+                && RemoteClientInfo.class.isAssignableFrom(parameterTypes[parameterTypes.length - 1]);
+        Object[] values = new Object[inputArguments.length + (hasClientInfo ? 1 : 0)];
         int i = 0;
-        for (ActionArgument<LocalService> argument : actionInvocation.getAction().getInputArguments()) {
+        for (ActionArgument<LocalService> argument : inputArguments) {
 
-            Class<?> methodParameterType = method.getParameterTypes()[i];
+            Class<?> methodParameterType = parameterTypes[i];
 
             ActionArgumentValue<LocalService> inputValue = actionInvocation.getInput(argument);
 
@@ -148,7 +179,7 @@ public class MethodActionExecutor extends AbstractActionExecutor {
 
             // It's not primitive and we have no value, that's fine too
             if (inputValue == null) {
-                values.add(i++, null);
+                values[i++] = null;
                 continue;
             }
 
@@ -158,11 +189,11 @@ public class MethodActionExecutor extends AbstractActionExecutor {
             if (!inputCallValueString.isEmpty() && service.isStringConvertibleType(methodParameterType)
                     && !methodParameterType.isEnum()) {
                 try {
-                    Constructor<?> ctor = methodParameterType.getConstructor(String.class);
                     logger.trace("Creating new input argument value instance with String.class constructor of type: {}",
                             methodParameterType);
-                    Object o = ctor.newInstance(inputCallValueString);
-                    values.add(i++, o);
+                    values[i] = newInstance(method == this.method ? stringConstructors[i] : null,
+                            methodParameterType, inputCallValueString);
+                    i++;
                 } catch (Exception e) {
                     logger.warn(
                             "Error preparing action method call: {}. Can't convert input argument string to desired type of '{}'",
@@ -173,22 +204,40 @@ public class MethodActionExecutor extends AbstractActionExecutor {
                 }
             } else {
                 // Or if it wasn't, just use the value without any conversion
-                values.add(i++, inputValue.getValue());
+                values[i++] = inputValue.getValue();
             }
         }
 
-        if (method.getParameterTypes().length > 0 && RemoteClientInfo.class
-                .isAssignableFrom(method.getParameterTypes()[method.getParameterTypes().length - 1])) {
+        if (hasClientInfo) {
             if (actionInvocation instanceof RemoteActionInvocation
                     && ((RemoteActionInvocation) actionInvocation).getRemoteClientInfo() != null) {
                 logger.trace("Providing remote client info as last action method input argument: {}", method);
-                values.add(i, ((RemoteActionInvocation) actionInvocation).getRemoteClientInfo());
+                values[i] = ((RemoteActionInvocation) actionInvocation).getRemoteClientInfo();
             } else {
                 // Local call, no client info available
-                values.add(i, null);
+                values[i] = null;
             }
         }
 
-        return values.toArray(new Object[values.size()]);
+        return values;
+    }
+
+    private static Object newInstance(MethodHandle stringConstructor, Class<?> type, String value) throws Exception {
+        if (stringConstructor != null) {
+            return Reflections.invoke(stringConstructor, null, new Object[] { value });
+        }
+        Constructor<?> ctor = type.getConstructor(String.class);
+        return ctor.newInstance(value);
+    }
+
+    private static MethodHandle createStringConstructor(Class<?> type) {
+        if (type.isPrimitive() || type.isEnum() || type.isArray()) {
+            return null;
+        }
+        try {
+            return Reflections.toInvoker(type.getConstructor(String.class));
+        } catch (NoSuchMethodException | SecurityException e) {
+            return null;
+        }
     }
 }
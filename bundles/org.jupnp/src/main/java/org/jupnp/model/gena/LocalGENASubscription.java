@@ -16,14 +16,12 @@
 package org.jupnp.model.gena;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.jupnp.internal.compat.java.beans.PropertyChangeEvent;
 import org.jupnp.internal.compat.java.beans.PropertyChangeListener;
@@ -34,6 +32,7 @@ import org.jupnp.model.meta.LocalService;
 import org.jupnp.model.meta.StateVariable;
 import org.jupnp.model.state.StateVariableValue;
 import org.jupnp.model.types.UnsignedIntegerFourBytes;
+import org.jupnp.model.types.UnsignedVariableInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,25 +56,38 @@ public abstract class LocalGENASubscription extends GENASubscription<LocalServic
 
     private final Logger logger = LoggerFactory.getLogger(LocalGENASubscription.class);
 
+    /**
+     * Marks a moderation slot of a state variable that has never been sent.
+     */
+    static final long NEVER_SENT = Long.MIN_VALUE;
+
     final List<URL> callbackURLs;
 
-    // Moderation history
-    final Map<String, Long> lastSentTimestamp = new HashMap<>();
-    final Map<String, Long> lastSentNumericValue = new HashMap<>();
+    // Not a monitor, so subscriptions managed on virtual threads don't pin their carrier thread
+    protected final ReentrantLock lock = new ReentrantLock();
+
+    // Moderation history, one slot per state variable of the service, see Service#getStateVariableIndex,
+    // claimed with compare-and-set by the values which pass moderation
+    final AtomicLongArray lastSentTimestamp;
+    final AtomicLongArray lastSentNumericValue;
 
     protected LocalGENASubscription(LocalService service, List<URL> callbackURLs) throws Exception {
         super(service);
         this.callbackURLs = callbackURLs;
+        this.lastSentTimestamp = createModerationHistory(service.getStateVariableCount());
+        this.lastSentNumericValue = createModerationHistory(service.getStateVariableCount());
     }
 
     protected LocalGENASubscription(LocalService service, Integer requestedDurationSeconds, List<URL> callbackURLs)
             throws Exception {
         super(service);
+        this.lastSentTimestamp = createModerationHistory(service.getStateVariableCount());
+        this.lastSentNumericValue = createModerationHistory(service.getStateVariableCount());
 
         setSubscriptionDuration(requestedDurationSeconds);
 
         logger.trace("Reading initial state of local service at subscription time");
-        long currentTime = new Date().getTime();
+        long currentTime = System.currentTimeMillis();
         this.currentValues.clear();
 
         Collection<StateVariableValue> values = getService().getManager().getCurrentState();
@@ -88,10 +100,7 @@ public abstract class LocalGENASubscription extends GENASubscription<LocalServic
             logger.trace("Read state variable value '{}': {}", value.getStateVariable().getName(), value);
 
             // Preserve "last sent" state for future moderation
-            lastSentTimestamp.put(value.getStateVariable().getName(), currentTime);
-            if (value.getStateVariable().isModeratedNumericType()) {
-                lastSentNumericValue.put(value.getStateVariable().getName(), Long.valueOf(value.toString()));
-            }
+            recordSent(value, currentTime);
         }
 
         this.subscriptionId = SubscriptionIdHeader.PREFIX + UUID.randomUUID();
@@ -99,153 +108,251 @@ public abstract class LocalGENASubscription extends GENASubscription<LocalServic
         this.callbackURLs = callbackURLs;
     }
 
-    public synchronized List<URL> getCallbackURLs() {
+    public List<URL> getCallbackURLs() {
         return callbackURLs;
     }
 
     /**
      * Adds a property change listener on the {@link org.jupnp.model.ServiceManager}.
      */
-    public synchronized void registerOnService() {
-        getService().getManager().getPropertyChangeSupport().addPropertyChangeListener(this);
+    public void registerOnService() {
+        lock.lock();
+        try {
+            getService().getManager().getPropertyChangeSupport().addPropertyChangeListener(this);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void establish() {
-        established();
+    public void establish() {
+        lock.lock();
+        try {
+            established();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * Removes a property change listener on the {@link org.jupnp.model.ServiceManager}.
      */
-    public synchronized void end(CancelReason reason) {
+    public void end(CancelReason reason) {
+        lock.lock();
         try {
-            getService().getManager().getPropertyChangeSupport().removePropertyChangeListener(this);
-        } catch (Exception e) {
-            logger.warn("Removal of local service property change listener failed", e);
+            try {
+                getService().getManager().getPropertyChangeSupport().removePropertyChangeListener(this);
+            } catch (Exception e) {
+                logger.warn("Removal of local service property change listener failed", e);
+            }
+            ended(reason);
+        } finally {
+            lock.unlock();
         }
-        ended(reason);
     }
 
     /**
      * Moderates {@link org.jupnp.model.ServiceManager#EVENTED_STATE_VARIABLES} events and state variable
      * values, calls {@link #eventReceived()}.
+     * <p>
+     * Values are moderated without the lock, a value passes by claiming the moderation slot of its state
+     * variable. The lock is only held to replace the current values and to call {@link #eventReceived()},
+     * {@link #afterEventReceived()} is called without it. If all values are moderated out, the lock isn't
+     * taken and the current values of the last event are kept.
+     * </p>
      */
     @Override
-    public synchronized void propertyChange(PropertyChangeEvent e) {
+    public void propertyChange(PropertyChangeEvent e) {
         if (!e.getPropertyName().equals(ServiceManager.EVENTED_STATE_VARIABLES)) {
             return;
         }
 
         logger.trace("Eventing triggered, getting state for subscription: {}", getSubscriptionId());
 
-        long currentTime = new Date().getTime();
+        long currentTime = System.currentTimeMillis();
 
         Collection<StateVariableValue> newValues = (Collection) e.getNewValue();
-        Set<String> excludedVariables = moderateStateVariables(currentTime, newValues);
 
-        currentValues.clear();
+        List<StateVariableValue> eventValues = null;
         for (StateVariableValue newValue : newValues) {
-            String name = newValue.getStateVariable().getName();
-            if (!excludedVariables.contains(name)) {
-                logger.trace("Adding state variable value to current values of event: {} = {}",
-                        newValue.getStateVariable(), newValue);
-                currentValues.put(newValue.getStateVariable().getName(), newValue);
-
-                // Preserve "last sent" state for future moderation
-                lastSentTimestamp.put(name, currentTime);
-                if (newValue.getStateVariable().isModeratedNumericType()) {
-                    lastSentNumericValue.put(name, Long.valueOf(newValue.toString()));
-                }
+            if (isModeratedOut(currentTime, newValue)) {
+                continue;
             }
+            logger.trace("Adding state variable value to current values of event: {} = {}",
+                    newValue.getStateVariable(), newValue);
+            if (eventValues == null) {
+                eventValues = new ArrayList<>(newValues.size());
+            }
+            eventValues.add(newValue);
         }
 
-        if (!currentValues.isEmpty()) {
+        if (eventValues == null) {
+            logger.trace("No state variable values for event (all moderated out?), not triggering event");
+            return;
+        }
+
+        lock.lock();
+        try {
+            currentValues.clear();
+            for (StateVariableValue eventValue : eventValues) {
+                currentValues.put(eventValue.getStateVariable().getName(), eventValue);
+            }
             logger.trace("Propagating new state variable values to subscription: {}", this);
-            // TODO: I'm not happy with this design, this dispatches to a separate thread which _then_
-            // is supposed to lock and read the values off this instance. That obviously doesn't work
-            // so it's currently a hack in SendingEvent.java
             eventReceived();
-        } else {
-            logger.trace("No state variable values for event (all moderated out?), not triggering event");
+        } finally {
+            lock.unlock();
         }
+        afterEventReceived();
+    }
+
+    /**
+     * Called after {@link #eventReceived()}, once the lock of this subscription has been released.
+     * <p>
+     * Work which might block, like sending the event on an executor which runs tasks on the calling
+     * thread when it is saturated, should be started here instead of in {@link #eventReceived()}.
+     * </p>
+     */
+    protected void afterEventReceived() {
     }
 
     /**
      * Checks whether a state variable is moderated, and if this change is within the maximum rate and range limits.
+     * <p>
+     * The moderation history is kept in per-variable slots, indexed like the state variables of the service, so
+     * this method doesn't allocate and doesn't need the lock. A value which passes claims the slot of its state
+     * variable with a compare-and-set: the timestamp of a rate-limited variable, otherwise the numeric value of a
+     * variable with a minimum delta. Of concurrent events only one can pass within the limits of a variable, the
+     * others are compared with the claimed slot.
+     * </p>
      *
      * @param currentTime The current unix time.
-     * @param values The state variable values to moderate.
-     * @return A collection of state variable values that although they might have changed, are excluded from the event.
+     * @param value The state variable value to moderate.
+     * @return <code>true</code> if the value, although it might have changed, is excluded from the event.
      */
-    protected synchronized Set<String> moderateStateVariables(long currentTime, Collection<StateVariableValue> values) {
+    protected boolean isModeratedOut(long currentTime, StateVariableValue value) {
+        StateVariable stateVariable = value.getStateVariable();
+        int maxRate = stateVariable.getEventDetails().getEventMaximumRateMilliseconds();
+        int minDelta = stateVariable.getEventDetails().getEventMinimumDelta();
+
+        if (maxRate == 0 && minDelta == 0) {
+            logger.trace("Variable is not moderated: {}", stateVariable);
+            return false;
+        }
 
-        Set<String> excludedVariables = new HashSet<>();
+        int slot = getModerationSlot(stateVariable.getName());
+        if (slot < 0) {
+            return false;
+        }
 
-        // Moderate event variables that have a maximum rate or minimum delta
-        for (StateVariableValue stateVariableValue : values) {
+        boolean numeric = stateVariable.isModeratedNumericType();
+        long newValue = numeric ? getNumericValue(value) : NEVER_SENT;
 
-            StateVariable stateVariable = stateVariableValue.getStateVariable();
-            String stateVariableName = stateVariableValue.getStateVariable().getName();
-
-            if (stateVariable.getEventDetails().getEventMaximumRateMilliseconds() == 0
-                    && stateVariable.getEventDetails().getEventMinimumDelta() == 0) {
-                logger.trace("Variable is not moderated: {}", stateVariable);
-                continue;
-            }
+        while (true) {
+            long timestampLastSent = lastSentTimestamp.get(slot);
 
             // That should actually never happen, because we always "send" it as the initial state/event
-            if (!lastSentTimestamp.containsKey(stateVariableName)) {
+            if (timestampLastSent == NEVER_SENT) {
                 logger.trace("Variable is moderated but was never sent before: {}", stateVariable);
-                continue;
+                return false;
             }
 
-            if (stateVariable.getEventDetails().getEventMaximumRateMilliseconds() > 0) {
-                long timestampLastSent = lastSentTimestamp.get(stateVariableName);
-                long timestampNextSend = timestampLastSent
-                        + stateVariable.getEventDetails().getEventMaximumRateMilliseconds();
-                if (currentTime <= timestampNextSend) {
-                    logger.trace("Excluding state variable with maximum rate: {}", stateVariable);
-                    excludedVariables.add(stateVariableName);
-                    continue;
-                }
+            if (maxRate > 0 && currentTime <= timestampLastSent + maxRate) {
+                logger.trace("Excluding state variable with maximum rate: {}", stateVariable);
+                return true;
             }
 
-            if (stateVariable.isModeratedNumericType() && lastSentNumericValue.get(stateVariableName) != null) {
-
-                long oldValue = lastSentNumericValue.get(stateVariableName);
-                long newValue = Long.parseLong(stateVariableValue.toString());
-                long minDelta = stateVariable.getEventDetails().getEventMinimumDelta();
+            long oldValue = lastSentNumericValue.get(slot);
+            if (numeric && oldValue != NEVER_SENT && newValue != oldValue
+                    && Math.abs(newValue - oldValue) < minDelta) {
+                logger.trace("Excluding state variable with minimum delta: {}", stateVariable);
+                return true;
+            }
 
-                if (newValue > oldValue && newValue - oldValue < minDelta) {
-                    logger.trace("Excluding state variable with minimum delta: {}", stateVariable);
-                    excludedVariables.add(stateVariableName);
+            if (maxRate > 0) {
+                if (!lastSentTimestamp.compareAndSet(slot, timestampLastSent, currentTime)) {
                     continue;
                 }
-
-                if (newValue < oldValue && oldValue - newValue < minDelta) {
-                    logger.trace("Excluding state variable with minimum delta: {}", stateVariable);
-                    excludedVariables.add(stateVariableName);
+                if (numeric) {
+                    lastSentNumericValue.set(slot, newValue);
                 }
+                return false;
             }
 
+            if (numeric && !lastSentNumericValue.compareAndSet(slot, oldValue, newValue)) {
+                continue;
+            }
+            lastSentTimestamp.accumulateAndGet(slot, currentTime, Math::max);
+            return false;
+        }
+    }
+
+    /**
+     * @return The index of the state variable in the moderation history, or <code>-1</code> if the
+     *         service has no such state variable.
+     */
+    protected int getModerationSlot(String stateVariableName) {
+        return getService().getStateVariableIndex(stateVariableName);
+    }
+
+    /**
+     * Records the initial state, before the subscription receives events.
+     */
+    protected void recordSent(StateVariableValue value, long currentTime) {
+        int slot = getModerationSlot(value.getStateVariable().getName());
+        if (slot < 0) {
+            return;
+        }
+        lastSentTimestamp.set(slot, currentTime);
+        if (value.getStateVariable().isModeratedNumericType()) {
+            lastSentNumericValue.set(slot, getNumericValue(value));
+        }
+    }
+
+    /**
+     * Reads the value of a numeric state variable without formatting and parsing it.
+     */
+    protected static long getNumericValue(StateVariableValue value) {
+        Object v = value.getValue();
+        if (v instanceof Number) {
+            return ((Number) v).longValue();
+        }
+        if (v instanceof UnsignedVariableInteger) {
+            return ((UnsignedVariableInteger) v).getValue();
         }
-        return excludedVariables;
+        return Long.parseLong(value.toString());
     }
 
-    public synchronized void incrementSequence() {
-        this.currentSequence.increment(true);
+    private static AtomicLongArray createModerationHistory(int size) {
+        AtomicLongArray history = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            history.set(i, NEVER_SENT);
+        }
+        return history;
+    }
+
+    public void incrementSequence() {
+        lock.lock();
+        try {
+            this.currentSequence.increment(true);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * @param requestedDurationSeconds If <code>null</code> defaults to
      *            {@link org.jupnp.model.UserConstants#DEFAULT_SUBSCRIPTION_DURATION_SECONDS}
      */
-    public synchronized void setSubscriptionDuration(Integer requestedDurationSeconds) {
-        this.requestedDurationSeconds = requestedDurationSeconds == null
-                ? UserConstants.DEFAULT_SUBSCRIPTION_DURATION_SECONDS
-                : requestedDurationSeconds;
+    public void setSubscriptionDuration(Integer requestedDurationSeconds) {
+        lock.lock();
+        try {
+            this.requestedDurationSeconds = requestedDurationSeconds == null
+                    ? UserConstants.DEFAULT_SUBSCRIPTION_DURATION_SECONDS
+                    : requestedDurationSeconds;
 
-        setActualSubscriptionDurationSeconds(this.requestedDurationSeconds);
+            setActualSubscriptionDurationSeconds(this.requestedDurationSeconds);
+        } finally {
+            lock.unlock();
+        }
     }
 
     public abstract void ended(CancelReason reason);
@@ -17,6 +17,7 @@ package org.jupnp.model.meta;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.jupnp.model.ModelUtil;
 import org.jupnp.model.Validatable;
@@ -36,9 +37,17 @@ public class Action<S extends Service> implements Validatable {
     private final ActionArgument[] inputArguments;
     private final ActionArgument[] outputArguments;
 
+    // Indexes of the arguments by name and aliases, shared with the argument bindings
+    private final Map<String, Integer> inputArgumentIndexes;
+    private final Map<String, Integer> outputArgumentIndexes;
+
     // Package mutable state
     private S service;
 
+    // Built on first use, when the service is known
+    private volatile ActionArgumentBinding<S> inputArgumentBinding;
+    private volatile ActionArgumentBinding<S> outputArgumentBinding;
+
     public Action(String name, ActionArgument[] arguments) {
         this.name = name;
         if (arguments != null) {
@@ -62,6 +71,9 @@ public class Action<S extends Service> implements Validatable {
             this.inputArguments = new ActionArgument[0];
             this.outputArguments = new ActionArgument[0];
         }
+
+        this.inputArgumentIndexes = ActionArgumentBinding.index(inputArguments);
+        this.outputArgumentIndexes = ActionArgumentBinding.index(outputArguments);
     }
 
     public String getName() {
@@ -103,6 +115,11 @@ public class Action<S extends Service> implements Validatable {
     }
 
     public ActionArgument<S> getInputArgument(String name) {
+        Integer index = inputArgumentIndexes.get(name);
+        if (index != null) {
+            return getInputArguments()[index];
+        }
+        // Names and aliases are matched ignoring case
         for (ActionArgument<S> arg : getInputArguments()) {
             if (arg.isNameOrAlias(name)) {
                 return arg;
@@ -116,6 +133,14 @@ public class Action<S extends Service> implements Validatable {
     }
 
     public ActionArgument<S> getOutputArgument(String name) {
+        Integer index = outputArgumentIndexes.get(name);
+        if (index == null) {
+            return null;
+        }
+        if (getOutputArguments()[index].getName().equals(name)) {
+            return getOutputArguments()[index];
+        }
+        // Output arguments are only matched by name, not by the alias of another argument
         for (ActionArgument<S> arg : getOutputArguments()) {
             if (arg.getName().equals(name)) {
                 return arg;
@@ -124,6 +149,30 @@ public class Action<S extends Service> implements Validatable {
         return null;
     }
 
+    /**
+     * @return The input arguments indexed by name and aliases, built on first use.
+     */
+    public ActionArgumentBinding<S> getInputArgumentBinding() {
+        ActionArgumentBinding<S> binding = inputArgumentBinding;
+        if (binding == null) {
+            binding = new ActionArgumentBinding<>(getInputArguments(), inputArgumentIndexes);
+            inputArgumentBinding = binding;
+        }
+        return binding;
+    }
+
+    /**
+     * @return The output arguments indexed by name and aliases, built on first use.
+     */
+    public ActionArgumentBinding<S> getOutputArgumentBinding() {
+        ActionArgumentBinding<S> binding = outputArgumentBinding;
+        if (binding == null) {
+            binding = new ActionArgumentBinding<>(getOutputArguments(), outputArgumentIndexes);
+            outputArgumentBinding = binding;
+        }
+        return binding;
+    }
+
     public boolean hasInputArguments() {
         return getInputArguments() != null && getInputArguments().length > 0;
     }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.model.meta;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The input or output arguments of an action, indexed by name and aliases.
+ * <p>
+ * Built once per action and direction, see {@link Action#getInputArgumentBinding()}, and used to read the argument
+ * values of every message for that action with one lookup per XML element.
+ * </p>
+ */
+public class ActionArgumentBinding<S extends Service> {
+
+    private final ActionArgument<S>[] arguments;
+    private final Map<String, Integer> indexes;
+
+    public ActionArgumentBinding(ActionArgument<S>[] arguments) {
+        this(arguments, index(arguments));
+    }
+
+    /**
+     * @param indexes The index of {@link #index(ActionArgument[])}, shared with the {@link Action}.
+     */
+    ActionArgumentBinding(ActionArgument<S>[] arguments, Map<String, Integer> indexes) {
+        this.arguments = arguments;
+        this.indexes = indexes;
+    }
+
+    /**
+     * @return The indexes of the arguments by name and aliases, the first argument wins if names or aliases are not
+     *         unique.
+     */
+    static Map<String, Integer> index(ActionArgument<?>[] arguments) {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < arguments.length; i++) {
+            indexes.putIfAbsent(arguments[i].getName(), i);
+            for (String alias : arguments[i].getAliases()) {
+                indexes.putIfAbsent(alias, i);
+            }
+        }
+        return indexes;
+    }
+
+    public ActionArgument<S>[] getArguments() {
+        return arguments;
+    }
+
+    /**
+     * @return The index of the argument with the given name or alias, or <code>-1</code>.
+     */
+    public int indexOf(String nameOrAlias) {
+        Integer index = indexes.get(nameOrAlias);
+        return index != null ? index : -1;
+    }
+}
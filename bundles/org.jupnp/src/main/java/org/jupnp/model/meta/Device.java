@@ -58,6 +58,9 @@ public abstract class Device<DI extends DeviceIdentity, D extends Device, S exte
     // Package mutable state
     private D parentDevice;
 
+    // Built on the first lookup, the graph below this device doesn't change after validation
+    private volatile DeviceGraphIndex<D, S> index;
+
     protected Device(DI identity) throws ValidationException {
         this(identity, null, null, null, null, null);
     }
@@ -191,15 +194,17 @@ public abstract class Device<DI extends DeviceIdentity, D extends Device, S exte
     public abstract D findDevice(UDN udn);
 
     public D[] findEmbeddedDevices() {
-        return toDeviceArray(findEmbeddedDevices((D) this));
+        List<D> devices = getIndex().devices;
+        // An embedded device is part of its own embedded devices
+        return toDeviceArray(isRoot() ? devices.subList(1, devices.size()) : devices);
     }
 
     public D[] findDevices(DeviceType deviceType) {
-        return toDeviceArray(find(deviceType, (D) this));
+        return toDeviceArray(getIndex().getDevices(deviceType));
     }
 
     public D[] findDevices(ServiceType serviceType) {
-        return toDeviceArray(find(serviceType, (D) this));
+        return toDeviceArray(getIndex().getDevices(serviceType));
     }
 
     public Icon[] findIcons() {
@@ -217,11 +222,11 @@ public abstract class Device<DI extends DeviceIdentity, D extends Device, S exte
     }
 
     public S[] findServices() {
-        return toServiceArray(findServices(null, null, (D) this));
+        return toServiceArray(getIndex().services);
     }
 
     public S[] findServices(ServiceType serviceType) {
-        return toServiceArray(findServices(serviceType, null, (D) this));
+        return toServiceArray(getIndex().getServices(serviceType));
     }
 
     protected D find(UDN udn, D current) {
@@ -298,22 +303,28 @@ public abstract class Device<DI extends DeviceIdentity, D extends Device, S exte
     }
 
     public S findService(ServiceId serviceId) {
-        Collection<S> services = findServices(null, serviceId, (D) this);
-        return services.size() == 1 ? services.iterator().next() : null;
+        return getIndex().getService(serviceId);
     }
 
     public S findService(ServiceType serviceType) {
-        Collection<S> services = findServices(serviceType, null, (D) this);
-        return !services.isEmpty() ? services.iterator().next() : null;
+        return getIndex().getFirstService(serviceType);
     }
 
     public ServiceType[] findServiceTypes() {
-        Collection<S> services = findServices(null, null, (D) this);
-        Collection<ServiceType> col = new HashSet<>();
-        for (S service : services) {
-            col.add(service.getServiceType());
+        return getIndex().serviceTypes.clone();
+    }
+
+    /**
+     * @return The lookup tables of this device and its embedded devices, built on the first call.
+     */
+    DeviceGraphIndex<D, S> getIndex() {
+        DeviceGraphIndex<D, S> index = this.index;
+        if (index == null) {
+            // Building the same tables twice in concurrent first lookups is harmless
+            index = new DeviceGraphIndex<>((D) this);
+            this.index = index;
         }
-        return col.toArray(new ServiceType[col.size()]);
+        return index;
     }
 
     private boolean isMatch(Service s, ServiceType serviceType, ServiceId serviceId) {
@@ -323,8 +334,7 @@ public abstract class Device<DI extends DeviceIdentity, D extends Device, S exte
     }
 
     public boolean isFullyHydrated() {
-        S[] services = findServices();
-        for (S service : services) {
+        for (S service : getIndex().services) {
             if (service.hasStateVariables()) {
                 return true;
             }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.model.meta;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jupnp.model.types.DeviceType;
+import org.jupnp.model.types.ServiceId;
+import org.jupnp.model.types.ServiceType;
+import org.jupnp.model.types.UDN;
+
+/**
+ * Lookup tables of a device and all its embedded devices and services.
+ * <p>
+ * A device graph is immutable after validation, the tables are built once on the first query and
+ * replace the recursive searches of the graph. Types are indexed without their version, a query
+ * only checks the versions of the devices or services with the same namespace and type.
+ * </p>
+ */
+class DeviceGraphIndex<D extends Device, S extends Service> {
+
+    // The device itself first, then all embedded devices, depth-first
+    final List<D> devices;
+    final List<S> services;
+    final ServiceType[] serviceTypes;
+
+    private final Map<UDN, D> devicesByUdn = new HashMap<>();
+    // Namespace, then type
+    private final Map<String, Map<String, List<D>>> devicesByType = new HashMap<>();
+    private final Map<ServiceId, S> servicesById = new HashMap<>();
+    private final Map<String, Map<String, List<S>>> servicesByType = new HashMap<>();
+
+    DeviceGraphIndex(D device) {
+        Set<D> devices = new LinkedHashSet<>();
+        collectDevices(device, devices);
+        this.devices = Collections.unmodifiableList(new ArrayList<>(devices));
+
+        Set<S> services = new LinkedHashSet<>();
+        Set<ServiceType> serviceTypes = new LinkedHashSet<>();
+        for (D d : this.devices) {
+            devicesByUdn.putIfAbsent(d.getIdentity().getUdn(), d);
+            // Type might be null if we just discovered the device and it hasn't yet been hydrated
+            if (d.getType() != null) {
+                add(devicesByType, d.getType().getNamespace(), d.getType().getType(), d);
+            }
+            if (d.hasServices()) {
+                for (Service s : d.getServices()) {
+                    if (s != null) {
+                        services.add((S) s);
+                    }
+                }
+            }
+        }
+        this.services = Collections.unmodifiableList(new ArrayList<>(services));
+
+        for (S s : this.services) {
+            if (s.getServiceId() != null) {
+                // A service ID which isn't unique in the graph doesn't identify a service
+                if (servicesById.containsKey(s.getServiceId())) {
+                    servicesById.put(s.getServiceId(), null);
+                } else {
+                    servicesById.put(s.getServiceId(), s);
+                }
+            }
+            if (s.getServiceType() != null) {
+                add(servicesByType, s.getServiceType().getNamespace(), s.getServiceType().getType(), s);
+                serviceTypes.add(s.getServiceType());
+            }
+        }
+        this.serviceTypes = serviceTypes.toArray(new ServiceType[serviceTypes.size()]);
+    }
+
+    D getDevice(UDN udn) {
+        return devicesByUdn.get(udn);
+    }
+
+    List<D> getDevices(DeviceType deviceType) {
+        List<D> candidates = get(devicesByType, deviceType.getNamespace(), deviceType.getType());
+        if (candidates == null) {
+            return Collections.emptyList();
+        }
+        List<D> result = new ArrayList<>(candidates.size());
+        for (D candidate : candidates) {
+            if (candidate.getType().implementsVersion(deviceType)) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    List<D> getDevices(ServiceType serviceType) {
+        Set<D> result = new LinkedHashSet<>();
+        for (S service : getServices(serviceType)) {
+            result.add((D) service.getDevice());
+        }
+        return new ArrayList<>(result);
+    }
+
+    S getService(ServiceId serviceId) {
+        return servicesById.get(serviceId);
+    }
+
+    S getFirstService(ServiceType serviceType) {
+        List<S> candidates = get(servicesByType, serviceType.getNamespace(), serviceType.getType());
+        if (candidates != null) {
+            for (S candidate : candidates) {
+                if (candidate.getServiceType().implementsVersion(serviceType)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    List<S> getServices(ServiceType serviceType) {
+        List<S> candidates = get(servicesByType, serviceType.getNamespace(), serviceType.getType());
+        if (candidates == null) {
+            return Collections.emptyList();
+        }
+        List<S> result = new ArrayList<>(candidates.size());
+        for (S candidate : candidates) {
+            if (candidate.getServiceType().implementsVersion(serviceType)) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    protected void collectDevices(D device, Set<D> result) {
+        result.add(device);
+        if (device.hasEmbeddedDevices()) {
+            for (Device embeddedDevice : device.getEmbeddedDevices()) {
+                if (embeddedDevice != null) {
+                    collectDevices((D) embeddedDevice, result);
+                }
+            }
+        }
+    }
+
+    protected static <T> void add(Map<String, Map<String, List<T>>> map, String namespace, String type, T value) {
+        map.computeIfAbsent(namespace, k -> new HashMap<>()).computeIfAbsent(type, k -> new ArrayList<>()).add(value);
+    }
+
+    protected static <T> List<T> get(Map<String, Map<String, List<T>>> map, String namespace, String type) {
+        Map<String, List<T>> types = map.get(namespace);
+        return types != null ? types.get(type) : null;
+    }
+}
@@ -292,6 +292,6 @@ public class LocalDevice extends Device<DeviceIdentity, LocalDevice, LocalServic
 
     @Override
     public LocalDevice findDevice(UDN udn) {
-        return find(udn, this);
+        return getIndex().getDevice(udn);
     }
 }
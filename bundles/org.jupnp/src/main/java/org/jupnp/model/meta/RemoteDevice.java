@@ -203,6 +203,6 @@ public class RemoteDevice extends Device<RemoteDeviceIdentity, RemoteDevice, Rem
 
     @Override
     public RemoteDevice findDevice(UDN udn) {
-        return find(udn, this);
+        return getIndex().getDevice(udn);
     }
 }
@@ -31,6 +31,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The metadata of a service, with actions and state variables.
+ * <p>
+ * Actions and state variables are indexed by name when the service is constructed, and every state
+ * variable has a dense index, see {@link #getStateVariableIndex(String)}, so per-variable state can be
+ * kept in arrays.
+ * </p>
  *
  * @author Christian Bauer
  */
@@ -41,9 +46,24 @@ public abstract class Service<D extends Device, S extends Service> {
     private final ServiceType serviceType;
     private final ServiceId serviceId;
 
+    // Shared, the virtual state variables of the 'query state variable' action don't belong to a service
+    private static final StateVariable VIRTUAL_STATEVARIABLE_INPUT = new StateVariable<>(
+            QueryStateVariableAction.VIRTUAL_STATEVARIABLE_INPUT,
+            new StateVariableTypeDetails(Datatype.Builtin.STRING.getDatatype()));
+    private static final StateVariable VIRTUAL_STATEVARIABLE_OUTPUT = new StateVariable<>(
+            QueryStateVariableAction.VIRTUAL_STATEVARIABLE_OUTPUT,
+            new StateVariableTypeDetails(Datatype.Builtin.STRING.getDatatype()));
+
     private final Map<String, Action> actions = new HashMap<>();
     private final Map<String, StateVariable> stateVariables = new HashMap<>();
 
+    // In the order of the state variables map, the array index is the index of the state variable
+    private final StateVariable<S>[] stateVariableArray;
+    private final Map<String, Integer> stateVariableIndexes = new HashMap<>();
+
+    // Rebuilt when validation discards an invalid action
+    private volatile Action<S>[] actionArray;
+
     // Package mutable state
     private D device;
 
@@ -70,6 +90,12 @@ public abstract class Service<D extends Device, S extends Service> {
                 stateVariable.setService(this);
             }
         }
+
+        this.stateVariableArray = this.stateVariables.values().toArray(new StateVariable[this.stateVariables.size()]);
+        for (int i = 0; i < stateVariableArray.length; i++) {
+            stateVariableIndexes.put(stateVariableArray[i].getName(), i);
+        }
+        this.actionArray = this.actions.values().toArray(new Action[this.actions.size()]);
     }
 
     public ServiceType getServiceType() {
@@ -81,21 +107,37 @@ public abstract class Service<D extends Device, S extends Service> {
     }
 
     public boolean hasActions() {
-        return getActions() != null && getActions().length > 0;
+        return actionArray.length > 0;
     }
 
     public Action<S>[] getActions() {
-        return actions == null ? null : actions.values().toArray(new Action[actions.values().size()]);
+        return actionArray.clone();
     }
 
     public boolean hasStateVariables() {
         // TODO: Spec says always has to have at least one...
-        return getStateVariables() != null && getStateVariables().length > 0;
+        return stateVariableArray.length > 0;
     }
 
     public StateVariable<S>[] getStateVariables() {
-        return stateVariables == null ? null
-                : stateVariables.values().toArray(new StateVariable[stateVariables.values().size()]);
+        return stateVariableArray.clone();
+    }
+
+    /**
+     * @return The number of state variables, the size of an array indexed by
+     *         {@link #getStateVariableIndex(String)}.
+     */
+    public int getStateVariableCount() {
+        return stateVariableArray.length;
+    }
+
+    /**
+     * @return The index of the state variable in {@link #getStateVariables()}, or <code>-1</code> if the service
+     *         has no such state variable.
+     */
+    public int getStateVariableIndex(String name) {
+        Integer index = stateVariableIndexes.get(name);
+        return index != null ? index : -1;
     }
 
     public D getDevice() {
@@ -110,20 +152,18 @@ public abstract class Service<D extends Device, S extends Service> {
     }
 
     public Action<S> getAction(String name) {
-        return actions == null ? null : actions.get(name);
+        return actions.get(name);
     }
 
     public StateVariable<S> getStateVariable(String name) {
         // Some magic necessary for the deprecated 'query state variable' action stuff
         if (QueryStateVariableAction.VIRTUAL_STATEVARIABLE_INPUT.equals(name)) {
-            return new StateVariable<>(QueryStateVariableAction.VIRTUAL_STATEVARIABLE_INPUT,
-                    new StateVariableTypeDetails(Datatype.Builtin.STRING.getDatatype()));
+            return VIRTUAL_STATEVARIABLE_INPUT;
         }
         if (QueryStateVariableAction.VIRTUAL_STATEVARIABLE_OUTPUT.equals(name)) {
-            return new StateVariable<>(QueryStateVariableAction.VIRTUAL_STATEVARIABLE_OUTPUT,
-                    new StateVariableTypeDetails(Datatype.Builtin.STRING.getDatatype()));
+            return VIRTUAL_STATEVARIABLE_OUTPUT;
         }
-        return stateVariables == null ? null : stateVariables.get(name);
+        return stateVariables.get(name);
     }
 
     public StateVariable<S> getRelatedStateVariable(ActionArgument argument) {
@@ -162,7 +202,8 @@ public abstract class Service<D extends Device, S extends Service> {
         }
 
         if (hasActions()) {
-            for (Action action : getActions()) {
+            boolean discarded = false;
+            for (Action action : actionArray) {
 
                 // Instead of bailing out here, we try to continue if an action is invalid
                 // errors.addAll(action.validate());
@@ -170,6 +211,7 @@ public abstract class Service<D extends Device, S extends Service> {
                 List<ValidationError> actionErrors = action.validate();
                 if (!actionErrors.isEmpty()) {
                     actions.remove(action.getName()); // Remove it
+                    discarded = true;
                     logger.warn("Discarding invalid action of service '{}': {}", getServiceId(), action.getName());
                     // log details only in debug level
                     if (logger.isDebugEnabled()) {
@@ -179,6 +221,9 @@ public abstract class Service<D extends Device, S extends Service> {
                     }
                 }
             }
+            if (discarded) {
+                actionArray = actions.values().toArray(new Action[actions.size()]);
+            }
         }
 
         return errors;
@@ -15,6 +15,7 @@
  */
 package org.jupnp.model.state;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 
 import org.jupnp.util.Reflections;
@@ -27,9 +28,18 @@ import org.jupnp.util.Reflections;
 public class FieldStateVariableAccessor extends StateVariableAccessor {
 
     protected Field field;
+    private final MethodHandle fieldGetter;
 
     public FieldStateVariableAccessor(Field field) {
+        this(field, Reflections.toGetter(field));
+    }
+
+    /**
+     * For subclasses which read the field directly, by overriding {@link #read(Object)}.
+     */
+    protected FieldStateVariableAccessor(Field field, MethodHandle fieldGetter) {
         this.field = field;
+        this.fieldGetter = fieldGetter;
     }
 
     public Field getField() {
@@ -43,6 +53,9 @@ public class FieldStateVariableAccessor extends StateVariableAccessor {
 
     @Override
     public Object read(Object serviceImpl) throws Exception {
+        if (fieldGetter != null) {
+            return Reflections.get(fieldGetter, serviceImpl);
+        }
         return Reflections.get(field, serviceImpl);
     }
 
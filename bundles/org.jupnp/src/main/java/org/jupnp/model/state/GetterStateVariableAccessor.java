@@ -15,6 +15,7 @@
  */
 package org.jupnp.model.state;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 
 import org.jupnp.util.Reflections;
@@ -27,9 +28,18 @@ import org.jupnp.util.Reflections;
 public class GetterStateVariableAccessor extends StateVariableAccessor {
 
     private Method getter;
+    private final MethodHandle getterHandle;
 
     public GetterStateVariableAccessor(Method getter) {
+        this(getter, Reflections.toGetter(getter));
+    }
+
+    /**
+     * For subclasses which call the getter directly, by overriding {@link #read(Object)}.
+     */
+    protected GetterStateVariableAccessor(Method getter, MethodHandle getterHandle) {
         this.getter = getter;
+        this.getterHandle = getterHandle;
     }
 
     public Method getGetter() {
@@ -43,6 +53,9 @@ public class GetterStateVariableAccessor extends StateVariableAccessor {
 
     @Override
     public Object read(Object serviceImpl) throws Exception {
+        if (getterHandle != null) {
+            return Reflections.get(getterHandle, serviceImpl);
+        }
         return Reflections.invoke(getGetter(), serviceImpl);
     }
 
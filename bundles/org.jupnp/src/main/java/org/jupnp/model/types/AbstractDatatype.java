@@ -23,9 +23,16 @@ import java.lang.reflect.ParameterizedType;
 public abstract class AbstractDatatype<V> implements Datatype<V> {
 
     private Builtin builtin;
+    private Class<V> valueType;
 
     protected Class<V> getValueType() {
-        return (Class<V>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+        // Resolved once, it is needed for every validation
+        Class<V> type = valueType;
+        if (type == null) {
+            type = (Class<V>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+            valueType = type;
+        }
+        return type;
     }
 
     @Override
@@ -55,6 +62,9 @@ public abstract class AbstractDatatype<V> implements Datatype<V> {
         if (!isValid(value)) {
             throw new InvalidValueException("Value is not valid: " + value);
         }
+        if (value instanceof Integer || value instanceof Short) {
+            return Numbers.toString(((Number) value).longValue());
+        }
         return value.toString();
     }
 
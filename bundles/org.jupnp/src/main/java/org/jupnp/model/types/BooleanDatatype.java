@@ -15,8 +15,6 @@
  */
 package org.jupnp.model.types;
 
-import java.util.Locale;
-
 /**
  * @author Christian Bauer
  */
@@ -35,11 +33,9 @@ public class BooleanDatatype extends AbstractDatatype<Boolean> {
         if (s.isEmpty()) {
             return null;
         }
-        if (s.equals("1") || s.toUpperCase(Locale.ENGLISH).equals("YES")
-                || s.toUpperCase(Locale.ENGLISH).equals("TRUE")) {
+        if (s.equals("1") || s.equalsIgnoreCase("YES") || s.equalsIgnoreCase("TRUE")) {
             return true;
-        } else if (s.equals("0") || s.toUpperCase(Locale.ENGLISH).equals("NO")
-                || s.toUpperCase(Locale.ENGLISH).equals("FALSE")) {
+        } else if (s.equals("0") || s.equalsIgnoreCase("NO") || s.equalsIgnoreCase("FALSE")) {
             return false;
         } else {
             throw new InvalidValueException("Invalid boolean value string: " + s);
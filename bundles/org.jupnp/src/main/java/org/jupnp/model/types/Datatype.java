@@ -17,6 +17,7 @@ package org.jupnp.model.types;
 
 import java.util.Calendar;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Locale;
 import java.util.Map;
 
@@ -61,6 +62,14 @@ public interface Datatype<V> {
         BYTES(byte[].class, Builtin.BIN_BASE64),
         URI(java.net.URI.class, Builtin.URI);
 
+        private static final Map<Class, Default> byJavaType = new IdentityHashMap<>();
+
+        static {
+            for (Default d : Default.values()) {
+                byJavaType.put(d.getJavaType(), d);
+            }
+        }
+
         private final Class javaType;
         private final Builtin builtinType;
 
@@ -78,12 +87,7 @@ public interface Datatype<V> {
         }
 
         public static Default getByJavaType(Class javaType) {
-            for (Default d : Default.values()) {
-                if (d.getJavaType().equals(javaType)) {
-                    return d;
-                }
-            }
-            return null;
+            return javaType != null ? byJavaType.get(javaType) : null;
         }
 
         @Override
@@ -17,11 +17,24 @@ package org.jupnp.model.types;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.SimpleTimeZone;
 import java.util.TimeZone;
 
 /**
+ * <p>
+ * Values in the canonical form of the built-in formats, e.g. <code>2010-11-03T08:09:10+0100</code>, are parsed and
+ * formatted with <code>java.time</code>. Anything else, and custom formats, are handled leniently with
+ * {@link SimpleDateFormat}.
+ * </p>
+ *
  * @author Christian Bauer
  */
 public class DateTimeDatatype extends AbstractDatatype<Calendar> {
@@ -40,6 +53,11 @@ public class DateTimeDatatype extends AbstractDatatype<Calendar> {
             return null;
         }
 
+        Calendar fast = parseCanonical(normalizeTimeZone(s));
+        if (fast != null) {
+            return fast;
+        }
+
         Date d = getDateValue(s, readFormats);
         if (d == null) {
             throw new InvalidValueException("Can't parse date/time from: " + s);
@@ -56,6 +74,10 @@ public class DateTimeDatatype extends AbstractDatatype<Calendar> {
         if (value == null) {
             return "";
         }
+        String fast = formatCanonical(value);
+        if (fast != null) {
+            return fast;
+        }
         SimpleDateFormat sdt = new SimpleDateFormat(writeFormat);
         sdt.setTimeZone(getTimeZone());
         return sdt.format(value.getTime());
@@ -93,4 +115,207 @@ public class DateTimeDatatype extends AbstractDatatype<Calendar> {
     protected TimeZone getTimeZone() {
         return TimeZone.getDefault();
     }
+
+    // The shapes of the built-in formats, a shape parses every longer shape of the same kind as a prefix
+    private static final int DATE = 1;
+    private static final int DATE_TIME = 2;
+    private static final int DATE_TIME_ZONE = 3;
+    private static final int TIME = 4;
+    private static final int TIME_ZONE = 5;
+
+    private static int getShape(String format) {
+        switch (format) {
+            case "yyyy-MM-dd":
+                return DATE;
+            case "yyyy-MM-dd'T'HH:mm:ss":
+                return DATE_TIME;
+            case "yyyy-MM-dd'T'HH:mm:ssZ":
+                return DATE_TIME_ZONE;
+            case "HH:mm:ss":
+                return TIME;
+            case "HH:mm:ssZ":
+                return TIME_ZONE;
+            default:
+                return 0;
+        }
+    }
+
+    private static boolean isPrefixShape(int format, int value) {
+        if (format <= DATE_TIME_ZONE) {
+            return value <= DATE_TIME_ZONE && format <= value;
+        }
+        return value > DATE_TIME_ZONE && format <= value;
+    }
+
+    /**
+     * Parses a value with the exact shape of a built-in format. Like {@link #getDateValue(String, String[])}, the
+     * last read format which parses the value (or a prefix of it) wins.
+     *
+     * @return The value, or <code>null</code> if it has to be parsed leniently.
+     */
+    private Calendar parseCanonical(String value) {
+        TimeZone timeZone = getTimeZone();
+        if (readFormats == null || timeZone instanceof SimpleTimeZone) {
+            // The rules of a custom time zone are not those of its ID
+            return null;
+        }
+        int valueShape;
+        int dateStart = 0;
+        int timeStart;
+        switch (value.length()) {
+            case 10:
+                valueShape = DATE;
+                timeStart = -1;
+                break;
+            case 19:
+                valueShape = DATE_TIME;
+                timeStart = 11;
+                break;
+            case 24:
+                valueShape = DATE_TIME_ZONE;
+                timeStart = 11;
+                break;
+            case 8:
+                valueShape = TIME;
+                dateStart = -1;
+                timeStart = 0;
+                break;
+            case 13:
+                valueShape = TIME_ZONE;
+                dateStart = -1;
+                timeStart = 0;
+                break;
+            default:
+                return null;
+        }
+        int shape = 0;
+        for (String format : readFormats) {
+            int formatShape = getShape(format);
+            if (formatShape == 0) {
+                return null;
+            }
+            if (isPrefixShape(formatShape, valueShape)) {
+                shape = formatShape;
+            }
+        }
+        if (shape == 0) {
+            return null;
+        }
+
+        int year = 1970;
+        int month = 1;
+        int day = 1;
+        if (dateStart >= 0) {
+            year = digits(value, 0, 4);
+            month = digits(value, 5, 2);
+            day = digits(value, 8, 2);
+            if (year < 1900 || value.charAt(4) != '-' || value.charAt(7) != '-' || month < 1 || month > 12 || day < 1
+                    || day > Month.of(month).length(Year.isLeap(year))) {
+                return null;
+            }
+            if (timeStart > 0 && value.charAt(10) != 'T') {
+                return null;
+            }
+        }
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        if (timeStart >= 0) {
+            hour = digits(value, timeStart, 2);
+            minute = digits(value, timeStart + 3, 2);
+            second = digits(value, timeStart + 6, 2);
+            if (value.charAt(timeStart + 2) != ':' || value.charAt(timeStart + 5) != ':' || hour < 0 || hour > 23
+                    || minute < 0 || minute > 59 || second < 0 || second > 59) {
+                return null;
+            }
+        }
+        ZoneOffset offset = null;
+        if (valueShape == DATE_TIME_ZONE || valueShape == TIME_ZONE) {
+            int zoneStart = timeStart + 8;
+            char sign = value.charAt(zoneStart);
+            int offsetHours = digits(value, zoneStart + 1, 2);
+            int offsetMinutes = digits(value, zoneStart + 3, 2);
+            if ((sign != '+' && sign != '-') || offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0
+                    || offsetMinutes > 59) {
+                return null;
+            }
+            if (shape == DATE_TIME_ZONE || shape == TIME_ZONE) {
+                int seconds = (offsetHours * 60 + offsetMinutes) * 60;
+                if (seconds > 18 * 3600) {
+                    return null;
+                }
+                offset = ZoneOffset.ofTotalSeconds(sign == '-' ? -seconds : seconds);
+            }
+        }
+        if (shape == DATE) {
+            // The time of a longer value is ignored
+            hour = 0;
+            minute = 0;
+            second = 0;
+        }
+
+        LocalDateTime dateTime = LocalDateTime.of(year, month, day, hour, minute, second);
+        // Like Calendar, a local time in a gap is moved forward and an ambiguous one is standard time
+        Instant instant = offset != null ? dateTime.toInstant(offset)
+                : ZonedDateTime.ofLocal(dateTime, timeZone.toZoneId(), null).withLaterOffsetAtOverlap().toInstant();
+        Calendar c = Calendar.getInstance(timeZone);
+        c.setTimeInMillis(instant.toEpochMilli());
+        return c;
+    }
+
+    /**
+     * @return The value formatted with a built-in write format, or <code>null</code> if it has to be formatted with
+     *         {@link SimpleDateFormat}.
+     */
+    private String formatCanonical(Calendar value) {
+        int shape = writeFormat != null ? getShape(writeFormat) : 0;
+        TimeZone timeZone = getTimeZone();
+        if (shape == 0 || timeZone instanceof SimpleTimeZone) {
+            return null;
+        }
+        ZonedDateTime dateTime = Instant.ofEpochMilli(value.getTimeInMillis()).atZone(timeZone.toZoneId());
+        if (dateTime.getYear() < 1900 || dateTime.getYear() > 9999) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(24);
+        if (shape <= DATE_TIME_ZONE) {
+            appendDigits(sb, dateTime.getYear(), 4).append('-');
+            appendDigits(sb, dateTime.getMonthValue(), 2).append('-');
+            appendDigits(sb, dateTime.getDayOfMonth(), 2);
+            if (shape == DATE) {
+                return sb.toString();
+            }
+            sb.append('T');
+        }
+        appendDigits(sb, dateTime.getHour(), 2).append(':');
+        appendDigits(sb, dateTime.getMinute(), 2).append(':');
+        appendDigits(sb, dateTime.getSecond(), 2);
+        if (shape == DATE_TIME_ZONE || shape == TIME_ZONE) {
+            int offsetMinutes = dateTime.getOffset().getTotalSeconds() / 60;
+            sb.append(offsetMinutes < 0 ? '-' : '+');
+            offsetMinutes = Math.abs(offsetMinutes);
+            appendDigits(sb, offsetMinutes / 60, 2);
+            appendDigits(sb, offsetMinutes % 60, 2);
+        }
+        return sb.toString();
+    }
+
+    private static int digits(String s, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static StringBuilder appendDigits(StringBuilder sb, int value, int count) {
+        for (int divisor = count == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            sb.append((char) ('0' + value / divisor % 10));
+        }
+        return sb;
+    }
 }
@@ -38,6 +38,10 @@ public class IntegerDatatype extends AbstractDatatype<Integer> {
         if (s.isEmpty()) {
             return null;
         }
+        long parsed = Numbers.parseLong(s);
+        if (parsed != Numbers.NOT_PARSED && parsed >= getMinValue() && parsed <= getMaxValue()) {
+            return (int) parsed;
+        }
         try {
             Integer value = Integer.parseInt(s.trim());
             if (!isValid(value)) {
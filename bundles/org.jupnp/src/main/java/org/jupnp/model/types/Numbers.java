@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.model.types;
+
+/**
+ * Fast paths for the integer datatypes.
+ * <p>
+ * The parser accepts only plain decimal numbers and never throws, anything else is left to the lenient parsing of
+ * the datatype, which also creates the error messages.
+ * </p>
+ */
+final class Numbers {
+
+    /**
+     * Returned by {@link #parseLong(String)} if the string is not a plain decimal number.
+     */
+    static final long NOT_PARSED = Long.MIN_VALUE;
+
+    private static final String[] SMALL_NUMBERS = new String[256];
+
+    static {
+        for (int i = 0; i < SMALL_NUMBERS.length; i++) {
+            SMALL_NUMBERS[i] = Integer.toString(i);
+        }
+    }
+
+    private Numbers() {
+    }
+
+    /**
+     * Parses an optional sign and up to 18 ASCII digits, surrounding whitespace is ignored like with
+     * {@link String#trim()}.
+     *
+     * @return The value, or {@link #NOT_PARSED}.
+     */
+    static long parseLong(String s) {
+        int start = 0;
+        int end = s.length();
+        while (start < end && s.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        boolean negative = false;
+        if (start < end && (s.charAt(start) == '-' || s.charAt(start) == '+')) {
+            negative = s.charAt(start) == '-';
+            start++;
+        }
+        if (start == end || end - start > 18) {
+            return NOT_PARSED;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_PARSED;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * @return The decimal string of the value, shared for small values.
+     */
+    static String toString(long value) {
+        return value >= 0 && value < SMALL_NUMBERS.length ? SMALL_NUMBERS[(int) value] : Long.toString(value);
+    }
+}
@@ -31,6 +31,10 @@ public class ShortDatatype extends AbstractDatatype<Short> {
         if (s.isEmpty()) {
             return null;
         }
+        long parsed = Numbers.parseLong(s);
+        if (parsed != Numbers.NOT_PARSED && parsed >= Short.MIN_VALUE && parsed <= Short.MAX_VALUE) {
+            return (short) parsed;
+        }
         try {
             Short value = Short.parseShort(s.trim());
             if (!isValid(value)) {
@@ -25,6 +25,11 @@ public class UnsignedIntegerFourBytesDatatype extends AbstractDatatype<UnsignedI
         if (s.isEmpty()) {
             return null;
         }
+        // Negative values are reported and replaced by the lenient constructor
+        long parsed = Numbers.parseLong(s);
+        if (parsed >= 0 && parsed <= UnsignedVariableInteger.Bits.THIRTYTWO.getMaxValue() && s.charAt(0) != '-') {
+            return new UnsignedIntegerFourBytes(parsed);
+        }
         try {
             return new UnsignedIntegerFourBytes(s);
         } catch (NumberFormatException e) {
@@ -25,6 +25,11 @@ public class UnsignedIntegerOneByteDatatype extends AbstractDatatype<UnsignedInt
         if (s.isEmpty()) {
             return null;
         }
+        // Negative values are reported and replaced by the lenient constructor
+        long parsed = Numbers.parseLong(s);
+        if (parsed >= 0 && parsed <= UnsignedVariableInteger.Bits.EIGHT.getMaxValue() && s.charAt(0) != '-') {
+            return new UnsignedIntegerOneByte(parsed);
+        }
         try {
             return new UnsignedIntegerOneByte(s);
         } catch (NumberFormatException e) {
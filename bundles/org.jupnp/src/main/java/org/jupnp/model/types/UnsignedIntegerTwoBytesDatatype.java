@@ -25,6 +25,11 @@ public class UnsignedIntegerTwoBytesDatatype extends AbstractDatatype<UnsignedIn
         if (s.isEmpty()) {
             return null;
         }
+        // Negative values are reported and replaced by the lenient constructor
+        long parsed = Numbers.parseLong(s);
+        if (parsed >= 0 && parsed <= UnsignedVariableInteger.Bits.SIXTEEN.getMaxValue() && s.charAt(0) != '-') {
+            return new UnsignedIntegerTwoBytes(parsed);
+        }
         try {
             return new UnsignedIntegerTwoBytes(s);
         } catch (NumberFormatException e) {
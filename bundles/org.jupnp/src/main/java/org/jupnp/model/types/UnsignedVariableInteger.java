@@ -118,6 +118,6 @@ public abstract class UnsignedVariableInteger {
 
     @Override
     public String toString() {
-        return Long.toString(value);
+        return Numbers.toString(value);
     }
 }
@@ -16,6 +16,7 @@
 package org.jupnp.protocol;
 
 import java.net.URL;
+import java.util.Collection;
 
 import org.jupnp.UpnpService;
 import org.jupnp.model.action.ActionInvocation;
@@ -25,6 +26,7 @@ import org.jupnp.model.message.IncomingDatagramMessage;
 import org.jupnp.model.message.StreamRequestMessage;
 import org.jupnp.model.message.header.UpnpHeader;
 import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.state.StateVariableValue;
 import org.jupnp.protocol.async.SendingNotificationAlive;
 import org.jupnp.protocol.async.SendingNotificationByebye;
 import org.jupnp.protocol.async.SendingSearch;
@@ -116,4 +118,13 @@ public interface ProtocolFactory {
      * Called by the {@link org.jupnp.model.gena.GENASubscription}, creates a protocol for sending GENA events.
      */
     SendingEvent createSendingEvent(LocalGENASubscription subscription);
+
+    /**
+     * Called by the {@link org.jupnp.protocol.sync.SubscriptionEventQueue}, creates a protocol for sending
+     * the given (possibly coalesced) state variable values as the next GENA event of the subscription.
+     */
+    default SendingEvent createSendingEvent(LocalGENASubscription subscription,
+            Collection<StateVariableValue> values) {
+        return new SendingEvent(getUpnpService(), subscription, values, null);
+    }
 }
@@ -17,6 +17,7 @@ package org.jupnp.protocol;
 
 import java.net.URI;
 import java.net.URL;
+import java.util.Collection;
 import java.util.List;
 
 import org.jupnp.UpnpService;
@@ -32,6 +33,7 @@ import org.jupnp.model.message.UpnpRequest;
 import org.jupnp.model.message.UpnpResponse;
 import org.jupnp.model.message.header.UpnpHeader;
 import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.state.StateVariableValue;
 import org.jupnp.model.types.InvalidValueException;
 import org.jupnp.model.types.NamedServiceType;
 import org.jupnp.model.types.NotificationSubtype;
@@ -42,6 +44,8 @@ import org.jupnp.protocol.async.ReceivingSearchResponse;
 import org.jupnp.protocol.async.SendingNotificationAlive;
 import org.jupnp.protocol.async.SendingNotificationByebye;
 import org.jupnp.protocol.async.SendingSearch;
+import org.jupnp.protocol.sync.DescriptorCache;
+import org.jupnp.protocol.sync.EventBodyCache;
 import org.jupnp.protocol.sync.ReceivingAction;
 import org.jupnp.protocol.sync.ReceivingEvent;
 import org.jupnp.protocol.sync.ReceivingRetrieval;
@@ -67,6 +71,10 @@ public class ProtocolFactoryImpl implements ProtocolFactory {
 
     protected final UpnpService upnpService;
 
+    protected final EventBodyCache eventBodyCache = new EventBodyCache();
+
+    protected final DescriptorCache descriptorCache = new DescriptorCache();
+
     protected ProtocolFactoryImpl() {
         upnpService = null;
     }
@@ -245,11 +253,16 @@ public class ProtocolFactoryImpl implements ProtocolFactory {
 
     @Override
     public SendingEvent createSendingEvent(LocalGENASubscription subscription) {
-        return new SendingEvent(getUpnpService(), subscription);
+        return new SendingEvent(getUpnpService(), subscription, eventBodyCache);
+    }
+
+    @Override
+    public SendingEvent createSendingEvent(LocalGENASubscription subscription, Collection<StateVariableValue> values) {
+        return new SendingEvent(getUpnpService(), subscription, values, eventBodyCache);
     }
 
     protected ReceivingRetrieval createReceivingRetrieval(StreamRequestMessage message) {
-        return new ReceivingRetrieval(getUpnpService(), message);
+        return new ReceivingRetrieval(getUpnpService(), message, descriptorCache);
     }
 
     protected ReceivingAction createReceivingAction(StreamRequestMessage message) {
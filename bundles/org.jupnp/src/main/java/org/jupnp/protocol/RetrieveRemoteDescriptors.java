@@ -36,6 +36,7 @@ import org.jupnp.model.meta.RemoteDevice;
 import org.jupnp.model.meta.RemoteService;
 import org.jupnp.model.types.ServiceType;
 import org.jupnp.model.types.UDN;
+import org.jupnp.registry.LazyServiceDescriptors;
 import org.jupnp.registry.RegistrationException;
 import org.jupnp.transport.RouterException;
 import org.slf4j.Logger;
@@ -58,6 +59,12 @@ import org.slf4j.LoggerFactory;
  * Any descriptor retrieval, parsing, or validation error of the metadata will abort this protocol
  * with a warning message in the log.
  * </p>
+ * <p>
+ * With {@link org.jupnp.UpnpServiceConfiguration#isLazyServiceDescriptorRetrieval()} and a registry which tracks
+ * {@link LazyServiceDescriptors}, no service descriptors are retrieved, the device is added to the registry with
+ * undescribed services. These services are described
+ * on first use by {@link RetrieveRemoteServiceDescriptor}.
+ * </p>
  *
  * @author Christian Bauer
  * @author Kai Kreuzer - fixed service and embedded device processing
@@ -68,6 +75,7 @@ public class RetrieveRemoteDescriptors implements Runnable {
 
     private final UpnpService upnpService;
     private RemoteDevice rd;
+    private long retrievalStartNanos;
 
     private static final ConcurrentHashMap<URL, Boolean> activeRetrievals = new ConcurrentHashMap<>();
     protected List<UDN> errorsAlreadyLogged = new ArrayList<>();
@@ -103,6 +111,7 @@ public class RetrieveRemoteDescriptors implements Runnable {
         }
 
         try {
+            retrievalStartNanos = System.nanoTime();
             describe();
         } catch (RouterException e) {
             logger.warn("Descriptor retrieval failed: {}", deviceURL, e);
@@ -189,6 +198,17 @@ public class RetrieveRemoteDescriptors implements Runnable {
             logger.debug("Remote device described (without services) notifying listeners: {}", describedDevice);
             notifiedStart = getUpnpService().getRegistry().notifyDiscoveryStart(describedDevice);
 
+            LazyServiceDescriptors lazyServiceDescriptors = getUpnpService().getRegistry()
+                    .getLazyServiceDescriptors();
+            if (getUpnpService().getConfiguration().isLazyServiceDescriptorRetrieval()
+                    && lazyServiceDescriptors != null) {
+                RemoteDevice undescribedDevice = undescribeServices(describedDevice, lazyServiceDescriptors);
+                logger.debug("Adding remote device with undescribed services to registry: {}", undescribedDevice);
+                getUpnpService().getRegistry().addDevice(undescribedDevice);
+                getUpnpService().getMetrics().remoteDeviceDiscovered(System.nanoTime() - retrievalStartNanos);
+                return;
+            }
+
             logger.debug("Hydrating described device's services: {}", describedDevice);
             RemoteDevice hydratedDevice = describeServices(describedDevice);
             if (hydratedDevice == null) {
@@ -212,6 +232,7 @@ public class RetrieveRemoteDescriptors implements Runnable {
                 // devices' notification), it will simply update the expiration timestamp of the root
                 // device.
                 getUpnpService().getRegistry().addDevice(hydratedDevice);
+                getUpnpService().getMetrics().remoteDeviceDiscovered(System.nanoTime() - retrievalStartNanos);
             }
         } catch (ValidationException e) {
             // Avoid error log spam each time device is discovered, errors are logged once per device.
@@ -273,16 +294,55 @@ public class RetrieveRemoteDescriptors implements Runnable {
             return null;
         }
 
+        // Yes, we create a completely new immutable graph here
+        return currentDevice.newInstance(currentDevice.getIdentity().getUdn(), currentDevice.getVersion(),
+                currentDevice.getType(), currentDevice.getDetails(), copyIcons(currentDevice),
+                currentDevice.toServiceArray(describedServices), describedEmbeddedDevices);
+    }
+
+    /**
+     * @param lazyServiceDescriptors Tracks the undescribed services of the new graph.
+     * @return A new graph of the device, with the services that aren't excluded but without their actions and
+     *         state variables.
+     */
+    protected RemoteDevice undescribeServices(RemoteDevice currentDevice,
+            LazyServiceDescriptors lazyServiceDescriptors) throws ValidationException {
+
+        List<RemoteService> undescribedServices = new ArrayList<>();
+        if (currentDevice.hasServices()) {
+            for (RemoteService service : filterExclusiveServices(currentDevice.getServices())) {
+                if (service == null) {
+                    continue;
+                }
+                RemoteService undescribedService = currentDevice.newInstance(service.getServiceType(),
+                        service.getServiceId(), service.getDescriptorURI(), service.getControlURI(),
+                        service.getEventSubscriptionURI(), null, null);
+                lazyServiceDescriptors.addUndescribed(undescribedService);
+                undescribedServices.add(undescribedService);
+            }
+        }
+
+        List<RemoteDevice> undescribedEmbeddedDevices = new ArrayList<>();
+        if (currentDevice.hasEmbeddedDevices()) {
+            for (RemoteDevice embeddedDevice : currentDevice.getEmbeddedDevices()) {
+                if (embeddedDevice != null) {
+                    undescribedEmbeddedDevices.add(undescribeServices(embeddedDevice, lazyServiceDescriptors));
+                }
+            }
+        }
+
+        return currentDevice.newInstance(currentDevice.getIdentity().getUdn(), currentDevice.getVersion(),
+                currentDevice.getType(), currentDevice.getDetails(), copyIcons(currentDevice),
+                currentDevice.toServiceArray(undescribedServices), undescribedEmbeddedDevices);
+    }
+
+    protected static Icon[] copyIcons(RemoteDevice currentDevice) {
         Icon[] iconDupes = new Icon[currentDevice.getIcons().length];
         for (int i = 0; i < currentDevice.getIcons().length; i++) {
             Icon icon = currentDevice.getIcons()[i];
             iconDupes[i] = icon.deepCopy();
         }
-
-        // Yes, we create a completely new immutable graph here
-        return currentDevice.newInstance(currentDevice.getIdentity().getUdn(), currentDevice.getVersion(),
-                currentDevice.getType(), currentDevice.getDetails(), iconDupes,
-                currentDevice.toServiceArray(describedServices), describedEmbeddedDevices);
+        return iconDupes;
     }
 
     protected RemoteService describeService(RemoteService service)
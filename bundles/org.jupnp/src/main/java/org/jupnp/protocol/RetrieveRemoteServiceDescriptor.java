@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.protocol;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.jupnp.UpnpService;
+import org.jupnp.binding.xml.DescriptorBindingException;
+import org.jupnp.model.ServiceReference;
+import org.jupnp.model.ValidationException;
+import org.jupnp.model.meta.Action;
+import org.jupnp.model.meta.RemoteDevice;
+import org.jupnp.model.meta.RemoteService;
+import org.jupnp.model.meta.Service;
+import org.jupnp.model.meta.StateVariable;
+import org.jupnp.registry.LazyServiceDescriptors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Retrieves the descriptor of a single service of a registered remote device, on first use of the service.
+ * <p>
+ * Used with {@link org.jupnp.UpnpServiceConfiguration#isLazyServiceDescriptorRetrieval()}, when remote devices
+ * are registered with undescribed services. The service descriptor is retrieved and parsed, a new graph of the
+ * root device with the described service is created, and replaces the registered graph in the
+ * {@link org.jupnp.registry.Registry}.
+ * </p>
+ * <p>
+ * Concurrent retrievals of the same service wait for the first one, only one descriptor request is sent. A
+ * service which has already been described is returned immediately. The undescribed services and the active
+ * retrievals are tracked per registry, by its {@link LazyServiceDescriptors}.
+ * </p>
+ */
+public class RetrieveRemoteServiceDescriptor implements Callable<RemoteService> {
+
+    private final Logger logger = LoggerFactory.getLogger(RetrieveRemoteServiceDescriptor.class);
+
+    private final UpnpService upnpService;
+    private final RemoteService service;
+
+    public RetrieveRemoteServiceDescriptor(UpnpService upnpService, RemoteService service) {
+        this.upnpService = upnpService;
+        this.service = service;
+    }
+
+    public UpnpService getUpnpService() {
+        return upnpService;
+    }
+
+    public RemoteService getService() {
+        return service;
+    }
+
+    /**
+     * @return The described service, part of the graph of the registered device.
+     * @throws DescriptorBindingException If the service descriptor could not be retrieved or parsed.
+     */
+    @Override
+    public RemoteService call() throws Exception {
+        LazyServiceDescriptors lazyServiceDescriptors = getUpnpService().getRegistry().getLazyServiceDescriptors();
+        if (lazyServiceDescriptors == null || lazyServiceDescriptors.isDescribed(service)) {
+            return service;
+        }
+
+        ServiceReference reference = service.getReference();
+        CompletableFuture<RemoteService> retrieval = new CompletableFuture<>();
+        CompletableFuture<RemoteService> activeRetrieval = lazyServiceDescriptors.startRetrieval(reference, retrieval);
+        if (activeRetrieval != null) {
+            logger.trace("Waiting for active retrieval of service descriptor: {}", reference);
+            try {
+                return activeRetrieval.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+
+        try {
+            RemoteService describedService = describe(lazyServiceDescriptors, reference);
+            retrieval.complete(describedService);
+            return describedService;
+        } catch (Exception e) {
+            retrieval.completeExceptionally(e);
+            throw e;
+        } finally {
+            lazyServiceDescriptors.endRetrieval(reference, retrieval);
+        }
+    }
+
+    protected RemoteService describe(LazyServiceDescriptors lazyServiceDescriptors, ServiceReference reference)
+            throws Exception {
+
+        // Described by a retrieval which completed after the caller got the service
+        Service registeredService = getUpnpService().getRegistry().getService(reference);
+        if (registeredService instanceof RemoteService
+                && lazyServiceDescriptors.isDescribed((RemoteService) registeredService)) {
+            return (RemoteService) registeredService;
+        }
+
+        RemoteDevice root = service.getDevice().getRoot();
+        logger.debug("Retrieving descriptor of service on first use: {}", service);
+        RemoteService describedService = new RetrieveRemoteDescriptors(getUpnpService(), root)
+                .describeService(service);
+        if (describedService == null) {
+            throw new DescriptorBindingException("Service description failed: " + service);
+        }
+
+        synchronized (lazyServiceDescriptors.getReplaceLock()) {
+            // Other services of the device might have been described since
+            RemoteDevice registeredRoot = getUpnpService().getRegistry()
+                    .getRemoteDevice(root.getIdentity().getUdn(), true);
+            RemoteDevice describedRoot = replaceService(lazyServiceDescriptors,
+                    registeredRoot != null ? registeredRoot : root, reference, describedService);
+            if (registeredRoot != null) {
+                getUpnpService().getRegistry().replaceDevice(describedRoot);
+            }
+            return describedRoot.findDevice(reference.getUdn()).findService(reference.getServiceId());
+        }
+    }
+
+    /**
+     * @return A new graph of the device, with the service replaced by the described service.
+     */
+    protected RemoteDevice replaceService(LazyServiceDescriptors lazyServiceDescriptors, RemoteDevice currentDevice,
+            ServiceReference reference, RemoteService describedService) throws ValidationException {
+
+        List<RemoteService> services = new ArrayList<>();
+        for (RemoteService currentService : currentDevice.getServices()) {
+            if (currentService == null) {
+                continue;
+            }
+            if (reference.equals(currentService.getReference())) {
+                services.add(copyService(currentDevice, describedService));
+            } else {
+                // The copy of an undescribed service is still undescribed
+                RemoteService copy = copyService(currentDevice, currentService);
+                if (!lazyServiceDescriptors.isDescribed(currentService)) {
+                    lazyServiceDescriptors.addUndescribed(copy);
+                }
+                services.add(copy);
+            }
+        }
+
+        List<RemoteDevice> embeddedDevices = new ArrayList<>();
+        for (RemoteDevice embeddedDevice : currentDevice.getEmbeddedDevices()) {
+            if (embeddedDevice != null) {
+                embeddedDevices
+                        .add(replaceService(lazyServiceDescriptors, embeddedDevice, reference, describedService));
+            }
+        }
+
+        return currentDevice.newInstance(currentDevice.getIdentity().getUdn(), currentDevice.getVersion(),
+                currentDevice.getType(), currentDevice.getDetails(), RetrieveRemoteDescriptors.copyIcons(currentDevice),
+                currentDevice.toServiceArray(services), embeddedDevices);
+    }
+
+    protected RemoteService copyService(RemoteDevice prototype, RemoteService source) throws ValidationException {
+        Action<RemoteService>[] actions = source.getActions();
+        for (int i = 0; i < actions.length; i++) {
+            actions[i] = actions[i].deepCopy();
+        }
+        StateVariable<RemoteService>[] stateVariables = source.getStateVariables();
+        for (int i = 0; i < stateVariables.length; i++) {
+            stateVariables[i] = stateVariables[i].deepCopy();
+        }
+        return prototype.newInstance(source.getServiceType(), source.getServiceId(), source.getDescriptorURI(),
+                source.getControlURI(), source.getEventSubscriptionURI(), actions, stateVariables);
+    }
+}
@@ -18,6 +18,7 @@ package org.jupnp.protocol;
 import org.jupnp.UpnpService;
 import org.jupnp.model.message.StreamRequestMessage;
 import org.jupnp.model.message.StreamResponseMessage;
+import org.jupnp.tracing.TraceSpan;
 import org.jupnp.transport.RouterException;
 
 /**
@@ -53,7 +54,16 @@ public abstract class SendingSync<IN extends StreamRequestMessage, OUT extends S
 
     @Override
     protected final void execute() throws RouterException {
-        outputMessage = executeSync();
+        TraceSpan span = getUpnpService().getTracer().startSpan(getClass().getSimpleName());
+        try {
+            outputMessage = executeSync();
+            span.setAttribute("status", outputMessage != null ? outputMessage.getOperation().getStatusCode() : null);
+        } catch (RouterException | RuntimeException e) {
+            span.setFailed(e);
+            throw e;
+        } finally {
+            span.end();
+        }
     }
 
     protected abstract OUT executeSync() throws RouterException;
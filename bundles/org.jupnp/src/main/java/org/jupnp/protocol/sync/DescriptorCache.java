@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.protocol.sync;
+
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.jupnp.binding.xml.DescriptorBindingException;
+import org.jupnp.binding.xml.DeviceDescriptorBinder;
+import org.jupnp.binding.xml.DeviceDescriptorTemplate;
+import org.jupnp.binding.xml.ServiceDescriptorBinder;
+import org.jupnp.binding.xml.UDA10DeviceDescriptorBinderImpl;
+import org.jupnp.model.Namespace;
+import org.jupnp.model.meta.DeviceDetails;
+import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.model.meta.ManufacturerDetails;
+import org.jupnp.model.meta.ModelDetails;
+import org.jupnp.model.profile.RemoteClientInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the encoded XML descriptors of local devices and services.
+ * <p>
+ * The metadata graph of a local device doesn't change after it has been created, so the descriptors
+ * only have to be generated once. The content of a device descriptor however depends on the control
+ * point requesting it, if the device has a {@link org.jupnp.model.profile.DeviceDetailsProvider}.
+ * A variant is therefore cached for every distinct combination of {@link DeviceDetails} the root
+ * and embedded devices return for a {@link RemoteClientInfo}. Variants are keyed by the values of
+ * the details, so providers that return new instances on every call share the cached variants.
+ * </p>
+ * <p>
+ * Every cached descriptor has an entity tag and a last modification time, so repeated requests
+ * can be answered with <em>304 Not Modified</em>. Entries are held weakly by device and service
+ * instance, and disappear when the device is no longer used.
+ * </p>
+ * <p>
+ * With a {@link UDA10DeviceDescriptorBinderImpl} which supports templates, a {@link DeviceDescriptorTemplate}
+ * is generated for the first variant of a device, further variants only generate the details of the devices.
+ * </p>
+ */
+public class DescriptorCache {
+
+    public static final int DEFAULT_MAX_VARIANTS = 16;
+
+    private static final DateTimeFormatter HTTP_DATE_FORMAT = DateTimeFormatter.RFC_1123_DATE_TIME
+            .withZone(ZoneOffset.UTC);
+
+    private final Logger logger = LoggerFactory.getLogger(DescriptorCache.class);
+
+    private final Map<LocalDevice, Variants<LocalDevice>> devices = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<LocalService, Variants<LocalService>> services = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
+    private final int maxVariants;
+
+    public DescriptorCache() {
+        this(DEFAULT_MAX_VARIANTS);
+    }
+
+    /**
+     * @param maxVariants The maximum number of client-dependent variants cached for a device descriptor.
+     */
+    public DescriptorCache(int maxVariants) {
+        this.maxVariants = maxVariants;
+    }
+
+    public Descriptor getDeviceDescriptor(LocalDevice device, RemoteClientInfo info, Namespace namespace,
+            DeviceDescriptorBinder binder) throws DescriptorBindingException {
+        List<DeviceDetails> details = new ArrayList<>();
+        collectDetails(device, info, details);
+        List<DetailsKey> variantKey = new ArrayList<>(details.size());
+        for (DeviceDetails deviceDetails : details) {
+            variantKey.add(deviceDetails != null ? new DetailsKey(deviceDetails) : null);
+        }
+
+        Variants<LocalDevice> variants = getVariants(devices, device);
+        Descriptor descriptor = variants.descriptors.get(variantKey);
+        if (descriptor == null) {
+            descriptor = generateDeviceDescriptor(variants, device, info, namespace, binder, details);
+            if (variants.descriptors.size() < maxVariants) {
+                variants.descriptors.putIfAbsent(variantKey, descriptor);
+            } else {
+                logger.trace("Not caching descriptor, too many variants of device: {}", device);
+            }
+        }
+        return descriptor;
+    }
+
+    /**
+     * Renders the descriptor from the template of the device if the binder supports templates, the template
+     * is only generated for the first variant.
+     */
+    protected Descriptor generateDeviceDescriptor(Variants<LocalDevice> variants, LocalDevice device,
+            RemoteClientInfo info, Namespace namespace, DeviceDescriptorBinder binder, List<DeviceDetails> details)
+            throws DescriptorBindingException {
+        if (!(binder instanceof UDA10DeviceDescriptorBinderImpl)
+                || !((UDA10DeviceDescriptorBinderImpl) binder).isTemplateSupported()) {
+            return new Descriptor(binder.generate(device, info, namespace));
+        }
+        if (!variants.templateGenerated) {
+            variants.template = ((UDA10DeviceDescriptorBinderImpl) binder).generateTemplate(device, namespace);
+            variants.templateGenerated = true;
+        }
+        DeviceDescriptorTemplate template = variants.template;
+        if (template == null) {
+            return new Descriptor(binder.generate(device, info, namespace));
+        }
+        return new Descriptor(template.render(device, details));
+    }
+
+    public Descriptor getServiceDescriptor(LocalService service, ServiceDescriptorBinder binder)
+            throws DescriptorBindingException {
+        Variants<LocalService> variants = getVariants(services, service);
+        Descriptor descriptor = variants.descriptors.get(Collections.emptyList());
+        if (descriptor == null) {
+            descriptor = new Descriptor(binder.generate(service));
+            variants.descriptors.putIfAbsent(Collections.emptyList(), descriptor);
+        }
+        return descriptor;
+    }
+
+    public void clear() {
+        devices.clear();
+        services.clear();
+    }
+
+    protected void collectDetails(LocalDevice device, RemoteClientInfo info, List<DeviceDetails> result) {
+        result.add(device.getDetails(info));
+        if (device.hasEmbeddedDevices()) {
+            for (LocalDevice embeddedDevice : device.getEmbeddedDevices()) {
+                collectDetails(embeddedDevice, info, result);
+            }
+        }
+    }
+
+    protected <M> Variants<M> getVariants(Map<M, Variants<M>> map, M model) {
+        synchronized (map) {
+            Variants<M> variants = map.get(model);
+            // Devices are equal if their UDN is equal, but a re-created device needs a new descriptor
+            if (variants == null || variants.model.get() != model) {
+                variants = new Variants<>(model);
+                map.put(model, variants);
+            }
+            return variants;
+        }
+    }
+
+    protected static class Variants<M> {
+
+        final WeakReference<M> model;
+        final Map<List<?>, Descriptor> descriptors = new ConcurrentHashMap<>();
+        volatile DeviceDescriptorTemplate template;
+        volatile boolean templateGenerated;
+
+        Variants(M model) {
+            this.model = new WeakReference<>(model);
+        }
+    }
+
+    /**
+     * Identifies {@link DeviceDetails} by the values written to a device descriptor.
+     */
+    protected static final class DetailsKey {
+
+        private final Object[] values;
+        private final int hashCode;
+
+        DetailsKey(DeviceDetails details) {
+            ManufacturerDetails manufacturer = details.getManufacturerDetails();
+            ModelDetails model = details.getModelDetails();
+            this.values = new Object[] {
+                    // URL#equals() resolves the host name
+                    details.getBaseURL() != null ? details.getBaseURL().toString() : null, details.getFriendlyName(),
+                    manufacturer != null ? manufacturer.getManufacturer() : null,
+                    manufacturer != null ? manufacturer.getManufacturerURI() : null,
+                    model != null ? model.getModelName() : null, model != null ? model.getModelDescription() : null,
+                    model != null ? model.getModelNumber() : null, model != null ? model.getModelURI() : null,
+                    details.getSerialNumber(), details.getUpc(), details.getPresentationURI(),
+                    details.getDlnaDocs() != null ? Arrays.asList(details.getDlnaDocs()) : null,
+                    details.getDlnaCaps(), details.getSecProductCaps() };
+            this.hashCode = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            return hashCode == ((DetailsKey) o).hashCode && Arrays.equals(values, ((DetailsKey) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * An encoded descriptor with its HTTP cache validators.
+     */
+    public static class Descriptor {
+
+        private final byte[] bytes;
+        private final String entityTag;
+        private final long lastModifiedSeconds;
+        private final String lastModified;
+
+        public Descriptor(String xml) {
+            this(xml.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public Descriptor(byte[] bytes) {
+            this.bytes = bytes;
+
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            this.entityTag = "\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(bytes.length) + "\"";
+
+            this.lastModifiedSeconds = System.currentTimeMillis() / 1000;
+            this.lastModified = HTTP_DATE_FORMAT.format(Instant.ofEpochSecond(lastModifiedSeconds));
+        }
+
+        /**
+         * @return The UTF-8 encoded descriptor, callers must not modify the array.
+         */
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        public String getEntityTag() {
+            return entityTag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * @param ifNoneMatch The value of the <code>If-None-Match</code> request header, or <code>null</code>.
+         * @param ifModifiedSince The value of the <code>If-Modified-Since</code> request header, or
+         *            <code>null</code>.
+         * @return <code>true</code> if the client already has this descriptor.
+         */
+        public boolean isNotModified(String ifNoneMatch, String ifModifiedSince) {
+            if (ifNoneMatch != null) {
+                // If-None-Match takes precedence over If-Modified-Since (RFC 7232)
+                for (String tag : ifNoneMatch.split(",")) {
+                    String trimmed = tag.trim();
+                    if (trimmed.startsWith("W/")) {
+                        trimmed = trimmed.substring(2);
+                    }
+                    if (trimmed.equals("*") || trimmed.equals(entityTag)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (ifModifiedSince != null) {
+                try {
+                    long since = ZonedDateTime.parse(ifModifiedSince.trim(), HTTP_DATE_FORMAT).toEpochSecond();
+                    return lastModifiedSeconds <= since;
+                } catch (DateTimeParseException e) {
+                    return false;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.protocol.sync;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jupnp.model.UnsupportedDataException;
+import org.jupnp.model.message.UpnpMessage;
+import org.jupnp.model.message.gena.OutgoingEventRequestMessage;
+import org.jupnp.model.meta.Service;
+import org.jupnp.model.state.StateVariableValue;
+import org.jupnp.transport.spi.GENAEventProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares the encoded XML body of GENA event messages between subscribers.
+ * <p>
+ * When the state of a local service changes, every subscription receives the same state variable
+ * values (unless some are moderated out) and would otherwise serialize an identical property set.
+ * This cache keys the encoded body by service and state variable values, so the body is written
+ * once by the {@link GENAEventProcessor}, and only the per-subscriber headers differ.
+ * </p>
+ * <p>
+ * A body only depends on its key, so entries never have to be released by the protocols using
+ * them. The cache holds the most recently used bodies and evicts the least recently used one when
+ * it is full, whether the protocols which wrote the bodies have been executed or not.
+ * </p>
+ */
+public class EventBodyCache {
+
+    private final Logger logger = LoggerFactory.getLogger(EventBodyCache.class);
+
+    private final Map<Key, String> entries;
+
+    public EventBodyCache() {
+        this(64);
+    }
+
+    /**
+     * @param maxEntries The number of distinct bodies kept, the least recently used body is evicted first.
+     */
+    public EventBodyCache(final int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Writes the body of the given message, reusing a cached body if an event with the same
+     * service and state variable values has been written before.
+     *
+     * @param processor The processor used to write the body if it isn't cached.
+     * @param requestMessage The message to set the body on.
+     * @throws UnsupportedDataException If the body can't be written.
+     */
+    public void writeBody(GENAEventProcessor processor, OutgoingEventRequestMessage requestMessage)
+            throws UnsupportedDataException {
+        Key key = new Key(requestMessage);
+
+        String body;
+        synchronized (entries) {
+            body = entries.get(key);
+        }
+        if (body != null) {
+            logger.trace("Reusing cached event body for: {}", key);
+            requestMessage.setBody(UpnpMessage.BodyType.STRING, body);
+            return;
+        }
+
+        // Write outside of the lock, a concurrent writer of the same body is harmless
+        processor.writeBody(requestMessage);
+        synchronized (entries) {
+            entries.putIfAbsent(key, requestMessage.getBodyString());
+        }
+    }
+
+    /**
+     * @return The number of encoded bodies currently cached.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Identifies an event body by the service and the string values of the evented state variables.
+     */
+    public static class Key {
+
+        private final Service service;
+        private final Map<String, String> values;
+        private final int hashCode;
+
+        Key(OutgoingEventRequestMessage requestMessage) {
+            Service service = null;
+            Map<String, String> values = new HashMap<>();
+            for (StateVariableValue value : requestMessage.getStateVariableValues()) {
+                service = value.getStateVariable().getService();
+                values.put(value.getStateVariable().getName(), value.toString());
+            }
+            this.service = service;
+            this.values = values;
+            this.hashCode = 31 * System.identityHashCode(service) + values.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return service == key.service && Objects.equals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + getClass().getSimpleName() + ") " + values;
+        }
+    }
+}
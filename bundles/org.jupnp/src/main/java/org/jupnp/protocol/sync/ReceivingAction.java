@@ -30,6 +30,7 @@ import org.jupnp.model.message.header.UpnpHeader;
 import org.jupnp.model.resource.ServiceControlResource;
 import org.jupnp.model.types.ErrorCode;
 import org.jupnp.protocol.ReceivingSync;
+import org.jupnp.tracing.TraceSpan;
 import org.jupnp.transport.RouterException;
 import org.jupnp.util.Exceptions;
 import org.jupnp.util.SpecificationViolationReporter;
@@ -96,12 +97,21 @@ public class ReceivingAction extends ReceivingSync<StreamRequestMessage, StreamR
             logger.trace("Created incoming action request message: {}", requestMessage);
             invocation = new RemoteActionInvocation(requestMessage.getAction(), getRemoteClientInfo());
 
+            long start = System.nanoTime();
+
             // Throws UnsupportedDataException if the body can't be read
             logger.trace("Reading body of request message");
-            getUpnpService().getConfiguration().getSoapActionProcessor().readBody(requestMessage, invocation);
+            TraceSpan span = getUpnpService().getTracer().startSpan("soap.readBody");
+            try {
+                getUpnpService().getConfiguration().getSoapActionProcessor().readBody(requestMessage, invocation);
+            } finally {
+                span.end();
+            }
 
             logger.trace("Executing on local service: {}", invocation);
             resource.getModel().getExecutor(invocation.getAction()).execute(invocation);
+            getUpnpService().getMetrics().actionInvoked(invocation.getAction(), System.nanoTime() - start,
+                    invocation.getFailure() != null);
 
             if (invocation.getFailure() == null) {
                 responseMessage = new OutgoingActionResponseMessage(invocation.getAction());
@@ -139,7 +149,12 @@ public class ReceivingAction extends ReceivingSync<StreamRequestMessage, StreamR
         try {
 
             logger.trace("Writing body of response message");
-            getUpnpService().getConfiguration().getSoapActionProcessor().writeBody(responseMessage, invocation);
+            TraceSpan span = getUpnpService().getTracer().startSpan("soap.writeBody");
+            try {
+                getUpnpService().getConfiguration().getSoapActionProcessor().writeBody(responseMessage, invocation);
+            } finally {
+                span.end();
+            }
 
             logger.trace("Returning finished response message: {}", responseMessage);
             return responseMessage;
@@ -24,6 +24,7 @@ import org.jupnp.model.message.gena.IncomingEventRequestMessage;
 import org.jupnp.model.message.gena.OutgoingEventResponseMessage;
 import org.jupnp.model.resource.ServiceEventCallbackResource;
 import org.jupnp.protocol.ReceivingSync;
+import org.jupnp.tracing.TraceSpan;
 import org.jupnp.transport.RouterException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -91,7 +92,12 @@ public class ReceivingEvent extends ReceivingSync<StreamRequestMessage, Outgoing
 
         try {
 
-            getUpnpService().getConfiguration().getGenaEventProcessor().readBody(requestMessage);
+            TraceSpan span = getUpnpService().getTracer().startSpan("gena.readBody");
+            try {
+                getUpnpService().getConfiguration().getGenaEventProcessor().readBody(requestMessage);
+            } finally {
+                span.end();
+            }
 
         } catch (final UnsupportedDataException e) {
             logger.trace("Can't read event message request body", e);
@@ -117,6 +123,7 @@ public class ReceivingEvent extends ReceivingSync<StreamRequestMessage, Outgoing
             return new OutgoingEventResponseMessage(new UpnpResponse(UpnpResponse.Status.PRECONDITION_FAILED));
         }
 
+        getUpnpService().getMetrics().eventReceived();
         getUpnpService().getConfiguration().getRegistryListenerExecutor().execute(() -> {
             logger.trace("Calling active subscription with event state variable values");
             subscription.receive(requestMessage.getSequence(), requestMessage.getStateVariableValues());
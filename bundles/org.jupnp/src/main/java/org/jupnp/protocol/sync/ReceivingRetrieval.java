@@ -43,7 +43,10 @@ import org.slf4j.LoggerFactory;
  * Handles reception of device/service descriptor and icon retrieval messages.
  *
  * <p>
- * Requested device and service XML descriptors are generated on-the-fly for every request.
+ * Requested device and service XML descriptors are generated on-the-fly, unless a
+ * {@link DescriptorCache} is provided. Cached descriptors carry <code>ETag</code> and
+ * <code>Last-Modified</code> headers, and conditional requests of control points that
+ * already have the current descriptor are answered with <em>304 Not Modified</em>.
  * </p>
  * <p>
  * Descriptor XML is dynamically generated depending on the control point - some control
@@ -56,8 +59,24 @@ public class ReceivingRetrieval extends ReceivingSync<StreamRequestMessage, Stre
 
     private final Logger logger = LoggerFactory.getLogger(ReceivingRetrieval.class);
 
+    public static final String HEADER_ETAG = "ETag";
+    public static final String HEADER_LAST_MODIFIED = "Last-Modified";
+    public static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    public static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    protected final DescriptorCache descriptorCache;
+
     public ReceivingRetrieval(UpnpService upnpService, StreamRequestMessage inputMessage) {
+        this(upnpService, inputMessage, null);
+    }
+
+    /**
+     * @param descriptorCache The (optional) cache of generated device and service descriptors.
+     */
+    public ReceivingRetrieval(UpnpService upnpService, StreamRequestMessage inputMessage,
+            DescriptorCache descriptorCache) {
         super(upnpService, inputMessage);
+        this.descriptorCache = descriptorCache;
     }
 
     @Override
@@ -96,10 +115,15 @@ public class ReceivingRetrieval extends ReceivingSync<StreamRequestMessage, Stre
 
                 DeviceDescriptorBinder deviceDescriptorBinder = getUpnpService().getConfiguration()
                         .getDeviceDescriptorBinderUDA10();
-                String deviceDescriptor = deviceDescriptorBinder.generate(device, getRemoteClientInfo(),
-                        getUpnpService().getConfiguration().getNamespace());
-                response = new StreamResponseMessage(deviceDescriptor,
-                        new ContentTypeHeader(ContentTypeHeader.DEFAULT_CONTENT_TYPE));
+                if (descriptorCache != null) {
+                    response = createResponse(descriptorCache.getDeviceDescriptor(device, getRemoteClientInfo(),
+                            getUpnpService().getConfiguration().getNamespace(), deviceDescriptorBinder));
+                } else {
+                    String deviceDescriptor = deviceDescriptorBinder.generate(device, getRemoteClientInfo(),
+                            getUpnpService().getConfiguration().getNamespace());
+                    response = new StreamResponseMessage(deviceDescriptor,
+                            new ContentTypeHeader(ContentTypeHeader.DEFAULT_CONTENT_TYPE));
+                }
             } else if (ServiceDescriptorResource.class.isAssignableFrom(resource.getClass())) {
 
                 logger.trace("Found local service matching relative request URI: {}", requestedURI);
@@ -107,9 +131,13 @@ public class ReceivingRetrieval extends ReceivingSync<StreamRequestMessage, Stre
 
                 ServiceDescriptorBinder serviceDescriptorBinder = getUpnpService().getConfiguration()
                         .getServiceDescriptorBinderUDA10();
-                String serviceDescriptor = serviceDescriptorBinder.generate(service);
-                response = new StreamResponseMessage(serviceDescriptor,
-                        new ContentTypeHeader(ContentTypeHeader.DEFAULT_CONTENT_TYPE));
+                if (descriptorCache != null) {
+                    response = createResponse(descriptorCache.getServiceDescriptor(service, serviceDescriptorBinder));
+                } else {
+                    String serviceDescriptor = serviceDescriptorBinder.generate(service);
+                    response = new StreamResponseMessage(serviceDescriptor,
+                            new ContentTypeHeader(ContentTypeHeader.DEFAULT_CONTENT_TYPE));
+                }
 
             } else if (IconResource.class.isAssignableFrom(resource.getClass())) {
 
@@ -133,6 +161,21 @@ public class ReceivingRetrieval extends ReceivingSync<StreamRequestMessage, Stre
         return response;
     }
 
+    protected StreamResponseMessage createResponse(DescriptorCache.Descriptor descriptor) {
+        StreamResponseMessage response;
+        if (descriptor.isNotModified(getInputMessage().getHeaders().getFirstHeader(HEADER_IF_NONE_MATCH),
+                getInputMessage().getHeaders().getFirstHeader(HEADER_IF_MODIFIED_SINCE))) {
+            logger.trace("Descriptor not modified, entity tag: {}", descriptor.getEntityTag());
+            response = new StreamResponseMessage(UpnpResponse.Status.NOT_MODIFIED);
+        } else {
+            response = new StreamResponseMessage(descriptor.getBytes(),
+                    new ContentTypeHeader(ContentTypeHeader.DEFAULT_CONTENT_TYPE));
+        }
+        response.getHeaders().add(HEADER_ETAG, descriptor.getEntityTag());
+        response.getHeaders().add(HEADER_LAST_MODIFIED, descriptor.getLastModified());
+        return response;
+    }
+
     /**
      * Called if the {@link org.jupnp.registry.Registry} had no result.
      *
@@ -60,6 +60,7 @@ public class ReceivingSubscribe extends ReceivingSync<StreamRequestMessage, Outg
     private final Logger logger = LoggerFactory.getLogger(ReceivingSubscribe.class);
 
     protected LocalGENASubscription subscription;
+    protected SubscriptionEventQueue eventQueue;
 
     public ReceivingSubscribe(UpnpService upnpService, StreamRequestMessage inputMessage) {
         super(upnpService, inputMessage);
@@ -167,15 +168,23 @@ public class ReceivingSubscribe extends ReceivingSync<StreamRequestMessage, Outg
 
                 @Override
                 public void ended(CancelReason reason) {
+                    eventQueue.close();
                 }
 
                 @Override
                 public void eventReceived() {
                     // The only thing we are interested in, sending an event when the state changes
-                    getUpnpService().getConfiguration().getSyncProtocolExecutorService()
-                            .execute(getUpnpService().getProtocolFactory().createSendingEvent(this));
+                    eventQueue.enqueue(getCurrentValues());
+                }
+
+                @Override
+                protected void afterEventReceived() {
+                    // Not while holding the lock of the subscription, the executor might run the delivery
+                    // on this thread
+                    eventQueue.schedule();
                 }
             };
+            eventQueue = createEventQueue(subscription);
         } catch (Exception e) {
             logger.warn("Couldn't create local subscription to service", e);
             return new OutgoingSubscribeResponseMessage(UpnpResponse.Status.INTERNAL_SERVER_ERROR);
@@ -188,26 +197,35 @@ public class ReceivingSubscribe extends ReceivingSync<StreamRequestMessage, Outg
         return new OutgoingSubscribeResponseMessage(subscription);
     }
 
+    /**
+     * Events of a subscriber are delivered one after another, in sequence order. If the subscriber
+     * can't keep up, events are coalesced and eventually the subscription is removed.
+     */
+    protected SubscriptionEventQueue createEventQueue(LocalGENASubscription subscription) {
+        return new SubscriptionEventQueue(getUpnpService(), subscription,
+                getUpnpService().getConfiguration().getSyncProtocolExecutorService(), () -> {
+                    if (getUpnpService().getRegistry().removeLocalSubscription(subscription)) {
+                        subscription.end(null); // No reason, the subscriber is not accepting events
+                    }
+                });
+    }
+
     @Override
     public void responseSent(StreamResponseMessage responseMessage) {
-        if (subscription == null) {
-            return; // Preconditions failed very early on
+        if (subscription == null || eventQueue == null) {
+            return; // Preconditions failed very early on, or a renewal of an established subscription
         }
         if (responseMessage != null && !responseMessage.getOperation().isFailed()
                 && subscription.getCurrentSequence().getValue() == 0) { // Note that renewals should not have 0
 
-            // This is a minor concurrency issue: If we now register on the service and henceforth send a new
-            // event message whenever the state of the service changes, there is still a chance that the initial
-            // event message arrives later than the first on-change event message. Shouldn't be a problem as the
-            // subscriber is supposed to figure out what to do with out-of-sequence messages. I would be
-            // surprised though if actual implementations won't crash!
             logger.trace("Establishing subscription");
-            subscription.registerOnService();
             subscription.establish();
 
             logger.trace("Response to subscription sent successfully, now sending initial event asynchronously");
-            getUpnpService().getConfiguration().getAsyncProtocolExecutor()
-                    .execute(getUpnpService().getProtocolFactory().createSendingEvent(subscription));
+            // Queue the initial event before we register on the service, so the subscriber always
+            // receives it before the first on-change event message
+            eventQueue.offer(subscription.getCurrentValues());
+            subscription.registerOnService();
 
         } else if (subscription.getCurrentSequence().getValue() == 0) {
             logger.trace("Subscription request's response aborted, not sending initial event");
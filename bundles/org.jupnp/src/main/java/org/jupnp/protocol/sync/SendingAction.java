@@ -29,6 +29,7 @@ import org.jupnp.model.message.control.OutgoingActionRequestMessage;
 import org.jupnp.model.meta.Device;
 import org.jupnp.model.types.ErrorCode;
 import org.jupnp.protocol.SendingSync;
+import org.jupnp.tracing.TraceSpan;
 import org.jupnp.transport.RouterException;
 import org.jupnp.util.Exceptions;
 import org.slf4j.Logger;
@@ -61,7 +62,17 @@ public class SendingAction extends SendingSync<OutgoingActionRequestMessage, Inc
 
     @Override
     protected IncomingActionResponseMessage executeSync() throws RouterException {
-        return invokeRemote(getInputMessage());
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            IncomingActionResponseMessage responseMessage = invokeRemote(getInputMessage());
+            failed = actionInvocation.getFailure() != null;
+            return responseMessage;
+        } finally {
+            // Also a failure if the router threw, before the invocation had a failure
+            getUpnpService().getMetrics().actionInvoked(actionInvocation.getAction(), System.nanoTime() - start,
+                    failed);
+        }
     }
 
     protected IncomingActionResponseMessage invokeRemote(OutgoingActionRequestMessage requestMessage)
@@ -112,7 +123,13 @@ public class SendingAction extends SendingSync<OutgoingActionRequestMessage, Inc
 
         try {
             logger.trace("Writing SOAP request body of: {}", requestMessage);
-            getUpnpService().getConfiguration().getSoapActionProcessor().writeBody(requestMessage, actionInvocation);
+            TraceSpan span = getUpnpService().getTracer().startSpan("soap.writeBody");
+            try {
+                getUpnpService().getConfiguration().getSoapActionProcessor().writeBody(requestMessage,
+                        actionInvocation);
+            } finally {
+                span.end();
+            }
 
             logger.trace("Sending SOAP body of message as stream to remote device");
             return getUpnpService().getRouter().send(requestMessage);
@@ -133,7 +150,12 @@ public class SendingAction extends SendingSync<OutgoingActionRequestMessage, Inc
 
         try {
             logger.trace("Received response for outgoing call, reading SOAP response body: {}", responseMsg);
-            getUpnpService().getConfiguration().getSoapActionProcessor().readBody(responseMsg, actionInvocation);
+            TraceSpan span = getUpnpService().getTracer().startSpan("soap.readBody");
+            try {
+                getUpnpService().getConfiguration().getSoapActionProcessor().readBody(responseMsg, actionInvocation);
+            } finally {
+                span.end();
+            }
         } catch (UnsupportedDataException e) {
             logger.trace("Error reading SOAP body", e);
             throw new ActionException(ErrorCode.ACTION_FAILED, "Error reading SOAP response message. " + e.getMessage(),
@@ -145,7 +167,12 @@ public class SendingAction extends SendingSync<OutgoingActionRequestMessage, Inc
 
         try {
             logger.trace("Received response with Internal Server Error, reading SOAP failure message");
-            getUpnpService().getConfiguration().getSoapActionProcessor().readBody(responseMsg, actionInvocation);
+            TraceSpan span = getUpnpService().getTracer().startSpan("soap.readBody");
+            try {
+                getUpnpService().getConfiguration().getSoapActionProcessor().readBody(responseMsg, actionInvocation);
+            } finally {
+                span.end();
+            }
         } catch (UnsupportedDataException e) {
             logger.trace("Error reading SOAP body", e);
             throw new ActionException(ErrorCode.ACTION_FAILED,
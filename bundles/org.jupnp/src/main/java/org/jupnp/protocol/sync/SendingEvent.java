@@ -16,14 +16,25 @@
 package org.jupnp.protocol.sync;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.jupnp.UpnpService;
 import org.jupnp.model.gena.LocalGENASubscription;
 import org.jupnp.model.message.StreamResponseMessage;
+import org.jupnp.model.message.UpnpMessage;
 import org.jupnp.model.message.gena.OutgoingEventRequestMessage;
+import org.jupnp.model.state.StateVariableValue;
 import org.jupnp.model.types.UnsignedIntegerFourBytes;
 import org.jupnp.protocol.SendingSync;
+import org.jupnp.tracing.NoUpnpTracer;
+import org.jupnp.tracing.TraceSpan;
 import org.jupnp.transport.RouterException;
+import org.jupnp.transport.spi.GENAEventProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +47,16 @@ import org.slf4j.LoggerFactory;
  * many messages. What is returned is always the last response, that is, the response for the
  * message sent to the last callback URL in the list of the subscriber.
  * </p>
+ * <p>
+ * Messages to several callback URLs are sent concurrently on the synchronous protocol executor.
+ * The protocol only completes after all messages have been delivered, so if events of a subscription
+ * are executed one after another (see {@link SubscriptionEventQueue}), every callback URL receives
+ * them in sequence order.
+ * </p>
+ * <p>
+ * The XML body is written only once per subscriber and, if an {@link EventBodyCache} is
+ * provided, shared with all other subscribers receiving the same state variable values.
+ * </p>
  *
  * @author Christian Bauer
  */
@@ -47,7 +68,28 @@ public class SendingEvent extends SendingSync<OutgoingEventRequestMessage, Strea
     protected final OutgoingEventRequestMessage[] requestMessages;
     protected final UnsignedIntegerFourBytes currentSequence;
 
+    // The span of this protocol, parent of the deliveries on other threads
+    private TraceSpan protocolSpan = NoUpnpTracer.NO_SPAN;
+
     public SendingEvent(UpnpService upnpService, LocalGENASubscription subscription) {
+        this(upnpService, subscription, null);
+    }
+
+    /**
+     * @param bodyCache The (optional) cache used to share the encoded event body with other subscribers
+     *            of the same service.
+     */
+    public SendingEvent(UpnpService upnpService, LocalGENASubscription subscription, EventBodyCache bodyCache) {
+        this(upnpService, subscription, (Collection) subscription.getCurrentValues().values(), bodyCache);
+    }
+
+    /**
+     * @param values The state variable values to send, instead of the current values of the subscription.
+     * @param bodyCache The (optional) cache used to share the encoded event body with other subscribers
+     *            of the same service.
+     */
+    public SendingEvent(UpnpService upnpService, LocalGENASubscription subscription,
+            Collection<StateVariableValue> values, EventBodyCache bodyCache) {
         super(upnpService, null); // Special case, we actually need to send several messages to each callback URL
 
         // TODO: Ugly design! It is critical (concurrency) that we prepare the event messages here, in the constructor
@@ -55,11 +97,21 @@ public class SendingEvent extends SendingSync<OutgoingEventRequestMessage, Strea
 
         subscriptionId = subscription.getSubscriptionId();
 
+        GENAEventProcessor processor = getUpnpService().getConfiguration().getGenaEventProcessor();
+
         requestMessages = new OutgoingEventRequestMessage[subscription.getCallbackURLs().size()];
         int i = 0;
         for (URL url : subscription.getCallbackURLs()) {
-            requestMessages[i] = new OutgoingEventRequestMessage(subscription, url);
-            getUpnpService().getConfiguration().getGenaEventProcessor().writeBody(requestMessages[i]);
+            requestMessages[i] = new OutgoingEventRequestMessage(subscription, url, subscription.getCurrentSequence(),
+                    values);
+            if (i > 0) {
+                // The body is the same for every callback URL of a subscriber, only write it once
+                requestMessages[i].setBody(UpnpMessage.BodyType.STRING, requestMessages[0].getBody());
+            } else if (bodyCache != null) {
+                bodyCache.writeBody(processor, requestMessages[i]);
+            } else {
+                processor.writeBody(requestMessages[i]);
+            }
             i++;
         }
 
@@ -70,30 +122,86 @@ public class SendingEvent extends SendingSync<OutgoingEventRequestMessage, Strea
         subscription.incrementSequence();
     }
 
+    public String getSubscriptionId() {
+        return subscriptionId;
+    }
+
     @Override
     protected StreamResponseMessage executeSync() throws RouterException {
 
         logger.trace("Sending event for subscription: {}", subscriptionId);
+        protocolSpan = getUpnpService().getTracer().getCurrentSpan();
 
-        StreamResponseMessage lastResponse = null;
-
-        for (OutgoingEventRequestMessage requestMessage : requestMessages) {
+        if (requestMessages.length == 1) {
+            return send(requestMessages[0]);
+        }
 
-            if (currentSequence.getValue() == 0) {
-                logger.trace("Sending initial event message to callback URL: {}", requestMessage.getUri());
-            } else {
-                logger.trace("Sending event message '{}' to callback URL: {}", currentSequence,
-                        requestMessage.getUri());
+        // Fan out to the other callback URLs concurrently, so a dead URL doesn't delay the others
+        List<FutureTask<StreamResponseMessage>> tasks = new ArrayList<>(requestMessages.length - 1);
+        for (int i = 1; i < requestMessages.length; i++) {
+            OutgoingEventRequestMessage requestMessage = requestMessages[i];
+            FutureTask<StreamResponseMessage> task = new FutureTask<>(() -> send(requestMessage));
+            tasks.add(task);
+            try {
+                getUpnpService().getConfiguration().getSyncProtocolExecutorService().execute(task);
+            } catch (RejectedExecutionException e) {
+                logger.trace("Executor rejected event delivery task, sending on calling thread");
             }
+        }
 
-            // Send request
-            lastResponse = getUpnpService().getRouter().send(requestMessage);
-            logger.trace("Received event callback response: {}", lastResponse);
+        RouterException failure = null;
+        StreamResponseMessage lastResponse = null;
+        try {
+            lastResponse = send(requestMessages[0]);
+        } catch (RouterException e) {
+            failure = e;
+        }
 
+        for (FutureTask<StreamResponseMessage> task : tasks) {
+            // Runs the task on this thread if no pool thread picked it up yet, never waits on the queue
+            task.run();
+            try {
+                lastResponse = task.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RouterException ? (RouterException) e.getCause()
+                            : new RouterException("Sending event failed", e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RouterException("Interrupted while sending event", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
         }
 
         // It's not really used, so just return the last one - we have only one callback URL most of the
         // time anyway
         return lastResponse;
     }
+
+    protected StreamResponseMessage send(OutgoingEventRequestMessage requestMessage) throws RouterException {
+        if (currentSequence.getValue() == 0) {
+            logger.trace("Sending initial event message to callback URL: {}", requestMessage.getUri());
+        } else {
+            logger.trace("Sending event message '{}' to callback URL: {}", currentSequence, requestMessage.getUri());
+        }
+
+        TraceSpan span = getUpnpService().getTracer().startSpan("gena.deliver", protocolSpan)
+                .setAttribute("uri", requestMessage.getUri()).setAttribute("sequence", currentSequence);
+        StreamResponseMessage response;
+        try {
+            response = getUpnpService().getRouter().send(requestMessage);
+            span.setAttribute("status", response != null ? response.getOperation().getStatusCode() : null);
+        } catch (RouterException e) {
+            span.setFailed(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+        logger.trace("Received event callback response: {}", response);
+        getUpnpService().getMetrics().eventSent(response == null || response.getOperation().isFailed());
+        return response;
+    }
 }
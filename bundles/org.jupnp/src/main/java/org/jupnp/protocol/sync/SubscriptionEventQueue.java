@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.protocol.sync;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.jupnp.UpnpService;
+import org.jupnp.model.gena.LocalGENASubscription;
+import org.jupnp.model.state.StateVariableValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded outbound event queue of a single {@link LocalGENASubscription}.
+ * <p>
+ * State variable values of an event are queued, and a {@link SendingEvent} is only created when the
+ * previous event of this subscriber has been delivered. There is at most one event message in flight
+ * per subscriber, events of different subscribers are sent concurrently on the executor. As the event
+ * sequence number is assigned when the protocol is created, subscribers receive <code>SEQ</code>
+ * values in order.
+ * </p>
+ * <p>
+ * A slow subscriber doesn't pile up executor tasks: when the queue is full, the values of a new event
+ * are merged into the last pending event, the latest value of a state variable wins (UDA 1.0 allows
+ * a publisher to skip intermediate values). If the queue stays full for longer than the maximum
+ * overflow duration, the subscriber is considered dead and the overflow handler is called, which
+ * typically removes the subscription.
+ * </p>
+ * <p>
+ * Events are queued with {@link #enqueue(Map)} while the caller holds the lock of the subscription, and
+ * delivery is started with {@link #schedule()} after the lock has been released. An executor which runs
+ * tasks on the calling thread when it is saturated therefore never sends events under that lock.
+ * </p>
+ * <p>
+ * If the executor rejects the delivery, the pending events are dropped. Their sequence numbers have not
+ * been assigned yet, so the subscriber doesn't see a gap, and the next event carries the current values.
+ * Queue depths, coalesced and dropped events are recorded in the {@link org.jupnp.metrics.UpnpServiceMetrics}.
+ * </p>
+ */
+public class SubscriptionEventQueue {
+
+    public static final int DEFAULT_MAX_PENDING_EVENTS = 32;
+    public static final long DEFAULT_MAX_OVERFLOW_MILLIS = 60000;
+
+    private final Logger logger = LoggerFactory.getLogger(SubscriptionEventQueue.class);
+
+    protected final UpnpService upnpService;
+    protected final LocalGENASubscription subscription;
+    protected final Executor executor;
+    protected final int maxPendingEvents;
+    protected final long maxOverflowMillis;
+    protected final Runnable overflowHandler;
+
+    protected final Deque<Map<String, StateVariableValue>> pending = new ArrayDeque<>();
+    protected boolean running;
+    protected boolean closed;
+    protected boolean overflowed;
+    protected long overflowSince;
+
+    public SubscriptionEventQueue(UpnpService upnpService, LocalGENASubscription subscription, Executor executor,
+            Runnable overflowHandler) {
+        this(upnpService, subscription, executor, DEFAULT_MAX_PENDING_EVENTS, DEFAULT_MAX_OVERFLOW_MILLIS,
+                overflowHandler);
+    }
+
+    /**
+     * @param maxPendingEvents The maximum number of queued events, more events are coalesced into the last one.
+     * @param maxOverflowMillis How long the queue may stay full before the overflow handler is called.
+     * @param overflowHandler Called (once, on the executor) if the subscriber can't keep up with the events.
+     */
+    public SubscriptionEventQueue(UpnpService upnpService, LocalGENASubscription subscription, Executor executor,
+            int maxPendingEvents, long maxOverflowMillis, Runnable overflowHandler) {
+        this.upnpService = upnpService;
+        this.subscription = subscription;
+        this.executor = executor;
+        this.maxPendingEvents = Math.max(1, maxPendingEvents);
+        this.maxOverflowMillis = maxOverflowMillis;
+        this.overflowHandler = overflowHandler;
+    }
+
+    /**
+     * Queues an event with the given state variable values, and starts delivery if no other
+     * event of this subscriber is in flight.
+     *
+     * @param values The values are copied, the caller may modify the map afterwards.
+     */
+    public void offer(Map<String, ? extends StateVariableValue> values) {
+        enqueue(values);
+        schedule();
+    }
+
+    /**
+     * Queues an event with the given state variable values, without starting delivery.
+     *
+     * @param values The values are copied, the caller may modify the map afterwards.
+     */
+    public void enqueue(Map<String, ? extends StateVariableValue> values) {
+        int pendingCount;
+        synchronized (this) {
+            if (closed) {
+                logger.trace("Event queue is closed, dropping event for: {}", subscription);
+                return;
+            }
+            if (pending.size() < maxPendingEvents) {
+                pending.addLast(new LinkedHashMap<>(values));
+                overflowSince = 0;
+                pendingCount = pending.size();
+            } else {
+                // Latest value wins, intermediate values of slow subscribers are skipped
+                pending.getLast().putAll(values);
+                upnpService.getMetrics().eventCoalesced();
+                long now = System.currentTimeMillis();
+                if (overflowSince == 0) {
+                    logger.debug("Event queue of subscription is full, coalescing events: {}", subscription);
+                    overflowSince = now;
+                } else if (now - overflowSince > maxOverflowMillis) {
+                    logger.warn("Subscriber didn't accept events for {} ms, ending subscription: {}",
+                            now - overflowSince, subscription);
+                    closeQueue();
+                    overflowed = true;
+                }
+                return;
+            }
+        }
+        upnpService.getMetrics().eventQueued(pendingCount);
+    }
+
+    /**
+     * Starts delivery of the queued events if no other event of this subscriber is in flight, or
+     * calls the overflow handler if the subscriber didn't keep up.
+     */
+    public void schedule() {
+        boolean overflow;
+        synchronized (this) {
+            overflow = overflowed;
+            overflowed = false;
+        }
+        if (overflow) {
+            if (overflowHandler != null) {
+                try {
+                    executor.execute(overflowHandler);
+                } catch (RejectedExecutionException e) {
+                    logger.debug("Executor rejected overflow handler, running it on calling thread");
+                    overflowHandler.run();
+                }
+            }
+        } else {
+            scheduleIfIdle();
+        }
+    }
+
+    /**
+     * Drops all pending events and ignores future events, the event in flight is still delivered.
+     */
+    public synchronized void close() {
+        closeQueue();
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return The number of events waiting for delivery, not including the event in flight.
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    protected void closeQueue() {
+        closed = true;
+        dropPending();
+    }
+
+    protected void dropPending() {
+        if (!pending.isEmpty()) {
+            upnpService.getMetrics().eventsDropped(pending.size());
+            pending.clear();
+        }
+    }
+
+    protected void scheduleIfIdle() {
+        synchronized (this) {
+            if (running || pending.isEmpty()) {
+                return;
+            }
+            running = true;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                logger.warn("Executor rejected event delivery, dropping {} pending events of subscription: {}",
+                        pending.size(), subscription.getSubscriptionId());
+                dropPending();
+                running = false;
+            }
+        }
+    }
+
+    protected void drain() {
+        while (true) {
+            Map<String, StateVariableValue> values;
+            synchronized (this) {
+                values = closed ? null : pending.pollFirst();
+                if (values == null) {
+                    running = false;
+                    return;
+                }
+            }
+
+            try {
+                upnpService.getProtocolFactory().createSendingEvent(subscription, values.values()).run();
+            } catch (RuntimeException e) {
+                logger.warn("Sending event failed for subscription {}: {}", subscription.getSubscriptionId(),
+                        e.getMessage());
+                logger.debug("Cause of failed event delivery", e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "(" + getClass().getSimpleName() + ") " + subscription.getSubscriptionId() + ", pending: "
+                + getPendingCount();
+    }
+}
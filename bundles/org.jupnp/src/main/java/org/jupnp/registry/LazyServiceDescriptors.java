@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.registry;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jupnp.model.ServiceReference;
+import org.jupnp.model.meta.RemoteService;
+
+/**
+ * The services of registered remote devices which have been registered without their descriptor, and the
+ * retrievals of their descriptors in progress, see
+ * {@link org.jupnp.UpnpServiceConfiguration#isLazyServiceDescriptorRetrieval()}.
+ * <p>
+ * Undescribed services are tracked by instance, not by their metadata, a service with an empty descriptor has been
+ * described. They are held weakly, and disappear with the graphs of their devices.
+ * </p>
+ */
+public class LazyServiceDescriptors {
+
+    // Services don't override equals() and hashCode(), the set compares instances
+    private final Set<RemoteService> undescribedServices = Collections
+            .synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final Map<ServiceReference, CompletableFuture<RemoteService>> retrievals = new ConcurrentHashMap<>();
+
+    // Graphs are replaced one at a time, so services described concurrently are all kept
+    private final Object replaceLock = new Object();
+
+    /**
+     * Marks a service of a graph which is about to be registered, it has no actions and state variables yet.
+     */
+    public void addUndescribed(RemoteService service) {
+        undescribedServices.add(service);
+    }
+
+    /**
+     * @return <code>false</code> if the service was registered without its descriptor.
+     */
+    public boolean isDescribed(RemoteService service) {
+        return !undescribedServices.contains(service);
+    }
+
+    /**
+     * @param retrieval Completed with the described service by the caller, if no other retrieval is active.
+     * @return The active retrieval of the service, or <code>null</code> if the given retrieval is now active.
+     */
+    public CompletableFuture<RemoteService> startRetrieval(ServiceReference reference,
+            CompletableFuture<RemoteService> retrieval) {
+        return retrievals.putIfAbsent(reference, retrieval);
+    }
+
+    public void endRetrieval(ServiceReference reference, CompletableFuture<RemoteService> retrieval) {
+        retrievals.remove(reference, retrieval);
+    }
+
+    /**
+     * @return The lock held while the registered graph of a device is replaced with a described service.
+     */
+    public Object getReplaceLock() {
+        return replaceLock;
+    }
+}
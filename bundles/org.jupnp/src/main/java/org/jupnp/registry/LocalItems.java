@@ -56,6 +56,8 @@ class LocalItems extends RegistryItems<LocalDevice, LocalGENASubscription> {
         } else {
             this.discoveryOptions.remove(udn);
         }
+        // The device might be advertised now
+        registry.scheduleMaintenance(0);
     }
 
     protected DiscoveryOptions getDiscoveryOptions(UDN udn) {
@@ -108,6 +110,7 @@ class LocalItems extends RegistryItems<LocalDevice, LocalGENASubscription> {
                 localDevice.getIdentity().getMaxAgeSeconds());
 
         getDeviceItems().add(localItem);
+        registry.scheduleMaintenance(localItem.getExpirationDetails().getExpirationTimestampMillis(true));
         logger.trace("Registered local device: {}", localItem);
 
         if (isByeByeBeforeFirstAlive(localItem.getKey())) {
@@ -268,6 +271,30 @@ class LocalItems extends RegistryItems<LocalDevice, LocalGENASubscription> {
         }
     }
 
+    @Override
+    long getMaintenanceDeadlineMillis() {
+        if (getDeviceItems().isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+
+        long deadline = Long.MAX_VALUE;
+        int aliveIntervalMillis = registry.getConfiguration().getAliveIntervalMillis();
+        for (RegistryItem<UDN, LocalDevice> localItem : getDeviceItems()) {
+            if (!isAdvertised(localItem.getKey())) {
+                continue;
+            }
+            if (aliveIntervalMillis > 0) {
+                deadline = Math.min(deadline, lastAliveIntervalTimestamp + aliveIntervalMillis + 1);
+            } else {
+                deadline = Math.min(deadline, localItem.getExpirationDetails().getExpirationTimestampMillis(true));
+            }
+        }
+        for (RegistryItem<String, LocalGENASubscription> item : getSubscriptionItems()) {
+            deadline = Math.min(deadline, item.getExpirationDetails().getExpirationTimestampMillis(false));
+        }
+        return deadline;
+    }
+
     @Override
     void shutdown() {
         logger.trace("Clearing all registered subscriptions to local devices during shutdown");
@@ -227,6 +227,31 @@ public interface Registry {
      */
     boolean update(RemoteDeviceIdentity rdIdentity);
 
+    /**
+     * Called internally when a service of a registered remote device has been described on first use.
+     * <p>
+     * Replaces the registered graph of the root device with the same UDN, its expiration is not changed. The
+     * default implementation doesn't replace devices, see {@link #getLazyServiceDescriptors()}.
+     * </p>
+     *
+     * @return <code>true</code> if the device was registered and has been replaced.
+     */
+    default boolean replaceDevice(RemoteDevice remoteDevice) {
+        return false;
+    }
+
+    /**
+     * Called internally, remote devices are only registered with undescribed services if this registry tracks
+     * them and implements {@link #replaceDevice(RemoteDevice)}.
+     *
+     * @return The undescribed services of this registry, or <code>null</code> (the default) if all services are
+     *         described before their devices are added, regardless of
+     *         {@link UpnpServiceConfiguration#isLazyServiceDescriptorRetrieval()}.
+     */
+    default LazyServiceDescriptors getLazyServiceDescriptors() {
+        return null;
+    }
+
     /**
      * Call this to remove your local device metadata.
      *
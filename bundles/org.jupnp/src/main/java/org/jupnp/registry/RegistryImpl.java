@@ -22,9 +22,12 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.jupnp.UpnpService;
@@ -57,9 +60,18 @@ public class RegistryImpl implements Registry {
     private final Logger logger = LoggerFactory.getLogger(Registry.class);
 
     protected UpnpService upnpService;
-    protected RegistryMaintainer registryMaintainer;
-    protected final Set<RemoteGENASubscription> pendingSubscriptionsLock = new HashSet<>();
+    protected volatile RegistryMaintainer registryMaintainer;
+    protected final Set<RemoteGENASubscription> pendingSubscriptions = new HashSet<>();
+    /**
+     * @deprecated The same set as {@link #pendingSubscriptions}, it is guarded by
+     *             {@link #pendingSubscriptionsMutex} instead of its monitor.
+     */
+    @Deprecated
+    protected final Set<RemoteGENASubscription> pendingSubscriptionsLock = pendingSubscriptions;
+    protected final ReentrantLock pendingSubscriptionsMutex = new ReentrantLock();
+    protected final Condition pendingSubscriptionsFinished = pendingSubscriptionsMutex.newCondition();
     protected Object lock = new Object();
+    protected final LazyServiceDescriptors lazyServiceDescriptors = new LazyServiceDescriptors();
 
     public RegistryImpl() {
     }
@@ -236,6 +248,21 @@ public class RegistryImpl implements Registry {
         }
     }
 
+    @Override
+    public LazyServiceDescriptors getLazyServiceDescriptors() {
+        return lazyServiceDescriptors;
+    }
+
+    @Override
+    public boolean replaceDevice(RemoteDevice remoteDevice) {
+        remoteItemsLock.writeLock().lock();
+        try {
+            return remoteItems.replace(remoteDevice);
+        } finally {
+            remoteItemsLock.writeLock().unlock();
+        }
+    }
+
     @Override
     public boolean removeDevice(LocalDevice localDevice) {
         localItemsLock.writeLock().lock();
@@ -490,6 +517,8 @@ public class RegistryImpl implements Registry {
 
         resourceItems.remove(resourceItem);
         resourceItems.add(resourceItem);
+        scheduleMaintenance(hasOwnMaintenance(resource) ? 0
+                : resourceItem.getExpirationDetails().getExpirationTimestampMillis(false));
     }
 
     @Override
@@ -728,6 +757,83 @@ public class RegistryImpl implements Registry {
         synchronized (pendingExecutions) {
             pendingExecutions.add(runnable);
         }
+        scheduleMaintenance(0);
+    }
+
+    /**
+     * Wakes up the maintainer if it would otherwise sleep past the given time, called whenever the registry
+     * changes. Cheap if the maintainer already runs earlier, so a burst of changes costs a single maintenance run.
+     *
+     * @param deadlineMillis The time in milliseconds at which the registry needs maintenance, 0 for as soon as
+     *            possible.
+     */
+    protected void scheduleMaintenance(long deadlineMillis) {
+        RegistryMaintainer maintainer = registryMaintainer;
+        if (maintainer != null) {
+            maintainer.wakeUpBefore(deadlineMillis);
+        }
+    }
+
+    /**
+     * Computes when {@link #maintain()} has something to do next: a resource, remote device or incoming
+     * subscription expires, an outgoing subscription has to be renewed, or a local device has to be advertised
+     * again.
+     *
+     * @return The time in milliseconds, 0 if maintenance is due now, or {@link Long#MAX_VALUE} if nothing will
+     *         ever expire.
+     */
+    protected long getMaintenanceDeadlineMillis() {
+        synchronized (pendingExecutions) {
+            if (!pendingExecutions.isEmpty()) {
+                return 0;
+            }
+        }
+
+        long deadline = Long.MAX_VALUE;
+        for (RegistryItem<URI, Resource> resourceItem : resourceItems) {
+            if (hasOwnMaintenance(resourceItem.getItem())) {
+                // Can't know what the resource is waiting for, maintain it at the regular interval
+                return 0;
+            }
+            deadline = Math.min(deadline, resourceItem.getExpirationDetails().getExpirationTimestampMillis(false));
+        }
+
+        remoteItemsLock.readLock().lock();
+        try {
+            deadline = Math.min(deadline, remoteItems.getMaintenanceDeadlineMillis());
+        } finally {
+            remoteItemsLock.readLock().unlock();
+        }
+
+        localItemsLock.readLock().lock();
+        try {
+            deadline = Math.min(deadline, localItems.getMaintenanceDeadlineMillis());
+        } finally {
+            localItemsLock.readLock().unlock();
+        }
+        return deadline;
+    }
+
+    /**
+     * @return The time in milliseconds of the next scheduled maintenance, or {@link Long#MAX_VALUE} if the registry
+     *         is paused.
+     */
+    public long getScheduledMaintenanceMillis() {
+        RegistryMaintainer maintainer = registryMaintainer;
+        return maintainer != null ? maintainer.getScheduledMaintenanceMillis() : Long.MAX_VALUE;
+    }
+
+    private static final Map<Class<?>, Boolean> OWN_MAINTENANCE = new ConcurrentHashMap<>();
+
+    protected static boolean hasOwnMaintenance(Resource resource) {
+        return OWN_MAINTENANCE.computeIfAbsent(resource.getClass(), type -> {
+            try {
+                return type.getMethod("maintain", List.class, ExpirationDetails.class)
+                        .getDeclaringClass() != Resource.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        });
     }
 
     void runPendingExecutions(boolean async) {
@@ -789,37 +895,46 @@ public class RegistryImpl implements Registry {
 
     @Override
     public void registerPendingRemoteSubscription(RemoteGENASubscription subscription) {
-        synchronized (pendingSubscriptionsLock) {
-            pendingSubscriptionsLock.add(subscription);
+        pendingSubscriptionsMutex.lock();
+        try {
+            pendingSubscriptions.add(subscription);
+        } finally {
+            pendingSubscriptionsMutex.unlock();
         }
     }
 
     @Override
     public void unregisterPendingRemoteSubscription(RemoteGENASubscription subscription) {
-        synchronized (pendingSubscriptionsLock) {
-            if (pendingSubscriptionsLock.remove(subscription)) {
-                pendingSubscriptionsLock.notifyAll();
+        pendingSubscriptionsMutex.lock();
+        try {
+            if (pendingSubscriptions.remove(subscription)) {
+                pendingSubscriptionsFinished.signalAll();
             }
+        } finally {
+            pendingSubscriptionsMutex.unlock();
         }
     }
 
     @Override
     public RemoteGENASubscription getWaitRemoteSubscription(String subscriptionId) {
-        synchronized (pendingSubscriptionsLock) {
+        pendingSubscriptionsMutex.lock();
+        try {
             do {
                 RemoteGENASubscription subscription = getRemoteSubscription(subscriptionId);
                 if (subscription != null) {
                     return subscription;
                 }
-                if (!pendingSubscriptionsLock.isEmpty()) {
+                if (!pendingSubscriptions.isEmpty()) {
                     try {
                         logger.trace(
                                 "Subscription not found, waiting for pending subscription procedure to terminate.");
-                        pendingSubscriptionsLock.wait();
+                        pendingSubscriptionsFinished.await();
                     } catch (InterruptedException e) {
                     }
                 }
-            } while (!pendingSubscriptionsLock.isEmpty());
+            } while (!pendingSubscriptions.isEmpty());
+        } finally {
+            pendingSubscriptionsMutex.unlock();
         }
         return null;
     }
@@ -61,6 +61,12 @@ abstract class RegistryItems<D extends Device, S extends GENASubscription> {
 
     abstract void maintain();
 
+    /**
+     * @return The earliest time in milliseconds at which {@link #maintain()} has something to do, or
+     *         {@link Long#MAX_VALUE} if nothing will ever expire.
+     */
+    abstract long getMaintenanceDeadlineMillis();
+
     abstract void shutdown();
 
     /**
@@ -147,6 +153,7 @@ abstract class RegistryItems<D extends Device, S extends GENASubscription> {
                 subscription.getActualDurationSeconds());
 
         subscriptionItems.add(subscriptionItem);
+        registry.scheduleMaintenance(subscriptionItem.getExpirationDetails().getExpirationTimestampMillis(true));
     }
 
     boolean updateSubscription(S subscription) {
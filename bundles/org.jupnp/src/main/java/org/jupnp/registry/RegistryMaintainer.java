@@ -19,19 +19,37 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Runs periodically and calls {@link org.jupnp.registry.RegistryImpl#maintain()}.
+ * Calls {@link org.jupnp.registry.RegistryImpl#maintain()} when the registry needs maintenance.
+ * <p>
+ * Instead of polling, the maintainer sleeps until the earliest deadline computed by
+ * {@link RegistryImpl#getMaintenanceDeadlineMillis()}: an expiring device, resource or subscription, a subscription
+ * renewal, or the next advertisement of a local device. Changes of the registry wake it up earlier through
+ * {@link #wakeUpBefore(long)}. An idle registry is only maintained every {@link #MAX_IDLE_MILLIS}, which also
+ * covers changes of the system clock.
+ * </p>
+ * <p>
+ * The configured interval is the minimum time between two maintenance runs, a burst of changes (e.g. many incoming
+ * NOTIFY messages) is handled in a single run.
+ * </p>
  *
  * @author Christian Bauer
  */
 public class RegistryMaintainer implements Runnable {
 
+    public static final long MAX_IDLE_MILLIS = 60000;
+
     private final Logger logger = LoggerFactory.getLogger(RegistryMaintainer.class);
 
     private final RegistryImpl registry;
     private final int sleepIntervalMillis;
+    private final Object monitor = new Object();
 
     private volatile boolean stopped = false;
 
+    // Guarded by monitor, the earliest deadline of the changes since the last maintenance run
+    private long wakeUpMillis = Long.MAX_VALUE;
+    private volatile long scheduledMaintenanceMillis = Long.MAX_VALUE;
+
     public RegistryMaintainer(RegistryImpl registry, int sleepIntervalMillis) {
         this.registry = registry;
         this.sleepIntervalMillis = sleepIntervalMillis;
@@ -39,18 +57,51 @@ public class RegistryMaintainer implements Runnable {
 
     public void stop() {
         logger.trace("Setting stopped status on thread");
-        stopped = true;
+        synchronized (monitor) {
+            stopped = true;
+            monitor.notifyAll();
+        }
+    }
+
+    /**
+     * Makes sure the registry is maintained not later than the given time, but not earlier than the configured
+     * interval after the last maintenance run.
+     *
+     * @param deadlineMillis The time in milliseconds, 0 for as soon as possible.
+     */
+    public void wakeUpBefore(long deadlineMillis) {
+        synchronized (monitor) {
+            if (deadlineMillis < wakeUpMillis) {
+                wakeUpMillis = deadlineMillis;
+                if (deadlineMillis < scheduledMaintenanceMillis) {
+                    monitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The time in milliseconds of the next maintenance run.
+     */
+    public long getScheduledMaintenanceMillis() {
+        return scheduledMaintenanceMillis;
     }
 
     @Override
     public void run() {
         stopped = false;
-        logger.trace("Running registry maintenance loop every milliseconds: {}", sleepIntervalMillis);
+        logger.trace("Running registry maintenance loop, at most every milliseconds: {}", sleepIntervalMillis);
         while (!stopped) {
 
             try {
+                synchronized (monitor) {
+                    wakeUpMillis = Long.MAX_VALUE;
+                }
                 registry.maintain();
-                Thread.sleep(sleepIntervalMillis);
+                long lastMaintenanceMillis = System.currentTimeMillis();
+                long deadlineMillis = Math.min(registry.getMaintenanceDeadlineMillis(),
+                        lastMaintenanceMillis + MAX_IDLE_MILLIS);
+                awaitNextMaintenance(lastMaintenanceMillis, deadlineMillis);
             } catch (InterruptedException e) {
                 stopped = true;
             }
@@ -58,4 +109,20 @@ public class RegistryMaintainer implements Runnable {
         }
         logger.trace("Stopped status on thread received, ending maintenance loop");
     }
+
+    private void awaitNextMaintenance(long lastMaintenanceMillis, long deadlineMillis) throws InterruptedException {
+        synchronized (monitor) {
+            while (!stopped) {
+                long next = Math.max(Math.min(deadlineMillis, wakeUpMillis),
+                        lastMaintenanceMillis + sleepIntervalMillis);
+                scheduledMaintenanceMillis = next;
+                long waitMillis = next - System.currentTimeMillis();
+                if (waitMillis <= 0) {
+                    return;
+                }
+                logger.trace("Next registry maintenance in milliseconds: {}", waitMillis);
+                monitor.wait(waitMillis);
+            }
+        }
+    }
 }
@@ -96,6 +96,7 @@ class RemoteItems extends RegistryItems<RemoteDevice, RemoteGENASubscription> {
         logger.trace("Adding hydrated remote device to registry with {} seconds expiration: {}",
                 item.getExpirationDetails().getMaxAgeSeconds(), device);
         getDeviceItems().add(item);
+        registry.scheduleMaintenance(item.getExpirationDetails().getExpirationTimestampMillis(false));
 
         if (logger.isTraceEnabled()) {
             StringBuilder sb = new StringBuilder();
@@ -157,6 +158,7 @@ class RemoteItems extends RegistryItems<RemoteDevice, RemoteGENASubscription> {
             logger.trace("Updating expiration of: {}", registeredRemoteDevice);
             getDeviceItems().remove(item);
             getDeviceItems().add(item);
+            registry.scheduleMaintenance(item.getExpirationDetails().getExpirationTimestampMillis(false));
 
             logger.trace("Remote device updated, calling listeners: {}", registeredRemoteDevice);
             for (final RegistryListener listener : registry.getListeners()) {
@@ -170,6 +172,49 @@ class RemoteItems extends RegistryItems<RemoteDevice, RemoteGENASubscription> {
         return false;
     }
 
+    /**
+     * Replaces the registered graph of a root device, with the same expiration, and notifies registry listeners.
+     *
+     * @param device The new graph of the registered root device.
+     * @return <tt>true</tt> if the device was registered and has been replaced.
+     */
+    boolean replace(final RemoteDevice device) {
+        RegistryItem<UDN, RemoteDevice> registeredItem = null;
+        for (RegistryItem<UDN, RemoteDevice> item : getDeviceItems()) {
+            if (item.getKey().equals(device.getIdentity().getUdn())) {
+                registeredItem = item;
+                break;
+            }
+        }
+        if (registeredItem == null) {
+            logger.trace("Ignoring replacement, device is not registered: {}", device);
+            return false;
+        }
+
+        // The resources of the new graph have the same paths
+        for (Resource deviceResource : getResources(registeredItem.getItem())) {
+            registry.removeResource(deviceResource);
+        }
+        for (Resource deviceResource : getResources(device)) {
+            registry.addResource(deviceResource);
+        }
+
+        final RegistryItem<UDN, RemoteDevice> item = new RegistryItem<>(registeredItem.getKey(), device,
+                registeredItem.getExpirationDetails().getMaxAgeSeconds());
+        item.getExpirationDetails()
+                .setLastRefreshTimestampSeconds(registeredItem.getExpirationDetails().getLastRefreshTimestampSeconds());
+
+        logger.trace("Replacing graph of registered device: {}", device);
+        getDeviceItems().remove(registeredItem);
+        getDeviceItems().add(item);
+
+        for (final RegistryListener listener : registry.getListeners()) {
+            registry.getConfiguration().getRemoteListenerExecutor()
+                    .execute(() -> listener.remoteDeviceUpdated(registry, device));
+        }
+        return true;
+    }
+
     /**
      * Removes the given device from the registry and notifies registry listeners.
      *
@@ -282,6 +327,25 @@ class RemoteItems extends RegistryItems<RemoteDevice, RemoteGENASubscription> {
         }
     }
 
+    @Override
+    long getMaintenanceDeadlineMillis() {
+        if (getDeviceItems().isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+
+        long deadline = Long.MAX_VALUE;
+        for (RegistryItem<UDN, RemoteDevice> remoteItem : getDeviceItems()) {
+            deadline = Math.min(deadline, remoteItem.getExpirationDetails().getExpirationTimestampMillis(false));
+        }
+        for (RegistryItem<String, RemoteGENASubscription> item : getSubscriptionItems()) {
+            ExpirationDetails expirationDetails = item.getExpirationDetails();
+            if (expirationDetails.getRenewAttempts() < 1) {
+                deadline = Math.min(deadline, expirationDetails.getExpirationTimestampMillis(true));
+            }
+        }
+        return deadline;
+    }
+
     public void resume() {
         logger.trace("Updating remote device expiration timestamps on resume");
         List<RemoteDeviceIdentity> toUpdate = new ArrayList<>();
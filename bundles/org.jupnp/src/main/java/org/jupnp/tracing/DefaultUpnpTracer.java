@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates spans with IDs and keeps the current span of each thread, passes ended spans to a {@link TraceSink}.
+ * <p>
+ * The first span of an operation has no parent, its ID is the ID of the operation. A span started on a thread
+ * becomes the current span of this thread, the previous current span is restored when it ends.
+ * </p>
+ */
+public class DefaultUpnpTracer implements UpnpTracer {
+
+    private final TraceSink sink;
+    private final AtomicLong ids = new AtomicLong();
+    private final ThreadLocal<Span> currentSpan = new ThreadLocal<>();
+
+    public DefaultUpnpTracer(TraceSink sink) {
+        this.sink = sink;
+    }
+
+    public TraceSink getSink() {
+        return sink;
+    }
+
+    @Override
+    public TraceSpan startSpan(String name) {
+        return startSpan(name, currentSpan.get());
+    }
+
+    @Override
+    public TraceSpan startSpan(String name, TraceSpan parent) {
+        Span span = new Span(name, ownSpan(parent), currentSpan.get());
+        currentSpan.set(span);
+        return span;
+    }
+
+    @Override
+    public void recordSpan(String name, TraceSpan parent, long startNanos, long endNanos) {
+        Span parentSpan = ownSpan(parent);
+        long spanId = ids.incrementAndGet();
+        sink.spanEnded(new SpanData(parentSpan != null ? parentSpan.operationId : spanId, spanId,
+                parentSpan != null ? parentSpan.spanId : 0, name, startNanos, endNanos - startNanos,
+                Thread.currentThread().getName(), null, null));
+    }
+
+    @Override
+    public TraceSpan getCurrentSpan() {
+        Span span = currentSpan.get();
+        return span != null ? span : NoUpnpTracer.NO_SPAN;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    private Span ownSpan(TraceSpan span) {
+        if (span instanceof Span && ((Span) span).tracer() == this) {
+            return (Span) span;
+        }
+        return null;
+    }
+
+    private class Span implements TraceSpan {
+
+        private final long operationId;
+        private final long spanId;
+        private final long parentSpanId;
+        private final String name;
+        private final long startNanos;
+        private final Thread thread;
+        private final Span previous;
+        private Map<String, Object> attributes;
+        private Object failure;
+        private boolean ended;
+
+        Span(String name, Span parent, Span previous) {
+            this.spanId = ids.incrementAndGet();
+            this.operationId = parent != null ? parent.operationId : spanId;
+            this.parentSpanId = parent != null ? parent.spanId : 0;
+            this.name = name;
+            this.previous = previous;
+            this.thread = Thread.currentThread();
+            this.startNanos = System.nanoTime();
+        }
+
+        DefaultUpnpTracer tracer() {
+            return DefaultUpnpTracer.this;
+        }
+
+        @Override
+        public long getOperationId() {
+            return operationId;
+        }
+
+        @Override
+        public synchronized TraceSpan setAttribute(String key, Object value) {
+            if (attributes == null) {
+                attributes = new LinkedHashMap<>();
+            }
+            attributes.put(key, value);
+            return this;
+        }
+
+        @Override
+        public synchronized TraceSpan setFailed(Object reason) {
+            this.failure = reason != null ? reason : "failed";
+            return this;
+        }
+
+        @Override
+        public void end() {
+            long endNanos = System.nanoTime();
+            SpanData data;
+            synchronized (this) {
+                if (ended) {
+                    return;
+                }
+                ended = true;
+                data = new SpanData(operationId, spanId, parentSpanId, name, startNanos, endNanos - startNanos,
+                        thread.getName(), attributes, failure);
+            }
+            if (Thread.currentThread() == thread && currentSpan.get() == this) {
+                if (previous != null) {
+                    currentSpan.set(previous);
+                } else {
+                    currentSpan.remove();
+                }
+            }
+            sink.spanEnded(data);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + getClass().getSimpleName() + ") " + name + " " + operationId + "/" + spanId;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.tracing;
+
+/**
+ * Discards all spans, the default if nothing else is configured.
+ */
+public class NoUpnpTracer implements UpnpTracer {
+
+    public static final NoUpnpTracer INSTANCE = new NoUpnpTracer();
+
+    /**
+     * The span returned for every operation.
+     */
+    public static final TraceSpan NO_SPAN = new TraceSpan() {
+
+        @Override
+        public long getOperationId() {
+            return 0;
+        }
+
+        @Override
+        public TraceSpan setAttribute(String key, Object value) {
+            return this;
+        }
+
+        @Override
+        public TraceSpan setFailed(Object reason) {
+            return this;
+        }
+
+        @Override
+        public void end() {
+        }
+
+        @Override
+        public String toString() {
+            return "(NoSpan)";
+        }
+    };
+
+    protected NoUpnpTracer() {
+    }
+
+    @Override
+    public TraceSpan startSpan(String name) {
+        return NO_SPAN;
+    }
+
+    @Override
+    public TraceSpan startSpan(String name, TraceSpan parent) {
+        return NO_SPAN;
+    }
+
+    @Override
+    public void recordSpan(String name, TraceSpan parent, long startNanos, long endNanos) {
+    }
+
+    @Override
+    public TraceSpan getCurrentSpan() {
+        return NO_SPAN;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+}
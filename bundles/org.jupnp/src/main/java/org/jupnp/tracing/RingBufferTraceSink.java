@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last ended spans in memory, older spans are overwritten.
+ */
+public class RingBufferTraceSink implements TraceSink {
+
+    private final AtomicReferenceArray<SpanData> spans;
+    private final AtomicLong next = new AtomicLong();
+
+    public RingBufferTraceSink(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.spans = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public void spanEnded(SpanData span) {
+        spans.set((int) (next.getAndIncrement() % spans.length()), span);
+    }
+
+    /**
+     * @return The spans in the buffer, ordered by start.
+     */
+    public List<SpanData> getSpans() {
+        return getSpans(0);
+    }
+
+    /**
+     * @param operationId The ID of an operation, <code>0</code> for all operations.
+     * @return The spans of the operation in the buffer, ordered by start.
+     */
+    public List<SpanData> getSpans(long operationId) {
+        List<SpanData> result = new ArrayList<>();
+        for (int i = 0; i < spans.length(); i++) {
+            SpanData span = spans.get(i);
+            if (span != null && (operationId == 0 || span.getOperationId() == operationId)) {
+                result.add(span);
+            }
+        }
+        result.sort(Comparator.comparingLong(SpanData::getStartNanos));
+        return result;
+    }
+
+    public void clear() {
+        for (int i = 0; i < spans.length(); i++) {
+            spans.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.tracing;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An ended span, immutable.
+ */
+public class SpanData {
+
+    private final long operationId;
+    private final long spanId;
+    private final long parentSpanId;
+    private final String name;
+    private final long startNanos;
+    private final long durationNanos;
+    private final String threadName;
+    private final Map<String, Object> attributes;
+    private final Object failure;
+
+    public SpanData(long operationId, long spanId, long parentSpanId, String name, long startNanos,
+            long durationNanos, String threadName, Map<String, Object> attributes, Object failure) {
+        this.operationId = operationId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+        this.threadName = threadName;
+        this.attributes = attributes != null ? Collections.unmodifiableMap(attributes) : Collections.emptyMap();
+        this.failure = failure;
+    }
+
+    public long getOperationId() {
+        return operationId;
+    }
+
+    public long getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * @return The ID of the parent span, <code>0</code> for the first span of an operation.
+     */
+    public long getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The start, from {@link System#nanoTime()}.
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * @return The reason given to {@link TraceSpan#setFailed(Object)}, or <code>null</code>.
+     */
+    public Object getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("(").append(getClass().getSimpleName()).append(") operation ").append(operationId).append(", span ")
+                .append(spanId).append(", parent ").append(parentSpanId).append(": ").append(name).append(" ")
+                .append(TimeUnit.NANOSECONDS.toMicros(durationNanos)).append(" us on ").append(threadName);
+        if (!attributes.isEmpty()) {
+            sb.append(" ").append(attributes);
+        }
+        if (failure != null) {
+            sb.append(" FAILED: ").append(failure);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.tracing;
+
+/**
+ * Receives the ended spans of a {@link DefaultUpnpTracer}, e.g. to log them, keep them in memory or export them.
+ * <p>
+ * Called on the thread which ended the span, implementations must be thread-safe and should not block.
+ * </p>
+ */
+@FunctionalInterface
+public interface TraceSink {
+
+    void spanEnded(SpanData span);
+}
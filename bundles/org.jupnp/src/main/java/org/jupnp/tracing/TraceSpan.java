@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.tracing;
+
+/**
+ * A timed part of an operation, see {@link UpnpTracer}.
+ */
+public interface TraceSpan {
+
+    /**
+     * @return The ID shared by all spans of an operation, <code>0</code> for a span of a disabled tracer.
+     */
+    long getOperationId();
+
+    /**
+     * Adds an attribute, e.g. the URI of a request or the status of a response. The value is only converted to a
+     * string if the span is written somewhere.
+     *
+     * @return This span.
+     */
+    TraceSpan setAttribute(String key, Object value);
+
+    /**
+     * Marks this span as failed.
+     *
+     * @param reason A short description or the exception.
+     * @return This span.
+     */
+    TraceSpan setFailed(Object reason);
+
+    /**
+     * Ends this span and passes it to the sink, further calls are ignored.
+     */
+    void end();
+}
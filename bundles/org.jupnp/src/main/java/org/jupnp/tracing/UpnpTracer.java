@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.tracing;
+
+/**
+ * Traces operations of the UPnP stack, to find where the time of a slow action or event went.
+ * <p>
+ * An operation, e.g. a remote action invocation, is a tree of spans with the same operation ID: the sending
+ * protocol, the wait for the router lock, the queueing and the HTTP exchange of the stream client, the reading and
+ * writing of the SOAP bodies. Ended spans are passed to a {@link TraceSink}. The default is {@link NoUpnpTracer},
+ * {@link DefaultUpnpTracer} creates spans with IDs and keeps the current span of each thread.
+ * </p>
+ * <p>
+ * Implementations must be thread-safe. The stack calls the tracer on its hot paths, a disabled tracer should
+ * return a shared span and not allocate.
+ * </p>
+ */
+public interface UpnpTracer {
+
+    /**
+     * Starts a span as a child of the current span of this thread, or as the first span of a new operation if there
+     * is none. The new span is the current span of this thread until it ends, it must be ended on this thread.
+     *
+     * @param name The name of the span, e.g. <code>SendingAction</code> or <code>soap.readBody</code>.
+     */
+    TraceSpan startSpan(String name);
+
+    /**
+     * Starts a span with the given parent, for work handed over to another thread. The new span is the current span
+     * of this thread until it ends, it must be ended on this thread.
+     *
+     * @param parent A span of this tracer, possibly running on another thread, or any other span to start a new
+     *            operation.
+     */
+    TraceSpan startSpan(String name, TraceSpan parent);
+
+    /**
+     * Records a span which already ended, e.g. the time a task waited in a queue or for a lock.
+     *
+     * @param startNanos The start, from {@link System#nanoTime()}.
+     * @param endNanos The end, from {@link System#nanoTime()}.
+     */
+    void recordSpan(String name, TraceSpan parent, long startNanos, long endNanos);
+
+    /**
+     * @return The current span of this thread, a span without operation if there is none.
+     */
+    TraceSpan getCurrentSpan();
+
+    /**
+     * @return <code>false</code> if spans are discarded, callers can skip preparing expensive attributes.
+     */
+    boolean isEnabled();
+}
@@ -19,12 +19,16 @@ import java.net.InetAddress;
 import java.util.List;
 
 import org.jupnp.UpnpServiceConfiguration;
+import org.jupnp.metrics.NoUpnpServiceMetrics;
+import org.jupnp.metrics.UpnpServiceMetrics;
 import org.jupnp.model.NetworkAddress;
 import org.jupnp.model.message.IncomingDatagramMessage;
 import org.jupnp.model.message.OutgoingDatagramMessage;
 import org.jupnp.model.message.StreamRequestMessage;
 import org.jupnp.model.message.StreamResponseMessage;
 import org.jupnp.protocol.ProtocolFactory;
+import org.jupnp.tracing.NoUpnpTracer;
+import org.jupnp.tracing.UpnpTracer;
 import org.jupnp.transport.spi.InitializationException;
 import org.jupnp.transport.spi.UpnpStream;
 
@@ -64,6 +68,26 @@ public interface Router {
      */
     ProtocolFactory getProtocolFactory();
 
+    /**
+     * @return The metrics of the UPnP service this router belongs to, never <code>null</code>.
+     */
+    default UpnpServiceMetrics getMetrics() {
+        ProtocolFactory protocolFactory = getProtocolFactory();
+        return protocolFactory != null && protocolFactory.getUpnpService() != null
+                ? protocolFactory.getUpnpService().getMetrics()
+                : NoUpnpServiceMetrics.INSTANCE;
+    }
+
+    /**
+     * @return The tracer of the UPnP service this router belongs to, never <code>null</code>.
+     */
+    default UpnpTracer getTracer() {
+        ProtocolFactory protocolFactory = getProtocolFactory();
+        return protocolFactory != null && protocolFactory.getUpnpService() != null
+                ? protocolFactory.getUpnpService().getTracer()
+                : NoUpnpTracer.INSTANCE;
+    }
+
     /**
      * Starts all sockets and listening threads for datagrams and streams.
      *
@@ -78,6 +102,19 @@ public interface Router {
      */
     boolean disable() throws RouterException;
 
+    /**
+     * Detects changes of the network interfaces and addresses, and only starts or stops the transports of the
+     * changed interfaces and addresses. The stream client, the registry and the subscriptions are not affected.
+     * <p>
+     * The default implementation doesn't detect changes, the router has to be disabled and enabled again.
+     * </p>
+     *
+     * @return <code>true</code> if the network changed.
+     */
+    default boolean refreshNetwork() throws RouterException {
+        return false;
+    }
+
     /**
      * Disables the router and releases all other resources.
      */
@@ -20,15 +20,20 @@ import java.net.DatagramPacket;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.jupnp.UpnpServiceConfiguration;
+import org.jupnp.metrics.DatagramType;
 import org.jupnp.model.NetworkAddress;
 import org.jupnp.model.message.IncomingDatagramMessage;
 import org.jupnp.model.message.OutgoingDatagramMessage;
@@ -37,10 +42,12 @@ import org.jupnp.model.message.StreamResponseMessage;
 import org.jupnp.protocol.ProtocolCreationException;
 import org.jupnp.protocol.ProtocolFactory;
 import org.jupnp.protocol.ReceivingAsync;
+import org.jupnp.transport.spi.AbstractStreamClient;
 import org.jupnp.transport.spi.DatagramIO;
 import org.jupnp.transport.spi.InitializationException;
 import org.jupnp.transport.spi.MulticastReceiver;
 import org.jupnp.transport.spi.NetworkAddressFactory;
+import org.jupnp.transport.spi.NetworkChange;
 import org.jupnp.transport.spi.NoNetworkException;
 import org.jupnp.transport.spi.StreamClient;
 import org.jupnp.transport.spi.StreamServer;
@@ -54,6 +61,13 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Initializes and starts listening for data on the network when enabled.
  * </p>
+ * <p>
+ * The transports of the enabled router are published as an immutable {@link Transports} snapshot. Sending reads
+ * the current snapshot without locking, so a blocking HTTP request doesn't delay reconfiguration, or other
+ * messages waiting behind a pending reconfiguration. Enabling and disabling are serialized with the write lock,
+ * disabling replaces the snapshot first and then waits for the messages still being sent with the old transports,
+ * before stopping them.
+ * </p>
  *
  * @author Christian Bauer
  * @author Kai Kreuzer - added multicast response port
@@ -66,16 +80,15 @@ public class RouterImpl implements Router {
     protected ProtocolFactory protocolFactory;
 
     protected volatile boolean enabled;
+    // Serializes enabling and disabling, sending doesn't lock
     protected ReentrantReadWriteLock routerLock = new ReentrantReadWriteLock(true);
     protected Lock readLock = routerLock.readLock();
     protected Lock writeLock = routerLock.writeLock();
 
-    // These are created/destroyed when the router is enabled/disabled
-    protected NetworkAddressFactory networkAddressFactory;
-    protected StreamClient streamClient;
-    protected final Map<NetworkInterface, MulticastReceiver> multicastReceivers = new HashMap<>();
-    protected final Map<InetAddress, DatagramIO> datagramIOs = new HashMap<>();
-    protected final Map<InetAddress, StreamServer> streamServers = new HashMap<>();
+    // Created/destroyed when the router is enabled/disabled, replaced as a whole
+    protected volatile Transports transports = Transports.DISABLED;
+    // Some transports of the network failed to start with the last refresh
+    protected boolean transportsIncomplete;
 
     protected RouterImpl() {
     }
@@ -119,12 +132,18 @@ public class RouterImpl implements Router {
         lock(writeLock);
         try {
             if (!enabled) {
+                NetworkAddressFactory networkAddressFactory = null;
+                Map<NetworkInterface, MulticastReceiver> multicastReceivers = new HashMap<>();
+                Map<InetAddress, DatagramIO> datagramIOs = new HashMap<>();
+                Map<InetAddress, StreamServer> streamServers = new HashMap<>();
                 try {
                     logger.debug("Starting networking services...");
                     networkAddressFactory = getConfiguration().createNetworkAddressFactory();
 
-                    startInterfaceBasedTransports(networkAddressFactory.getNetworkInterfaces());
-                    startAddressBasedTransports(networkAddressFactory.getBindAddresses());
+                    startInterfaceBasedTransports(networkAddressFactory, networkAddressFactory.getNetworkInterfaces(),
+                            multicastReceivers);
+                    startAddressBasedTransports(networkAddressFactory, networkAddressFactory.getBindAddresses(),
+                            datagramIOs, streamServers);
 
                     // The transports possibly removed some unusable network interfaces/addresses
                     if (!networkAddressFactory.hasUsableNetwork()) {
@@ -133,11 +152,21 @@ public class RouterImpl implements Router {
                     }
 
                     // Start the HTTP client last, we don't even have to try if there is no network
-                    streamClient = getConfiguration().createStreamClient();
+                    StreamClient streamClient = getConfiguration().createStreamClient();
+                    if (streamClient instanceof AbstractStreamClient) {
+                        ((AbstractStreamClient<?, ?>) streamClient).setMetrics(getMetrics());
+                        ((AbstractStreamClient<?, ?>) streamClient).setTracer(getTracer());
+                    }
 
+                    transports = new Transports(networkAddressFactory, streamClient, multicastReceivers, datagramIOs,
+                            streamServers);
+                    transportsIncomplete = false;
                     enabled = true;
                     return true;
                 } catch (InitializationException e) {
+                    // Don't leave the transports started so far listening
+                    stopTransports(new Transports(networkAddressFactory, null, multicastReceivers, datagramIOs,
+                            streamServers));
                     handleStartFailure(e);
                 }
             }
@@ -154,40 +183,121 @@ public class RouterImpl implements Router {
             if (enabled) {
                 logger.debug("Disabling network services...");
 
-                if (streamClient != null) {
-                    logger.debug("Stopping stream client connection management/pool");
-                    streamClient.stop();
-                    streamClient = null;
-                }
-
-                for (Map.Entry<InetAddress, StreamServer> entry : streamServers.entrySet()) {
-                    logger.debug("Stopping stream server on address: {}", entry.getKey());
-                    entry.getValue().stop();
+                // New messages are not sent anymore, wait for the messages in flight before stopping the transports
+                Transports previous = transports;
+                transports = Transports.DISABLED;
+                enabled = false;
+                if (!previous.drain(getDrainTimeoutMillis())) {
+                    logger.debug("Messages still being sent after {} ms, stopping network services anyway",
+                            getDrainTimeoutMillis());
                 }
-                streamServers.clear();
+                stopTransports(previous);
+                return true;
+            }
+            return false;
+        } finally {
+            unlock(writeLock);
+        }
+    }
 
-                for (Map.Entry<NetworkInterface, MulticastReceiver> entry : multicastReceivers.entrySet()) {
-                    logger.debug("Stopping multicast receiver on interface: {}", entry.getKey().getDisplayName());
-                    entry.getValue().stop();
-                }
-                multicastReceivers.clear();
+    /**
+     * Asks the network address factory for changes of the network interfaces and addresses. The transports of
+     * removed interfaces and addresses are stopped after the messages being sent with them, transports are started
+     * for the new interfaces and addresses. The stream client and all other transports keep running.
+     * <p>
+     * The running transports are compared with the interfaces and addresses of the factory, not only with the
+     * reported change. Transports which failed to start are started again by the next refresh, even if the network
+     * didn't change anymore.
+     * </p>
+     */
+    @Override
+    public boolean refreshNetwork() throws RouterException {
+        lock(writeLock);
+        try {
+            if (!enabled) {
+                return false;
+            }
+            Transports previous = transports;
+            NetworkAddressFactory networkAddressFactory = previous.networkAddressFactory;
+
+            NetworkChange change;
+            try {
+                change = networkAddressFactory.refresh();
+            } catch (InitializationException e) {
+                logger.warn("Unable to detect network changes", e);
+                return false;
+            }
+            if (change.isEmpty() && !transportsIncomplete) {
+                return false;
+            }
+            logger.debug("Network changed, updating transports: {}", change);
+
+            Set<NetworkInterface> interfaces = new HashSet<>();
+            networkAddressFactory.getNetworkInterfaces().forEachRemaining(interfaces::add);
+            Set<InetAddress> addresses = new HashSet<>();
+            networkAddressFactory.getBindAddresses().forEachRemaining(addresses::add);
+
+            Map<NetworkInterface, MulticastReceiver> multicastReceivers = new HashMap<>(previous.multicastReceivers);
+            Map<InetAddress, DatagramIO> datagramIOs = new HashMap<>(previous.datagramIOs);
+            Map<InetAddress, StreamServer> streamServers = new HashMap<>(previous.streamServers);
+            Map<NetworkInterface, MulticastReceiver> removedReceivers = removeAbsent(multicastReceivers, interfaces);
+            Map<InetAddress, DatagramIO> removedDatagramIOs = removeAbsent(datagramIOs, addresses);
+            Map<InetAddress, StreamServer> removedStreamServers = removeAbsent(streamServers, addresses);
+
+            transportsIncomplete = false;
+            try {
+                startInterfaceBasedTransports(networkAddressFactory, networkAddressFactory.getNetworkInterfaces(),
+                        multicastReceivers);
+                startAddressBasedTransports(networkAddressFactory, networkAddressFactory.getBindAddresses(),
+                        datagramIOs, streamServers);
+            } catch (InitializationException e) {
+                // Stop the transports created so far, keep the running ones, try again with the next refresh
+                logger.warn("Unable to start transports for the changed network", e);
+                stopTransports(new Transports(networkAddressFactory, null,
+                        withoutKeys(multicastReceivers, previous.multicastReceivers),
+                        withoutKeys(datagramIOs, previous.datagramIOs),
+                        withoutKeys(streamServers, previous.streamServers)));
+                multicastReceivers.keySet().retainAll(previous.multicastReceivers.keySet());
+                datagramIOs.keySet().retainAll(previous.datagramIOs.keySet());
+                streamServers.keySet().retainAll(previous.streamServers.keySet());
+                transportsIncomplete = true;
+            }
 
-                for (Map.Entry<InetAddress, DatagramIO> entry : datagramIOs.entrySet()) {
-                    logger.debug("Stopping datagram I/O on address: {}", entry.getKey());
-                    entry.getValue().stop();
-                }
-                datagramIOs.clear();
+            if (!networkAddressFactory.hasUsableNetwork()) {
+                logger.info("No usable network interface and/or addresses available anymore");
+            }
 
-                networkAddressFactory = null;
-                enabled = false;
-                return true;
+            if (multicastReceivers.equals(previous.multicastReceivers) && datagramIOs.equals(previous.datagramIOs)
+                    && streamServers.equals(previous.streamServers)) {
+                return !change.isEmpty();
             }
-            return false;
+            transports = new Transports(networkAddressFactory, previous.streamClient, multicastReceivers,
+                    datagramIOs, streamServers);
+            if (!previous.drain(getDrainTimeoutMillis())) {
+                logger.debug("Messages still being sent after {} ms, stopping removed transports anyway",
+                        getDrainTimeoutMillis());
+            }
+            stopTransports(new Transports(networkAddressFactory, null, removedReceivers, removedDatagramIOs,
+                    removedStreamServers));
+            return true;
         } finally {
             unlock(writeLock);
         }
     }
 
+    private static <K, V> Map<K, V> removeAbsent(Map<K, V> map, Set<K> keys) {
+        Map<K, V> removed = new HashMap<>(map);
+        removed.keySet().removeAll(keys);
+        map.keySet().removeAll(removed.keySet());
+        return removed;
+    }
+
+    private static <K, V> Map<K, V> withoutKeys(Map<K, V> map, Map<K, V> removed) {
+        Map<K, V> result = new HashMap<>(map);
+        result.keySet().removeAll(removed.keySet());
+        return result;
+    }
+
     @Override
     public void shutdown() throws RouterException {
         disable();
@@ -209,32 +319,24 @@ public class RouterImpl implements Router {
 
     @Override
     public List<NetworkAddress> getActiveStreamServers(InetAddress preferredAddress) throws RouterException {
-        lock(readLock);
-        try {
-            if (enabled && !streamServers.isEmpty()) {
-                List<NetworkAddress> streamServerAddresses = new ArrayList<>();
-
-                StreamServer preferredServer;
-                if (preferredAddress != null && (preferredServer = streamServers.get(preferredAddress)) != null) {
-                    streamServerAddresses.add(new NetworkAddress(preferredAddress, preferredServer.getPort(),
-                            networkAddressFactory.getHardwareAddress(preferredAddress)
+        Transports current = transports;
+        if (current.streamServers.isEmpty()) {
+            return List.of();
+        }
+        List<NetworkAddress> streamServerAddresses = new ArrayList<>();
 
-                    ));
-                    return streamServerAddresses;
-                }
+        StreamServer preferredServer;
+        if (preferredAddress != null && (preferredServer = current.streamServers.get(preferredAddress)) != null) {
+            streamServerAddresses.add(new NetworkAddress(preferredAddress, preferredServer.getPort(),
+                    current.networkAddressFactory.getHardwareAddress(preferredAddress)));
+            return streamServerAddresses;
+        }
 
-                for (Map.Entry<InetAddress, StreamServer> entry : streamServers.entrySet()) {
-                    byte[] hardwareAddress = networkAddressFactory.getHardwareAddress(entry.getKey());
-                    streamServerAddresses
-                            .add(new NetworkAddress(entry.getKey(), entry.getValue().getPort(), hardwareAddress));
-                }
-                return streamServerAddresses;
-            } else {
-                return List.of();
-            }
-        } finally {
-            unlock(readLock);
+        for (Map.Entry<InetAddress, StreamServer> entry : current.streamServers.entrySet()) {
+            byte[] hardwareAddress = current.networkAddressFactory.getHardwareAddress(entry.getKey());
+            streamServerAddresses.add(new NetworkAddress(entry.getKey(), entry.getValue().getPort(), hardwareAddress));
         }
+        return streamServerAddresses;
     }
 
     /**
@@ -255,6 +357,7 @@ public class RouterImpl implements Router {
             logger.debug("Router disabled, ignoring incoming message: {}", msg);
             return;
         }
+        getMetrics().datagramReceived(DatagramType.of(msg));
         try {
             ReceivingAsync protocol = getProtocolFactory().createReceivingAsync(msg);
             if (protocol == null) {
@@ -291,17 +394,18 @@ public class RouterImpl implements Router {
      */
     @Override
     public void send(OutgoingDatagramMessage msg) throws RouterException {
-        lock(readLock);
+        Transports current = acquireTransports();
+        if (current == null) {
+            logger.debug("Router disabled, not sending datagram: {}", msg);
+            return;
+        }
         try {
-            if (enabled) {
-                for (DatagramIO datagramIO : datagramIOs.values()) {
-                    datagramIO.send(msg);
-                }
-            } else {
-                logger.debug("Router disabled, not sending datagram: {}", msg);
+            for (DatagramIO datagramIO : current.datagramIOs.values()) {
+                datagramIO.send(msg);
             }
+            getMetrics().datagramSent(DatagramType.of(msg));
         } finally {
-            unlock(readLock);
+            current.release();
         }
     }
 
@@ -314,25 +418,24 @@ public class RouterImpl implements Router {
      */
     @Override
     public StreamResponseMessage send(StreamRequestMessage msg) throws RouterException {
-        lock(readLock);
+        Transports current = acquireTransports();
+        if (current == null) {
+            logger.debug("Router disabled, not sending stream request: {}", msg);
+            return null;
+        }
         try {
-            if (enabled) {
-                if (streamClient == null) {
-                    logger.debug("No StreamClient available, not sending: {}", msg);
-                    return null;
-                }
-                logger.debug("Sending via TCP unicast stream: {}", msg);
-                try {
-                    return streamClient.sendRequest(msg);
-                } catch (InterruptedException e) {
-                    throw new RouterException("Sending stream request was interrupted", e);
-                }
-            } else {
-                logger.debug("Router disabled, not sending stream request: {}", msg);
+            if (current.streamClient == null) {
+                logger.debug("No StreamClient available, not sending: {}", msg);
                 return null;
             }
+            logger.debug("Sending via TCP unicast stream: {}", msg);
+            try {
+                return current.streamClient.sendRequest(msg);
+            } catch (InterruptedException e) {
+                throw new RouterException("Sending stream request was interrupted", e);
+            }
         } finally {
-            unlock(readLock);
+            current.release();
         }
     }
 
@@ -347,28 +450,91 @@ public class RouterImpl implements Router {
      */
     @Override
     public void broadcast(byte[] bytes) throws RouterException {
-        lock(readLock);
+        Transports current = acquireTransports();
+        if (current == null) {
+            logger.debug("Router disabled, not broadcasting bytes: {}", bytes.length);
+            return;
+        }
         try {
-            if (enabled) {
-                for (Map.Entry<InetAddress, DatagramIO> entry : datagramIOs.entrySet()) {
-                    InetAddress broadcast = networkAddressFactory.getBroadcastAddress(entry.getKey());
-                    if (broadcast != null) {
-                        logger.debug("Sending UDP datagram to broadcast address: {}", broadcast.getHostAddress());
-                        DatagramPacket packet = new DatagramPacket(bytes, bytes.length, broadcast, 9);
-                        entry.getValue().send(packet);
-                    }
+            for (Map.Entry<InetAddress, DatagramIO> entry : current.datagramIOs.entrySet()) {
+                InetAddress broadcast = current.networkAddressFactory.getBroadcastAddress(entry.getKey());
+                if (broadcast != null) {
+                    logger.debug("Sending UDP datagram to broadcast address: {}", broadcast.getHostAddress());
+                    DatagramPacket packet = new DatagramPacket(bytes, bytes.length, broadcast, 9);
+                    entry.getValue().send(packet);
                 }
-            } else {
-                logger.debug("Router disabled, not broadcasting bytes: {}", bytes.length);
             }
         } finally {
-            unlock(readLock);
+            current.release();
+        }
+    }
+
+    /**
+     * @return The network address factory of the enabled router, or <code>null</code> if it is disabled.
+     */
+    protected NetworkAddressFactory getNetworkAddressFactory() {
+        return transports.networkAddressFactory;
+    }
+
+    /**
+     * @return The stream client of the enabled router, or <code>null</code> if it is disabled.
+     */
+    protected StreamClient getStreamClient() {
+        return transports.streamClient;
+    }
+
+    /**
+     * @return The current multicast receivers by network interface, an immutable snapshot.
+     */
+    protected Map<NetworkInterface, MulticastReceiver> getMulticastReceivers() {
+        return transports.multicastReceivers;
+    }
+
+    /**
+     * @return The current datagram I/Os by bind address, an immutable snapshot.
+     */
+    protected Map<InetAddress, DatagramIO> getDatagramIOs() {
+        return transports.datagramIOs;
+    }
+
+    /**
+     * @return The current stream servers by bind address, an immutable snapshot.
+     */
+    protected Map<InetAddress, StreamServer> getStreamServers() {
+        return transports.streamServers;
+    }
+
+    /**
+     * @return The current transports, registered as being used until {@link Transports#release()} is called, or
+     *         <code>null</code> if the router is disabled.
+     */
+    protected Transports acquireTransports() {
+        Transports current = transports;
+        while (!current.acquire()) {
+            // Replaced concurrently, the router has been disabled or the network changed
+            Transports next = transports;
+            if (next == current) {
+                return null;
+            }
+            current = next;
         }
+        return current;
     }
 
-    protected void startInterfaceBasedTransports(Iterator<NetworkInterface> interfaces) throws InitializationException {
+    /**
+     * Creates and starts a {@link MulticastReceiver} for each network interface which doesn't have one yet.
+     *
+     * @param multicastReceivers The receivers of the router, the new receivers are added.
+     */
+    protected void startInterfaceBasedTransports(NetworkAddressFactory networkAddressFactory,
+            Iterator<NetworkInterface> interfaces, Map<NetworkInterface, MulticastReceiver> multicastReceivers)
+            throws InitializationException {
+        List<NetworkInterface> created = new ArrayList<>();
         while (interfaces.hasNext()) {
             NetworkInterface networkInterface = interfaces.next();
+            if (multicastReceivers.containsKey(networkInterface)) {
+                continue;
+            }
 
             // We only have the MulticastReceiver as an interface-based transport
             MulticastReceiver multicastReceiver = getConfiguration().createMulticastReceiver(networkAddressFactory);
@@ -380,18 +546,32 @@ public class RouterImpl implements Router {
                         getConfiguration().getDatagramProcessor());
 
                 multicastReceivers.put(networkInterface, multicastReceiver);
+                created.add(networkInterface);
             }
         }
 
-        for (Map.Entry<NetworkInterface, MulticastReceiver> entry : multicastReceivers.entrySet()) {
-            logger.debug("Starting multicast receiver on interface: {}", entry.getKey().getDisplayName());
-            getConfiguration().getMulticastReceiverExecutor().execute(entry.getValue());
+        for (NetworkInterface networkInterface : created) {
+            logger.debug("Starting multicast receiver on interface: {}", networkInterface.getDisplayName());
+            getConfiguration().getMulticastReceiverExecutor().execute(multicastReceivers.get(networkInterface));
         }
     }
 
-    protected void startAddressBasedTransports(Iterator<InetAddress> addresses) throws InitializationException {
+    /**
+     * Creates and starts a {@link StreamServer} and a {@link DatagramIO} for each address which doesn't have them
+     * yet. Addresses which can't be bound are removed.
+     *
+     * @param datagramIOs The datagram I/Os of the router, the new ones are added.
+     * @param streamServers The stream servers of the router, the new ones are added.
+     */
+    protected void startAddressBasedTransports(NetworkAddressFactory networkAddressFactory,
+            Iterator<InetAddress> addresses, Map<InetAddress, DatagramIO> datagramIOs,
+            Map<InetAddress, StreamServer> streamServers) throws InitializationException {
+        List<InetAddress> created = new ArrayList<>();
         while (addresses.hasNext()) {
             InetAddress address = addresses.next();
+            if (streamServers.containsKey(address) || datagramIOs.containsKey(address)) {
+                continue;
+            }
 
             // HTTP servers
             StreamServer streamServer = getConfiguration().createStreamServer(networkAddressFactory);
@@ -424,16 +604,45 @@ public class RouterImpl implements Router {
                         getConfiguration().getDatagramProcessor());
                 datagramIOs.put(address, datagramIO);
             }
+            created.add(address);
+        }
+
+        for (InetAddress address : created) {
+            StreamServer streamServer = streamServers.get(address);
+            if (streamServer != null) {
+                logger.debug("Starting stream server on address: {}", address);
+                getConfiguration().getStreamServerExecutorService().execute(streamServer);
+            }
+        }
+
+        for (InetAddress address : created) {
+            DatagramIO datagramIO = datagramIOs.get(address);
+            if (datagramIO != null) {
+                logger.debug("Starting datagram I/O on address: {}", address);
+                getConfiguration().getDatagramIOExecutor().execute(datagramIO);
+            }
         }
+    }
 
-        for (Map.Entry<InetAddress, StreamServer> entry : streamServers.entrySet()) {
-            logger.debug("Starting stream server on address: {}", entry.getKey());
-            getConfiguration().getStreamServerExecutorService().execute(entry.getValue());
+    protected void stopTransports(Transports stopped) {
+        if (stopped.streamClient != null) {
+            logger.debug("Stopping stream client connection management/pool");
+            stopped.streamClient.stop();
         }
 
-        for (Map.Entry<InetAddress, DatagramIO> entry : datagramIOs.entrySet()) {
-            logger.debug("Starting datagram I/O on address: {}", entry.getKey());
-            getConfiguration().getDatagramIOExecutor().execute(entry.getValue());
+        for (Map.Entry<InetAddress, StreamServer> entry : stopped.streamServers.entrySet()) {
+            logger.debug("Stopping stream server on address: {}", entry.getKey());
+            entry.getValue().stop();
+        }
+
+        for (Map.Entry<NetworkInterface, MulticastReceiver> entry : stopped.multicastReceivers.entrySet()) {
+            logger.debug("Stopping multicast receiver on interface: {}", entry.getKey().getDisplayName());
+            entry.getValue().stop();
+        }
+
+        for (Map.Entry<InetAddress, DatagramIO> entry : stopped.datagramIOs.entrySet()) {
+            logger.debug("Stopping datagram I/O on address: {}", entry.getKey());
+            entry.getValue().stop();
         }
     }
 
@@ -468,4 +677,92 @@ public class RouterImpl implements Router {
     protected int getLockTimeoutMillis() {
         return 6000;
     }
+
+    /**
+     * @return Defaults to the lock timeout, how long disabling waits for messages still being sent before stopping
+     *         the transports. Stopping the stream client aborts the remaining HTTP requests.
+     */
+    protected int getDrainTimeoutMillis() {
+        return getLockTimeoutMillis();
+    }
+
+    /**
+     * The transports of an enabled router, immutable. Senders register while they use the transports, so they
+     * can be stopped after the last message has been sent.
+     */
+    protected static class Transports {
+
+        static final Transports DISABLED = new Transports(null, null, Map.of(), Map.of(), Map.of(), true);
+
+        protected final NetworkAddressFactory networkAddressFactory;
+        protected final StreamClient streamClient;
+        protected final Map<NetworkInterface, MulticastReceiver> multicastReceivers;
+        protected final Map<InetAddress, DatagramIO> datagramIOs;
+        protected final Map<InetAddress, StreamServer> streamServers;
+
+        private final AtomicInteger users = new AtomicInteger();
+        private volatile boolean closed;
+
+        protected Transports(NetworkAddressFactory networkAddressFactory, StreamClient streamClient,
+                Map<NetworkInterface, MulticastReceiver> multicastReceivers, Map<InetAddress, DatagramIO> datagramIOs,
+                Map<InetAddress, StreamServer> streamServers) {
+            this(networkAddressFactory, streamClient, multicastReceivers, datagramIOs, streamServers, false);
+        }
+
+        private Transports(NetworkAddressFactory networkAddressFactory, StreamClient streamClient,
+                Map<NetworkInterface, MulticastReceiver> multicastReceivers, Map<InetAddress, DatagramIO> datagramIOs,
+                Map<InetAddress, StreamServer> streamServers, boolean closed) {
+            this.networkAddressFactory = networkAddressFactory;
+            this.streamClient = streamClient;
+            this.multicastReceivers = Collections.unmodifiableMap(new HashMap<>(multicastReceivers));
+            this.datagramIOs = Collections.unmodifiableMap(new HashMap<>(datagramIOs));
+            this.streamServers = Collections.unmodifiableMap(new HashMap<>(streamServers));
+            this.closed = closed;
+        }
+
+        /**
+         * @return <code>false</code> if these transports are being stopped and must not be used anymore.
+         */
+        protected boolean acquire() {
+            users.incrementAndGet();
+            if (closed) {
+                release();
+                return false;
+            }
+            return true;
+        }
+
+        protected void release() {
+            if (users.decrementAndGet() == 0 && closed) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+
+        /**
+         * Refuses new users and waits until the current users released these transports.
+         *
+         * @return <code>false</code> if there are still users after the timeout.
+         */
+        protected boolean drain(long timeoutMillis) {
+            closed = true;
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            synchronized (this) {
+                while (users.get() > 0) {
+                    long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    try {
+                        wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
 }
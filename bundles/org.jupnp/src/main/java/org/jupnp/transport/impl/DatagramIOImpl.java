@@ -20,6 +20,8 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.MulticastSocket;
 import java.net.SocketException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.jupnp.model.UnsupportedDataException;
 import org.jupnp.model.message.OutgoingDatagramMessage;
@@ -37,8 +39,9 @@ import org.slf4j.LoggerFactory;
  * datagrams with a configuration time-to-live requires a <code>MulticastSocket</code>.
  * </p>
  * <p>
- * Thread-safety is guaranteed through synchronization of methods of this service and
- * by the thread-safe underlying socket.
+ * Thread-safety is guaranteed through a lock held by the methods of this service and
+ * by the thread-safe underlying socket. The lock is a {@link ReentrantLock}, so senders
+ * running on virtual threads don't pin their carrier thread while the socket blocks.
  * </p>
  * 
  * @author Christian Bauer
@@ -61,6 +64,8 @@ public class DatagramIOImpl implements DatagramIO<DatagramIOConfigurationImpl> {
 
     protected final DatagramIOConfigurationImpl configuration;
 
+    protected final Lock lock = new ReentrantLock();
+
     protected Router router;
     protected DatagramProcessor datagramProcessor;
 
@@ -77,31 +82,41 @@ public class DatagramIOImpl implements DatagramIO<DatagramIOConfigurationImpl> {
     }
 
     @Override
-    public synchronized void init(InetAddress bindAddress, int bindPort, Router router,
+    public void init(InetAddress bindAddress, int bindPort, Router router,
             DatagramProcessor datagramProcessor) throws InitializationException {
+        lock.lock();
+        try {
 
-        this.router = router;
-        this.datagramProcessor = datagramProcessor;
+            this.router = router;
+            this.datagramProcessor = datagramProcessor;
 
-        try {
+            try {
 
-            // TODO: UPNP VIOLATION: The spec does not prohibit using the 1900 port here again, however, the
-            // Netgear ReadyNAS miniDLNA implementation will no longer answer if it has to send search response
-            // back via UDP unicast to port 1900... so we use an ephemeral port
-            logger.debug("Creating bound socket (for datagram input/output) on: {}:{}", bindAddress, bindPort);
-            localAddress = new InetSocketAddress(bindAddress, bindPort);
-            socket = new MulticastSocket(localAddress);
-            socket.setTimeToLive(configuration.getTimeToLive());
-            socket.setReceiveBufferSize(262144); // Keep a backlog of incoming datagrams if we are not fast enough
-        } catch (Exception e) {
-            throw new InitializationException("Could not initialize " + getClass().getSimpleName(), e);
+                // TODO: UPNP VIOLATION: The spec does not prohibit using the 1900 port here again, however, the
+                // Netgear ReadyNAS miniDLNA implementation will no longer answer if it has to send search response
+                // back via UDP unicast to port 1900... so we use an ephemeral port
+                logger.debug("Creating bound socket (for datagram input/output) on: {}:{}", bindAddress, bindPort);
+                localAddress = new InetSocketAddress(bindAddress, bindPort);
+                socket = new MulticastSocket(localAddress);
+                socket.setTimeToLive(configuration.getTimeToLive());
+                socket.setReceiveBufferSize(262144); // Keep a backlog of incoming datagrams if we are not fast enough
+            } catch (Exception e) {
+                throw new InitializationException("Could not initialize " + getClass().getSimpleName(), e);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
-    public synchronized void stop() {
-        if (socket != null && !socket.isClosed()) {
-            socket.close();
+    public void stop() {
+        lock.lock();
+        try {
+            if (socket != null && !socket.isClosed()) {
+                socket.close();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -128,6 +143,7 @@ public class DatagramIOImpl implements DatagramIO<DatagramIOConfigurationImpl> {
                 break;
             } catch (UnsupportedDataException e) {
                 logger.info("Could not read datagram: {}", e.getMessage());
+                router.getMetrics().datagramParseFailed();
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
@@ -143,7 +159,7 @@ public class DatagramIOImpl implements DatagramIO<DatagramIOConfigurationImpl> {
     }
 
     @Override
-    public synchronized void send(OutgoingDatagramMessage message) {
+    public void send(OutgoingDatagramMessage message) {
         logger.debug("Sending message from address: {}", localAddress);
 
         DatagramPacket packet = datagramProcessor.write(message);
@@ -155,28 +171,33 @@ public class DatagramIOImpl implements DatagramIO<DatagramIOConfigurationImpl> {
     }
 
     @Override
-    public synchronized void send(DatagramPacket datagram) {
-        logger.debug("Sending message from address: {}", localAddress);
-
+    public void send(DatagramPacket datagram) {
+        lock.lock();
         try {
-            socket.send(datagram);
-        } catch (SocketException e) {
-            logger.debug("Socket closed, aborting datagram send to: {}", datagram.getAddress());
-        } catch (RuntimeException e) {
-            throw e;
-        } catch (Exception e) {
-            logger.error("Exception sending datagram to: {}", datagram.getAddress(), e);
-            logger.error("  Details: datagram.socketAddress={}, length={}, offset={}, data.bytes={}",
-                    datagram.getSocketAddress(), datagram.getLength(), datagram.getOffset(), datagram.getData().length);
+            logger.debug("Sending message from address: {}", localAddress);
+
             try {
-                logger.error(
-                        "  Details: socket={}, closed={}, bound={}, inetAddress={}, "
-                                + "remoteSocketAddress={}, networkInterface={}",
-                        socket.toString(), socket.isClosed(), socket.isBound(), socket.getInetAddress(),
-                        socket.getRemoteSocketAddress(), socket.getNetworkInterface());
-            } catch (SocketException ex2) {
-                logger.error("  Details: could not get network interface", ex2);
+                socket.send(datagram);
+            } catch (SocketException e) {
+                logger.debug("Socket closed, aborting datagram send to: {}", datagram.getAddress());
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.error("Exception sending datagram to: {}", datagram.getAddress(), e);
+                logger.error("  Details: datagram.socketAddress={}, length={}, offset={}, data.bytes={}",
+                        datagram.getSocketAddress(), datagram.getLength(), datagram.getOffset(), datagram.getData().length);
+                try {
+                    logger.error(
+                            "  Details: socket={}, closed={}, bound={}, inetAddress={}, "
+                                    + "remoteSocketAddress={}, networkInterface={}",
+                            socket.toString(), socket.isClosed(), socket.isBound(), socket.getInetAddress(),
+                            socket.getRemoteSocketAddress(), socket.getNetworkInterface());
+                } catch (SocketException ex2) {
+                    logger.error("  Details: could not get network interface", ex2);
+                }
             }
+        } finally {
+            lock.unlock();
         }
     }
 }
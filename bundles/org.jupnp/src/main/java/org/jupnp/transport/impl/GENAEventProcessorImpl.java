@@ -157,17 +157,16 @@ public class GENAEventProcessorImpl extends PooledXmlProcessor implements GENAEv
                     }
 
                     String stateVariableName = getUnprefixedNodeName(propertyChild);
-                    for (StateVariable stateVariable : stateVariables) {
-                        if (stateVariable.getName().equals(stateVariableName)) {
-                            logger.trace("Reading state variable value: {}", stateVariableName);
-                            String value = XMLUtil.getTextContent(propertyChild);
-                            try {
-                                message.getStateVariableValues().add(new StateVariableValue(stateVariable, value));
-                            } catch (InvalidValueException e) {
-                                logger.debug("Value {} for the state variable {} ignored: {}", value, stateVariableName,
-                                        e.getMessage());
-                            }
-                            break;
+                    int index = message.getService().getStateVariableIndex(stateVariableName);
+                    if (index >= 0) {
+                        StateVariable stateVariable = stateVariables[index];
+                        logger.trace("Reading state variable value: {}", stateVariableName);
+                        String value = XMLUtil.getTextContent(propertyChild);
+                        try {
+                            message.getStateVariableValues().add(new StateVariableValue(stateVariable, value));
+                        } catch (InvalidValueException e) {
+                            logger.debug("Value {} for the state variable {} ignored: {}", value, stateVariableName,
+                                    e.getMessage());
                         }
                     }
 
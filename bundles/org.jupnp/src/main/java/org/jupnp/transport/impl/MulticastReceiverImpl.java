@@ -135,6 +135,7 @@ public class MulticastReceiverImpl implements MulticastReceiver<MulticastReceive
                 break;
             } catch (UnsupportedDataException e) {
                 logger.info("Could not read datagram: {}", e.getMessage());
+                router.getMetrics().datagramParseFailed();
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
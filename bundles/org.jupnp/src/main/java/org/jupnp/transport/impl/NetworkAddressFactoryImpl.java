@@ -35,6 +35,7 @@ import java.util.Set;
 import org.jupnp.model.Constants;
 import org.jupnp.transport.spi.InitializationException;
 import org.jupnp.transport.spi.NetworkAddressFactory;
+import org.jupnp.transport.spi.NetworkChange;
 import org.jupnp.transport.spi.NoNetworkException;
 import org.jupnp.util.Iterators;
 import org.slf4j.Logger;
@@ -133,6 +134,44 @@ public class NetworkAddressFactoryImpl implements NetworkAddressFactory {
         }
     }
 
+    @Override
+    public NetworkChange refresh() throws InitializationException {
+        // Same lock order as getBindAddressInSubnetOf()
+        synchronized (networkInterfaces) {
+            synchronized (bindAddresses) {
+                List<NetworkInterface> previousInterfaces = new ArrayList<>(networkInterfaces);
+                List<InetAddress> previousAddresses = new ArrayList<>(bindAddresses);
+                networkInterfaces.clear();
+                bindAddresses.clear();
+                try {
+                    discoverNetworkInterfaces();
+                    discoverBindAddresses();
+                } catch (InitializationException e) {
+                    networkInterfaces.clear();
+                    networkInterfaces.addAll(previousInterfaces);
+                    bindAddresses.clear();
+                    bindAddresses.addAll(previousAddresses);
+                    throw e;
+                }
+
+                // NetworkInterface.equals() compares the name and the addresses of the interfaces
+                NetworkChange change = new NetworkChange(without(networkInterfaces, previousInterfaces),
+                        without(previousInterfaces, networkInterfaces), without(bindAddresses, previousAddresses),
+                        without(previousAddresses, bindAddresses));
+                if (!change.isEmpty()) {
+                    logger.debug("Network interfaces or addresses changed: {}", change);
+                }
+                return change;
+            }
+        }
+    }
+
+    private static <T> List<T> without(List<T> list, List<T> removed) {
+        List<T> result = new ArrayList<>(list);
+        result.removeAll(removed);
+        return result;
+    }
+
     @Override
     public InetAddress getMulticastGroup() {
         try {
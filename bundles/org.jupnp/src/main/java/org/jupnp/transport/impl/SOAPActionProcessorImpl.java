@@ -30,6 +30,7 @@ import org.jupnp.model.message.control.ActionMessage;
 import org.jupnp.model.message.control.ActionRequestMessage;
 import org.jupnp.model.message.control.ActionResponseMessage;
 import org.jupnp.model.meta.ActionArgument;
+import org.jupnp.model.meta.ActionArgumentBinding;
 import org.jupnp.model.types.ErrorCode;
 import org.jupnp.model.types.InvalidValueException;
 import org.jupnp.transport.spi.SOAPActionProcessor;
@@ -338,7 +339,7 @@ public class SOAPActionProcessorImpl extends PooledXmlProcessor implements SOAPA
     public void readActionInputArguments(Element actionRequestElement, ActionInvocation actionInvocation)
             throws ActionException {
         actionInvocation.setInput(readArgumentValues(actionRequestElement.getChildNodes(),
-                actionInvocation.getAction().getInputArguments()));
+                actionInvocation.getAction().getInputArgumentBinding()));
     }
 
     /* ##################################################################################################### */
@@ -359,7 +360,7 @@ public class SOAPActionProcessorImpl extends PooledXmlProcessor implements SOAPA
             throws ActionException {
 
         actionInvocation.setOutput(readArgumentValues(actionResponseElement.getChildNodes(),
-                actionInvocation.getAction().getOutputArguments()));
+                actionInvocation.getAction().getOutputArgumentBinding()));
     }
 
     /* ##################################################################################################### */
@@ -503,21 +504,50 @@ public class SOAPActionProcessorImpl extends PooledXmlProcessor implements SOAPA
      */
     protected ActionArgumentValue[] readArgumentValues(NodeList nodeList, ActionArgument[] args)
             throws ActionException {
+        return readArgumentValues(nodeList, new ActionArgumentBinding<>(args));
+    }
 
-        List<Node> nodes = getMatchingNodes(nodeList, args);
+    /**
+     * Reads the argument values with one lookup per element node, the first node with the name or an alias of an
+     * argument is its value. Throws {@link ActionException} if not all arguments were found.
+     */
+    protected ActionArgumentValue[] readArgumentValues(NodeList nodeList, ActionArgumentBinding<?> binding)
+            throws ActionException {
 
-        ActionArgumentValue[] values = new ActionArgumentValue[args.length];
+        ActionArgument[] args = binding.getArguments();
+        Node[] nodes = new Node[args.length];
+        int matches = 0;
+        for (int i = 0; i < nodeList.getLength(); i++) {
+            Node child = nodeList.item(i);
 
-        for (int i = 0; i < args.length; i++) {
+            if (child.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
 
+            int index = binding.indexOf(getUnprefixedNodeName(child));
+            if (index >= 0) {
+                matches++;
+                if (nodes[index] == null) {
+                    nodes[index] = child;
+                }
+            }
+        }
+
+        if (matches < args.length) {
+            throw new ActionException(ErrorCode.ARGUMENT_VALUE_INVALID,
+                    "Invalid number of input or output arguments in XML message, expected " + args.length
+                            + " but found " + matches);
+        }
+
+        ActionArgumentValue[] values = new ActionArgumentValue[args.length];
+        for (int i = 0; i < args.length; i++) {
             ActionArgument arg = args[i];
-            Node node = findActionArgumentNode(nodes, arg);
-            if (node == null) {
+            if (nodes[i] == null) {
                 throw new ActionException(ErrorCode.ARGUMENT_VALUE_INVALID,
                         "Could not find argument '" + arg.getName() + "' node");
             }
             logger.trace("Reading action argument: {}", arg.getName());
-            String value = XMLUtil.getTextContent(node);
+            String value = XMLUtil.getTextContent(nodes[i]);
             values[i] = createValue(arg, value);
         }
         return values;
@@ -526,7 +556,11 @@ public class SOAPActionProcessorImpl extends PooledXmlProcessor implements SOAPA
     /**
      * Finds all element nodes in the list that match any argument name or argument
      * alias, throws {@link ActionException} if not all arguments were found.
+     *
+     * @deprecated Arguments are read with one lookup per element node, see
+     *             {@link #readArgumentValues(NodeList, ActionArgumentBinding)}, this method is no longer called.
      */
+    @Deprecated
     protected List<Node> getMatchingNodes(NodeList nodeList, ActionArgument[] args) throws ActionException {
 
         List<String> names = new ArrayList<>();
@@ -573,7 +607,11 @@ public class SOAPActionProcessorImpl extends PooledXmlProcessor implements SOAPA
     /**
      * Returns the node with the same unprefixed name as the action argument
      * name/alias or <code>null</code>.
+     *
+     * @deprecated Arguments are read with one lookup per element node, see
+     *             {@link #readArgumentValues(NodeList, ActionArgumentBinding)}, this method is no longer called.
      */
+    @Deprecated
     protected Node findActionArgumentNode(List<Node> nodes, ActionArgument arg) {
         for (Node node : nodes) {
             if (arg.isNameOrAlias(getUnprefixedNodeName(node))) {
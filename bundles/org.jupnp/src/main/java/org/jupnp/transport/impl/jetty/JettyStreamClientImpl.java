@@ -36,6 +36,8 @@ import org.jupnp.model.message.UpnpOperation;
 import org.jupnp.model.message.UpnpRequest;
 import org.jupnp.model.message.UpnpResponse;
 import org.jupnp.model.message.header.UpnpHeader;
+import org.jupnp.tracing.TraceSpan;
+import org.jupnp.tracing.UpnpTracer;
 import org.jupnp.transport.spi.AbstractStreamClient;
 import org.jupnp.transport.spi.InitializationException;
 import org.jupnp.transport.spi.StreamClient;
@@ -156,8 +158,15 @@ public class JettyStreamClientImpl extends AbstractStreamClient<StreamClientConf
         return () -> {
             logger.trace("Sending HTTP request: {}", requestMessage);
             try {
+                final UpnpTracer tracer = getTracer();
+                final ExchangeTimes times = tracer.isEnabled() ? new ExchangeTimes(request) : null;
+
                 final ContentResponse httpResponse = request.send();
 
+                if (times != null) {
+                    times.record(tracer);
+                }
+
                 logger.trace("Received HTTP response: {}", httpResponse.getReason());
 
                 // Status
@@ -194,6 +203,33 @@ public class JettyStreamClientImpl extends AbstractStreamClient<StreamClientConf
         };
     }
 
+    /**
+     * Records when the request has been sent and when the response began, for the phases of the HTTP exchange:
+     * connecting and sending the request, waiting for the device, and receiving the response.
+     */
+    private static class ExchangeTimes {
+
+        private final long start = System.nanoTime();
+        private volatile long requestSent;
+        private volatile long responseBegin;
+
+        ExchangeTimes(Request request) {
+            request.onRequestSuccess(r -> requestSent = System.nanoTime());
+            request.onResponseBegin(r -> responseBegin = System.nanoTime());
+        }
+
+        void record(UpnpTracer tracer) {
+            long end = System.nanoTime();
+            TraceSpan parent = tracer.getCurrentSpan();
+            if (requestSent == 0 || responseBegin == 0) {
+                return;
+            }
+            tracer.recordSpan("http.send", parent, start, requestSent);
+            tracer.recordSpan("http.wait", parent, requestSent, responseBegin);
+            tracer.recordSpan("http.receive", parent, responseBegin, end);
+        }
+    }
+
     @Override
     protected void abort(Request request) {
         request.abort(new Exception("Request aborted by API"));
@@ -25,8 +25,13 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.jupnp.metrics.NoUpnpServiceMetrics;
+import org.jupnp.metrics.UpnpServiceMetrics;
 import org.jupnp.model.message.StreamRequestMessage;
 import org.jupnp.model.message.StreamResponseMessage;
+import org.jupnp.tracing.NoUpnpTracer;
+import org.jupnp.tracing.TraceSpan;
+import org.jupnp.tracing.UpnpTracer;
 import org.jupnp.util.Exceptions;
 import org.jupnp.util.SpecificationViolationReporter;
 import org.slf4j.Logger;
@@ -45,6 +50,27 @@ public abstract class AbstractStreamClient<C extends StreamClientConfiguration,
     private Map<URI, Long> failedRequests = new ConcurrentHashMap<>();
     private Map<URI, Long> failedTries = new ConcurrentHashMap<>();
 
+    private volatile UpnpServiceMetrics metrics = NoUpnpServiceMetrics.INSTANCE;
+    private volatile UpnpTracer tracer = NoUpnpTracer.INSTANCE;
+
+    /**
+     * Called by the router after creating this client, timeouts of requests are recorded in the given metrics.
+     */
+    public void setMetrics(UpnpServiceMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Called by the router after creating this client, the phases of requests are traced with the given tracer.
+     */
+    public void setTracer(UpnpTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    protected UpnpTracer getTracer() {
+        return tracer;
+    }
+
     @Override
     public StreamResponseMessage sendRequest(StreamRequestMessage requestMessage) throws InterruptedException {
         logger.trace("Preparing HTTP request: {}", requestMessage);
@@ -86,14 +112,21 @@ public abstract class AbstractStreamClient<C extends StreamClientConfiguration,
             return null;
         }
 
-        Callable<StreamResponseMessage> callable = createCallable(requestMessage, request);
-        RequestWrapper requestWrapper = new RequestWrapper(callable);
-
-        // Execute the request on a new thread
-        Future<StreamResponseMessage> future = getConfiguration().getRequestExecutorService().submit(requestWrapper);
+        UpnpTracer tracer = this.tracer;
+        TraceSpan span = tracer.startSpan("streamClient.request")
+                .setAttribute("method", requestMessage.getOperation().getHttpMethodName())
+                .setAttribute("uri", requestMessage.getUri());
 
-        // Wait on the current thread for completion
+        RequestWrapper requestWrapper = null;
         try {
+            Callable<StreamResponseMessage> callable = createCallable(requestMessage, request);
+            requestWrapper = new RequestWrapper(callable, tracer, span);
+
+            // Execute the request on a new thread, the span also ends if the executor rejects it
+            Future<StreamResponseMessage> future = getConfiguration().getRequestExecutorService()
+                    .submit(requestWrapper);
+
+            // Wait on the current thread for completion
             logger.trace("Waiting {} seconds for HTTP request to complete: {}", getConfiguration().getTimeoutSeconds(),
                     requestMessage);
             StreamResponseMessage response = future.get(getConfiguration().getTimeoutSeconds(), TimeUnit.SECONDS);
@@ -111,6 +144,7 @@ public abstract class AbstractStreamClient<C extends StreamClientConfiguration,
         } catch (InterruptedException e) {
             logger.trace("Interruption, aborting request: {}", requestMessage);
             abort(request);
+            span.setFailed("interrupted");
             throw new InterruptedException("HTTP request interrupted and aborted");
 
         } catch (TimeoutException e) {
@@ -118,12 +152,15 @@ public abstract class AbstractStreamClient<C extends StreamClientConfiguration,
             logger.info("Timeout of {} seconds while waiting for HTTP request to complete, aborting: {}",
                     getConfiguration().getTimeoutSeconds(), requestMessage);
             abort(request);
+            metrics.streamRequestTimedOut();
+            span.setFailed("timeout");
 
             handleRequestTimeout(requestMessage, requestWrapper);
             return null;
 
         } catch (ExecutionException e) {
             Throwable cause = e.getCause();
+            span.setFailed(cause);
             if (!logExecutionException(cause)) {
                 String message = "HTTP request failed: " + requestMessage;
 
@@ -138,8 +175,12 @@ public abstract class AbstractStreamClient<C extends StreamClientConfiguration,
 
             handleRequestFailure(requestMessage);
             return null;
+        } catch (RuntimeException e) {
+            span.setFailed(e);
+            throw e;
         } finally {
             onFinally(request);
+            span.end();
         }
     }
 
@@ -216,15 +257,32 @@ public abstract class AbstractStreamClient<C extends StreamClientConfiguration,
 
         Callable<StreamResponseMessage> task;
         Long startTime = null;
+        final UpnpTracer tracer;
+        final TraceSpan span;
+        final long submitTime = System.nanoTime();
 
-        public RequestWrapper(Callable<StreamResponseMessage> task) {
+        public RequestWrapper(Callable<StreamResponseMessage> task, UpnpTracer tracer, TraceSpan span) {
             this.task = task;
+            this.tracer = tracer;
+            this.span = span;
         }
 
         @Override
         public StreamResponseMessage call() throws Exception {
             startTime = System.nanoTime();
-            return task.call();
+            if (!tracer.isEnabled()) {
+                return task.call();
+            }
+            tracer.recordSpan("streamClient.queued", span, submitTime, startTime);
+            TraceSpan exchange = tracer.startSpan("streamClient.exchange", span);
+            try {
+                return task.call();
+            } catch (Exception e) {
+                exchange.setFailed(e);
+                throw e;
+            } finally {
+                exchange.end();
+            }
         }
     }
 }
@@ -113,4 +113,18 @@ public interface NetworkAddressFactory {
      * For debugging, logs all "usable" network interface(s) details with INFO level.
      */
     void logInterfaceInformation();
+
+    /**
+     * Discovers the network interfaces and bind addresses again, e.g. after roaming or a DHCP renewal.
+     * <p>
+     * The interfaces and addresses returned by this factory are replaced with the discovered ones, the caller
+     * starts and stops the transports of the changes. The default implementation doesn't detect changes.
+     * </p>
+     *
+     * @return The changes since the previous discovery, {@link NetworkChange#NONE} if nothing changed.
+     * @throws InitializationException If the network interfaces can't be analyzed.
+     */
+    default NetworkChange refresh() throws InitializationException {
+        return NetworkChange.NONE;
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.transport.spi;
+
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The network interfaces and bind addresses which appeared or disappeared, detected by
+ * {@link NetworkAddressFactory#refresh()}.
+ * <p>
+ * An interface whose addresses changed is both removed (as it was before) and added (as it is now).
+ * </p>
+ */
+public class NetworkChange {
+
+    public static final NetworkChange NONE = new NetworkChange(List.of(), List.of(), List.of(), List.of());
+
+    private final List<NetworkInterface> addedInterfaces;
+    private final List<NetworkInterface> removedInterfaces;
+    private final List<InetAddress> addedAddresses;
+    private final List<InetAddress> removedAddresses;
+
+    public NetworkChange(List<NetworkInterface> addedInterfaces, List<NetworkInterface> removedInterfaces,
+            List<InetAddress> addedAddresses, List<InetAddress> removedAddresses) {
+        this.addedInterfaces = Collections.unmodifiableList(addedInterfaces);
+        this.removedInterfaces = Collections.unmodifiableList(removedInterfaces);
+        this.addedAddresses = Collections.unmodifiableList(addedAddresses);
+        this.removedAddresses = Collections.unmodifiableList(removedAddresses);
+    }
+
+    public List<NetworkInterface> getAddedInterfaces() {
+        return addedInterfaces;
+    }
+
+    public List<NetworkInterface> getRemovedInterfaces() {
+        return removedInterfaces;
+    }
+
+    public List<InetAddress> getAddedAddresses() {
+        return addedAddresses;
+    }
+
+    public List<InetAddress> getRemovedAddresses() {
+        return removedAddresses;
+    }
+
+    public boolean isEmpty() {
+        return addedInterfaces.isEmpty() && removedInterfaces.isEmpty() && addedAddresses.isEmpty()
+                && removedAddresses.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "(" + getClass().getSimpleName() + ") added interfaces: " + addedInterfaces + ", removed interfaces: "
+                + removedInterfaces + ", added addresses: " + addedAddresses + ", removed addresses: "
+                + removedAddresses;
+    }
+}
@@ -15,12 +15,16 @@
  */
 package org.jupnp.transport.spi;
 
+import org.jupnp.UpnpService;
 import org.jupnp.model.message.StreamRequestMessage;
 import org.jupnp.model.message.StreamResponseMessage;
 import org.jupnp.model.message.UpnpResponse;
 import org.jupnp.protocol.ProtocolCreationException;
 import org.jupnp.protocol.ProtocolFactory;
 import org.jupnp.protocol.ReceivingSync;
+import org.jupnp.tracing.NoUpnpTracer;
+import org.jupnp.tracing.TraceSpan;
+import org.jupnp.tracing.UpnpTracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -80,10 +84,19 @@ public abstract class UpnpStream implements Runnable {
 
         // Run it
         logger.trace("Running protocol for synchronous message processing: {}", syncProtocol);
-        syncProtocol.run();
+        TraceSpan span = getTracer().startSpan(syncProtocol.getClass().getSimpleName())
+                .setAttribute("method", requestMsg.getOperation().getHttpMethodName())
+                .setAttribute("uri", requestMsg.getUri());
+        StreamResponseMessage responseMsg;
+        try {
+            syncProtocol.run();
 
-        // ... then grab the response
-        StreamResponseMessage responseMsg = syncProtocol.getOutputMessage();
+            // ... then grab the response
+            responseMsg = syncProtocol.getOutputMessage();
+            span.setAttribute("status", responseMsg != null ? responseMsg.getOperation().getStatusCode() : null);
+        } finally {
+            span.end();
+        }
 
         if (responseMsg == null) {
             // That's ok, the caller is supposed to handle this properly (e.g. convert it to HTTP 404)
@@ -94,6 +107,11 @@ public abstract class UpnpStream implements Runnable {
         return responseMsg;
     }
 
+    private UpnpTracer getTracer() {
+        UpnpService upnpService = getProtocolFactory().getUpnpService();
+        return upnpService != null ? upnpService.getTracer() : NoUpnpTracer.INSTANCE;
+    }
+
     /**
      * Must be called by a subclass after the response has been successfully sent to the client.
      *
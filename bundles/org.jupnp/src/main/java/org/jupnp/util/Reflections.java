@@ -16,12 +16,17 @@
 package org.jupnp.util;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
@@ -56,6 +61,114 @@ public class Reflections {
         }
     }
 
+    /**
+     * Creates a handle of type <code>(Object, Object[])Object</code> for the method, to be called with
+     * {@link #invoke(MethodHandle, Object, Object[])}. The handle of a void method returns <code>null</code>, the
+     * handle of a static method ignores the target.
+     *
+     * @return The handle, or <code>null</code> if the method can't be accessed with a handle or the platform has no
+     *         method handles, call {@link #invoke(Method, Object, Object...)} instead.
+     */
+    public static MethodHandle toInvoker(Method method) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a handle of type <code>(Object, Object[])Object</code> which creates an instance with the constructor, to
+     * be called with {@link #invoke(MethodHandle, Object, Object[])} and a <code>null</code> target.
+     *
+     * @return The handle, or <code>null</code> if the constructor can't be accessed with a handle or the platform has
+     *         no method handles.
+     */
+    public static MethodHandle toInvoker(Constructor<?> constructor) {
+        try {
+            MethodHandle handle = MethodHandles.dropArguments(MethodHandles.lookup().unreflectConstructor(constructor),
+                    0, Object.class);
+            return handle.asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Calls a handle created with {@link #toInvoker(Method)}. Like {@link #invoke(Method, Object, Object...)},
+     * exceptions of the method are thrown as they are and errors are wrapped in an
+     * {@link InvocationTargetException}.
+     */
+    public static Object invoke(MethodHandle invoker, Object target, Object[] args) throws Exception {
+        try {
+            return (Object) invoker.invokeExact(target, args);
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Creates a handle of type <code>(Object)Object</code> which reads the field, to be called with
+     * {@link #get(MethodHandle, Object)}. Like {@link #get(Field, Object)}, the field doesn't have to be accessible.
+     *
+     * @return The handle, or <code>null</code> if the field can't be accessed with a handle or the platform has no
+     *         method handles, call {@link #get(Field, Object)} instead.
+     */
+    public static MethodHandle toGetter(Field field) {
+        try {
+            // The field is a copy owned by the caller, no need to restore the accessibility
+            field.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.methodType(Object.class, Object.class));
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a handle of type <code>(Object)Object</code> which calls the getter method without arguments, to be
+     * called with {@link #get(MethodHandle, Object)}.
+     *
+     * @return The handle, or <code>null</code> if the method can't be accessed with a handle or the platform has no
+     *         method handles, call {@link #invoke(Method, Object, Object...)} instead.
+     */
+    public static MethodHandle toGetter(Method getter) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(getter);
+            if (Modifier.isStatic(getter.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.methodType(Object.class, Object.class));
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Calls a handle created with {@link #toGetter(Field)} or {@link #toGetter(Method)}, exceptions are thrown like
+     * with {@link #invoke(MethodHandle, Object, Object[])}.
+     */
+    public static Object get(MethodHandle getter, Object target) throws Exception {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
     // ####################
 
     public static Object get(Field field, Object target) throws Exception {
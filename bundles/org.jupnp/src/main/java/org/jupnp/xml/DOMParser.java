@@ -24,16 +24,15 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.net.URI;
 import java.net.URL;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
@@ -43,7 +42,6 @@ import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathFactory;
@@ -91,81 +89,51 @@ public abstract class DOMParser<D extends DOM> implements ErrorHandler, EntityRe
     }
 
     public Schema getSchema() {
-
         if (schema == null) {
-            // Lazy initialization
-            // TODO:
-            // http://stackoverflow.com/questions/3129934/schemafactory-doesnt-support-w3c-xml-schema-in-platform-level-8
-            try {
-                SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-
-                schemaFactory.setResourceResolver(new CatalogResourceResolver(new HashMap<>() {
-                    {
-                        put(DOM.XML_SCHEMA_NAMESPACE, XML_SCHEMA_RESOURCE);
-                    }
-                }));
-
-                if (schemaSources != null) {
-                    schema = schemaFactory.newSchema(schemaSources);
-                } else {
-                    schema = schemaFactory.newSchema();
-                }
+            // Lazy initialization, schemas are compiled once and shared by all parsers with the same sources
+            Object key = getSchemaKey();
+            schema = key != null ? XMLFactories.getSchema(key, () -> XMLFactories.newSchema(schemaSources))
+                    : XMLFactories.newSchema(schemaSources);
+        }
+        return schema;
+    }
 
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+    /**
+     * @return The key of the compiled schema in the shared cache, or <code>null</code> if the schema sources can't be
+     *         identified and the schema has to be compiled for this parser.
+     */
+    protected Object getSchemaKey() {
+        if (schemaSources == null) {
+            return DOMParser.class;
+        }
+        List<String> systemIds = new ArrayList<>(schemaSources.length);
+        for (Source source : schemaSources) {
+            if (source.getSystemId() == null) {
+                return null;
             }
+            systemIds.add(source.getSystemId());
         }
-        return schema;
+        return systemIds;
     }
 
     // =================================================================================================
 
     protected abstract D createDOM(Document document);
 
+    /**
+     * Returns the shared factory of the current thread, see {@link XMLFactories}. The factory is namespace-aware, and
+     * XInclude-aware with the schema of this parser if validating. It must not be reconfigured.
+     */
     public DocumentBuilderFactory createFactory(boolean validating) throws ParserException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-
-        try {
-
-            // Yes, namespaces would be nice... because they make XML sooooo eXtensible!
-            factory.setNamespaceAware(true);
-
-            if (validating) {
-
-                // Well this in theory works without validation but requires namespaces. We don't want
-                // namespaces when we are not validating because we get funny xmlns="" in output.
-                factory.setXIncludeAware(true);
-
-                // Whatever that does... we want it
-                factory.setFeature("http://apache.org/xml/features/xinclude/fixup-base-uris", false);
-                factory.setFeature("http://apache.org/xml/features/xinclude/fixup-language", false);
-
-                // Good idea to set a schema when you want to validate! Tell me, how does it work
-                // without a schema?!
-                factory.setSchema(getSchema());
-
-                // Oh, it's dynamic! Soooo dynamic! This is hilarious:
-                //
-                // "The parser will validate the document only if a grammar is specified."
-                //
-                // What, you are surprised that it won't validate without a grammar?!?! Well,
-                // I'm going to turn that smart feature on, of course! Seriously, it won't
-                // validate without this switch. And I'm so proud having 'apache.org' in my
-                // source, a true sign of quality.
-                //
-                factory.setFeature("http://apache.org/xml/features/validation/dynamic", true);
-            }
-
-        } catch (ParserConfigurationException e) {
-            // Lovely, of course it couldn't have been a RuntimeException!
-            throw new ParserException(e);
-        }
-        return factory;
+        // XInclude only when validating, we get funny xmlns="" in output otherwise
+        return XMLFactories.getDocumentBuilderFactory(validating ? getSchema() : null);
     }
 
     public Transformer createTransformer(String method, int indent, boolean standalone) throws ParserException {
         try {
-            TransformerFactory transFactory = TransformerFactory.newInstance();
+            // The indentation is an attribute of the factory, don't change the shared one
+            TransformerFactory transFactory = indent > 0 ? TransformerFactory.newInstance()
+                    : XMLFactories.getTransformerFactory();
 
             if (indent > 0) {
                 try {
@@ -201,7 +169,7 @@ public abstract class DOMParser<D extends DOM> implements ErrorHandler, EntityRe
 
     public D createDocument() {
         try {
-            return createDOM(createFactory(false).newDocumentBuilder().newDocument());
+            return createDOM(XMLFactories.newDocument());
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -317,7 +285,7 @@ public abstract class DOMParser<D extends DOM> implements ErrorHandler, EntityRe
     // =================================================================================================
 
     public XPathFactory createXPathFactory() {
-        return XPathFactory.newInstance();
+        return XMLFactories.getXPathFactory();
     }
 
     public XPath createXPath(NamespaceContext nsContext) {
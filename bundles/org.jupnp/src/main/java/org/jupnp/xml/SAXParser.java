@@ -17,13 +17,9 @@ package org.jupnp.xml;
 
 import java.net.URI;
 import java.net.URL;
-import java.util.HashMap;
 
-import javax.xml.XMLConstants;
-import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.Source;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,7 +32,6 @@ import org.xml.sax.SAXParseException;
 import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.AttributesImpl;
 import org.xml.sax.helpers.DefaultHandler;
-import org.xml.sax.helpers.XMLReaderFactory;
 
 /**
  * @author Christian Bauer
@@ -66,16 +61,8 @@ public class SAXParser {
 
     protected XMLReader create() {
         try {
-            final XMLReader xmlReader;
-            if (getSchemaSources() != null) {
-                // Jump through all the hoops and create a validating reader
-                final SAXParserFactory factory = SAXParserFactory.newInstance();
-                factory.setNamespaceAware(true);
-                factory.setSchema(createSchema(getSchemaSources()));
-                xmlReader = factory.newSAXParser().getXMLReader();
-            } else {
-                xmlReader = XMLReaderFactory.createXMLReader();
-            }
+            // Validating if there are schema sources
+            final XMLReader xmlReader = XMLFactories.newXMLReader(getSchema());
             xmlReader.setErrorHandler(getErrorHandler());
             return xmlReader;
         } catch (Exception e) {
@@ -83,18 +70,18 @@ public class SAXParser {
         }
     }
 
+    /**
+     * @return The schema of {@link #getSchemaSources()}, compiled once per parser class, or <code>null</code>.
+     */
+    protected Schema getSchema() {
+        return XMLFactories.getSchema(getClass(), () -> {
+            Source[] schemaSources = getSchemaSources();
+            return schemaSources != null ? createSchema(schemaSources) : null;
+        });
+    }
+
     protected Schema createSchema(Source[] schemaSources) {
-        try {
-            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-            schemaFactory.setResourceResolver(new CatalogResourceResolver(new HashMap<>() {
-                {
-                    put(XML_SCHEMA_NAMESPACE, XML_SCHEMA_RESOURCE);
-                }
-            }));
-            return schemaFactory.newSchema(schemaSources);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return XMLFactories.newSchema(schemaSources);
     }
 
     protected Source[] getSchemaSources() {
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.xml;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.Source;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.xpath.XPathFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Shared JAXP factories and compiled schemas for all XML parsers and generators.
+ * <p>
+ * Every <code>newInstance()</code> call of a JAXP factory looks up the implementation with system properties and
+ * the service loader, and compiling a schema parses all its sources. The factories are not thread-safe, so each
+ * thread gets its own instances, created on first use. Compiled {@link Schema}s are thread-safe and shared by all
+ * threads.
+ * </p>
+ * <p>
+ * Validating factories are only kept per thread for the schemas compiled with {@link #getSchema(Object, Supplier)},
+ * of which there are a few per application. For any other schema a new factory is created on every call, so the
+ * schemas of callers aren't held for the life of pooled threads. On virtual threads, which usually run a single
+ * task, the per-thread factories are rarely reused, and creating them costs about as much as not caching.
+ * </p>
+ * <p>
+ * The factories returned by this class are shared by all callers on the same thread and must not be reconfigured.
+ * </p>
+ */
+public final class XMLFactories {
+
+    private static final Logger logger = LoggerFactory.getLogger(XMLFactories.class);
+
+    private static final URL XML_SCHEMA_RESOURCE = Thread.currentThread().getContextClassLoader()
+            .getResource("org/jupnp/schemas/xml.xsd");
+
+    private static final ThreadLocal<DocumentBuilderFactory> DOCUMENT_BUILDER_FACTORY = ThreadLocal
+            .withInitial(() -> createDocumentBuilderFactory(null));
+    private static final ThreadLocal<Map<Schema, DocumentBuilderFactory>> VALIDATING_FACTORIES = ThreadLocal
+            .withInitial(IdentityHashMap::new);
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = new ThreadLocal<>();
+    private static final ThreadLocal<Map<Schema, SAXParserFactory>> SAX_PARSER_FACTORIES = ThreadLocal
+            .withInitial(IdentityHashMap::new);
+    private static final ThreadLocal<TransformerFactory> TRANSFORMER_FACTORY = ThreadLocal
+            .withInitial(TransformerFactory::newInstance);
+    private static final ThreadLocal<XPathFactory> XPATH_FACTORY = ThreadLocal.withInitial(XPathFactory::newInstance);
+
+    private static final Map<Object, Optional<Schema>> SCHEMAS = new ConcurrentHashMap<>();
+    // The schemas of SCHEMAS, Schema doesn't override equals() and hashCode()
+    private static final Set<Schema> SHARED_SCHEMAS = ConcurrentHashMap.newKeySet();
+
+    private XMLFactories() {
+    }
+
+    /**
+     * @return The namespace-aware, non-validating factory of the current thread.
+     */
+    public static DocumentBuilderFactory getDocumentBuilderFactory() {
+        return DOCUMENT_BUILDER_FACTORY.get();
+    }
+
+    /**
+     * @param schema The schema to validate against, <code>null</code> for a non-validating factory.
+     * @return The namespace-aware factory of the current thread for the given schema, with XInclude enabled if
+     *         validating.
+     */
+    public static DocumentBuilderFactory getDocumentBuilderFactory(Schema schema) {
+        if (schema == null) {
+            return getDocumentBuilderFactory();
+        }
+        if (!SHARED_SCHEMAS.contains(schema)) {
+            return createDocumentBuilderFactory(schema);
+        }
+        return VALIDATING_FACTORIES.get().computeIfAbsent(schema, XMLFactories::createDocumentBuilderFactory);
+    }
+
+    /**
+     * @return A new namespace-aware, non-validating builder, which can be used for parsing.
+     */
+    public static DocumentBuilder newDocumentBuilder() throws ParserConfigurationException {
+        return getDocumentBuilderFactory().newDocumentBuilder();
+    }
+
+    /**
+     * Creates an empty document with a builder which is reused by the current thread.
+     */
+    public static Document newDocument() throws ParserConfigurationException {
+        DocumentBuilder builder = DOCUMENT_BUILDER.get();
+        if (builder == null) {
+            builder = newDocumentBuilder();
+            DOCUMENT_BUILDER.set(builder);
+        }
+        return builder.newDocument();
+    }
+
+    /**
+     * @param schema The schema to validate against, <code>null</code> for a non-validating reader.
+     * @return A new namespace-aware reader, created with the factory of the current thread.
+     */
+    public static XMLReader newXMLReader(Schema schema) throws ParserConfigurationException, SAXException {
+        SAXParserFactory factory = schema == null || SHARED_SCHEMAS.contains(schema)
+                ? SAX_PARSER_FACTORIES.get().computeIfAbsent(schema, XMLFactories::createSAXParserFactory)
+                : createSAXParserFactory(schema);
+        return factory.newSAXParser().getXMLReader();
+    }
+
+    /**
+     * @return The factory of the current thread.
+     */
+    public static TransformerFactory getTransformerFactory() {
+        return TRANSFORMER_FACTORY.get();
+    }
+
+    /**
+     * @return A new identity transformer, created with the factory of the current thread.
+     */
+    public static Transformer newTransformer() throws TransformerConfigurationException {
+        return getTransformerFactory().newTransformer();
+    }
+
+    /**
+     * @return The factory of the current thread.
+     */
+    public static XPathFactory getXPathFactory() {
+        return XPATH_FACTORY.get();
+    }
+
+    /**
+     * Returns the schema cached under the given key, compiling it on first use.
+     *
+     * @param key Identifies the schema sources, e.g. the class of the parser which provides them.
+     * @param compiler Compiles the schema, may return <code>null</code> if there is no schema.
+     * @return The cached schema, or <code>null</code>.
+     */
+    public static Schema getSchema(Object key, Supplier<Schema> compiler) {
+        return SCHEMAS.computeIfAbsent(key, k -> {
+            Optional<Schema> schema = Optional.ofNullable(compiler.get());
+            schema.ifPresent(SHARED_SCHEMAS::add);
+            return schema;
+        }).orElse(null);
+    }
+
+    /**
+     * Compiles a W3C XML schema, resolving the XML namespace schema from the classpath.
+     *
+     * @param sources The schema sources, or <code>null</code> for a schema which uses the locations given in the
+     *            validated documents.
+     */
+    public static Schema newSchema(Source[] sources) {
+        // http://stackoverflow.com/questions/3129934/schemafactory-doesnt-support-w3c-xml-schema-in-platform-level-8
+        try {
+            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            schemaFactory.setResourceResolver(new CatalogResourceResolver(
+                    Collections.singletonMap(DOM.XML_SCHEMA_NAMESPACE, XML_SCHEMA_RESOURCE)));
+            return sources != null ? schemaFactory.newSchema(sources) : schemaFactory.newSchema();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static SAXParserFactory createSAXParserFactory(Schema schema) {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        if (schema != null) {
+            factory.setSchema(schema);
+        }
+        return factory;
+    }
+
+    private static DocumentBuilderFactory createDocumentBuilderFactory(Schema schema) {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        try {
+            factory.setAttribute("http://apache.org/xml/properties/locale", Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            // Android parsers may not support this attribute
+            logger.debug("Parser does not support 'http://apache.org/xml/properties/locale' attribute", e);
+        }
+        if (schema != null) {
+            try {
+                // See DOMParser#createFactory(boolean)
+                factory.setXIncludeAware(true);
+                factory.setFeature("http://apache.org/xml/features/xinclude/fixup-base-uris", false);
+                factory.setFeature("http://apache.org/xml/features/xinclude/fixup-language", false);
+                factory.setSchema(schema);
+                factory.setFeature("http://apache.org/xml/features/validation/dynamic", true);
+            } catch (ParserConfigurationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return factory;
+    }
+}
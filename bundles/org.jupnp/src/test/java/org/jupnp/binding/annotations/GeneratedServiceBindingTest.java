@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.binding.annotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.jupnp.model.DefaultServiceManager;
+import org.jupnp.model.action.ActionInvocation;
+import org.jupnp.model.action.MethodActionExecutor;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.model.state.FieldStateVariableAccessor;
+
+/**
+ * Binding of a service with a generated binding, written by hand like the annotation processor generates it.
+ */
+class GeneratedServiceBindingTest {
+
+    @AfterEach
+    void reset() {
+        GeneratedServiceBindingTest_CounterService_ServiceBinding.stale = false;
+    }
+
+    @Test
+    void bindWithGeneratedBinding() throws Exception {
+        assertEquals("org.jupnp.binding.annotations.GeneratedServiceBindingTest_CounterService_ServiceBinding",
+                GeneratedServiceBinding.getBindingClassName(CounterService.class.getName()));
+        assertNotNull(GeneratedServiceBinding.find(CounterService.class));
+        assertSame(GeneratedServiceBinding.find(CounterService.class),
+                GeneratedServiceBinding.find(CounterService.class));
+        assertNull(GeneratedServiceBinding.find(GeneratedServiceBindingTest.class));
+
+        LocalService<CounterService> service = new AnnotationLocalServiceBinder().read(CounterService.class);
+        assertNotSame(MethodActionExecutor.class, service.getExecutor("Increment").getClass());
+        assertNotSame(FieldStateVariableAccessor.class, service.getAccessor("Count").getClass());
+
+        service.setManager(new DefaultServiceManager<>(service, CounterService.class));
+        ActionInvocation invocation = new ActionInvocation(service.getAction("Increment"));
+        invocation.setInput("Delta", 2);
+        service.getExecutor(invocation.getAction()).execute(invocation);
+        assertNull(invocation.getFailure());
+        assertEquals(2, service.getAccessor("Count").read(service.getManager().getImplementation()));
+    }
+
+    @Test
+    void outdatedBindingFallsBackToReflection() throws Exception {
+        GeneratedServiceBindingTest_CounterService_ServiceBinding.stale = true;
+
+        LocalService<CounterService> service = new AnnotationLocalServiceBinder().read(CounterService.class);
+        assertSame(FieldStateVariableAccessor.class, service.getAccessor("Count").getClass());
+        assertSame(MethodActionExecutor.class, service.getExecutor("Increment").getClass());
+    }
+
+    @Test
+    void primitiveArgumentsWidened() {
+        assertEquals(42L, GeneratedServiceBinding.longValue(42));
+        assertEquals(42d, GeneratedServiceBinding.doubleValue((short) 42));
+        assertEquals(42f, GeneratedServiceBinding.floatValue(42L));
+        assertEquals('x', GeneratedServiceBinding.intValue('x'));
+        assertTrue(GeneratedServiceBinding.booleanValue(true));
+        assertThrows(IllegalArgumentException.class, () -> GeneratedServiceBinding.intValue(42L));
+        assertThrows(IllegalArgumentException.class, () -> GeneratedServiceBinding.shortValue(42));
+        assertThrows(IllegalArgumentException.class, () -> GeneratedServiceBinding.booleanValue(null));
+    }
+
+    @UpnpService(serviceId = @UpnpServiceId("Counter"), serviceType = @UpnpServiceType(value = "Counter", version = 1))
+    public static class CounterService {
+
+        @UpnpStateVariable(sendEvents = false)
+        int count;
+
+        @UpnpAction
+        public void increment(@UpnpInputArgument(name = "Delta", stateVariable = "Count") int delta) {
+            count += delta;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.binding.annotations;
+
+import org.jupnp.binding.LocalServiceBindingException;
+import org.jupnp.binding.annotations.GeneratedServiceBindingTest.CounterService;
+
+/**
+ * Like the annotation processor generates it, and outdated on demand.
+ */
+public final class GeneratedServiceBindingTest_CounterService_ServiceBinding extends GeneratedServiceBinding {
+
+    static boolean stale;
+
+    public GeneratedServiceBindingTest_CounterService_ServiceBinding() {
+        super(CounterService.class);
+    }
+
+    @Override
+    protected void bindStateVariables(StateVariables stateVariables)
+            throws ReflectiveOperationException, LocalServiceBindingException {
+        stateVariables.field(CounterService.class, stale ? "oldCount" : "count",
+                instance -> ((CounterService) instance).count);
+    }
+
+    @Override
+    protected void bindActions(Actions actions) throws ReflectiveOperationException, LocalServiceBindingException {
+        actions.method(CounterService.class, "increment", new Class<?>[] { stale ? long.class : int.class },
+                (instance, arguments) -> {
+                    ((CounterService) instance).increment(intValue(arguments[0]));
+                    return null;
+                });
+    }
+}
@@ -19,11 +19,14 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.net.URI;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.jupnp.data.SampleData;
 import org.jupnp.mock.MockUpnpService;
 import org.jupnp.mock.MockUpnpServiceConfiguration;
+import org.jupnp.model.UnsupportedDataException;
+import org.jupnp.model.action.ActionArgumentValue;
 import org.jupnp.model.action.ActionException;
 import org.jupnp.model.action.ActionInvocation;
 import org.jupnp.model.message.StreamRequestMessage;
@@ -39,6 +42,8 @@ import org.jupnp.model.message.header.ContentTypeHeader;
 import org.jupnp.model.message.header.SoapActionHeader;
 import org.jupnp.model.message.header.UpnpHeader;
 import org.jupnp.model.meta.Action;
+import org.jupnp.model.meta.ActionArgument;
+import org.jupnp.model.meta.ActionArgumentBinding;
 import org.jupnp.model.meta.LocalDevice;
 import org.jupnp.model.meta.LocalService;
 import org.jupnp.model.types.ErrorCode;
@@ -229,6 +234,73 @@ class ActionXMLProcessingTest {
         assertEquals("This is encoded: <", actionInvocation.getInput("SomeValue").toString());
     }
 
+    @ParameterizedTest
+    @MethodSource("getProcessors")
+    void readRequestWithMissingArgument(final SOAPActionProcessor processor) throws Exception {
+        LocalDevice ld = ActionSampleData.createTestDevice(ActionSampleData.LocalTestServiceExtended.class);
+        LocalService svc = ld.getServices()[0];
+
+        Action action = svc.getAction("SetSomeValue");
+        ActionInvocation actionInvocation = new ActionInvocation(action);
+
+        StreamRequestMessage streamRequest = new StreamRequestMessage(UpnpRequest.Method.POST,
+                URI.create("http://some.uri"));
+        streamRequest.getHeaders().add(UpnpHeader.Type.CONTENT_TYPE,
+                new ContentTypeHeader(ContentTypeHeader.DEFAULT_CONTENT_TYPE_UTF8));
+        streamRequest.getHeaders().add(UpnpHeader.Type.SOAPACTION,
+                new SoapActionHeader(new SoapActionType(action.getService().getServiceType(), action.getName())));
+        streamRequest.setBody(UpnpMessage.BodyType.STRING,
+                ENCODED_REQUEST.replace("<SomeValue>", "<OtherValue>").replace("</SomeValue>", "</OtherValue>"));
+
+        IncomingActionRequestMessage request = new IncomingActionRequestMessage(streamRequest, svc);
+
+        UnsupportedDataException e = assertThrows(UnsupportedDataException.class,
+                () -> processor.readBody(request, actionInvocation));
+        ActionException cause = assertInstanceOf(ActionException.class, e.getCause());
+        assertEquals(ErrorCode.ARGUMENT_VALUE_INVALID.getCode(), cause.getErrorCode());
+    }
+
+    @Test
+    void readRequestWithOverriddenValueCreation() throws Exception {
+        LocalDevice ld = ActionSampleData.createTestDevice(ActionSampleData.LocalTestServiceExtended.class);
+        LocalService svc = ld.getServices()[0];
+
+        Action action = svc.getAction("SetSomeValue");
+        ActionInvocation actionInvocation = new ActionInvocation(action);
+
+        SOAPActionProcessor processor = new SOAPActionProcessorImpl() {
+            @Override
+            protected ActionArgumentValue createValue(ActionArgument arg, String value) throws ActionException {
+                return super.createValue(arg, value.toUpperCase());
+            }
+        };
+
+        StreamRequestMessage streamRequest = new StreamRequestMessage(UpnpRequest.Method.POST,
+                URI.create("http://some.uri"));
+        streamRequest.getHeaders().add(UpnpHeader.Type.CONTENT_TYPE,
+                new ContentTypeHeader(ContentTypeHeader.DEFAULT_CONTENT_TYPE_UTF8));
+        streamRequest.getHeaders().add(UpnpHeader.Type.SOAPACTION,
+                new SoapActionHeader(new SoapActionType(action.getService().getServiceType(), action.getName())));
+        streamRequest.setBody(UpnpMessage.BodyType.STRING, ENCODED_REQUEST);
+
+        processor.readBody(new IncomingActionRequestMessage(streamRequest, svc), actionInvocation);
+
+        assertEquals("THIS IS ENCODED: <", actionInvocation.getInput()[0].toString());
+    }
+
+    @Test
+    void argumentBindingBuiltOnce() throws Exception {
+        LocalDevice ld = ActionSampleData.createTestDevice(ActionSampleData.LocalTestServiceExtended.class);
+        Action action = ld.getServices()[0].getAction("SetSomeValue");
+
+        ActionArgumentBinding binding = action.getInputArgumentBinding();
+        assertSame(binding, action.getInputArgumentBinding());
+        assertEquals(0, binding.indexOf("SomeValue"));
+        assertEquals(0, binding.indexOf("SomeValue1"));
+        assertEquals(-1, binding.indexOf("OtherValue"));
+        assertEquals(0, action.getOutputArgumentBinding().getArguments().length);
+    }
+
     @ParameterizedTest
     @MethodSource("getProcessors")
     void writeDecodedResponse(final SOAPActionProcessor processor) throws Exception {
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.control;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.jupnp.controlpoint.ActionCallback;
+import org.jupnp.data.SampleData;
+import org.jupnp.metrics.DatagramType;
+import org.jupnp.metrics.InMemoryUpnpServiceMetrics;
+import org.jupnp.metrics.InMemoryUpnpServiceMetrics.LatencyHistogram;
+import org.jupnp.metrics.UpnpServiceMetrics;
+import org.jupnp.mock.MockRouter;
+import org.jupnp.mock.MockUpnpService;
+import org.jupnp.model.action.ActionInvocation;
+import org.jupnp.model.message.StreamRequestMessage;
+import org.jupnp.model.message.StreamResponseMessage;
+import org.jupnp.model.message.UpnpResponse;
+import org.jupnp.model.meta.Action;
+import org.jupnp.model.meta.RemoteDevice;
+import org.jupnp.model.meta.RemoteService;
+import org.jupnp.model.meta.Service;
+import org.jupnp.transport.RouterException;
+
+class MetricsTest {
+
+    @Test
+    void countersAndGauges() {
+        InMemoryUpnpServiceMetrics metrics = new InMemoryUpnpServiceMetrics();
+        metrics.datagramReceived(DatagramType.NOTIFY);
+        metrics.datagramReceived(DatagramType.NOTIFY);
+        metrics.datagramSent(DatagramType.SEARCH);
+        metrics.datagramParseFailed();
+        metrics.eventSent(false);
+        metrics.eventSent(true);
+        metrics.eventsMissed(3);
+        metrics.streamRequestTimedOut();
+        metrics.registerGauge("test", () -> 42);
+
+        assertEquals(2, metrics.getDatagramsReceived(DatagramType.NOTIFY));
+        assertEquals(0, metrics.getDatagramsReceived(DatagramType.SEARCH));
+        assertEquals(1, metrics.getDatagramsSent(DatagramType.SEARCH));
+        assertEquals(1, metrics.getDatagramParseFailures());
+        assertEquals(1, metrics.getEventsSent());
+        assertEquals(1, metrics.getEventsSendFailed());
+        assertEquals(3, metrics.getEventsMissed());
+        assertEquals(1, metrics.getStreamRequestTimeouts());
+        assertEquals(42L, metrics.getGauges().get("test"));
+    }
+
+    @Test
+    void latencyBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(500), false);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3), false);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3), true);
+        histogram.record(TimeUnit.HOURS.toNanos(1), false);
+
+        assertEquals(4, histogram.getCount());
+        assertEquals(1, histogram.getFailures());
+        assertEquals(1, histogram.getBucketCount(0));
+        assertEquals(2, histogram.getBucketCount(2));
+        assertEquals(1, histogram.getBucketCount(LatencyHistogram.BUCKETS - 1));
+        assertEquals(4, histogram.getPercentileUpperBoundMillis(0.5));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentileUpperBoundMillis(1));
+    }
+
+    @Test
+    void remoteActionIsRecorded() {
+        InMemoryUpnpServiceMetrics metrics = new InMemoryUpnpServiceMetrics();
+        MockUpnpService upnpService = new MockUpnpService() {
+            @Override
+            public UpnpServiceMetrics getMetrics() {
+                return metrics;
+            }
+
+            @Override
+            protected MockRouter createRouter() {
+                return new MockRouter(getConfiguration(), getProtocolFactory()) {
+                    @Override
+                    public StreamResponseMessage[] getStreamResponseMessages() {
+                        return new StreamResponseMessage[] {
+                                new StreamResponseMessage(ActionInvokeOutgoingTest.RESPONSE_SUCCESSFUL) };
+                    }
+                };
+            }
+        };
+        upnpService.startup();
+
+        RemoteDevice device = SampleData.createRemoteDevice();
+        Service<RemoteDevice, RemoteService> service = SampleData.getFirstService(device);
+        upnpService.getRegistry().addDevice(device);
+        Action action = service.getAction("GetTarget");
+
+        upnpService.getControlPoint().execute(new ActionCallback(new ActionInvocation(action)) {
+            @Override
+            public void success(ActionInvocation invocation) {
+            }
+
+            @Override
+            public void failure(ActionInvocation invocation, UpnpResponse operation, String defaultMsg) {
+            }
+        });
+
+        Map<String, LatencyHistogram> latencies = metrics.getRemoteActionLatencies();
+        assertEquals(1, latencies.size());
+        LatencyHistogram histogram = latencies.get(service.getServiceType() + "#GetTarget");
+        assertNotNull(histogram);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getFailures());
+        assertTrue(metrics.getLocalActionLatencies().isEmpty());
+    }
+
+    @Test
+    void remoteActionRouterFailureIsRecorded() {
+        InMemoryUpnpServiceMetrics metrics = new InMemoryUpnpServiceMetrics();
+        MockUpnpService upnpService = new MockUpnpService() {
+            @Override
+            public UpnpServiceMetrics getMetrics() {
+                return metrics;
+            }
+
+            @Override
+            protected MockRouter createRouter() {
+                return new MockRouter(getConfiguration(), getProtocolFactory()) {
+                    @Override
+                    public StreamResponseMessage send(StreamRequestMessage msg) throws RouterException {
+                        throw new RouterException("Transport failed");
+                    }
+                };
+            }
+        };
+        upnpService.startup();
+
+        RemoteDevice device = SampleData.createRemoteDevice();
+        Service<RemoteDevice, RemoteService> service = SampleData.getFirstService(device);
+        upnpService.getRegistry().addDevice(device);
+        Action action = service.getAction("GetTarget");
+
+        Future<?> future = upnpService.getControlPoint().execute(new ActionCallback(new ActionInvocation(action)) {
+            @Override
+            public void success(ActionInvocation invocation) {
+            }
+
+            @Override
+            public void failure(ActionInvocation invocation, UpnpResponse operation, String defaultMsg) {
+            }
+        });
+        assertThrows(ExecutionException.class, future::get);
+
+        // The router threw before the invocation had a failure
+        LatencyHistogram histogram = metrics.getRemoteActionLatencies().get(service.getServiceType() + "#GetTarget");
+        assertNotNull(histogram);
+        assertEquals(1, histogram.getCount());
+        assertEquals(1, histogram.getFailures());
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.control;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.jupnp.controlpoint.ActionCallback;
+import org.jupnp.data.SampleData;
+import org.jupnp.mock.MockRouter;
+import org.jupnp.mock.MockUpnpService;
+import org.jupnp.model.action.ActionInvocation;
+import org.jupnp.model.message.StreamRequestMessage;
+import org.jupnp.model.message.StreamResponseMessage;
+import org.jupnp.model.message.UpnpRequest;
+import org.jupnp.model.message.UpnpResponse;
+import org.jupnp.model.meta.RemoteDevice;
+import org.jupnp.model.meta.RemoteService;
+import org.jupnp.model.meta.Service;
+import org.jupnp.tracing.DefaultUpnpTracer;
+import org.jupnp.tracing.NoUpnpTracer;
+import org.jupnp.tracing.RingBufferTraceSink;
+import org.jupnp.tracing.SpanData;
+import org.jupnp.tracing.TraceSpan;
+import org.jupnp.tracing.UpnpTracer;
+import org.jupnp.transport.spi.AbstractStreamClient;
+import org.jupnp.transport.spi.AbstractStreamClientConfiguration;
+import org.jupnp.transport.spi.StreamClientConfiguration;
+
+class TracingTest {
+
+    @Test
+    void spansOfOperation() throws Exception {
+        RingBufferTraceSink sink = new RingBufferTraceSink(16);
+        DefaultUpnpTracer tracer = new DefaultUpnpTracer(sink);
+
+        TraceSpan root = tracer.startSpan("root");
+        TraceSpan child = tracer.startSpan("child").setAttribute("key", 1);
+        assertSame(child, tracer.getCurrentSpan());
+        tracer.recordSpan("queued", child, 10, 30);
+
+        // Work handed over to another thread
+        AtomicReference<TraceSpan> current = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            TraceSpan worker = tracer.startSpan("worker", child);
+            current.set(tracer.getCurrentSpan());
+            worker.setFailed("failure").end();
+        });
+        thread.start();
+        thread.join();
+
+        child.end();
+        child.end();
+        assertSame(root, tracer.getCurrentSpan());
+        root.end();
+        assertSame(NoUpnpTracer.NO_SPAN, tracer.getCurrentSpan());
+
+        TraceSpan other = tracer.startSpan("other");
+        other.end();
+        assertNotEquals(root.getOperationId(), other.getOperationId());
+
+        List<SpanData> spans = sink.getSpans(root.getOperationId());
+        assertEquals(4, spans.size());
+        SpanData rootData = find(spans, "root");
+        SpanData childData = find(spans, "child");
+        SpanData workerData = find(spans, "worker");
+        SpanData queuedData = find(spans, "queued");
+        assertEquals(0, rootData.getParentSpanId());
+        assertEquals(rootData.getSpanId(), childData.getParentSpanId());
+        assertEquals(childData.getSpanId(), workerData.getParentSpanId());
+        assertEquals(childData.getSpanId(), queuedData.getParentSpanId());
+        assertEquals(20, queuedData.getDurationNanos());
+        assertEquals(1, childData.getAttributes().get("key"));
+        assertTrue(workerData.isFailed());
+        assertFalse(childData.isFailed());
+        assertNotEquals(childData.getThreadName(), workerData.getThreadName());
+        assertEquals("worker", current.get().toString().split(" ")[1]);
+        assertEquals(5, sink.getSpans().size());
+    }
+
+    @Test
+    void ringBufferOverwritesOldest() {
+        RingBufferTraceSink sink = new RingBufferTraceSink(3);
+        UpnpTracer tracer = new DefaultUpnpTracer(sink);
+        for (int i = 0; i < 5; i++) {
+            tracer.recordSpan("span" + i, null, i, i + 1);
+        }
+        List<SpanData> spans = sink.getSpans();
+        assertEquals(3, spans.size());
+        assertEquals("span2", spans.get(0).getName());
+        assertEquals("span4", spans.get(2).getName());
+
+        sink.clear();
+        assertTrue(sink.getSpans().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferTraceSink(0));
+    }
+
+    @Test
+    void remoteActionIsTraced() {
+        RingBufferTraceSink sink = new RingBufferTraceSink(64);
+        DefaultUpnpTracer tracer = new DefaultUpnpTracer(sink);
+        MockUpnpService upnpService = new MockUpnpService() {
+            @Override
+            public UpnpTracer getTracer() {
+                return tracer;
+            }
+
+            @Override
+            protected MockRouter createRouter() {
+                return new MockRouter(getConfiguration(), getProtocolFactory()) {
+                    @Override
+                    public StreamResponseMessage[] getStreamResponseMessages() {
+                        return new StreamResponseMessage[] {
+                                new StreamResponseMessage(ActionInvokeOutgoingTest.RESPONSE_SUCCESSFUL) };
+                    }
+                };
+            }
+        };
+        upnpService.startup();
+
+        RemoteDevice device = SampleData.createRemoteDevice();
+        Service<RemoteDevice, RemoteService> service = SampleData.getFirstService(device);
+        upnpService.getRegistry().addDevice(device);
+
+        upnpService.getControlPoint().execute(new ActionCallback(new ActionInvocation(service.getAction("GetTarget"))) {
+            @Override
+            public void success(ActionInvocation invocation) {
+            }
+
+            @Override
+            public void failure(ActionInvocation invocation, UpnpResponse operation, String defaultMsg) {
+            }
+        });
+
+        SpanData protocol = find(sink.getSpans(), "SendingAction");
+        assertEquals(0, protocol.getParentSpanId());
+        assertEquals(200, protocol.getAttributes().get("status"));
+
+        List<SpanData> spans = sink.getSpans(protocol.getOperationId());
+        assertEquals(3, spans.size());
+        assertEquals(protocol.getSpanId(), find(spans, "soap.writeBody").getParentSpanId());
+        assertEquals(protocol.getSpanId(), find(spans, "soap.readBody").getParentSpanId());
+        assertSame(NoUpnpTracer.NO_SPAN, tracer.getCurrentSpan());
+    }
+
+    @Test
+    void rejectedStreamRequestEndsSpan() {
+        RingBufferTraceSink sink = new RingBufferTraceSink(16);
+        DefaultUpnpTracer tracer = new DefaultUpnpTracer(sink);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        StreamClientConfiguration configuration = new AbstractStreamClientConfiguration(executor) {
+            @Override
+            public String getUserAgentValue(int majorVersion, int minorVersion) {
+                return "test";
+            }
+        };
+        AbstractStreamClient<StreamClientConfiguration, Object> client = new AbstractStreamClient<>() {
+            @Override
+            protected Object createRequest(StreamRequestMessage requestMessage) {
+                return requestMessage;
+            }
+
+            @Override
+            protected Callable<StreamResponseMessage> createCallable(StreamRequestMessage requestMessage,
+                    Object request) {
+                return () -> null;
+            }
+
+            @Override
+            protected void abort(Object request) {
+            }
+
+            @Override
+            protected boolean logExecutionException(Throwable t) {
+                return false;
+            }
+
+            @Override
+            public void stop() {
+            }
+
+            @Override
+            public StreamClientConfiguration getConfiguration() {
+                return configuration;
+            }
+        };
+        client.setTracer(tracer);
+
+        StreamRequestMessage request = new StreamRequestMessage(UpnpRequest.Method.GET,
+                URI.create("http://10.0.0.1/description.xml"));
+        assertThrows(RejectedExecutionException.class, () -> client.sendRequest(request));
+
+        SpanData span = find(sink.getSpans(), "streamClient.request");
+        assertTrue(span.isFailed());
+        assertSame(NoUpnpTracer.NO_SPAN, tracer.getCurrentSpan());
+    }
+
+    private static SpanData find(List<SpanData> spans, String name) {
+        return spans.stream().filter(span -> span.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("No span: " + name));
+    }
+}
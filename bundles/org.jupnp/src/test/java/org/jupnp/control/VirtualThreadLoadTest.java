@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.control;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.jupnp.controlpoint.ActionCallback;
+import org.jupnp.data.SampleData;
+import org.jupnp.mock.MockRouter;
+import org.jupnp.mock.MockUpnpService;
+import org.jupnp.mock.MockUpnpServiceConfiguration;
+import org.jupnp.model.action.ActionInvocation;
+import org.jupnp.model.message.StreamRequestMessage;
+import org.jupnp.model.message.StreamResponseMessage;
+import org.jupnp.model.message.UpnpResponse;
+import org.jupnp.model.meta.Action;
+import org.jupnp.model.meta.RemoteDevice;
+import org.jupnp.model.meta.RemoteService;
+import org.jupnp.model.meta.Service;
+import org.jupnp.transport.RouterException;
+import org.jupnp.util.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs thousands of concurrent remote action invocations, each blocking on a slow "network".
+ */
+class VirtualThreadLoadTest {
+
+    private static final int INVOCATIONS = 5000;
+    private static final int NETWORK_DELAY_MILLIS = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    @Test
+    void concurrentRemoteActions() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "Virtual threads require Java 21 or newer");
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        MockUpnpService upnpService = new MockUpnpService(new MockUpnpServiceConfiguration(false, true) {
+            @Override
+            protected boolean isVirtualThreadsEnabled() {
+                return true;
+            }
+        }) {
+            @Override
+            protected MockRouter createRouter() {
+                return new MockRouter(getConfiguration(), getProtocolFactory()) {
+                    @Override
+                    public StreamResponseMessage send(StreamRequestMessage msg) throws RouterException {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(NETWORK_DELAY_MILLIS);
+                        } catch (InterruptedException e) {
+                            throw new RouterException("Interrupted", e);
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                        return new StreamResponseMessage(ActionInvokeOutgoingTest.RESPONSE_SUCCESSFUL);
+                    }
+                };
+            }
+        };
+        upnpService.startup();
+        try {
+            RemoteDevice device = SampleData.createRemoteDevice();
+            Service<RemoteDevice, RemoteService> service = SampleData.getFirstService(device);
+            upnpService.getRegistry().addDevice(device);
+            Action action = service.getAction("GetTarget");
+
+            CountDownLatch done = new CountDownLatch(INVOCATIONS);
+            AtomicInteger succeeded = new AtomicInteger();
+            long start = System.nanoTime();
+            for (int i = 0; i < INVOCATIONS; i++) {
+                upnpService.getControlPoint().execute(new ActionCallback(new ActionInvocation(action)) {
+                    @Override
+                    public void success(ActionInvocation invocation) {
+                        succeeded.incrementAndGet();
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void failure(ActionInvocation invocation, UpnpResponse operation, String defaultMsg) {
+                        done.countDown();
+                    }
+                });
+            }
+            assertTrue(done.await(60, TimeUnit.SECONDS));
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(INVOCATIONS, succeeded.get());
+            // With a bounded pool of platform threads, at most its size would be in flight
+            assertTrue(maxInFlight.get() > 1000, "Only " + maxInFlight.get() + " concurrent invocations");
+            logger.info("{} remote actions completed in {} ms, at most {} concurrently", INVOCATIONS, millis,
+                    maxInFlight.get());
+        } finally {
+            upnpService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.gena;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URL;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.jupnp.data.SampleData;
+import org.jupnp.mock.MockUpnpService;
+import org.jupnp.model.gena.CancelReason;
+import org.jupnp.model.gena.LocalGENASubscription;
+import org.jupnp.model.message.StreamRequestMessage;
+import org.jupnp.model.message.header.SubscriptionIdHeader;
+import org.jupnp.model.message.header.UpnpHeader;
+import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.protocol.sync.EventBodyCache;
+import org.jupnp.protocol.sync.SendingEvent;
+
+class EventBodyCacheTest {
+
+    @Test
+    void shareBodyBetweenSubscribers() throws Exception {
+        MockUpnpService upnpService = new MockUpnpService();
+        upnpService.startup();
+
+        LocalDevice device = GenaSampleData.createTestDevice(GenaSampleData.LocalTestService.class);
+        LocalService<?> service = SampleData.getFirstService(device);
+
+        EventBodyCache cache = new EventBodyCache();
+
+        LocalGENASubscription one = createSubscription(service, "http://10.0.0.1/one", "http://10.0.0.1/two");
+        LocalGENASubscription two = createSubscription(service, "http://10.0.0.2/one");
+
+        SendingEvent sendingOne = new SendingEvent(upnpService, one, cache);
+        SendingEvent sendingTwo = new SendingEvent(upnpService, two, cache);
+        assertEquals(1, cache.size());
+
+        sendingOne.run();
+        sendingTwo.run();
+        assertEquals(1, cache.size());
+
+        List<StreamRequestMessage> sentMessages = upnpService.getRouter().getSentStreamRequestMessages();
+        assertEquals(3, sentMessages.size());
+        assertSame(sentMessages.get(0).getBody(), sentMessages.get(1).getBody());
+        assertSame(sentMessages.get(0).getBody(), sentMessages.get(2).getBody());
+        assertEquals(one.getSubscriptionId(), sentMessages.get(1).getHeaders()
+                .getFirstHeader(UpnpHeader.Type.SID, SubscriptionIdHeader.class).getValue());
+        assertEquals(two.getSubscriptionId(), sentMessages.get(2).getHeaders()
+                .getFirstHeader(UpnpHeader.Type.SID, SubscriptionIdHeader.class).getValue());
+    }
+
+    @Test
+    void differentValuesAreNotShared() throws Exception {
+        MockUpnpService upnpService = new MockUpnpService();
+        upnpService.startup();
+
+        LocalDevice device = GenaSampleData.createTestDevice(GenaSampleData.LocalTestService.class);
+        LocalService<?> service = SampleData.getFirstService(device);
+
+        EventBodyCache cache = new EventBodyCache();
+
+        LocalGENASubscription one = createSubscription(service, "http://10.0.0.1/one");
+        LocalGENASubscription two = createSubscription(service, "http://10.0.0.2/one");
+        two.getCurrentValues().remove("Status");
+
+        new SendingEvent(upnpService, one, cache);
+        new SendingEvent(upnpService, two, cache);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void evictLeastRecentlyUsedBody() throws Exception {
+        MockUpnpService upnpService = new MockUpnpService();
+        upnpService.startup();
+
+        LocalDevice device = GenaSampleData.createTestDevice(GenaSampleData.LocalTestService.class);
+        LocalService<?> service = SampleData.getFirstService(device);
+
+        EventBodyCache cache = new EventBodyCache(1);
+
+        LocalGENASubscription one = createSubscription(service, "http://10.0.0.1/one");
+        LocalGENASubscription two = createSubscription(service, "http://10.0.0.2/one");
+        two.getCurrentValues().remove("Status");
+        LocalGENASubscription three = createSubscription(service, "http://10.0.0.3/one");
+
+        // Protocols which are never executed don't keep their bodies in the cache
+        for (int i = 0; i < 10; i++) {
+            new SendingEvent(upnpService, one, cache);
+            new SendingEvent(upnpService, two, cache);
+        }
+        assertEquals(1, cache.size());
+
+        new SendingEvent(upnpService, two, cache).run();
+        new SendingEvent(upnpService, three, cache).run();
+        new SendingEvent(upnpService, one, cache).run();
+        assertEquals(1, cache.size());
+
+        List<StreamRequestMessage> sentMessages = upnpService.getRouter().getSentStreamRequestMessages();
+        assertEquals(3, sentMessages.size());
+        assertNotEquals(sentMessages.get(0).getBody(), sentMessages.get(1).getBody());
+        assertSame(sentMessages.get(1).getBody(), sentMessages.get(2).getBody());
+    }
+
+    protected LocalGENASubscription createSubscription(LocalService<?> service, String... callbackURLs)
+            throws Exception {
+        URL[] urls = new URL[callbackURLs.length];
+        for (int i = 0; i < callbackURLs.length; i++) {
+            urls[i] = new URL(callbackURLs[i]);
+        }
+        return new LocalGENASubscription(service, 1800, List.of(urls)) {
+            @Override
+            public void established() {
+            }
+
+            @Override
+            public void ended(CancelReason reason) {
+            }
+
+            @Override
+            public void eventReceived() {
+            }
+        };
+    }
+}
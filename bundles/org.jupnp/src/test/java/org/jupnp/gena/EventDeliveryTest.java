@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.gena;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.jupnp.data.SampleData;
+import org.jupnp.internal.compat.java.beans.PropertyChangeEvent;
+import org.jupnp.metrics.InMemoryUpnpServiceMetrics;
+import org.jupnp.metrics.UpnpServiceMetrics;
+import org.jupnp.mock.MockRouter;
+import org.jupnp.mock.MockUpnpService;
+import org.jupnp.model.ServiceManager;
+import org.jupnp.model.gena.CancelReason;
+import org.jupnp.model.gena.LocalGENASubscription;
+import org.jupnp.model.message.StreamRequestMessage;
+import org.jupnp.model.message.StreamResponseMessage;
+import org.jupnp.model.message.header.EventSequenceHeader;
+import org.jupnp.model.message.header.UpnpHeader;
+import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.model.meta.StateVariable;
+import org.jupnp.model.state.StateVariableValue;
+import org.jupnp.protocol.sync.SendingEvent;
+import org.jupnp.protocol.sync.SubscriptionEventQueue;
+import org.jupnp.transport.RouterException;
+
+class EventDeliveryTest {
+
+    @Test
+    void deadCallbackURLDoesNotStopDelivery() throws Exception {
+        MockUpnpService upnpService = new MockUpnpService() {
+            @Override
+            protected MockRouter createRouter() {
+                return new MockRouter(getConfiguration(), getProtocolFactory()) {
+                    @Override
+                    public StreamResponseMessage send(StreamRequestMessage msg) throws RouterException {
+                        if (msg.getUri().getHost().equals("10.0.0.99")) {
+                            throw new RouterException("Connection refused");
+                        }
+                        return super.send(msg);
+                    }
+                };
+            }
+        };
+        upnpService.startup();
+
+        LocalDevice device = GenaSampleData.createTestDevice(GenaSampleData.LocalTestService.class);
+        LocalService<?> service = SampleData.getFirstService(device);
+
+        LocalGENASubscription subscription = createSubscription(service, "http://10.0.0.99/dead",
+                "http://10.0.0.1/one", "http://10.0.0.2/two");
+
+        SendingEvent sendingEvent = new SendingEvent(upnpService, subscription);
+        assertThrows(RuntimeException.class, sendingEvent::run);
+
+        List<StreamRequestMessage> sentMessages = upnpService.getRouter().getSentStreamRequestMessages();
+        assertEquals(2, sentMessages.size());
+    }
+
+    @Test
+    void eventsOfSubscriptionAreSentInSequence() throws Exception {
+        MockUpnpService upnpService = new MockUpnpService();
+        upnpService.startup();
+
+        LocalDevice device = GenaSampleData.createTestDevice(GenaSampleData.LocalTestService.class);
+        LocalService<?> service = SampleData.getFirstService(device);
+
+        LocalGENASubscription subscription = createSubscription(service, "http://10.0.0.1/one");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        SubscriptionEventQueue queue = new SubscriptionEventQueue(upnpService, subscription, executor, 100, 60000,
+                null);
+        try {
+            for (int i = 0; i < 100; i++) {
+                queue.offer(subscription.getCurrentValues());
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<StreamRequestMessage> sentMessages = upnpService.getRouter().getSentStreamRequestMessages();
+        assertEquals(100, sentMessages.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, sentMessages.get(i).getHeaders()
+                    .getFirstHeader(UpnpHeader.Type.SEQ, EventSequenceHeader.class).getValue().getValue());
+        }
+    }
+
+    @Test
+    void slowSubscriberEventsAreCoalesced() throws Exception {
+        InMemoryUpnpServiceMetrics metrics = new InMemoryUpnpServiceMetrics();
+        MockUpnpService upnpService = new MockUpnpService() {
+            @Override
+            public UpnpServiceMetrics getMetrics() {
+                return metrics;
+            }
+        };
+        upnpService.startup();
+
+        LocalDevice device = GenaSampleData.createTestDevice(GenaSampleData.LocalTestService.class);
+        LocalService<?> service = SampleData.getFirstService(device);
+
+        LocalGENASubscription subscription = createSubscription(service, "http://10.0.0.1/one");
+        StateVariable<?> status = service.getStateVariable("Status");
+
+        // Nothing is delivered until we run the tasks, like a subscriber that doesn't respond
+        Queue<Runnable> tasks = new LinkedList<>();
+        AtomicBoolean overflow = new AtomicBoolean();
+        SubscriptionEventQueue queue = new SubscriptionEventQueue(upnpService, subscription, tasks::add, 2, 60000,
+                () -> overflow.set(true));
+
+        for (int i = 0; i < 10; i++) {
+            queue.offer(Map.of("Status", new StateVariableValue(status, i % 2 == 0)));
+        }
+        assertEquals(2, queue.getPendingCount());
+        assertEquals(2, metrics.getMaxEventQueueDepth());
+        assertEquals(8, metrics.getEventsCoalesced());
+        assertFalse(overflow.get());
+
+        assertEquals(1, tasks.size());
+        tasks.poll().run();
+
+        List<StreamRequestMessage> sentMessages = upnpService.getRouter().getSentStreamRequestMessages();
+        assertEquals(2, sentMessages.size());
+        assertEquals(0, queue.getPendingCount());
+        // The last event carries the latest value
+        assertTrue(sentMessages.get(1).getBodyString().contains("<Status>0</Status>"));
+    }
+
+    @Test
+    void sustainedOverflowEndsSubscription() throws Exception {
+        MockUpnpService upnpService = new MockUpnpService();
+        upnpService.startup();
+
+        LocalDevice device = GenaSampleData.createTestDevice(GenaSampleData.LocalTestService.class);
+        LocalService<?> service = SampleData.getFirstService(device);
+
+        LocalGENASubscription subscription = createSubscription(service, "http://10.0.0.1/one");
+
+        Queue<Runnable> tasks = new LinkedList<>();
+        AtomicBoolean overflow = new AtomicBoolean();
+        SubscriptionEventQueue queue = new SubscriptionEventQueue(upnpService, subscription, tasks::add, 1, -1,
+                () -> overflow.set(true));
+
+        queue.offer(subscription.getCurrentValues());
+        queue.offer(subscription.getCurrentValues());
+        queue.offer(subscription.getCurrentValues());
+        assertTrue(queue.isClosed());
+        assertEquals(0, queue.getPendingCount());
+
+        // The drain task and the overflow handler
+        assertEquals(2, tasks.size());
+        tasks.forEach(Runnable::run);
+        assertTrue(overflow.get());
+        assertTrue(upnpService.getRouter().getSentStreamRequestMessages().isEmpty());
+    }
+
+    @Test
+    void rejectedDeliveryDropsPendingEvents() throws Exception {
+        InMemoryUpnpServiceMetrics metrics = new InMemoryUpnpServiceMetrics();
+        MockUpnpService upnpService = new MockUpnpService() {
+            @Override
+            public UpnpServiceMetrics getMetrics() {
+                return metrics;
+            }
+        };
+        upnpService.startup();
+
+        LocalDevice device = GenaSampleData.createTestDevice(GenaSampleData.LocalTestService.class);
+        LocalService<?> service = SampleData.getFirstService(device);
+
+        LocalGENASubscription subscription = createSubscription(service, "http://10.0.0.1/one");
+
+        AtomicBoolean reject = new AtomicBoolean(true);
+        SubscriptionEventQueue queue = new SubscriptionEventQueue(upnpService, subscription, runnable -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException();
+            }
+            runnable.run();
+        }, null);
+
+        queue.offer(subscription.getCurrentValues());
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(1, metrics.getEventsDropped());
+        assertFalse(queue.isClosed());
+
+        // The queue isn't stuck, the next event is sent with the first sequence number
+        reject.set(false);
+        queue.offer(subscription.getCurrentValues());
+        List<StreamRequestMessage> sentMessages = upnpService.getRouter().getSentStreamRequestMessages();
+        assertEquals(1, sentMessages.size());
+        assertEquals(0, sentMessages.get(0).getHeaders()
+                .getFirstHeader(UpnpHeader.Type.SEQ, EventSequenceHeader.class).getValue().getValue());
+    }
+
+    @Test
+    void deliveryIsScheduledWithoutSubscriptionLock() throws Exception {
+        LocalDevice device = GenaSampleData.createTestDevice(GenaSampleData.LocalTestService.class);
+        LocalService<?> service = SampleData.getFirstService(device);
+
+        List<Boolean> lockHeld = new ArrayList<>();
+        LocalGENASubscription subscription = new LocalGENASubscription(service, 1800,
+                List.of(new URL("http://10.0.0.1/one"))) {
+            @Override
+            public void established() {
+            }
+
+            @Override
+            public void ended(CancelReason reason) {
+            }
+
+            @Override
+            public void eventReceived() {
+                lockHeld.add(lock.isHeldByCurrentThread());
+            }
+
+            @Override
+            protected void afterEventReceived() {
+                lockHeld.add(lock.isHeldByCurrentThread());
+            }
+        };
+
+        subscription.propertyChange(new PropertyChangeEvent(service.getManager().getImplementation(),
+                ServiceManager.EVENTED_STATE_VARIABLES, null, service.getManager().getCurrentState()));
+        assertEquals(List.of(true, false), lockHeld);
+    }
+
+    protected LocalGENASubscription createSubscription(LocalService<?> service, String... callbackURLs)
+            throws Exception {
+        URL[] urls = new URL[callbackURLs.length];
+        for (int i = 0; i < callbackURLs.length; i++) {
+            urls[i] = new URL(callbackURLs[i]);
+        }
+        return new LocalGENASubscription(service, 1800, List.of(urls)) {
+            @Override
+            public void established() {
+            }
+
+            @Override
+            public void ended(CancelReason reason) {
+            }
+
+            @Override
+            public void eventReceived() {
+            }
+        };
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.gena;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.jupnp.binding.annotations.UpnpServiceId;
+import org.jupnp.binding.annotations.UpnpServiceType;
+import org.jupnp.binding.annotations.UpnpStateVariable;
+import org.jupnp.data.SampleData;
+import org.jupnp.internal.compat.java.beans.PropertyChangeEvent;
+import org.jupnp.model.ServiceManager;
+import org.jupnp.model.gena.CancelReason;
+import org.jupnp.model.gena.LocalGENASubscription;
+import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.model.state.StateVariableValue;
+
+class EventModerationTest {
+
+    static final int MAX_RATE_MILLIS = 500;
+
+    @Test
+    void maximumRate() throws Exception {
+        LocalService<?> service = createService();
+        List<List<String>> events = new ArrayList<>();
+        LocalGENASubscription subscription = createSubscription(service, events);
+
+        // Within the maximum rate of the initial state
+        fire(subscription, service, "Rated", "two");
+        assertTrue(events.isEmpty());
+
+        Thread.sleep(MAX_RATE_MILLIS + 100);
+        fire(subscription, service, "Rated", "three");
+        fire(subscription, service, "Rated", "four");
+        assertEquals(List.of(List.of("Rated")), events);
+    }
+
+    @Test
+    void maximumRateUnderConcurrentChanges() throws Exception {
+        LocalService<?> service = createService();
+        List<List<String>> events = new ArrayList<>();
+        LocalGENASubscription subscription = createSubscription(service, events);
+
+        Thread.sleep(MAX_RATE_MILLIS + 100);
+        fireConcurrently(subscription, service, "Rated", "one", "two", "three", "four", "five", "six", "seven",
+                "eight");
+
+        // Only one of the concurrent changes passes the maximum rate
+        assertEquals(1, events.size());
+        assertEquals(List.of("Rated"), events.get(0));
+    }
+
+    @Test
+    void minimumDelta() throws Exception {
+        LocalService<?> service = createService();
+        List<List<String>> events = new ArrayList<>();
+        LocalGENASubscription subscription = createSubscription(service, events);
+
+        fire(subscription, service, "Level", 12);
+        assertTrue(events.isEmpty());
+        fire(subscription, service, "Level", 8);
+        assertTrue(events.isEmpty());
+        fire(subscription, service, "Level", 13);
+        assertEquals(1, events.size());
+        // Compared with the last sent value, not the last changed value
+        fire(subscription, service, "Level", 15);
+        assertEquals(1, events.size());
+        fire(subscription, service, "Level", 16);
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    void minimumDeltaUnderConcurrentChanges() throws Exception {
+        LocalService<?> service = createService();
+        List<List<String>> events = new ArrayList<>();
+        LocalGENASubscription subscription = createSubscription(service, events);
+
+        fireConcurrently(subscription, service, "Level", 8, 9, 11, 12);
+        assertTrue(events.isEmpty());
+
+        // Whichever change passes first, the others are within the minimum delta of it
+        fireConcurrently(subscription, service, "Level", 20, 21, 22);
+        assertEquals(1, events.size());
+        assertEquals(List.of("Level"), events.get(0));
+    }
+
+    @Test
+    void unmoderatedVariableIsAlwaysSent() throws Exception {
+        LocalService<?> service = createService();
+        List<List<String>> events = new ArrayList<>();
+        LocalGENASubscription subscription = createSubscription(service, events);
+
+        subscription.propertyChange(new PropertyChangeEvent(this, ServiceManager.EVENTED_STATE_VARIABLES, null,
+                List.of(value(service, "Rated", "two"), value(service, "Level", 11), value(service, "Status", true))));
+        assertEquals(List.of(List.of("Status")), events);
+    }
+
+    protected LocalService<?> createService() throws Exception {
+        LocalDevice device = GenaSampleData.createTestDevice(ModeratedTestService.class);
+        return SampleData.getFirstService(device);
+    }
+
+    protected LocalGENASubscription createSubscription(LocalService<?> service, List<List<String>> events)
+            throws Exception {
+        return new LocalGENASubscription(service, 1800, List.of(new URL("http://10.0.0.1/one"))) {
+            @Override
+            public void established() {
+            }
+
+            @Override
+            public void ended(CancelReason reason) {
+            }
+
+            @Override
+            public void eventReceived() {
+                // Called with the lock held, the list doesn't need to be synchronized
+                events.add(new ArrayList<>(getCurrentValues().keySet()));
+            }
+        };
+    }
+
+    protected void fire(LocalGENASubscription subscription, LocalService<?> service, String name, Object value) {
+        subscription.propertyChange(new PropertyChangeEvent(this, ServiceManager.EVENTED_STATE_VARIABLES, null,
+                List.of(value(service, name, value))));
+    }
+
+    protected void fireConcurrently(LocalGENASubscription subscription, LocalService<?> service, String name,
+            Object... values) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(values.length);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (Object value : values) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    fire(subscription, service, name, value);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    protected StateVariableValue value(LocalService<?> service, String name, Object value) {
+        return new StateVariableValue(service.getStateVariable(name), value);
+    }
+
+    @org.jupnp.binding.annotations.UpnpService(serviceId = @UpnpServiceId("ModeratedTest"), serviceType = @UpnpServiceType(value = "ModeratedTest", version = 1))
+    public static class ModeratedTestService {
+
+        @UpnpStateVariable
+        private boolean status = false;
+
+        @UpnpStateVariable(eventMaximumRateMilliseconds = MAX_RATE_MILLIS)
+        private String rated = "one";
+
+        @UpnpStateVariable(eventMinimumDelta = 3)
+        private int level = 10;
+    }
+}
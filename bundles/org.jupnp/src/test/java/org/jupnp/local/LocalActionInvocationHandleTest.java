@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.local;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.jupnp.binding.annotations.UpnpAction;
+import org.jupnp.binding.annotations.UpnpInputArgument;
+import org.jupnp.binding.annotations.UpnpOutputArgument;
+import org.jupnp.binding.annotations.UpnpService;
+import org.jupnp.binding.annotations.UpnpServiceId;
+import org.jupnp.binding.annotations.UpnpServiceType;
+import org.jupnp.binding.annotations.UpnpStateVariable;
+import org.jupnp.data.SampleData;
+import org.jupnp.model.action.ActionInvocation;
+import org.jupnp.model.meta.DeviceDetails;
+import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.model.state.FieldStateVariableAccessor;
+import org.jupnp.model.state.GetterStateVariableAccessor;
+import org.jupnp.model.types.ErrorCode;
+import org.jupnp.model.types.UDADeviceType;
+import org.jupnp.util.Reflections;
+
+/**
+ * Action methods and accessors are called with method handles bound when the service is bound.
+ */
+class LocalActionInvocationHandleTest {
+
+    @Test
+    void invokeActions() throws Exception {
+        LocalDevice device = new LocalDevice(SampleData.createLocalDeviceIdentity(), new UDADeviceType("SomeDevice", 1),
+                new DeviceDetails("Some Device"), SampleData.readService(LocalTestService.class));
+        LocalService<LocalTestService> svc = SampleData.getFirstService(device);
+
+        ActionInvocation invocation = new ActionInvocation(svc.getAction("SetTarget"));
+        invocation.setInput("NewTargetValue", true);
+        svc.getExecutor(invocation.getAction()).execute(invocation);
+        assertNull(invocation.getFailure());
+        assertTrue(svc.getManager().getImplementation().target);
+
+        // Return value as the single output argument
+        invocation = new ActionInvocation(svc.getAction("GetTarget"));
+        svc.getExecutor(invocation.getAction()).execute(invocation);
+        assertNull(invocation.getFailure());
+        assertEquals(true, invocation.getOutput("RetTargetValue").getValue());
+
+        // Void method, output arguments read with getters
+        invocation = new ActionInvocation(svc.getAction("GetStatus"));
+        svc.getExecutor(invocation.getAction()).execute(invocation);
+        assertNull(invocation.getFailure());
+        assertEquals(true, invocation.getOutput("Target").getValue());
+        assertEquals(1, ((Number) invocation.getOutput("Count").getValue()).intValue());
+
+        // Exceptions of the method are not wrapped
+        invocation = new ActionInvocation(svc.getAction("Fail"));
+        svc.getExecutor(invocation.getAction()).execute(invocation);
+        assertEquals(ErrorCode.ACTION_FAILED.getCode(), invocation.getFailure().getErrorCode());
+        assertTrue(invocation.getFailure().getMessage().contains("Failed on purpose"));
+
+        // Errors fail the action, they don't escape
+        invocation = new ActionInvocation(svc.getAction("Crash"));
+        svc.getExecutor(invocation.getAction()).execute(invocation);
+        assertEquals(ErrorCode.ACTION_FAILED.getCode(), invocation.getFailure().getErrorCode());
+        assertTrue(invocation.getFailure().getMessage().contains("Crashed on purpose"));
+    }
+
+    @Test
+    void accessorsReadState() throws Exception {
+        LocalTestService impl = new LocalTestService();
+        impl.count = 42;
+
+        FieldStateVariableAccessor field = new FieldStateVariableAccessor(
+                LocalTestService.class.getDeclaredField("count"));
+        assertEquals(42, field.read(impl));
+        // The field is private, the accessor works without changing its accessibility for each read
+        assertNotNull(Reflections.toGetter(LocalTestService.class.getDeclaredField("count")));
+
+        GetterStateVariableAccessor getter = new GetterStateVariableAccessor(
+                LocalTestService.class.getMethod("getCount"));
+        assertEquals(42, getter.read(impl));
+        assertNotNull(Reflections.toGetter(LocalTestService.class.getMethod("getCount")));
+        assertNotNull(Reflections.toInvoker(LocalTestService.class.getMethod("setTarget", boolean.class)));
+    }
+
+    @UpnpService(serviceId = @UpnpServiceId("SomeService"), serviceType = @UpnpServiceType(value = "SomeService", version = 1), supportsQueryStateVariables = false)
+    public static class LocalTestService {
+
+        @UpnpStateVariable(sendEvents = false)
+        private boolean target;
+
+        @UpnpStateVariable(sendEvents = false)
+        private int count;
+
+        @UpnpAction
+        public void setTarget(@UpnpInputArgument(name = "NewTargetValue") boolean newTargetValue) {
+            target = newTargetValue;
+            count++;
+        }
+
+        @UpnpAction(out = @UpnpOutputArgument(name = "RetTargetValue", stateVariable = "Target"))
+        public boolean getTarget() {
+            return target;
+        }
+
+        @UpnpAction(out = { @UpnpOutputArgument(name = "Target", getterName = "getTarget"),
+                @UpnpOutputArgument(name = "Count", getterName = "getCount") })
+        public void getStatus() {
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        @UpnpAction
+        public void fail() {
+            throw new IllegalStateException("Failed on purpose");
+        }
+
+        @UpnpAction
+        public void crash() {
+            throw new AssertionError("Crashed on purpose");
+        }
+    }
+}
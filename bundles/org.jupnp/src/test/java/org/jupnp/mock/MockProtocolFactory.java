@@ -16,6 +16,7 @@
 package org.jupnp.mock;
 
 import java.net.URL;
+import java.util.Collection;
 
 import org.jupnp.UpnpService;
 import org.jupnp.model.action.ActionInvocation;
@@ -25,6 +26,7 @@ import org.jupnp.model.message.IncomingDatagramMessage;
 import org.jupnp.model.message.StreamRequestMessage;
 import org.jupnp.model.message.header.UpnpHeader;
 import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.state.StateVariableValue;
 import org.jupnp.protocol.ProtocolCreationException;
 import org.jupnp.protocol.ProtocolFactory;
 import org.jupnp.protocol.ReceivingAsync;
@@ -97,4 +99,9 @@ public class MockProtocolFactory implements ProtocolFactory {
     public SendingEvent createSendingEvent(LocalGENASubscription subscription) {
         return null;
     }
+
+    @Override
+    public SendingEvent createSendingEvent(LocalGENASubscription subscription, Collection<StateVariableValue> values) {
+        return null;
+    }
 }
@@ -89,6 +89,14 @@ public class MockUpnpServiceConfiguration extends DefaultUpnpServiceConfiguratio
         return getDefaultExecutorService();
     }
 
+    @Override
+    protected ExecutorService getExecutorService(ExecutorRole role) {
+        if (isMultiThreaded()) {
+            return super.getExecutorService(role);
+        }
+        return getDefaultExecutorService();
+    }
+
     @Override
     protected ExecutorService getDefaultExecutorService() {
         if (isMultiThreaded()) {
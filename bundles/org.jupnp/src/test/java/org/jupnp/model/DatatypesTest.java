@@ -17,7 +17,10 @@ package org.jupnp.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
@@ -276,4 +279,97 @@ class DatatypesTest {
         Float f = dt.valueOf("1.23456");
         assertEquals(1.23456f, f);
     }
+
+    @Test
+    void canonicalDateTimeMatchesLenientParsing() throws Exception {
+        String[] values = { "2010-11-03", "2010-11-03T08:09:10", "2010-11-03T08:09:10+0100", "2010-11-03T08:09:10Z",
+                "2010-11-03T08:09:10-05:30", "2012-02-29T23:59:59+1400", "08:09:10", "08:09:10+0100", "23:00:00-0800",
+                "2010-03-28T02:30:00", "2010-10-31T02:30:00", "2010-03-14T02:30:00", "2010-11-07T01:30:00",
+                "2010-1-3", "2010-11-03T8:09:10", "2010-13-03", "24:00:00" };
+        String[][] formatSets = { { "yyyy-MM-dd" }, { "yyyy-MM-dd", "yyyy-MM-dd'T'HH:mm:ss" },
+                { "yyyy-MM-dd", "yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ssZ" }, { "HH:mm:ss" },
+                { "HH:mm:ssZ", "HH:mm:ss" } };
+        for (String zone : new String[] { "CET", "America/New_York", "UTC", "Asia/Kolkata" }) {
+            TimeZone timeZone = TimeZone.getTimeZone(zone);
+            for (String[] formats : formatSets) {
+                LenientDateTimeDatatype type = new LenientDateTimeDatatype(formats, timeZone);
+                for (String value : values) {
+                    String message = String.join(",", formats) + " " + zone + " " + value;
+                    Date expected = type.parseLeniently(value);
+                    if (expected == null) {
+                        assertThrows(InvalidValueException.class, () -> type.valueOf(value), message);
+                        continue;
+                    }
+                    Calendar parsed = type.valueOf(value);
+                    assertEquals(expected.getTime(), parsed.getTimeInMillis(), message);
+                    assertEquals(type.formatLeniently(parsed), type.getString(parsed), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void integersFastAndLenient() {
+        UnsignedIntegerFourBytesDatatype ui4 = (UnsignedIntegerFourBytesDatatype) Datatype.Builtin.UI4.getDatatype();
+        assertEquals(4294967295L, ui4.valueOf("4294967295").getValue());
+        assertEquals(12L, ui4.valueOf(" 12 ").getValue());
+        assertEquals(7L, ui4.valueOf("+7").getValue());
+        // Twonky sends -1 as track number
+        assertEquals(0L, ui4.valueOf("-1").getValue());
+        assertThrows(InvalidValueException.class, () -> ui4.valueOf("4294967296"));
+        assertThrows(InvalidValueException.class, () -> ui4.valueOf("12a"));
+        assertEquals("42", ui4.getString(ui4.valueOf("42")));
+
+        IntegerDatatype i4 = (IntegerDatatype) Datatype.Builtin.I4.getDatatype();
+        assertEquals(-2147483648, i4.valueOf("-2147483648"));
+        assertEquals(Integer.MAX_VALUE, i4.valueOf("NOT_IMPLEMENTED"));
+        assertThrows(InvalidValueException.class, () -> i4.valueOf("2147483648"));
+        assertEquals("-5", i4.getString(-5));
+        assertEquals("100", i4.getString(100));
+
+        IntegerDatatype i2 = (IntegerDatatype) Datatype.Builtin.I2.getDatatype();
+        assertThrows(InvalidValueException.class, () -> i2.valueOf("40000"));
+        assertEquals((short) -3, Datatype.Builtin.I2_SHORT.getDatatype().valueOf(" -3"));
+
+        assertEquals(true, Datatype.Builtin.BOOLEAN.getDatatype().valueOf("yes"));
+        assertEquals(false, Datatype.Builtin.BOOLEAN.getDatatype().valueOf("False"));
+    }
+
+    @Test
+    void defaultByJavaType() {
+        assertEquals(Datatype.Default.INTEGER_PRIMITIVE, Datatype.Default.getByJavaType(int.class));
+        assertEquals(Datatype.Default.CALENDAR, Datatype.Default.getByJavaType(Calendar.class));
+        assertEquals(Datatype.Default.BYTES, Datatype.Default.getByJavaType(byte[].class));
+        assertNull(Datatype.Default.getByJavaType(Date.class));
+        assertNull(Datatype.Default.getByJavaType(null));
+    }
+
+    /**
+     * A built-in date/time datatype in a given time zone, with access to the lenient parsing.
+     */
+    static class LenientDateTimeDatatype extends DateTimeDatatype {
+
+        private final TimeZone timeZone;
+
+        LenientDateTimeDatatype(String[] readFormats, TimeZone timeZone) {
+            // The write format of the built-in types is the longest read format
+            super(readFormats, Arrays.stream(readFormats).max(Comparator.comparingInt(String::length)).get());
+            this.timeZone = timeZone;
+        }
+
+        @Override
+        protected TimeZone getTimeZone() {
+            return timeZone;
+        }
+
+        Date parseLeniently(String value) {
+            return getDateValue(value, readFormats);
+        }
+
+        String formatLeniently(Calendar value) {
+            SimpleDateFormat format = new SimpleDateFormat(writeFormat);
+            format.setTimeZone(timeZone);
+            return format.format(value.getTime());
+        }
+    }
 }
@@ -25,7 +25,9 @@ import org.jupnp.data.SampleDeviceRootLocal;
 import org.jupnp.model.meta.LocalDevice;
 import org.jupnp.model.meta.RemoteDevice;
 import org.jupnp.model.meta.Service;
+import org.jupnp.model.types.DeviceType;
 import org.jupnp.model.types.ServiceType;
+import org.jupnp.model.types.UDAServiceType;
 
 /**
  * @author Christian Bauer
@@ -231,4 +233,45 @@ class DeviceGraphTest {
         assertTrue(haveTwo);
         assertTrue(haveThree);
     }
+
+    @Test
+    void findDevicesWithServiceType() {
+        LocalDevice ld = SampleData.createLocalDevice();
+
+        LocalDevice[] devices = ld.findDevices(ld.getEmbeddedDevices()[0].getServices()[0].getServiceType());
+        assertEquals(1, devices.length);
+        assertEquals(SampleDeviceEmbeddedOne.getEmbeddedOneUDN(), devices[0].getIdentity().getUdn());
+
+        assertEquals(0, ld.findDevices(new UDAServiceType("UNKNOWN-SERVICE-TYPE")).length);
+    }
+
+    @Test
+    void findByVersion() {
+        LocalDevice ld = SampleData.createLocalDevice();
+        ServiceType serviceType = ld.getServices()[0].getServiceType();
+        DeviceType deviceType = ld.getType();
+
+        assertEquals(1, ld.findServices(new ServiceType(serviceType.getNamespace(), serviceType.getType(),
+                serviceType.getVersion() - 1)).length);
+        assertEquals(0, ld.findServices(new ServiceType(serviceType.getNamespace(), serviceType.getType(),
+                serviceType.getVersion() + 1)).length);
+        assertNull(ld.findService(new ServiceType(serviceType.getNamespace(), serviceType.getType(),
+                serviceType.getVersion() + 1)));
+
+        assertEquals(1, ld.findDevices(
+                new DeviceType(deviceType.getNamespace(), deviceType.getType(), deviceType.getVersion() - 1)).length);
+        assertEquals(0, ld.findDevices(
+                new DeviceType(deviceType.getNamespace(), deviceType.getType(), deviceType.getVersion() + 1)).length);
+    }
+
+    @Test
+    void findInEmbeddedDevice() {
+        LocalDevice ld = SampleData.createLocalDevice();
+        LocalDevice embedded = ld.getEmbeddedDevices()[0];
+
+        assertNull(embedded.findDevice(SampleDeviceRootLocal.getRootUDN()));
+        assertNull(embedded.findService(ld.getServices()[0].getServiceId()));
+        assertEquals(2, embedded.findServices().length);
+        assertEquals(2, embedded.findEmbeddedDevices().length);
+    }
 }
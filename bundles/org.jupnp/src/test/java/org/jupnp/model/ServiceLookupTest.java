@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.jupnp.data.SampleData;
+import org.jupnp.model.meta.Action;
+import org.jupnp.model.meta.ActionArgument;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.model.meta.QueryStateVariableAction;
+import org.jupnp.model.meta.StateVariable;
+
+class ServiceLookupTest {
+
+    @Test
+    void stateVariableIndexes() {
+        LocalService<?> service = SampleData.createLocalDevice().getServices()[0];
+
+        StateVariable<?>[] stateVariables = service.getStateVariables();
+        assertEquals(stateVariables.length, service.getStateVariableCount());
+        for (int i = 0; i < stateVariables.length; i++) {
+            assertEquals(i, service.getStateVariableIndex(stateVariables[i].getName()));
+            assertSame(stateVariables[i], service.getStateVariable(stateVariables[i].getName()));
+        }
+        assertEquals(-1, service.getStateVariableIndex("NoSuchVariable"));
+        assertEquals(-1, service.getStateVariableIndex(QueryStateVariableAction.VIRTUAL_STATEVARIABLE_INPUT));
+        assertNull(service.getStateVariable("NoSuchVariable"));
+
+        assertNotSame(stateVariables, service.getStateVariables());
+    }
+
+    @Test
+    void virtualStateVariables() {
+        LocalService<?> service = SampleData.createLocalDevice().getServices()[0];
+
+        StateVariable<?> input = service.getStateVariable(QueryStateVariableAction.VIRTUAL_STATEVARIABLE_INPUT);
+        assertEquals(QueryStateVariableAction.VIRTUAL_STATEVARIABLE_INPUT, input.getName());
+        assertSame(input, service.getStateVariable(QueryStateVariableAction.VIRTUAL_STATEVARIABLE_INPUT));
+        assertNotNull(service.getStateVariable(QueryStateVariableAction.VIRTUAL_STATEVARIABLE_OUTPUT));
+    }
+
+    @Test
+    void argumentsByNameAndAlias() {
+        Action<?> action = new Action<>("SetTarget",
+                new ActionArgument[] {
+                        new ActionArgument("NewTargetValue", new String[] { "TargetValue" }, "Target",
+                                ActionArgument.Direction.IN),
+                        new ActionArgument("RetTargetValue", "Target", ActionArgument.Direction.OUT) });
+
+        ActionArgument<?> input = action.getInputArguments()[0];
+        assertSame(input, action.getInputArgument("NewTargetValue"));
+        assertSame(input, action.getInputArgument("TargetValue"));
+        assertSame(input, action.getInputArgument("newtargetvalue"));
+        assertNull(action.getInputArgument("RetTargetValue"));
+
+        assertSame(action.getOutputArguments()[0], action.getOutputArgument("RetTargetValue"));
+        assertNull(action.getOutputArgument("rettargetvalue"));
+        assertNull(action.getOutputArgument("NewTargetValue"));
+    }
+}
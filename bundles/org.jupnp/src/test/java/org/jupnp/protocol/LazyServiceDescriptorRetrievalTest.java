@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.protocol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.jupnp.controlpoint.ActionCallback;
+import org.jupnp.data.SampleData;
+import org.jupnp.data.SampleServiceOne;
+import org.jupnp.data.SampleServiceTwo;
+import org.jupnp.mock.MockRouter;
+import org.jupnp.mock.MockUpnpService;
+import org.jupnp.mock.MockUpnpServiceConfiguration;
+import org.jupnp.model.action.ActionInvocation;
+import org.jupnp.model.message.StreamResponseMessage;
+import org.jupnp.model.message.UpnpResponse;
+import org.jupnp.model.message.header.ContentTypeHeader;
+import org.jupnp.model.meta.RemoteDevice;
+import org.jupnp.model.meta.RemoteService;
+import org.jupnp.model.profile.RemoteClientInfo;
+import org.jupnp.model.types.ServiceId;
+
+class LazyServiceDescriptorRetrievalTest {
+
+    @Test
+    void describeServiceOnFirstUse() throws Exception {
+        MockUpnpService upnpService = createUpnpService(SampleServiceOne.getThisServiceId());
+        RemoteDevice registeredDevice = registerDevice(upnpService);
+
+        RemoteService undescribedService = registeredDevice.findService(SampleServiceOne.getThisServiceId());
+        RemoteService describedService = upnpService.getControlPoint().describe(undescribedService).get();
+        assertEquals(2, upnpService.getRouter().getSentStreamRequestMessages().size());
+        assertEquals(undescribedService.getReference(), describedService.getReference());
+        assertTrue(describedService.hasActions());
+        assertTrue(describedService.hasStateVariables());
+
+        // The registered graph has been replaced, the other services are still undescribed
+        assertSame(describedService, upnpService.getRegistry().getService(undescribedService.getReference()));
+        RemoteDevice replacedDevice = upnpService.getRegistry()
+                .getRemoteDevice(registeredDevice.getIdentity().getUdn(), true);
+        assertNotSame(registeredDevice, replacedDevice);
+        assertSame(replacedDevice, describedService.getDevice().getRoot());
+        for (RemoteService service : replacedDevice.findServices()) {
+            assertEquals(service == describedService,
+                    upnpService.getRegistry().getLazyServiceDescriptors().isDescribed(service));
+        }
+
+        // No further retrieval, also not for a stale reference to the undescribed service
+        assertSame(describedService, upnpService.getControlPoint().describe(describedService).get());
+        assertSame(describedService, upnpService.getControlPoint().describe(undescribedService).get());
+        assertEquals(2, upnpService.getRouter().getSentStreamRequestMessages().size());
+    }
+
+    @Test
+    void describeEmptyServiceOnce() throws Exception {
+        MockUpnpService upnpService = createUpnpService(SampleServiceTwo.getThisServiceId());
+        RemoteDevice registeredDevice = registerDevice(upnpService);
+
+        RemoteService undescribedService = registeredDevice.findService(SampleServiceTwo.getThisServiceId());
+        RemoteService describedService = upnpService.getControlPoint().describe(undescribedService).get();
+        assertEquals(2, upnpService.getRouter().getSentStreamRequestMessages().size());
+        assertNotSame(undescribedService, describedService);
+        assertFalse(describedService.hasActions());
+        assertFalse(describedService.hasStateVariables());
+
+        // Described although the descriptor has no actions and state variables
+        assertSame(describedService, upnpService.getControlPoint().describe(describedService).get());
+        assertSame(describedService, upnpService.getControlPoint().describe(undescribedService).get());
+        assertEquals(2, upnpService.getRouter().getSentStreamRequestMessages().size());
+    }
+
+    @Test
+    void describeServiceBeforeExecutingAction() throws Exception {
+        MockUpnpService upnpService = createUpnpService(SampleServiceOne.getThisServiceId(),
+                new StreamResponseMessage(UpnpResponse.Status.INTERNAL_SERVER_ERROR));
+        RemoteDevice registeredDevice = registerDevice(upnpService);
+
+        RemoteService undescribedService = registeredDevice.findService(SampleServiceOne.getThisServiceId());
+        assertNull(undescribedService.getAction("GetTarget"));
+
+        List<ActionInvocation> failures = new ArrayList<>();
+        upnpService.getControlPoint().execute(undescribedService, "GetTarget", action -> {
+            assertSame(upnpService.getRegistry().getService(undescribedService.getReference()), action.getService());
+            return new ActionCallback(new ActionInvocation<>(action)) {
+                @Override
+                public void success(ActionInvocation invocation) {
+                }
+
+                @Override
+                public void failure(ActionInvocation invocation, UpnpResponse operation, String defaultMsg) {
+                    failures.add(invocation);
+                }
+            };
+        }).get();
+
+        // Descriptors of the device and the service, then the action request
+        assertEquals(3, upnpService.getRouter().getSentStreamRequestMessages().size());
+        assertEquals(1, failures.size());
+        assertEquals("GetTarget", failures.get(0).getAction().getName());
+    }
+
+    protected RemoteDevice registerDevice(MockUpnpService upnpService) throws Exception {
+        RemoteDevice discoveredDevice = new RemoteDevice(SampleData.createRemoteDeviceIdentity());
+        new RetrieveRemoteDescriptors(upnpService, discoveredDevice).run();
+
+        // Registered with the device descriptor only
+        assertEquals(1, upnpService.getRouter().getSentStreamRequestMessages().size());
+        RemoteDevice registeredDevice = upnpService.getRegistry()
+                .getRemoteDevice(discoveredDevice.getIdentity().getUdn(), true);
+        assertNotNull(registeredDevice);
+        assertEquals(3, registeredDevice.findServices().length);
+        for (RemoteService service : registeredDevice.findServices()) {
+            assertFalse(service.hasActions());
+            assertFalse(service.hasStateVariables());
+            assertFalse(upnpService.getRegistry().getLazyServiceDescriptors().isDescribed(service));
+        }
+        return registeredDevice;
+    }
+
+    /**
+     * @param serviceId The service which is described on first use.
+     * @param responses Responses of the requests after the retrieval of the descriptors.
+     */
+    protected MockUpnpService createUpnpService(ServiceId serviceId, StreamResponseMessage... responses) {
+        final RemoteDevice hydratedDevice = SampleData.createRemoteDevice();
+
+        MockUpnpService upnpService = new MockUpnpService(new MockUpnpServiceConfiguration() {
+            @Override
+            public boolean isLazyServiceDescriptorRetrieval() {
+                return true;
+            }
+        }) {
+            @Override
+            protected MockRouter createRouter() {
+                return new MockRouter(getConfiguration(), getProtocolFactory()) {
+                    @Override
+                    public StreamResponseMessage[] getStreamResponseMessages() {
+                        try {
+                            String deviceDescriptorXML = getConfiguration().getDeviceDescriptorBinderUDA10().generate(
+                                    hydratedDevice, new RemoteClientInfo(), getConfiguration().getNamespace());
+                            String serviceDescriptorXML = getConfiguration().getServiceDescriptorBinderUDA10()
+                                    .generate(hydratedDevice.findService(serviceId));
+                            List<StreamResponseMessage> messages = new ArrayList<>();
+                            messages.add(new StreamResponseMessage(deviceDescriptorXML,
+                                    ContentTypeHeader.DEFAULT_CONTENT_TYPE_UTF8));
+                            messages.add(new StreamResponseMessage(serviceDescriptorXML,
+                                    ContentTypeHeader.DEFAULT_CONTENT_TYPE_UTF8));
+                            messages.addAll(List.of(responses));
+                            return messages.toArray(new StreamResponseMessage[0]);
+                        } catch (Exception e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                };
+            }
+        };
+        upnpService.startup();
+        return upnpService;
+    }
+}
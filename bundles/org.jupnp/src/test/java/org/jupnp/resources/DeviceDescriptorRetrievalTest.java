@@ -19,17 +19,27 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 import org.jupnp.binding.xml.DeviceDescriptorBinder;
+import org.jupnp.binding.xml.UDA10DeviceDescriptorBinderImpl;
 import org.jupnp.data.SampleData;
 import org.jupnp.data.SampleDeviceRoot;
+import org.jupnp.data.SampleServiceOne;
 import org.jupnp.mock.MockUpnpService;
+import org.jupnp.model.Namespace;
 import org.jupnp.model.message.StreamRequestMessage;
 import org.jupnp.model.message.StreamResponseMessage;
 import org.jupnp.model.message.UpnpRequest;
+import org.jupnp.model.message.UpnpResponse;
 import org.jupnp.model.message.header.ContentTypeHeader;
 import org.jupnp.model.message.header.HostHeader;
 import org.jupnp.model.message.header.UpnpHeader;
+import org.jupnp.model.meta.DeviceDetails;
 import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.meta.ManufacturerDetails;
 import org.jupnp.model.meta.RemoteDevice;
+import org.jupnp.model.profile.RemoteClientInfo;
+import org.jupnp.model.types.DLNADoc;
+import org.jupnp.model.types.UDADeviceType;
+import org.jupnp.protocol.sync.DescriptorCache;
 import org.jupnp.protocol.sync.ReceivingRetrieval;
 
 class DeviceDescriptorRetrievalTest {
@@ -65,6 +75,69 @@ class DeviceDescriptorRetrievalTest {
                 .assertLocalResourcesMatch(upnpService.getConfiguration().getNamespace().getResources(returnedDevice));
     }
 
+    @Test
+    void retrieveCachedDescriptor() throws Exception {
+        MockUpnpService upnpService = new MockUpnpService();
+        upnpService.startup();
+
+        LocalDevice localDevice = SampleData.createLocalDevice();
+        upnpService.getRegistry().addDevice(localDevice);
+
+        DescriptorCache cache = new DescriptorCache();
+
+        StreamRequestMessage descRetrievalMessage = new StreamRequestMessage(UpnpRequest.Method.GET,
+                SampleDeviceRoot.getDeviceDescriptorURI());
+        descRetrievalMessage.getHeaders().add(UpnpHeader.Type.HOST, new HostHeader("localhost", 1234));
+        ReceivingRetrieval prot = new ReceivingRetrieval(upnpService, descRetrievalMessage, cache);
+        prot.run();
+        StreamResponseMessage first = prot.getOutputMessage();
+        assertEquals(200, first.getOperation().getStatusCode());
+        String entityTag = first.getHeaders().getFirstHeader(ReceivingRetrieval.HEADER_ETAG);
+        assertNotNull(entityTag);
+        assertNotNull(first.getHeaders().getFirstHeader(ReceivingRetrieval.HEADER_LAST_MODIFIED));
+
+        // The same encoded descriptor is returned again
+        prot = new ReceivingRetrieval(upnpService, descRetrievalMessage, cache);
+        prot.run();
+        StreamResponseMessage second = prot.getOutputMessage();
+        assertSame(first.getBody(), second.getBody());
+
+        // A control point which already has the descriptor gets a 304
+        descRetrievalMessage.getHeaders().add(ReceivingRetrieval.HEADER_IF_NONE_MATCH, entityTag);
+        prot = new ReceivingRetrieval(upnpService, descRetrievalMessage, cache);
+        prot.run();
+        StreamResponseMessage notModified = prot.getOutputMessage();
+        assertEquals(UpnpResponse.Status.NOT_MODIFIED.getStatusCode(), notModified.getOperation().getStatusCode());
+        assertFalse(notModified.hasBody());
+        assertEquals(entityTag, notModified.getHeaders().getFirstHeader(ReceivingRetrieval.HEADER_ETAG));
+    }
+
+    @Test
+    void cacheVariantsOfNewDetailsInstances() throws Exception {
+        Namespace namespace = new MockUpnpService().getConfiguration().getNamespace();
+        DeviceDescriptorBinder binder = new UDA10DeviceDescriptorBinderImpl();
+
+        // Every request gets a new instance, with one of two distinct values
+        LocalDevice device = new LocalDevice(SampleData.createLocalDeviceIdentity(), new UDADeviceType("MediaServer"),
+                info -> new DeviceDetails(info.getRequestUserAgent() != null ? "Media Xbox" : "Media",
+                        new ManufacturerDetails("4th Line"),
+                        new DLNADoc[] { new DLNADoc("DMS", DLNADoc.Version.V1_5) }, null),
+                new SampleServiceOne().newInstanceLocal(SampleData.getLocalServiceConstructor()));
+
+        DescriptorCache cache = new DescriptorCache(2);
+        RemoteClientInfo other = new RemoteClientInfo();
+        RemoteClientInfo xbox = new RemoteClientInfo();
+        xbox.getRequestHeaders().add("User-Agent", "Xbox/2.0.4548.0 UPnP/1.0 Xbox/2.0.4548.0");
+
+        DescriptorCache.Descriptor otherDescriptor = cache.getDeviceDescriptor(device, other, namespace, binder);
+        DescriptorCache.Descriptor xboxDescriptor = cache.getDeviceDescriptor(device, xbox, namespace, binder);
+        assertNotEquals(otherDescriptor.getEntityTag(), xboxDescriptor.getEntityTag());
+        for (int i = 0; i < 10; i++) {
+            assertSame(otherDescriptor, cache.getDeviceDescriptor(device, other, namespace, binder));
+            assertSame(xboxDescriptor, cache.getDeviceDescriptor(device, xbox, namespace, binder));
+        }
+    }
+
     @Test
     void retrieveNonExistentDescriptor() {
         MockUpnpService upnpService = new MockUpnpService();
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.resources;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.jupnp.binding.xml.DescriptorBindingException;
+import org.jupnp.binding.xml.DeviceDescriptorTemplate;
+import org.jupnp.binding.xml.RecoveringUDA10DeviceDescriptorBinderImpl;
+import org.jupnp.binding.xml.UDA10DeviceDescriptorBinderImpl;
+import org.jupnp.data.SampleData;
+import org.jupnp.data.SampleServiceOne;
+import org.jupnp.mock.MockUpnpService;
+import org.jupnp.model.Namespace;
+import org.jupnp.model.meta.Device;
+import org.jupnp.model.meta.DeviceDetails;
+import org.jupnp.model.meta.DeviceIdentity;
+import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.meta.ManufacturerDetails;
+import org.jupnp.model.profile.HeaderDeviceDetailsProvider;
+import org.jupnp.model.profile.RemoteClientInfo;
+import org.jupnp.model.types.DLNADoc;
+import org.jupnp.model.types.UDADeviceType;
+import org.jupnp.model.types.UDN;
+import org.jupnp.protocol.sync.DescriptorCache;
+
+class DeviceDescriptorTemplateTest {
+
+    private final UDA10DeviceDescriptorBinderImpl binder = new UDA10DeviceDescriptorBinderImpl();
+    private final Namespace namespace = new MockUpnpService().getConfiguration().getNamespace();
+
+    @Test
+    void renderEqualsGeneratedDescriptor() throws Exception {
+        LocalDevice device = SampleData.createLocalDevice(true);
+        RemoteClientInfo info = new RemoteClientInfo();
+
+        DeviceDescriptorTemplate template = binder.generateTemplate(device, namespace);
+        assertEquals(3, template.getSlotCount());
+
+        String rendered = new String(template.render(device, collectDetails(device, info)), StandardCharsets.UTF_8);
+        assertEquals(binder.generate(device, info, namespace), rendered);
+        assertTrue(rendered.contains("xmlns:dlna="));
+    }
+
+    @Test
+    void renderClientVariants() throws Exception {
+        LocalDevice device = createDeviceWithVariants();
+        RemoteClientInfo xbox = createClientInfo("Xbox/2.0.4548.0 UPnP/1.0 Xbox/2.0.4548.0");
+        RemoteClientInfo other = createClientInfo("UPnP/1.0");
+
+        DeviceDescriptorTemplate template = binder.generateTemplate(device, namespace);
+        for (RemoteClientInfo info : List.of(xbox, other)) {
+            assertEquals(binder.generate(device, info, namespace),
+                    new String(template.render(device, collectDetails(device, info)), StandardCharsets.UTF_8));
+        }
+
+        DescriptorCache cache = new DescriptorCache();
+        String xboxDescriptor = new String(cache.getDeviceDescriptor(device, xbox, namespace, binder).getBytes(),
+                StandardCharsets.UTF_8);
+        String otherDescriptor = new String(cache.getDeviceDescriptor(device, other, namespace, binder).getBytes(),
+                StandardCharsets.UTF_8);
+        assertEquals(binder.generate(device, xbox, namespace), xboxDescriptor);
+        assertEquals(binder.generate(device, other, namespace), otherDescriptor);
+        assertTrue(xboxDescriptor.contains("<friendlyName>Media &amp; More &lt;Xbox&gt;</friendlyName>"));
+        assertTrue(otherDescriptor.contains("<friendlyName>Media</friendlyName>"));
+        assertSame(cache.getDeviceDescriptor(device, xbox, namespace, binder),
+                cache.getDeviceDescriptor(device, xbox, namespace, binder));
+    }
+
+    @Test
+    void renderRequiresDetailsOfAllDevices() throws Exception {
+        LocalDevice device = SampleData.createLocalDevice();
+        DeviceDescriptorTemplate template = binder.generateTemplate(device, namespace);
+        assertThrows(IllegalArgumentException.class,
+                () -> template.render(device, List.of(device.getDetails(new RemoteClientInfo()))));
+    }
+
+    @Test
+    void subclassGeneratesWithoutTemplate() throws Exception {
+        LocalDevice device = SampleData.createLocalDevice();
+        UDA10DeviceDescriptorBinderImpl customBinder = new UDA10DeviceDescriptorBinderImpl() {
+            @Override
+            public String generate(Device deviceModel, RemoteClientInfo info, Namespace namespace)
+                    throws DescriptorBindingException {
+                return super.generate(deviceModel, info, namespace).replace("</root>", "<!-- custom --></root>");
+            }
+        };
+        assertFalse(customBinder.isTemplateSupported());
+        assertTrue(new RecoveringUDA10DeviceDescriptorBinderImpl().isTemplateSupported());
+
+        String descriptor = new String(
+                new DescriptorCache().getDeviceDescriptor(device, new RemoteClientInfo(), namespace, customBinder)
+                        .getBytes(),
+                StandardCharsets.UTF_8);
+        assertTrue(descriptor.contains("<!-- custom -->"));
+    }
+
+    private LocalDevice createDeviceWithVariants() throws Exception {
+        DeviceDetails defaultDetails = new DeviceDetails("Media", new ManufacturerDetails("4th Line"));
+        DeviceDetails xboxDetails = new DeviceDetails("Media & More <Xbox>", new ManufacturerDetails("4th Line"),
+                new DLNADoc[] { new DLNADoc("DMS", DLNADoc.Version.V1_5) }, null);
+        Map<HeaderDeviceDetailsProvider.Key, DeviceDetails> headerDetails = new HashMap<>();
+        headerDetails.put(new HeaderDeviceDetailsProvider.Key("User-Agent", "Xbox.*"), xboxDetails);
+
+        return new LocalDevice(SampleData.createLocalDeviceIdentity(), new UDADeviceType("MediaServer"),
+                new HeaderDeviceDetailsProvider(defaultDetails, headerDetails),
+                new SampleServiceOne().newInstanceLocal(SampleData.getLocalServiceConstructor()),
+                SampleData.createLocalDevice(new DeviceIdentity(new UDN("embedded-media"))));
+    }
+
+    private RemoteClientInfo createClientInfo(String userAgent) {
+        RemoteClientInfo info = new RemoteClientInfo();
+        info.getRequestHeaders().add("User-Agent", userAgent);
+        return info;
+    }
+
+    private List<DeviceDetails> collectDetails(LocalDevice device, RemoteClientInfo info) {
+        List<DeviceDetails> details = new ArrayList<>();
+        details.add(device.getDetails(info));
+        if (device.hasEmbeddedDevices()) {
+            for (LocalDevice embeddedDevice : device.getEmbeddedDevices()) {
+                details.addAll(collectDetails(embeddedDevice, info));
+            }
+        }
+        return details;
+    }
+}
@@ -17,6 +17,13 @@ package org.jupnp.resources;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.jupnp.UpnpService;
@@ -42,21 +49,27 @@ class InvalidUDA10DeviceDescriptorParsingTest {
                 { "/invalidxml/device/zyxel_miviewtv.xml" }, { "/invalidxml/device/perfectwave.xml" },
                 { "/invalidxml/device/escient.xml" }, { "/invalidxml/device/eyecon.xml" },
                 { "/invalidxml/device/kodak.xml" }, { "/invalidxml/device/plutinosoft.xml" },
-                { "/invalidxml/device/samsung.xml" }, { "/invalidxml/device/philips_hue.xml" }, };
+                { "/invalidxml/device/samsung.xml" }, { "/invalidxml/device/philips_hue.xml" },
+                { "/invalidxml/device/philips.xml" }, { "/invalidxml/device/simplecenter.xml" }, };
     }
 
     static String[][] getRecoverable() {
         return new String[][] { { "/invalidxml/device/missing_namespaces.xml" }, { "/invalidxml/device/ushare.xml" },
-                { "/invalidxml/device/lg.xml" },
-                // TODO: This test is currently failing!
-                // {"/invalidxml/device/readydlna.xml"},
-        };
+                { "/invalidxml/device/lg.xml" }, { "/invalidxml/device/readydlna.xml" }, };
     }
 
     static String[][] getUnrecoverable() {
         return new String[][] { { "/invalidxml/device/unrecoverable/pms.xml" },
-                { "/invalidxml/device/unrecoverable/awox.xml" }, { "/invalidxml/device/philips.xml" },
-                { "/invalidxml/device/simplecenter.xml" }, { "/invalidxml/device/ums.xml" }, };
+                { "/invalidxml/device/unrecoverable/awox.xml" }, { "/invalidxml/device/unrecoverable/ums.xml" }, };
+    }
+
+    static Stream<String> getAll() throws Exception {
+        Path directory = Paths.get(InvalidUDA10DeviceDescriptorParsingTest.class.getResource("/invalidxml").toURI());
+        try (Stream<Path> files = Files.walk(directory.resolve("device"))) {
+            return files.filter(file -> file.toString().endsWith(".xml"))
+                    .map(file -> "/invalidxml/" + directory.relativize(file).toString().replace('\\', '/')).sorted()
+                    .collect(Collectors.toList()).stream();
+        }
     }
 
     /* ############################## TEST FAILURE ############################ */
@@ -120,6 +133,67 @@ class InvalidUDA10DeviceDescriptorParsingTest {
         }));
     }
 
+    @ParameterizedTest
+    @MethodSource("getAll")
+    void readRecoveringAll(String file) throws Exception {
+        UpnpService upnpService = new MockUpnpService(new MockUpnpServiceConfiguration() {
+            @Override
+            public DeviceDescriptorBinder getDeviceDescriptorBinderUDA10() {
+                return new RecoveringUDA10DeviceDescriptorBinderImpl();
+            }
+        });
+        if (file.contains("/unrecoverable/")) {
+            assertThrows(Exception.class, () -> readDevice(file, upnpService));
+        } else {
+            readDevice(file, upnpService);
+        }
+    }
+
+    @Test
+    void readRecoveringKnownDefects() throws Exception {
+        String xml = IO.readLines(getClass().getResourceAsStream("/invalidxml/device/missing_namespaces.xml"));
+        xml = "HTTP/1.1 200 OK\r\nContent-Type: text/xml\r\n\r\n" + xml + "\r\n\u0000\u0000garbage";
+        xml = xml.replace("urn:schemas-upnp-org:device-1-0", "urn:Belkin:device-1-0");
+        xml = xml.replace("<modelName>uShare</modelName>", "<modelName>uShare & friends</modelName>");
+        xml = xml.replace("</UDN>", ":sensor:switch</UDN>");
+        xml = xml.replace("<device>", "<device><iconList><icon><mimetype>jpg</mimetype><width>32</width>"
+                + "<height>32</height><depth>8</depth><url>/icon.jpg</url></icon></iconList>");
+
+        RemoteDevice device = new RemoteDevice(SampleData.createRemoteDeviceIdentity());
+        device = new RecoveringUDA10DeviceDescriptorBinderImpl().describe(device, xml);
+
+        assertEquals("uShare & friends", device.getDetails().getModelDetails().getModelName());
+        assertEquals("898f9738-d930-4db4-a3cf-00112fda1b23", device.getIdentity().getUdn().getIdentifierString());
+        assertEquals("image/jpeg", device.getIcons()[0].getMimeType().toString());
+        assertEquals(1, device.getDetails().getDlnaDocs().length);
+    }
+
+    @Test
+    void readRecoveringTruncated() throws Exception {
+        String xml = IO.readLines(getClass().getResourceAsStream("/invalidxml/device/ushare.xml"));
+        String truncated = xml.substring(0, xml.indexOf("</serviceList>"));
+        RemoteDevice device = new RemoteDevice(SampleData.createRemoteDeviceIdentity());
+        assertThrows(DescriptorBindingException.class,
+                () -> new RecoveringUDA10DeviceDescriptorBinderImpl().describe(device, truncated));
+    }
+
+    @Test
+    void readRecoveringWithOverriddenFix() throws Exception {
+        String xml = IO.readLines(getClass().getResourceAsStream("/invalidxml/device/kodak.xml"));
+        String truncated = xml.substring(0, xml.lastIndexOf("</root>"));
+
+        // The single pass reader doesn't tolerate a truncated descriptor, the fallback calls the overridden fix
+        RecoveringUDA10DeviceDescriptorBinderImpl binder = new RecoveringUDA10DeviceDescriptorBinderImpl() {
+            @Override
+            protected String fixGarbageTrailingChars(String descriptorXml, DescriptorBindingException e) {
+                return descriptorXml + "</root>";
+            }
+        };
+        RemoteDevice device = binder.describe(new RemoteDevice(SampleData.createRemoteDeviceIdentity()), truncated);
+
+        assertEquals("Kodak Picture Transfer Service - TOMS-PC", device.getDetails().getFriendlyName());
+    }
+
     protected void readDevice(String invalidXMLFile, UpnpService upnpService) throws Exception {
         RemoteDevice device = new RemoteDevice(SampleData.createRemoteDeviceIdentity());
         upnpService.getConfiguration().getDeviceDescriptorBinderUDA10().describe(device,
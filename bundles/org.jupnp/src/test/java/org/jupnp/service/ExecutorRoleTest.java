@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.jupnp.DefaultUpnpServiceConfiguration;
+import org.jupnp.DefaultUpnpServiceConfiguration.ExecutorRole;
+import org.jupnp.DefaultUpnpServiceConfiguration.JUPnPExecutor;
+import org.jupnp.DefaultUpnpServiceConfiguration.RejectionPolicy;
+import org.jupnp.util.VirtualThreads;
+
+class ExecutorRoleTest {
+
+    @Test
+    void rolesHaveSeparatePools() throws Exception {
+        DefaultUpnpServiceConfiguration configuration = new DefaultUpnpServiceConfiguration();
+        try {
+            assertNotSame(configuration.getAsyncProtocolExecutor(), configuration.getSyncProtocolExecutorService());
+            assertNotSame(configuration.getRemoteListenerExecutor(), configuration.getRegistryListenerExecutor());
+            assertSame(configuration.getMulticastReceiverExecutor(), configuration.getDatagramIOExecutor());
+
+            AtomicReference<String> threadName = new AtomicReference<>();
+            CountDownLatch latch = new CountDownLatch(1);
+            configuration.getSyncProtocolExecutorService().execute(() -> {
+                threadName.set(Thread.currentThread().getName());
+                latch.countDown();
+            });
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertTrue(threadName.get().startsWith("jupnp-stream-"));
+
+            JUPnPExecutor stream = (JUPnPExecutor) configuration.getExecutorServices().get(ExecutorRole.STREAM);
+            assertNotNull(stream);
+            assertEquals("stream", stream.getName());
+        } finally {
+            configuration.shutdown();
+        }
+        for (ExecutorService executor : configuration.getExecutorServices().values()) {
+            assertTrue(executor.isShutdown());
+        }
+    }
+
+    @Test
+    void virtualThreadsFallBackToPools() throws Exception {
+        DefaultUpnpServiceConfiguration configuration = new DefaultUpnpServiceConfiguration() {
+            @Override
+            protected boolean isVirtualThreadsEnabled() {
+                return true;
+            }
+        };
+        try {
+            assertTrue(configuration.getMulticastReceiverExecutor() instanceof JUPnPExecutor);
+            assertEquals(!VirtualThreads.isSupported(),
+                    configuration.getSyncProtocolExecutorService() instanceof JUPnPExecutor);
+            assertEquals(!VirtualThreads.isSupported(),
+                    configuration.getRegistryListenerExecutor() instanceof JUPnPExecutor);
+        } finally {
+            configuration.shutdown();
+        }
+    }
+
+    @Test
+    void saturatedPoolRunsOnCaller() throws Exception {
+        JUPnPExecutor executor = new JUPnPExecutor("test", 1, 1, RejectionPolicy.CALLER_RUNS);
+        CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            executor.execute(() -> await(blocked));
+            executor.execute(() -> {
+            });
+
+            AtomicReference<Thread> thread = new AtomicReference<>();
+            executor.execute(() -> thread.set(Thread.currentThread()));
+            assertSame(Thread.currentThread(), thread.get());
+            assertEquals(1, executor.getCallerRunsCount());
+            assertEquals(0, executor.getRejectedCount());
+        } finally {
+            blocked.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void saturatedPoolDiscards() throws Exception {
+        JUPnPExecutor executor = new JUPnPExecutor("test", 1, 0, RejectionPolicy.DISCARD);
+        CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            executor.execute(() -> await(blocked));
+
+            AtomicReference<Thread> thread = new AtomicReference<>();
+            executor.execute(() -> thread.set(Thread.currentThread()));
+            assertNull(thread.get());
+            assertEquals(1, executor.getRejectedCount());
+            assertEquals(0, executor.getCallerRunsCount());
+        } finally {
+            blocked.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.jupnp.ScalingThreadPoolExecutor;
+
+/**
+ * Test class for the {@link ScalingThreadPoolExecutor}, its throughput compared with the
+ * {@link org.jupnp.QueueingThreadPoolExecutor} is measured by the <code>ThreadPoolExecutorBenchmark</code>.
+ */
+class ScalingThreadPoolExecutorTest {
+
+    @Test
+    void testCreateInstanceInvalidArgs() {
+        assertThrows(IllegalArgumentException.class, () -> ScalingThreadPoolExecutor.createInstance(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> ScalingThreadPoolExecutor.createInstance(" ", 1));
+        assertThrows(IllegalArgumentException.class, () -> ScalingThreadPoolExecutor.createInstance("test", 0));
+    }
+
+    @Test
+    void testThreadsAreAddedBeforeQueueing() throws InterruptedException {
+        ThreadPoolExecutor pool = ScalingThreadPoolExecutor.createInstance("testThreadsAreAddedBeforeQueueing", 2);
+        CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            pool.execute(() -> await(blocked));
+            pool.execute(() -> await(blocked));
+            assertEquals(2, pool.getPoolSize());
+            assertEquals(0, pool.getQueue().size());
+
+            pool.execute(() -> await(blocked));
+            pool.execute(() -> await(blocked));
+            assertEquals(2, pool.getPoolSize());
+            assertEquals(2, pool.getQueue().size());
+
+            blocked.countDown();
+            waitForCompletedTasks(pool, 4);
+            assertEquals(2, pool.getLargestPoolSize());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testIdleThreadIsReused() throws InterruptedException {
+        ThreadPoolExecutor pool = ScalingThreadPoolExecutor.createInstance("testIdleThreadIsReused", 10);
+        try {
+            for (int i = 1; i <= 10; i++) {
+                pool.execute(() -> {
+                });
+                waitForCompletedTasks(pool, i);
+                // Completed tasks are counted before the worker polls the queue again
+                waitForIdleWorker(pool);
+            }
+            assertEquals(1, pool.getLargestPoolSize());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testShutdownNoEntriesIntoQueueAnymore() throws InterruptedException {
+        ThreadPoolExecutor pool = ScalingThreadPoolExecutor.createInstance("testShutdownNoEntriesIntoQueueAnymore",
+                1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            pool.execute(() -> await(blocked));
+            pool.execute(() -> await(blocked));
+            assertEquals(1, pool.getQueue().size());
+
+            pool.shutdown();
+            pool.execute(() -> await(blocked));
+            assertEquals(1, pool.getQueue().size());
+        } finally {
+            blocked.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSetInvalidRejectionHandler() {
+        ThreadPoolExecutor pool = ScalingThreadPoolExecutor.createInstance("testSetInvalidRejectionHandler", 2);
+        assertThrows(UnsupportedOperationException.class,
+                () -> pool.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy()));
+    }
+
+    @Test
+    void testConcurrentProducersNeverLoseTasks() throws InterruptedException {
+        ThreadPoolExecutor pool = ScalingThreadPoolExecutor.createInstance("testConcurrentProducersNeverLoseTasks",
+                4);
+        try {
+            int executed = runBurst(pool, 8, 5000);
+            assertEquals(8 * 5000, executed);
+            assertTrue(pool.getLargestPoolSize() <= 4);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private int runBurst(ThreadPoolExecutor pool, int producers, int tasksPerProducer) throws InterruptedException {
+        AtomicInteger executed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers * tasksPerProducer);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < tasksPerProducer; i++) {
+                    pool.execute(() -> {
+                        executed.incrementAndGet();
+                        done.countDown();
+                    });
+                }
+            });
+            threads.add(producer);
+            producer.start();
+        }
+        for (Thread producer : threads) {
+            producer.join();
+        }
+        assertTrue(done.await(60, TimeUnit.SECONDS), "Tasks were lost, executed: " + executed.get());
+        return executed.get();
+    }
+
+    private void waitForCompletedTasks(ThreadPoolExecutor pool, long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (pool.getCompletedTaskCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, pool.getCompletedTaskCount());
+    }
+
+    private void waitForIdleWorker(ThreadPoolExecutor pool) throws InterruptedException {
+        LinkedTransferQueue<Runnable> queue = (LinkedTransferQueue<Runnable>) pool.getQueue();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!queue.hasWaitingConsumer() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(queue.hasWaitingConsumer());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.jupnp.mock.MockUpnpServiceConfiguration;
 import org.jupnp.model.ExpirationDetails;
 import org.jupnp.model.meta.RemoteDevice;
 import org.jupnp.model.resource.Resource;
+import org.jupnp.registry.RegistryImpl;
 
 class RegistryExpirationTest {
 
@@ -152,6 +153,30 @@ class RegistryExpirationTest {
         upnpService.shutdown();
     }
 
+    @Test
+    void maintenanceScheduledAtEarliestExpiration() throws Exception {
+        MockUpnpService upnpService = new MockUpnpService(false, true);
+        upnpService.startup();
+        RegistryImpl registry = (RegistryImpl) upnpService.getRegistry();
+
+        // Nothing expires, the maintainer sleeps
+        Thread.sleep(500);
+        assertTrue(registry.getScheduledMaintenanceMillis() - System.currentTimeMillis() > 10000);
+
+        // Adding a resource wakes it up, the next run is when the resource expires
+        Resource<String> resource = new Resource<>(URI.create("/this/is/a/test"), "foo");
+        registry.addResource(resource, 2);
+        Thread.sleep(1500);
+        long untilExpiration = registry.getScheduledMaintenanceMillis() - System.currentTimeMillis();
+        assertTrue(untilExpiration > 0 && untilExpiration <= 2000, "Scheduled in: " + untilExpiration);
+
+        Thread.sleep(2500);
+        assertEquals(0, registry.getResources().size());
+        assertTrue(registry.getScheduledMaintenanceMillis() - System.currentTimeMillis() > 10000);
+
+        upnpService.shutdown();
+    }
+
     protected static class TestRunnable implements Runnable {
         boolean wasExecuted = false;
 
@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.transport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.jupnp.mock.MockProtocolFactory;
+import org.jupnp.mock.MockUpnpServiceConfiguration;
+import org.jupnp.model.message.OutgoingDatagramMessage;
+import org.jupnp.model.message.StreamRequestMessage;
+import org.jupnp.model.message.StreamResponseMessage;
+import org.jupnp.model.message.UpnpRequest;
+import org.jupnp.model.message.UpnpResponse;
+import org.jupnp.transport.impl.NetworkAddressFactoryImpl;
+import org.jupnp.transport.spi.DatagramIO;
+import org.jupnp.transport.spi.DatagramIOConfiguration;
+import org.jupnp.transport.spi.DatagramProcessor;
+import org.jupnp.transport.spi.InitializationException;
+import org.jupnp.transport.spi.MulticastReceiver;
+import org.jupnp.transport.spi.NetworkAddressFactory;
+import org.jupnp.transport.spi.StreamClient;
+import org.jupnp.transport.spi.StreamClientConfiguration;
+import org.jupnp.transport.spi.StreamServer;
+
+class RouterImplTest {
+
+    @Test
+    void disableDrainsRequestsInFlight() throws Exception {
+        BlockingStreamClient streamClient = new BlockingStreamClient();
+        RouterImpl router = new RouterImpl(new TestConfiguration(streamClient), new MockProtocolFactory());
+        assertTrue(router.enable());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<StreamResponseMessage> inFlight = executor.submit(() -> router.send(createRequest()));
+            assertTrue(streamClient.requestStarted.await(5, TimeUnit.SECONDS));
+
+            // Doesn't wait for the router lock or the request in flight
+            Future<Boolean> disabled = executor.submit(() -> router.disable());
+            long deadline = System.currentTimeMillis() + 5000;
+            while (router.isEnabled() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertFalse(router.isEnabled());
+            assertNull(router.send(createRequest()));
+            assertEquals(1, streamClient.requests);
+            assertFalse(disabled.isDone());
+            assertFalse(streamClient.stopped);
+
+            streamClient.release.countDown();
+            assertEquals(UpnpResponse.Status.OK.getStatusCode(),
+                    inFlight.get(5, TimeUnit.SECONDS).getOperation().getStatusCode());
+            assertTrue(disabled.get(5, TimeUnit.SECONDS));
+            assertTrue(streamClient.stopped);
+            assertTrue(streamClient.stoppedAfterResponse);
+        } finally {
+            streamClient.release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void sendingDoesNotBlockEnabling() throws Exception {
+        BlockingStreamClient streamClient = new BlockingStreamClient();
+        RouterImpl router = new RouterImpl(new TestConfiguration(streamClient), new MockProtocolFactory());
+        assertTrue(router.enable());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<StreamResponseMessage> inFlight = executor.submit(() -> router.send(createRequest()));
+            assertTrue(streamClient.requestStarted.await(5, TimeUnit.SECONDS));
+
+            // Enabling again only needs the router lock, no sender holds it
+            assertFalse(router.enable());
+            assertTrue(router.getActiveStreamServers(null).isEmpty());
+
+            streamClient.release.countDown();
+            assertNotNull(inFlight.get(5, TimeUnit.SECONDS));
+            assertTrue(router.disable());
+            assertFalse(router.disable());
+        } finally {
+            streamClient.release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void refreshNetworkOnlyReplacesChangedTransports() throws Exception {
+        BlockingStreamClient streamClient = new BlockingStreamClient();
+        TestConfiguration configuration = new TestConfiguration(streamClient);
+        InetAddress first = InetAddress.getByName("127.0.0.1");
+        InetAddress second = InetAddress.getByName("127.0.0.2");
+        InetAddress third = InetAddress.getByName("127.0.0.3");
+        configuration.addresses.addAll(List.of(first, second));
+
+        RouterImpl router = new RouterImpl(configuration, new MockProtocolFactory());
+        assertTrue(router.enable());
+        assertFalse(router.refreshNetwork());
+        Map<InetAddress, DatagramIO> before = router.transports.datagramIOs;
+        assertEquals(Set.of(first, second), before.keySet());
+
+        configuration.addresses.remove(first);
+        configuration.addresses.add(third);
+        assertTrue(router.refreshNetwork());
+        Map<InetAddress, DatagramIO> after = router.transports.datagramIOs;
+        assertEquals(Set.of(second, third), after.keySet());
+
+        assertTrue(((StubDatagramIO) before.get(first)).stopped);
+        assertSame(before.get(second), after.get(second));
+        assertFalse(((StubDatagramIO) after.get(second)).stopped);
+        assertFalse(((StubDatagramIO) after.get(third)).stopped);
+        assertTrue(router.isEnabled());
+        assertFalse(streamClient.stopped);
+
+        assertFalse(router.refreshNetwork());
+        assertTrue(router.disable());
+        assertTrue(((StubDatagramIO) after.get(third)).stopped);
+        assertTrue(streamClient.stopped);
+        assertFalse(router.refreshNetwork());
+    }
+
+    @Test
+    void refreshNetworkRetriesFailedTransports() throws Exception {
+        BlockingStreamClient streamClient = new BlockingStreamClient();
+        TestConfiguration configuration = new TestConfiguration(streamClient);
+        InetAddress first = InetAddress.getByName("127.0.0.1");
+        InetAddress second = InetAddress.getByName("127.0.0.2");
+        configuration.addresses.add(first);
+
+        RouterImpl router = new RouterImpl(configuration, new MockProtocolFactory());
+        assertTrue(router.enable());
+
+        configuration.addresses.add(second);
+        configuration.failingAddress = second;
+        assertTrue(router.refreshNetwork());
+        assertEquals(Set.of(first), router.getDatagramIOs().keySet());
+
+        // The factory already knows the new address, the transports are started anyway
+        configuration.failingAddress = null;
+        assertTrue(router.refreshNetwork());
+        assertEquals(Set.of(first, second), router.getDatagramIOs().keySet());
+        assertFalse(router.refreshNetwork());
+        assertTrue(router.disable());
+    }
+
+    private static StreamRequestMessage createRequest() {
+        return new StreamRequestMessage(UpnpRequest.Method.GET, URI.create("http://127.0.0.1:1/test"));
+    }
+
+    private static class TestConfiguration extends MockUpnpServiceConfiguration {
+
+        private final StreamClient<?> streamClient;
+        // The bind addresses discovered by the network address factory, a stub DatagramIO is created for each
+        final List<InetAddress> addresses = new CopyOnWriteArrayList<>();
+        // Initializing the DatagramIO of this address fails
+        volatile InetAddress failingAddress;
+
+        TestConfiguration(StreamClient<?> streamClient) {
+            super(false, true);
+            this.streamClient = streamClient;
+        }
+
+        @Override
+        protected NetworkAddressFactory createNetworkAddressFactory(int streamListenPort, int multicastResponsePort) {
+            if (addresses.isEmpty()) {
+                return super.createNetworkAddressFactory(streamListenPort, multicastResponsePort);
+            }
+            return new NetworkAddressFactoryImpl(streamListenPort, multicastResponsePort) {
+                @Override
+                protected void discoverNetworkInterfaces() throws InitializationException {
+                    try {
+                        networkInterfaces.add(NetworkInterface.getByInetAddress(InetAddress.getLoopbackAddress()));
+                    } catch (SocketException e) {
+                        throw new InitializationException("No loopback interface", e);
+                    }
+                }
+
+                @Override
+                protected void discoverBindAddresses() {
+                    bindAddresses.addAll(addresses);
+                }
+            };
+        }
+
+        @Override
+        public StreamClient<?> createStreamClient() {
+            return streamClient;
+        }
+
+        @Override
+        public MulticastReceiver<?> createMulticastReceiver(NetworkAddressFactory networkAddressFactory) {
+            return null;
+        }
+
+        @Override
+        public DatagramIO<?> createDatagramIO(NetworkAddressFactory networkAddressFactory) {
+            return addresses.isEmpty() ? null : new StubDatagramIO(failingAddress);
+        }
+
+        @Override
+        public StreamServer<?> createStreamServer(NetworkAddressFactory networkAddressFactory) {
+            return null;
+        }
+    }
+
+    private static class StubDatagramIO implements DatagramIO<DatagramIOConfiguration> {
+
+        private final InetAddress failingAddress;
+        volatile boolean stopped;
+
+        StubDatagramIO(InetAddress failingAddress) {
+            this.failingAddress = failingAddress;
+        }
+
+        @Override
+        public void init(InetAddress bindAddress, int bindPort, Router router, DatagramProcessor datagramProcessor)
+                throws InitializationException {
+            if (bindAddress.equals(failingAddress)) {
+                throw new InitializationException("Can't bind: " + bindAddress);
+            }
+        }
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public void stop() {
+            stopped = true;
+        }
+
+        @Override
+        public DatagramIOConfiguration getConfiguration() {
+            return null;
+        }
+
+        @Override
+        public void send(OutgoingDatagramMessage message) {
+        }
+
+        @Override
+        public void send(DatagramPacket datagram) {
+        }
+    }
+
+    private static class BlockingStreamClient implements StreamClient<StreamClientConfiguration> {
+
+        final CountDownLatch requestStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile int requests;
+        volatile boolean responded;
+        volatile boolean stopped;
+        volatile boolean stoppedAfterResponse;
+
+        @Override
+        public StreamResponseMessage sendRequest(StreamRequestMessage message) throws InterruptedException {
+            requests++;
+            requestStarted.countDown();
+            release.await();
+            responded = true;
+            return new StreamResponseMessage(UpnpResponse.Status.OK);
+        }
+
+        @Override
+        public void stop() {
+            stoppedAfterResponse = responded;
+            stopped = true;
+        }
+
+        @Override
+        public StreamClientConfiguration getConfiguration() {
+            return null;
+        }
+    }
+}
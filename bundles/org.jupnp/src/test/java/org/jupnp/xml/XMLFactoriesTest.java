@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.xml;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+class XMLFactoriesTest {
+
+    @Test
+    void factoriesReusedPerThread() throws Exception {
+        DocumentBuilderFactory factory = XMLFactories.getDocumentBuilderFactory();
+        assertSame(factory, XMLFactories.getDocumentBuilderFactory());
+        assertTrue(factory.isNamespaceAware());
+        assertSame(XMLFactories.getTransformerFactory(), XMLFactories.getTransformerFactory());
+        assertSame(XMLFactories.getXPathFactory(), XMLFactories.getXPathFactory());
+
+        AtomicReference<DocumentBuilderFactory> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> other.set(XMLFactories.getDocumentBuilderFactory()));
+        thread.start();
+        thread.join();
+        assertNotNull(other.get());
+        assertNotSame(factory, other.get());
+    }
+
+    @Test
+    void documentsAreIndependent() throws Exception {
+        Document first = XMLFactories.newDocument();
+        Document second = XMLFactories.newDocument();
+        assertNotSame(first, second);
+        first.appendChild(first.createElementNS("urn:test", "t:root"));
+        assertNull(second.getDocumentElement());
+        assertEquals("urn:test", first.getDocumentElement().getNamespaceURI());
+    }
+
+    @Test
+    void namespaceAwareReader() throws Exception {
+        XMLReader reader = XMLFactories.newXMLReader(null);
+        AtomicReference<String> uri = new AtomicReference<>();
+        reader.setContentHandler(new DefaultHandler() {
+            @Override
+            public void startElement(String namespaceURI, String localName, String qName,
+                    Attributes attributes) {
+                uri.set(namespaceURI + " " + localName);
+            }
+        });
+        reader.parse(new InputSource(new StringReader("<t:root xmlns:t=\"urn:test\"/>")));
+        assertEquals("urn:test root", uri.get());
+    }
+
+    @Test
+    void schemaCompiledOnce() {
+        String xsd = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">"
+                + "<xs:element name=\"root\" type=\"xs:string\"/></xs:schema>";
+        AtomicInteger compiled = new AtomicInteger();
+        Object key = new Object();
+        Schema schema = XMLFactories.getSchema(key, () -> {
+            compiled.incrementAndGet();
+            return XMLFactories.newSchema(new Source[] { new StreamSource(new StringReader(xsd)) });
+        });
+        assertNotNull(schema);
+        assertSame(schema, XMLFactories.getSchema(key, () -> {
+            compiled.incrementAndGet();
+            return null;
+        }));
+        assertEquals(1, compiled.get());
+
+        Object noSchema = new Object();
+        assertNull(XMLFactories.getSchema(noSchema, () -> {
+            compiled.incrementAndGet();
+            return null;
+        }));
+        assertNull(XMLFactories.getSchema(noSchema, () -> {
+            compiled.incrementAndGet();
+            return null;
+        }));
+        assertEquals(2, compiled.get());
+
+        assertSame(XMLFactories.getDocumentBuilderFactory(schema), XMLFactories.getDocumentBuilderFactory(schema));
+        assertSame(schema, XMLFactories.getDocumentBuilderFactory(schema).getSchema());
+    }
+
+    @Test
+    void factoriesOfOtherSchemasNotCached() {
+        String xsd = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">"
+                + "<xs:element name=\"root\" type=\"xs:string\"/></xs:schema>";
+        Schema schema = XMLFactories.newSchema(new Source[] { new StreamSource(new StringReader(xsd)) });
+
+        // Not compiled with getSchema(), so the thread doesn't keep it
+        DocumentBuilderFactory factory = XMLFactories.getDocumentBuilderFactory(schema);
+        assertSame(schema, factory.getSchema());
+        assertNotSame(factory, XMLFactories.getDocumentBuilderFactory(schema));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+
+import org.jupnp.UpnpService;
+import org.jupnp.UpnpServiceConfiguration;
+import org.jupnp.binding.annotations.AnnotationLocalServiceBinder;
+import org.jupnp.binding.xml.UDA10DeviceDescriptorBinderImpl;
+import org.jupnp.binding.xml.UDA10ServiceDescriptorBinderImpl;
+import org.jupnp.controlpoint.ControlPoint;
+import org.jupnp.model.DefaultServiceManager;
+import org.jupnp.model.meta.DeviceDetails;
+import org.jupnp.model.meta.DeviceIdentity;
+import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.model.meta.RemoteDevice;
+import org.jupnp.model.meta.RemoteDeviceIdentity;
+import org.jupnp.model.meta.RemoteService;
+import org.jupnp.model.types.UDADeviceType;
+import org.jupnp.model.types.UDAServiceId;
+import org.jupnp.model.types.UDAServiceType;
+import org.jupnp.model.types.UDN;
+import org.jupnp.protocol.ProtocolFactory;
+import org.jupnp.registry.Registry;
+import org.jupnp.transport.Router;
+import org.jupnp.util.io.IO;
+
+/**
+ * Fixtures and device models shared by the benchmarks.
+ * <p>
+ * The descriptors are the XML fixtures of the core bundle tests, copied to <code>/descriptors</code> on the
+ * classpath by the build.
+ * </p>
+ */
+public class BenchmarkData {
+
+    public static final String DEVICE_DESCRIPTOR = "/descriptors/device/uda10.xml";
+    public static final String SERVICE_DESCRIPTOR = "/descriptors/service/uda10.xml";
+
+    public static String readResource(String name) {
+        try (InputStream is = BenchmarkData.class.getResourceAsStream(name)) {
+            if (is == null) {
+                throw new IllegalStateException("Missing benchmark fixture: " + name);
+            }
+            return IO.readLines(is);
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't read benchmark fixture: " + name, e);
+        }
+    }
+
+    public static URL getBaseURL() {
+        try {
+            return new URL("http://127.0.0.1:8081/");
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static RemoteDeviceIdentity createRemoteDeviceIdentity(UDN udn) {
+        try {
+            return new RemoteDeviceIdentity(udn, 1800, new URL(getBaseURL(), "/description.xml"), null,
+                    InetAddress.getLoopbackAddress());
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return The root device of the device descriptor fixture, without hydrated services.
+     */
+    public static RemoteDevice createDescribedRemoteDevice() throws Exception {
+        RemoteDevice undescribed = new RemoteDevice(createRemoteDeviceIdentity(new UDN("MY-DEVICE-123")));
+        return new UDA10DeviceDescriptorBinderImpl().describe(undescribed, readResource(DEVICE_DESCRIPTOR));
+    }
+
+    /**
+     * @return The first service of the device descriptor fixture, hydrated with the service descriptor fixture.
+     */
+    public static RemoteService createHydratedRemoteService() throws Exception {
+        RemoteService undescribed = createDescribedRemoteDevice().getServices()[0];
+        return new UDA10ServiceDescriptorBinderImpl().describe(undescribed, readResource(SERVICE_DESCRIPTOR));
+    }
+
+    /**
+     * @return A minimal remote device with a single undescribed service.
+     */
+    public static RemoteDevice createRemoteDevice(UDN udn) throws Exception {
+        RemoteService service = new RemoteService(new UDAServiceType("SwitchPower", 1),
+                new UDAServiceId("SwitchPower"), URI.create("/service.xml"), URI.create("/control"),
+                URI.create("/event"));
+        return new RemoteDevice(createRemoteDeviceIdentity(udn), new UDADeviceType("BinaryLight", 1),
+                new DeviceDetails("Benchmark Light " + udn.getIdentifierString()), service);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static LocalService<SwitchPower> createLocalService() {
+        LocalService<SwitchPower> service = new AnnotationLocalServiceBinder().read(SwitchPower.class);
+        service.setManager(new DefaultServiceManager<>(service, SwitchPower.class));
+        return service;
+    }
+
+    public static LocalDevice createLocalDevice() throws Exception {
+        return new LocalDevice(new DeviceIdentity(UDN.uniqueSystemIdentifier("jUPnP Benchmark")),
+                new UDADeviceType("BinaryLight", 1), new DeviceDetails("Benchmark Light"), createLocalService());
+    }
+
+    /**
+     * A UPnP service which only provides the configuration, enough for a registry without network.
+     */
+    public static class ConfigurationOnlyUpnpService implements UpnpService {
+
+        private final UpnpServiceConfiguration configuration;
+
+        public ConfigurationOnlyUpnpService(UpnpServiceConfiguration configuration) {
+            this.configuration = configuration;
+        }
+
+        @Override
+        public UpnpServiceConfiguration getConfiguration() {
+            return configuration;
+        }
+
+        @Override
+        public ControlPoint getControlPoint() {
+            return null;
+        }
+
+        @Override
+        public ProtocolFactory getProtocolFactory() {
+            return null;
+        }
+
+        @Override
+        public Registry getRegistry() {
+            return null;
+        }
+
+        @Override
+        public Router getRouter() {
+            return null;
+        }
+
+        @Override
+        public void shutdown() {
+            configuration.shutdown();
+        }
+
+        @Override
+        public void startup() {
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jupnp.support.contentdirectory.DIDLParser;
+import org.jupnp.support.model.DIDLContent;
+import org.jupnp.support.model.Res;
+import org.jupnp.support.model.item.MusicTrack;
+import org.jupnp.util.MimeType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing and generation of DIDL-Lite content, as returned by a ContentDirectory browse, with a varying number of
+ * items.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DIDLParserBenchmark {
+
+    @Param({ "1", "50", "500" })
+    public int items;
+
+    private DIDLParser parser;
+    private DIDLContent content;
+    private String xml;
+
+    @Setup
+    public void setup() throws Exception {
+        parser = new DIDLParser();
+        content = new DIDLContent();
+        for (int i = 0; i < items; i++) {
+            content.addItem(new MusicTrack("track-" + i, "album-1", "Track " + i, "Artist", "Album", "Artist",
+                    new Res(new MimeType("audio", "mpeg"), 4000000L, "0:03:20.000", 128000L,
+                            "http://192.168.1.10:8081/media/track-" + i + ".mp3")));
+        }
+        xml = parser.generate(content);
+    }
+
+    @Benchmark
+    public DIDLContent parse() throws Exception {
+        return parser.parse(xml);
+    }
+
+    @Benchmark
+    public String generate() throws Exception {
+        return parser.generate(content);
+    }
+}
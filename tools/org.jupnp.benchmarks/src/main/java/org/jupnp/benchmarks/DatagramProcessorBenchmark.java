@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.benchmarks;
+
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.jupnp.model.message.IncomingDatagramMessage;
+import org.jupnp.model.message.discovery.OutgoingSearchRequest;
+import org.jupnp.model.message.header.STAllHeader;
+import org.jupnp.transport.impl.DatagramProcessorImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading and writing of SSDP datagrams, done for every NOTIFY and M-SEARCH on the network.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DatagramProcessorBenchmark {
+
+    public static final String NOTIFY = "NOTIFY * HTTP/1.1\r\n" //
+            + "HOST: 239.255.255.250:1900\r\n" //
+            + "CACHE-CONTROL: max-age=1800\r\n" //
+            + "LOCATION: http://192.168.1.10:8081/dev/MY-DEVICE-123/desc\r\n" //
+            + "NT: urn:schemas-upnp-org:service:SwitchPower:1\r\n" //
+            + "NTS: ssdp:alive\r\n" //
+            + "SERVER: Linux/5.10 UPnP/1.0 jUPnP/3.0\r\n" //
+            + "USN: uuid:MY-DEVICE-123::urn:schemas-upnp-org:service:SwitchPower:1\r\n" //
+            + "\r\n";
+
+    private DatagramProcessorImpl processor;
+    private InetAddress receivedOnAddress;
+    private DatagramPacket notifyPacket;
+    private OutgoingSearchRequest searchRequest;
+
+    @Setup
+    public void setup() throws Exception {
+        processor = new DatagramProcessorImpl();
+        receivedOnAddress = InetAddress.getLoopbackAddress();
+        byte[] bytes = NOTIFY.getBytes(StandardCharsets.US_ASCII);
+        notifyPacket = new DatagramPacket(bytes, bytes.length, InetAddress.getByName("192.168.1.10"), 1900);
+        searchRequest = new OutgoingSearchRequest(new STAllHeader(), 3);
+    }
+
+    @Benchmark
+    public IncomingDatagramMessage read() throws Exception {
+        return processor.read(receivedOnAddress, notifyPacket);
+    }
+
+    @Benchmark
+    public DatagramPacket write() throws Exception {
+        return processor.write(searchRequest);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jupnp.model.types.Datatype;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversion of state variable and action argument values of the built-in datatypes, as done for every SOAP
+ * argument and GENA event property. The canonical values take the fast path, the lenient values (time zone with a
+ * colon, leading whitespace, negative unsigned) show the cost of the fallback.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DatatypeBenchmark {
+
+    @Param({ "ui4", "i4", "boolean", "dateTime", "dateTime.tz" })
+    public String type;
+
+    @Param({ "true", "false" })
+    public boolean canonical;
+
+    private Datatype<Object> datatype;
+    private String string;
+    private Object value;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        datatype = (Datatype<Object>) Datatype.Builtin.getByDescriptorName(type).getDatatype();
+        switch (type) {
+            case "ui4":
+                string = canonical ? "4294967" : " -1";
+                break;
+            case "i4":
+                string = canonical ? "-123456" : " 123456 ";
+                break;
+            case "boolean":
+                string = canonical ? "1" : "True";
+                break;
+            case "dateTime":
+                string = canonical ? "2010-11-03T08:09:10" : "2010-1-3T8:09:10";
+                break;
+            default:
+                string = canonical ? "2010-11-03T08:09:10+0100" : "2010-11-03T08:09:10+01:00";
+        }
+        value = datatype.valueOf(string);
+    }
+
+    @Benchmark
+    public Object valueOf() throws Exception {
+        return datatype.valueOf(string);
+    }
+
+    @Benchmark
+    public String getString() throws Exception {
+        return datatype.getString(value);
+    }
+
+    @Benchmark
+    public Datatype.Default getByJavaType() {
+        return Datatype.Default.getByJavaType(value.getClass());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jupnp.binding.xml.DeviceDescriptorTemplate;
+import org.jupnp.binding.xml.RecoveringUDA10DeviceDescriptorBinderImpl;
+import org.jupnp.binding.xml.UDA10DeviceDescriptorBinderImpl;
+import org.jupnp.binding.xml.UDA10DeviceDescriptorBinderSAXImpl;
+import org.jupnp.model.Namespace;
+import org.jupnp.model.meta.DeviceDetails;
+import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.meta.RemoteDevice;
+import org.jupnp.model.meta.RemoteDeviceIdentity;
+import org.jupnp.model.types.UDN;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading of the device descriptor fixture and generation of a local device descriptor, with each binder variant.
+ * The generation is compared with the rendering of a template.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeviceDescriptorBinderBenchmark {
+
+    @Param({ "DOM", "SAX", "RECOVERING" })
+    public String binderType;
+
+    private UDA10DeviceDescriptorBinderImpl binder;
+    private String descriptor;
+    private RemoteDeviceIdentity identity;
+    private LocalDevice localDevice;
+    private Namespace namespace;
+    private DeviceDescriptorTemplate template;
+    private List<DeviceDetails> details;
+
+    @Setup
+    public void setup() throws Exception {
+        switch (binderType) {
+            case "SAX":
+                binder = new UDA10DeviceDescriptorBinderSAXImpl();
+                break;
+            case "RECOVERING":
+                binder = new RecoveringUDA10DeviceDescriptorBinderImpl();
+                break;
+            default:
+                binder = new UDA10DeviceDescriptorBinderImpl();
+                break;
+        }
+        descriptor = BenchmarkData.readResource(BenchmarkData.DEVICE_DESCRIPTOR);
+        identity = BenchmarkData.createRemoteDeviceIdentity(new UDN("MY-DEVICE-123"));
+        localDevice = BenchmarkData.createLocalDevice();
+        namespace = new Namespace();
+        template = binder.generateTemplate(localDevice, namespace);
+        details = List.of(localDevice.getDetails(null));
+    }
+
+    @Benchmark
+    public RemoteDevice describe() throws Exception {
+        return binder.describe(new RemoteDevice(identity), descriptor);
+    }
+
+    @Benchmark
+    public String generate() throws Exception {
+        return binder.generate(localDevice, null, namespace);
+    }
+
+    @Benchmark
+    public byte[] renderTemplate() throws Exception {
+        return template.render(localDevice, details);
+    }
+}
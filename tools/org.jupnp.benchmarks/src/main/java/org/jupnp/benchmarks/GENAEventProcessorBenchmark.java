@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jupnp.model.gena.CancelReason;
+import org.jupnp.model.gena.LocalGENASubscription;
+import org.jupnp.model.message.StreamRequestMessage;
+import org.jupnp.model.message.gena.IncomingEventRequestMessage;
+import org.jupnp.model.message.gena.OutgoingEventRequestMessage;
+import org.jupnp.model.meta.RemoteService;
+import org.jupnp.transport.impl.GENAEventProcessorImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writing of event messages for subscribers of a local service, and reading of event messages of a remote service.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GENAEventProcessorBenchmark {
+
+    private GENAEventProcessorImpl processor;
+    private OutgoingEventRequestMessage outgoingEvent;
+    private StreamRequestMessage incomingEvent;
+    private RemoteService remoteService;
+
+    @Setup
+    public void setup() throws Exception {
+        processor = new GENAEventProcessorImpl();
+
+        LocalGENASubscription subscription = new LocalGENASubscription(BenchmarkData.createLocalService(), 1800,
+                List.of(BenchmarkData.getBaseURL())) {
+            @Override
+            public void ended(CancelReason reason) {
+            }
+
+            @Override
+            public void established() {
+            }
+
+            @Override
+            public void eventReceived() {
+            }
+        };
+        outgoingEvent = new OutgoingEventRequestMessage(subscription, subscription.getCallbackURLs().get(0));
+        processor.writeBody(outgoingEvent);
+        incomingEvent = new StreamRequestMessage(outgoingEvent);
+        remoteService = BenchmarkData.createHydratedRemoteService();
+    }
+
+    @Benchmark
+    public OutgoingEventRequestMessage write() throws Exception {
+        processor.writeBody(outgoingEvent);
+        return outgoingEvent;
+    }
+
+    @Benchmark
+    public IncomingEventRequestMessage read() throws Exception {
+        IncomingEventRequestMessage request = new IncomingEventRequestMessage(incomingEvent, remoteService);
+        processor.readBody(request);
+        return request;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.benchmarks;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.jupnp.DefaultUpnpServiceConfiguration;
+import org.jupnp.model.ServiceReference;
+import org.jupnp.model.meta.Device;
+import org.jupnp.model.meta.RemoteDevice;
+import org.jupnp.model.meta.Service;
+import org.jupnp.model.types.ServiceType;
+import org.jupnp.model.types.UDAServiceId;
+import org.jupnp.model.types.UDAServiceType;
+import org.jupnp.model.types.UDN;
+import org.jupnp.registry.RegistryImpl;
+import org.jupnp.registry.RegistryMaintainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups in a registry with a varying number of remote devices, without network and registry maintenance.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistryBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int devices;
+
+    private DefaultUpnpServiceConfiguration configuration;
+    private RegistryImpl registry;
+    private UDN[] udns;
+    private ServiceReference[] serviceReferences;
+    private ServiceType serviceType;
+
+    @Setup
+    public void setup() throws Exception {
+        configuration = new DefaultUpnpServiceConfiguration();
+        registry = new RegistryImpl(new BenchmarkData.ConfigurationOnlyUpnpService(configuration)) {
+            @Override
+            protected RegistryMaintainer createRegistryMaintainer() {
+                return null;
+            }
+        };
+        udns = new UDN[devices];
+        serviceReferences = new ServiceReference[devices];
+        for (int i = 0; i < devices; i++) {
+            udns[i] = new UDN("bench-device-" + i);
+            RemoteDevice device = BenchmarkData.createRemoteDevice(udns[i]);
+            registry.addDevice(device);
+            serviceReferences[i] = new ServiceReference(udns[i], new UDAServiceId("SwitchPower"));
+        }
+        serviceType = new UDAServiceType("SwitchPower", 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.shutdown();
+        configuration.shutdown();
+    }
+
+    private int nextIndex() {
+        return ThreadLocalRandom.current().nextInt(devices);
+    }
+
+    @Benchmark
+    public RemoteDevice getRemoteDevice() {
+        return registry.getRemoteDevice(udns[nextIndex()], true);
+    }
+
+    @Benchmark
+    public Device getDevice() {
+        return registry.getDevice(udns[nextIndex()], false);
+    }
+
+    @Benchmark
+    public Service getService() {
+        return registry.getService(serviceReferences[nextIndex()]);
+    }
+
+    @Benchmark
+    public Collection<Device> getDevicesByServiceType() {
+        return registry.getDevices(serviceType);
+    }
+}
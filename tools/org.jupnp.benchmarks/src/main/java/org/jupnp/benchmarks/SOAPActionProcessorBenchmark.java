@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jupnp.model.action.ActionInvocation;
+import org.jupnp.model.message.StreamRequestMessage;
+import org.jupnp.model.message.StreamResponseMessage;
+import org.jupnp.model.message.control.IncomingActionRequestMessage;
+import org.jupnp.model.message.control.IncomingActionResponseMessage;
+import org.jupnp.model.message.control.OutgoingActionRequestMessage;
+import org.jupnp.model.message.control.OutgoingActionResponseMessage;
+import org.jupnp.model.meta.Action;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.transport.impl.SOAPActionProcessorImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writing and reading of SOAP action requests and responses, on both sides of an action invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SOAPActionProcessorBenchmark {
+
+    private SOAPActionProcessorImpl processor;
+    private LocalService<SwitchPower> service;
+    private Action<LocalService> setTarget;
+    private Action<LocalService> getTarget;
+
+    private OutgoingActionRequestMessage outgoingRequest;
+    private ActionInvocation<LocalService> requestInvocation;
+    private StreamRequestMessage incomingRequest;
+
+    private OutgoingActionResponseMessage outgoingResponse;
+    private ActionInvocation<LocalService> responseInvocation;
+    private StreamResponseMessage incomingResponse;
+
+    @Setup
+    public void setup() throws Exception {
+        processor = new SOAPActionProcessorImpl();
+        service = BenchmarkData.createLocalService();
+        setTarget = service.getAction("SetTarget");
+        getTarget = service.getAction("GetTarget");
+
+        requestInvocation = new ActionInvocation<>(setTarget);
+        requestInvocation.setInput("NewTargetValue", true);
+        outgoingRequest = new OutgoingActionRequestMessage(requestInvocation, BenchmarkData.getBaseURL());
+        processor.writeBody(outgoingRequest, requestInvocation);
+        incomingRequest = new StreamRequestMessage(outgoingRequest);
+
+        responseInvocation = new ActionInvocation<>(getTarget);
+        responseInvocation.setOutput("RetTargetValue", true);
+        outgoingResponse = new OutgoingActionResponseMessage(getTarget);
+        processor.writeBody(outgoingResponse, responseInvocation);
+        incomingResponse = new StreamResponseMessage(outgoingResponse);
+    }
+
+    @Benchmark
+    public OutgoingActionRequestMessage writeRequest() throws Exception {
+        processor.writeBody(outgoingRequest, requestInvocation);
+        return outgoingRequest;
+    }
+
+    @Benchmark
+    public ActionInvocation<LocalService> readRequest() throws Exception {
+        IncomingActionRequestMessage request = new IncomingActionRequestMessage(incomingRequest, service);
+        ActionInvocation<LocalService> invocation = new ActionInvocation<>(setTarget);
+        processor.readBody(request, invocation);
+        return invocation;
+    }
+
+    @Benchmark
+    public OutgoingActionResponseMessage writeResponse() throws Exception {
+        processor.writeBody(outgoingResponse, responseInvocation);
+        return outgoingResponse;
+    }
+
+    @Benchmark
+    public ActionInvocation<LocalService> readResponse() throws Exception {
+        IncomingActionResponseMessage response = new IncomingActionResponseMessage(incomingResponse);
+        ActionInvocation<LocalService> invocation = new ActionInvocation<>(getTarget);
+        processor.readBody(response, invocation);
+        return invocation;
+    }
+}
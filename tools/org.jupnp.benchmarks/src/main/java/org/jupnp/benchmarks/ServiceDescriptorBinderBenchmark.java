@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jupnp.binding.xml.RecoveringUDA10ServiceDescriptorBinderImpl;
+import org.jupnp.binding.xml.RecoveringUDA10ServiceDescriptorBinderSAXImpl;
+import org.jupnp.binding.xml.ServiceDescriptorBinder;
+import org.jupnp.binding.xml.UDA10ServiceDescriptorBinderImpl;
+import org.jupnp.binding.xml.UDA10ServiceDescriptorBinderSAXImpl;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.model.meta.RemoteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hydration of a remote service with the service descriptor fixture and generation of a local service descriptor,
+ * with each binder variant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceDescriptorBinderBenchmark {
+
+    @Param({ "DOM", "SAX", "RECOVERING", "RECOVERING_SAX" })
+    public String binderType;
+
+    private ServiceDescriptorBinder binder;
+    private String descriptor;
+    private RemoteService undescribedService;
+    private LocalService<?> localService;
+
+    @Setup
+    public void setup() throws Exception {
+        switch (binderType) {
+            case "SAX":
+                binder = new UDA10ServiceDescriptorBinderSAXImpl();
+                break;
+            case "RECOVERING":
+                binder = new RecoveringUDA10ServiceDescriptorBinderImpl();
+                break;
+            case "RECOVERING_SAX":
+                binder = new RecoveringUDA10ServiceDescriptorBinderSAXImpl();
+                break;
+            default:
+                binder = new UDA10ServiceDescriptorBinderImpl();
+                break;
+        }
+        descriptor = BenchmarkData.readResource(BenchmarkData.SERVICE_DESCRIPTOR);
+        undescribedService = BenchmarkData.createDescribedRemoteDevice().getServices()[0];
+        // Generating the descriptor needs the device of the service
+        localService = BenchmarkData.createLocalDevice().getServices()[0];
+    }
+
+    @Benchmark
+    public RemoteService describe() throws Exception {
+        return binder.describe(undescribedService, descriptor);
+    }
+
+    @Benchmark
+    public String generate() throws Exception {
+        return binder.generate(localService);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.benchmarks;
+
+import org.jupnp.binding.annotations.UpnpAction;
+import org.jupnp.binding.annotations.UpnpInputArgument;
+import org.jupnp.binding.annotations.UpnpOutputArgument;
+import org.jupnp.binding.annotations.UpnpService;
+import org.jupnp.binding.annotations.UpnpServiceId;
+import org.jupnp.binding.annotations.UpnpServiceType;
+import org.jupnp.binding.annotations.UpnpStateVariable;
+
+/**
+ * The local service used by the benchmarks, the same as in the descriptor fixtures.
+ */
+@UpnpService(serviceId = @UpnpServiceId("SwitchPower"), serviceType = @UpnpServiceType(value = "SwitchPower", version = 1))
+public class SwitchPower {
+
+    @UpnpStateVariable(defaultValue = "0", sendEvents = false)
+    private boolean target = false;
+
+    @UpnpStateVariable(defaultValue = "0")
+    private boolean status = false;
+
+    @UpnpAction
+    public void setTarget(@UpnpInputArgument(name = "NewTargetValue") boolean newTargetValue) {
+        target = newTargetValue;
+        status = newTargetValue;
+    }
+
+    @UpnpAction(out = @UpnpOutputArgument(name = "RetTargetValue"))
+    public boolean getTarget() {
+        return target;
+    }
+
+    @UpnpAction(out = @UpnpOutputArgument(name = "ResultStatus"))
+    public boolean getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jupnp.QueueingThreadPoolExecutor;
+import org.jupnp.ScalingThreadPoolExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bursts of short tasks from concurrent producers, like the startup of openHAB with many things, on the
+ * {@link QueueingThreadPoolExecutor} and the {@link ScalingThreadPoolExecutor}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadPoolExecutorBenchmark {
+
+    static final int POOL_SIZE = 10;
+    static final int BURST_SIZE = 1000;
+
+    @Param({ "queueing", "scaling" })
+    public String executor;
+
+    private ThreadPoolExecutor pool;
+
+    @Setup
+    public void setup() {
+        pool = "scaling".equals(executor) ? ScalingThreadPoolExecutor.createInstance("benchmark", POOL_SIZE)
+                : QueueingThreadPoolExecutor.createInstance("benchmark", POOL_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Every producer thread submits a burst of tasks and waits until they are executed.
+     */
+    @Benchmark
+    @Threads(8)
+    @OperationsPerInvocation(BURST_SIZE)
+    public void burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(BURST_SIZE);
+        for (int i = 0; i < BURST_SIZE; i++) {
+            pool.execute(done::countDown);
+        }
+        done.await();
+    }
+}
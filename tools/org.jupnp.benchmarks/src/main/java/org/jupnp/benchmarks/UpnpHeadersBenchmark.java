@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.jupnp.model.message.UpnpHeaders;
+import org.jupnp.model.message.header.UpnpHeader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of raw HTTP headers, and conversion of header values into typed {@link UpnpHeader}s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UpnpHeadersBenchmark {
+
+    @Param({ "USN", "NT", "LOCATION", "MAX_AGE", "SERVER" })
+    public String headerType;
+
+    private byte[] headerBytes;
+    private UpnpHeader.Type type;
+    private String headerValue;
+
+    @Setup
+    public void setup() {
+        String notify = DatagramProcessorBenchmark.NOTIFY;
+        // Only the header lines, without the start line
+        headerBytes = notify.substring(notify.indexOf("\r\n") + 2).getBytes(StandardCharsets.US_ASCII);
+        type = UpnpHeader.Type.valueOf(headerType);
+        switch (type) {
+            case USN:
+                headerValue = "uuid:MY-DEVICE-123::urn:schemas-upnp-org:service:SwitchPower:1";
+                break;
+            case NT:
+                headerValue = "urn:schemas-upnp-org:service:SwitchPower:1";
+                break;
+            case LOCATION:
+                headerValue = "http://192.168.1.10:8081/dev/MY-DEVICE-123/desc";
+                break;
+            case MAX_AGE:
+                headerValue = "max-age=1800";
+                break;
+            default:
+                headerValue = "Linux/5.10 UPnP/1.0 jUPnP/3.0";
+                break;
+        }
+    }
+
+    @Benchmark
+    public UpnpHeaders parse() {
+        return new UpnpHeaders(new ByteArrayInputStream(headerBytes));
+    }
+
+    @Benchmark
+    public UpnpHeader parseAndGetTyped() {
+        return new UpnpHeaders(new ByteArrayInputStream(headerBytes)).getFirstHeader(type);
+    }
+
+    @Benchmark
+    public UpnpHeader newInstance() {
+        return UpnpHeader.newInstance(type, headerValue);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.benchmarks;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.jupnp.xml.XMLFactories;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+/**
+ * Per-document overhead of the JAXP factories: a new factory for every document, like the parsers did before, or
+ * the shared factories of {@link XMLFactories}. The document is the service descriptor fixture.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class XMLFactoriesBenchmark {
+
+    @Param({ "NEW_INSTANCE", "SHARED" })
+    public String factories;
+
+    private String descriptor;
+    private Document document;
+
+    @Setup
+    public void setup() throws Exception {
+        descriptor = BenchmarkData.readResource(BenchmarkData.SERVICE_DESCRIPTOR);
+        document = XMLFactories.newDocumentBuilder().parse(new InputSource(new StringReader(descriptor)));
+    }
+
+    @Benchmark
+    public Document parse() throws Exception {
+        return newDocumentBuilder().parse(new InputSource(new StringReader(descriptor)));
+    }
+
+    @Benchmark
+    public Document newDocument() throws Exception {
+        if ("SHARED".equals(factories)) {
+            return XMLFactories.newDocument();
+        }
+        return newDocumentBuilder().newDocument();
+    }
+
+    @Benchmark
+    public String transform() throws Exception {
+        Transformer transformer = "SHARED".equals(factories) ? XMLFactories.newTransformer()
+                : TransformerFactory.newInstance().newTransformer();
+        StringWriter out = new StringWriter();
+        transformer.transform(new DOMSource(document), new StreamResult(out));
+        return out.toString();
+    }
+
+    private DocumentBuilder newDocumentBuilder() throws Exception {
+        if ("SHARED".equals(factories)) {
+            return XMLFactories.newDocumentBuilder();
+        }
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder();
+    }
+}
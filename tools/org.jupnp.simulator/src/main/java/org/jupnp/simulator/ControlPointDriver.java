@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jupnp.UpnpService;
+import org.jupnp.UpnpServiceImpl;
+import org.jupnp.controlpoint.ActionCallback;
+import org.jupnp.controlpoint.SubscriptionCallback;
+import org.jupnp.metrics.InMemoryUpnpServiceMetrics;
+import org.jupnp.model.action.ActionInvocation;
+import org.jupnp.model.gena.CancelReason;
+import org.jupnp.model.gena.GENASubscription;
+import org.jupnp.model.message.UpnpResponse;
+import org.jupnp.model.meta.RemoteDevice;
+import org.jupnp.model.meta.RemoteService;
+import org.jupnp.model.state.StateVariableValue;
+import org.jupnp.model.types.UDN;
+import org.jupnp.registry.DefaultRegistryListener;
+import org.jupnp.registry.Registry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The control point of a simulation, a {@link UpnpService} with {@link InMemoryUpnpServiceMetrics}.
+ * <p>
+ * It searches for all devices, subscribes to every service of a discovered device and invokes actions on random
+ * services. It records the time until each simulated root device was discovered for the first time, the latency of
+ * the GENA events (from the state change on the device host to the notification of the subscription callback) and
+ * the latency of the actions.
+ * </p>
+ */
+public class ControlPointDriver {
+
+    private final Logger logger = LoggerFactory.getLogger(ControlPointDriver.class);
+
+    protected final LoopbackNetwork network;
+    protected final SimulatorArgs args;
+    protected final InMemoryUpnpServiceMetrics metrics = new InMemoryUpnpServiceMetrics();
+
+    protected final Map<UDN, Long> discovered = new ConcurrentHashMap<>();
+    protected final CountDownLatch discoveryCompleted;
+    protected final LatencyRecorder discoveryLatencies = new LatencyRecorder();
+    protected final LatencyRecorder eventLatencies = new LatencyRecorder();
+    protected final LatencyRecorder actionLatencies = new LatencyRecorder();
+    protected final LongAdder subscriptionsEstablished = new LongAdder();
+    protected final LongAdder subscriptionsFailed = new LongAdder();
+    protected final LongAdder actionsFailed = new LongAdder();
+    protected final LongAdder byebyes = new LongAdder();
+
+    protected UpnpService upnpService;
+    protected ScheduledExecutorService scheduler;
+    protected long startNanos;
+    protected volatile long discoveryCompletedNanos;
+
+    public ControlPointDriver(LoopbackNetwork network, SimulatorArgs args) {
+        this.network = network;
+        this.args = args;
+        this.discoveryCompleted = new CountDownLatch(args.devices);
+    }
+
+    public void start() {
+        upnpService = new UpnpServiceImpl(new LoopbackUpnpServiceConfiguration(network, 0), metrics);
+        upnpService.startup();
+        upnpService.getRegistry().addListener(new SimulatedDeviceListener());
+
+        startNanos = System.nanoTime();
+        upnpService.getControlPoint().search();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "jupnp-simulator-controlpoint"));
+        if (args.actions > 0) {
+            long period = TimeUnit.SECONDS.toMicros(1) / args.actions;
+            scheduler.scheduleAtFixedRate(this::invokeAction, period, period, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (upnpService != null) {
+            upnpService.shutdown();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if all simulated root devices were discovered within the given time.
+     */
+    public boolean awaitDiscovery(long timeout, TimeUnit unit) throws InterruptedException {
+        return discoveryCompleted.await(timeout, unit);
+    }
+
+    public InMemoryUpnpServiceMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getDiscoveredDevices() {
+        return discovered.size();
+    }
+
+    public int getRegisteredDevices() {
+        return upnpService.getRegistry().getRemoteDevices().size();
+    }
+
+    /**
+     * @return The time in milliseconds until all simulated root devices were discovered, or -1.
+     */
+    public long getDiscoveryCompletionMillis() {
+        long completed = discoveryCompletedNanos;
+        return completed == 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(completed - startNanos);
+    }
+
+    public LatencyRecorder getDiscoveryLatencies() {
+        return discoveryLatencies;
+    }
+
+    public LatencyRecorder getEventLatencies() {
+        return eventLatencies;
+    }
+
+    public LatencyRecorder getActionLatencies() {
+        return actionLatencies;
+    }
+
+    public long getSubscriptionsEstablished() {
+        return subscriptionsEstablished.sum();
+    }
+
+    public long getSubscriptionsFailed() {
+        return subscriptionsFailed.sum();
+    }
+
+    public long getActionsFailed() {
+        return actionsFailed.sum();
+    }
+
+    public long getByebyes() {
+        return byebyes.sum();
+    }
+
+    protected void invokeAction() {
+        try {
+            List<RemoteService> services = new ArrayList<>();
+            for (RemoteDevice device : upnpService.getRegistry().getRemoteDevices()) {
+                if (DeviceHost.DEVICE_TYPE.equals(device.getType())) {
+                    for (RemoteService service : device.findServices()) {
+                        services.add(service);
+                    }
+                }
+            }
+            if (services.isEmpty()) {
+                return;
+            }
+            RemoteService service = services.get(ThreadLocalRandom.current().nextInt(services.size()));
+            ActionInvocation<RemoteService> invocation = new ActionInvocation<>(service.getAction("SetTarget"));
+            invocation.setInput("NewTargetValue", ThreadLocalRandom.current().nextBoolean());
+
+            long start = System.nanoTime();
+            upnpService.getControlPoint().execute(new ActionCallback(invocation) {
+                @Override
+                public void success(ActionInvocation invocation) {
+                    actionLatencies.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                }
+
+                @Override
+                public void failure(ActionInvocation invocation, UpnpResponse operation, String defaultMsg) {
+                    actionsFailed.increment();
+                }
+            });
+        } catch (Exception e) {
+            logger.warn("Couldn't invoke an action on a simulated service", e);
+        }
+    }
+
+    protected class SimulatedDeviceListener extends DefaultRegistryListener {
+
+        @Override
+        public void remoteDeviceAdded(Registry registry, RemoteDevice device) {
+            if (!DeviceHost.DEVICE_TYPE.equals(device.getType())) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (discovered.putIfAbsent(device.getIdentity().getUdn(), now) == null) {
+                discoveryLatencies.record(TimeUnit.NANOSECONDS.toMicros(now - startNanos));
+                if (discovered.size() == args.devices) {
+                    discoveryCompletedNanos = now;
+                    logger.info("Discovered all {} devices", args.devices);
+                }
+                discoveryCompleted.countDown();
+            }
+            for (RemoteService service : device.findServices()) {
+                upnpService.getControlPoint().execute(new SimulatedServiceSubscription(service));
+            }
+        }
+
+        @Override
+        public void remoteDeviceRemoved(Registry registry, RemoteDevice device) {
+            if (DeviceHost.DEVICE_TYPE.equals(device.getType())) {
+                byebyes.increment();
+            }
+        }
+    }
+
+    protected class SimulatedServiceSubscription extends SubscriptionCallback {
+
+        protected SimulatedServiceSubscription(RemoteService service) {
+            super(service);
+        }
+
+        @Override
+        protected void established(GENASubscription subscription) {
+            subscriptionsEstablished.increment();
+        }
+
+        @Override
+        protected void failed(GENASubscription subscription, UpnpResponse responseStatus, Exception exception,
+                String defaultMsg) {
+            subscriptionsFailed.increment();
+        }
+
+        @Override
+        protected void ended(GENASubscription subscription, CancelReason reason, UpnpResponse responseStatus) {
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        protected void eventReceived(GENASubscription subscription) {
+            // The initial event has the state at the time of the subscription
+            if (subscription.getCurrentSequence().getValue() == 0) {
+                return;
+            }
+            StateVariableValue timestamp = (StateVariableValue) subscription.getCurrentValues()
+                    .get(SimulatedService.TIMESTAMP);
+            if (timestamp != null && timestamp.getValue() != null) {
+                long latency = SimulatedService.currentTimeMicros() - Long.parseLong(timestamp.toString());
+                eventLatencies.record(Math.max(0, latency));
+            }
+        }
+
+        @Override
+        protected void eventsMissed(GENASubscription subscription, int numberOfMissedEvents) {
+        }
+    }
+}
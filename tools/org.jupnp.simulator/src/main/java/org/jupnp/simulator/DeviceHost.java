@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jupnp.UpnpService;
+import org.jupnp.UpnpServiceImpl;
+import org.jupnp.binding.annotations.AnnotationLocalServiceBinder;
+import org.jupnp.model.DefaultServiceManager;
+import org.jupnp.model.ValidationException;
+import org.jupnp.model.meta.DeviceDetails;
+import org.jupnp.model.meta.DeviceIdentity;
+import org.jupnp.model.meta.LocalDevice;
+import org.jupnp.model.meta.LocalService;
+import org.jupnp.model.types.UDADeviceType;
+import org.jupnp.model.types.UDAServiceId;
+import org.jupnp.model.types.UDAServiceType;
+import org.jupnp.model.types.UDN;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link UpnpService} serving a part of the simulated devices.
+ * <p>
+ * The host serves the root devices with <code>index % hosts == host</code>. While running, it changes the state of
+ * random services, which sends GENA events to the subscribers, and removes a random device (byebye) to add it again
+ * (alive) a moment later.
+ * </p>
+ */
+public class DeviceHost {
+
+    public static final UDADeviceType DEVICE_TYPE = new UDADeviceType("SimulatedDevice", 1);
+    public static final UDADeviceType EMBEDDED_DEVICE_TYPE = new UDADeviceType("SimulatedEmbeddedDevice", 1);
+
+    // "jUPnPSim" in ASCII
+    private static final long UDN_PREFIX = 0x6a55506e5053696dL;
+
+    private final Logger logger = LoggerFactory.getLogger(DeviceHost.class);
+
+    protected final LoopbackNetwork network;
+    protected final int host;
+    protected final SimulatorArgs args;
+    protected final List<LocalDevice> devices = new ArrayList<>();
+
+    protected final LongAdder eventsGenerated = new LongAdder();
+    protected final LongAdder byebyes = new LongAdder();
+
+    protected UpnpService upnpService;
+    protected ScheduledExecutorService scheduler;
+    protected LocalDevice absentDevice;
+
+    public DeviceHost(LoopbackNetwork network, int host, SimulatorArgs args) {
+        this.network = network;
+        this.host = host;
+        this.args = args;
+    }
+
+    public static UDN getUDN(int device, int embedded) {
+        return new UDN(new UUID(UDN_PREFIX + embedded, device));
+    }
+
+    public static LocalDevice createDevice(int index, SimulatorArgs args) throws ValidationException {
+        LocalDevice[] embeddedDevices = new LocalDevice[args.embedded];
+        for (int i = 0; i < embeddedDevices.length; i++) {
+            embeddedDevices[i] = new LocalDevice(new DeviceIdentity(getUDN(index, i + 1), args.maxAge),
+                    EMBEDDED_DEVICE_TYPE, new DeviceDetails("Simulated Device " + index + "." + (i + 1)),
+                    createServices(args.services), null);
+        }
+        return new LocalDevice(new DeviceIdentity(getUDN(index, 0), args.maxAge), DEVICE_TYPE,
+                new DeviceDetails("Simulated Device " + index), createServices(args.services), embeddedDevices);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static LocalService<SimulatedService>[] createServices(int count) {
+        AnnotationLocalServiceBinder binder = new AnnotationLocalServiceBinder();
+        LocalService<SimulatedService>[] services = new LocalService[count];
+        for (int i = 0; i < count; i++) {
+            LocalService<SimulatedService> service = binder.read(SimulatedService.class,
+                    new UDAServiceId(SimulatedService.ID + (i + 1)), new UDAServiceType(SimulatedService.TYPE, 1),
+                    true, new Class[0]);
+            service.setManager(new DefaultServiceManager<>(service, SimulatedService.class));
+            services[i] = service;
+        }
+        return services;
+    }
+
+    public void start() throws ValidationException {
+        for (int index = host; index < args.devices; index += network.getHosts()) {
+            devices.add(createDevice(index, args));
+        }
+
+        upnpService = new UpnpServiceImpl(new LoopbackUpnpServiceConfiguration(network, network.getHostNode(host)));
+        upnpService.startup();
+        for (LocalDevice device : devices) {
+            upnpService.getRegistry().addDevice(device);
+        }
+        logger.info("Device host {} started with {} devices", host, devices.size());
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "jupnp-simulator-host-" + host));
+        if (args.events > 0) {
+            long period = TimeUnit.SECONDS.toMicros(network.getHosts()) / args.events;
+            scheduler.scheduleAtFixedRate(this::changeState, period, period, TimeUnit.MICROSECONDS);
+        }
+        if (args.churn > 0) {
+            // Every cycle is a byebye followed by an alive
+            long period = TimeUnit.SECONDS.toMicros(1) / (2L * args.churn);
+            scheduler.scheduleAtFixedRate(this::churn, period, period, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (upnpService != null) {
+            upnpService.shutdown();
+        }
+    }
+
+    public long getEventsGenerated() {
+        return eventsGenerated.sum();
+    }
+
+    public long getByebyes() {
+        return byebyes.sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void changeState() {
+        try {
+            LocalDevice device = devices.get(ThreadLocalRandom.current().nextInt(devices.size()));
+            if (device == absentDevice) {
+                return;
+            }
+            LocalService<SimulatedService>[] services = device.findServices();
+            LocalService<SimulatedService> service = services[ThreadLocalRandom.current().nextInt(services.length)];
+            service.getManager().execute(manager -> manager.getImplementation().toggle());
+            eventsGenerated.increment();
+        } catch (Exception e) {
+            logger.warn("Couldn't change the state of a simulated service", e);
+        }
+    }
+
+    protected void churn() {
+        try {
+            if (absentDevice != null) {
+                upnpService.getRegistry().addDevice(absentDevice);
+                absentDevice = null;
+            } else {
+                absentDevice = devices.get(ThreadLocalRandom.current().nextInt(devices.size()));
+                upnpService.getRegistry().removeDevice(absentDevice);
+                byebyes.increment();
+            }
+        } catch (Exception e) {
+            logger.warn("Couldn't add or remove a simulated device", e);
+        }
+    }
+}
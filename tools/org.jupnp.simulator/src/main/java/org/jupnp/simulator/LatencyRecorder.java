@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Records every latency of a simulation run in microseconds, for exact percentiles.
+ */
+public class LatencyRecorder {
+
+    private long[] values = new long[1024];
+    private int count;
+
+    public synchronized void record(long micros) {
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = micros;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * @param percentile A value between 0 and 1.
+     * @return The latency in microseconds, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        return getPercentile(getSortedValues(), percentile);
+    }
+
+    protected static long getPercentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(sorted.length * percentile) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    protected synchronized long[] getSortedValues() {
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    @Override
+    public String toString() {
+        long[] sorted = getSortedValues();
+        if (sorted.length == 0) {
+            return "none";
+        }
+        return sorted.length + " (p50 " + format(getPercentile(sorted, 0.5)) + ", p90 "
+                + format(getPercentile(sorted, 0.9)) + ", p99 " + format(getPercentile(sorted, 0.99)) + ", max "
+                + format(sorted[sorted.length - 1]) + ")";
+    }
+
+    protected static String format(long micros) {
+        return String.format(Locale.ROOT, "%.1f ms", micros / 1000.0);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+import java.net.DatagramPacket;
+import java.util.List;
+
+import org.jupnp.transport.impl.DatagramIOConfigurationImpl;
+import org.jupnp.transport.impl.DatagramIOImpl;
+
+/**
+ * Sends multicast datagrams as unicast datagrams to the peers of a node on the {@link LoopbackNetwork}.
+ * <p>
+ * The unicast socket of the node also receives the "multicast" datagrams of its peers, no
+ * {@link org.jupnp.transport.spi.MulticastReceiver} is needed.
+ * </p>
+ */
+public class LoopbackDatagramIO extends DatagramIOImpl {
+
+    protected final List<Integer> peerPorts;
+
+    public LoopbackDatagramIO(DatagramIOConfigurationImpl configuration, List<Integer> peerPorts) {
+        super(configuration);
+        this.peerPorts = peerPorts;
+    }
+
+    @Override
+    public void send(DatagramPacket datagram) {
+        if (!datagram.getAddress().isMulticastAddress()) {
+            super.send(datagram);
+            return;
+        }
+        for (int port : peerPorts) {
+            super.send(new DatagramPacket(datagram.getData(), datagram.getOffset(), datagram.getLength(),
+                    LoopbackNetwork.getAddress(), port));
+        }
+    }
+}
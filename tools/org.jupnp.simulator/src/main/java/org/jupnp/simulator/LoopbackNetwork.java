@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The simulated network, all nodes are bound to the loopback address of this host.
+ * <p>
+ * Every node is a {@link org.jupnp.UpnpService} with its own datagram socket on port <code>basePort + node</code>.
+ * The nodes <code>0</code> to <code>controlPoints - 1</code> are control points, the following nodes are device
+ * hosts. Instead of multicast groups, an outgoing multicast datagram is sent as unicast to the ports of the peers
+ * which would receive it: a control point reaches every other node, a device host only reaches the control points,
+ * like real devices which don't run a control point of their own. As the ports only depend on the node index, the
+ * nodes can be spread over several JVMs on the same host.
+ * </p>
+ */
+public class LoopbackNetwork {
+
+    public static final int DEFAULT_BASE_PORT = 41900;
+
+    protected final int basePort;
+    protected final int controlPoints;
+    protected final int hosts;
+
+    public LoopbackNetwork(int basePort, int controlPoints, int hosts) {
+        if (basePort <= 0 || basePort + controlPoints + hosts > 65535) {
+            throw new IllegalArgumentException("Invalid base port: " + basePort);
+        }
+        if (controlPoints < 1 || hosts < 1) {
+            throw new IllegalArgumentException("At least one control point and one device host are required");
+        }
+        this.basePort = basePort;
+        this.controlPoints = controlPoints;
+        this.hosts = hosts;
+    }
+
+    public static InetAddress getAddress() {
+        return InetAddress.getLoopbackAddress();
+    }
+
+    public int getBasePort() {
+        return basePort;
+    }
+
+    public int getControlPoints() {
+        return controlPoints;
+    }
+
+    public int getHosts() {
+        return hosts;
+    }
+
+    public int getNodes() {
+        return controlPoints + hosts;
+    }
+
+    public boolean isControlPoint(int node) {
+        return node < controlPoints;
+    }
+
+    /**
+     * @param host The index of a device host, from <code>0</code> to <code>hosts - 1</code>.
+     * @return The node index of the device host.
+     */
+    public int getHostNode(int host) {
+        return controlPoints + host;
+    }
+
+    public int getPort(int node) {
+        checkNode(node);
+        return basePort + node;
+    }
+
+    /**
+     * @return The ports of the nodes which receive a multicast datagram sent by the given node.
+     */
+    public List<Integer> getMulticastPeerPorts(int node) {
+        checkNode(node);
+        int last = isControlPoint(node) ? getNodes() : controlPoints;
+        List<Integer> ports = new ArrayList<>(last);
+        for (int peer = 0; peer < last; peer++) {
+            if (peer != node) {
+                ports.add(getPort(peer));
+            }
+        }
+        return Collections.unmodifiableList(ports);
+    }
+
+    protected void checkNode(int node) {
+        if (node < 0 || node >= getNodes()) {
+            throw new IllegalArgumentException("Unknown node: " + node);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "(" + getClass().getSimpleName() + ") 127.0.0.1:" + basePort + "-" + (basePort + getNodes() - 1)
+                + ", control points: " + controlPoints + ", device hosts: " + hosts;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+
+import org.jupnp.transport.impl.NetworkAddressFactoryImpl;
+import org.jupnp.transport.spi.InitializationException;
+
+/**
+ * Only uses the IPv4 loopback interface and address, which the default implementation ignores.
+ */
+public class LoopbackNetworkAddressFactory extends NetworkAddressFactoryImpl {
+
+    public LoopbackNetworkAddressFactory(int streamListenPort, int multicastResponsePort)
+            throws InitializationException {
+        super(streamListenPort, multicastResponsePort);
+    }
+
+    @Override
+    protected boolean isUsableNetworkInterface(NetworkInterface iface) throws Exception {
+        return iface.isUp() && iface.isLoopback();
+    }
+
+    @Override
+    protected boolean isUsableAddress(NetworkInterface networkInterface, InetAddress address) {
+        return address instanceof Inet4Address && address.isLoopbackAddress();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+
+import javax.servlet.Servlet;
+
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.jupnp.transport.spi.ServletContainerAdapter;
+
+/**
+ * A Jetty server per node.
+ * <p>
+ * The {@link org.jupnp.transport.impl.jetty.JettyServletContainer} is a singleton which only registers the servlet
+ * of the first router, several nodes in the same JVM need their own server.
+ * </p>
+ */
+public class LoopbackServletContainer implements ServletContainerAdapter {
+
+    protected Server server = new Server();
+
+    @Override
+    public synchronized void setExecutorService(ExecutorService executorService) {
+        // the Jetty server has its own QueuedThreadPool
+    }
+
+    @Override
+    public synchronized int addConnector(String host, int port) throws IOException {
+        ServerConnector connector = new ServerConnector(server);
+        connector.setHost(host);
+        connector.setPort(port);
+        connector.open();
+        server.addConnector(connector);
+        return connector.getLocalPort();
+    }
+
+    @Override
+    public synchronized void registerServlet(String contextPath, Servlet servlet) {
+        if (server.getHandler() != null) {
+            return;
+        }
+        ServletContextHandler servletHandler = new ServletContextHandler(ServletContextHandler.NO_SESSIONS);
+        if (contextPath != null && !contextPath.isEmpty()) {
+            servletHandler.setContextPath(contextPath);
+        }
+        servletHandler.addServlet(new ServletHolder(servlet), "/*");
+        server.setHandler(servletHandler);
+    }
+
+    @Override
+    public synchronized void startIfNotRunning() {
+        if (!server.isStarted() && !server.isStarting()) {
+            try {
+                server.start();
+            } catch (Exception e) {
+                throw new RuntimeException("Couldn't start Jetty server", e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void stopIfRunning() {
+        if (!server.isStopped() && !server.isStopping()) {
+            try {
+                server.stop();
+            } catch (Exception e) {
+                throw new RuntimeException("Couldn't stop Jetty server", e);
+            } finally {
+                server = new Server();
+            }
+        }
+    }
+}
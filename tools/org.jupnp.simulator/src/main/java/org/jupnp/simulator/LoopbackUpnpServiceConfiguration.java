@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+import org.jupnp.DefaultUpnpServiceConfiguration;
+import org.jupnp.transport.impl.DatagramIOConfigurationImpl;
+import org.jupnp.transport.impl.ServletStreamServerConfigurationImpl;
+import org.jupnp.transport.impl.ServletStreamServerImpl;
+import org.jupnp.transport.spi.DatagramIO;
+import org.jupnp.transport.spi.MulticastReceiver;
+import org.jupnp.transport.spi.NetworkAddressFactory;
+import org.jupnp.transport.spi.StreamServer;
+
+/**
+ * Configures a node of the {@link LoopbackNetwork}.
+ * <p>
+ * The datagram socket is bound to the port of the node, the HTTP server to an ephemeral port. There is no multicast
+ * receiver, see {@link LoopbackDatagramIO}.
+ * </p>
+ */
+public class LoopbackUpnpServiceConfiguration extends DefaultUpnpServiceConfiguration {
+
+    protected final LoopbackNetwork network;
+    protected final int node;
+
+    public LoopbackUpnpServiceConfiguration(LoopbackNetwork network, int node) {
+        super(0, network.getPort(node));
+        this.network = network;
+        this.node = node;
+    }
+
+    public LoopbackNetwork getNetwork() {
+        return network;
+    }
+
+    public int getNode() {
+        return node;
+    }
+
+    @Override
+    protected NetworkAddressFactory createNetworkAddressFactory(int streamListenPort, int multicastResponsePort) {
+        return new LoopbackNetworkAddressFactory(streamListenPort, multicastResponsePort);
+    }
+
+    @Override
+    public MulticastReceiver createMulticastReceiver(NetworkAddressFactory networkAddressFactory) {
+        return null;
+    }
+
+    @Override
+    public DatagramIO createDatagramIO(NetworkAddressFactory networkAddressFactory) {
+        return new LoopbackDatagramIO(new DatagramIOConfigurationImpl(), network.getMulticastPeerPorts(node));
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public StreamServer createStreamServer(NetworkAddressFactory networkAddressFactory) {
+        return new ServletStreamServerImpl(new ServletStreamServerConfigurationImpl(new LoopbackServletContainer(),
+                networkAddressFactory.getStreamListenPort()));
+    }
+}
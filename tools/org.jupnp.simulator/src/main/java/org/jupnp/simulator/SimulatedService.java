@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+import java.time.Instant;
+
+import org.jupnp.binding.annotations.UpnpAction;
+import org.jupnp.binding.annotations.UpnpInputArgument;
+import org.jupnp.binding.annotations.UpnpOutputArgument;
+import org.jupnp.binding.annotations.UpnpService;
+import org.jupnp.binding.annotations.UpnpServiceId;
+import org.jupnp.binding.annotations.UpnpServiceType;
+import org.jupnp.binding.annotations.UpnpStateVariable;
+import org.jupnp.internal.compat.java.beans.PropertyChangeSupport;
+
+/**
+ * The service of the simulated devices, a switch with an evented timestamp of its last change.
+ * <p>
+ * The timestamp is the time in microseconds since the epoch when the change was made, the control point computes
+ * the event latency from it. The wall clock is used as it is shared by all JVMs on the host.
+ * </p>
+ */
+@UpnpService(serviceId = @UpnpServiceId(SimulatedService.ID), serviceType = @UpnpServiceType(value = SimulatedService.TYPE, version = 1))
+public class SimulatedService {
+
+    public static final String ID = "SimulatedSwitch";
+    public static final String TYPE = "SimulatedSwitch";
+    public static final String TIMESTAMP = "Timestamp";
+
+    private final PropertyChangeSupport propertyChangeSupport;
+
+    @UpnpStateVariable(defaultValue = "0", sendEvents = false)
+    private boolean target = false;
+
+    @UpnpStateVariable(defaultValue = "0")
+    private boolean status = false;
+
+    @UpnpStateVariable(name = TIMESTAMP, defaultValue = "0")
+    private String timestamp = "0";
+
+    public SimulatedService() {
+        this.propertyChangeSupport = new PropertyChangeSupport(this);
+    }
+
+    public PropertyChangeSupport getPropertyChangeSupport() {
+        return propertyChangeSupport;
+    }
+
+    @UpnpAction
+    public void setTarget(@UpnpInputArgument(name = "NewTargetValue") boolean newTargetValue) {
+        target = newTargetValue;
+        toggle(newTargetValue);
+    }
+
+    @UpnpAction(out = @UpnpOutputArgument(name = "RetTargetValue"))
+    public boolean getTarget() {
+        return target;
+    }
+
+    @UpnpAction(out = @UpnpOutputArgument(name = "ResultStatus"))
+    public boolean getStatus() {
+        return status;
+    }
+
+    /**
+     * Changes the status and sends an event with the current time.
+     */
+    public void toggle() {
+        toggle(!status);
+    }
+
+    protected void toggle(boolean newStatus) {
+        status = newStatus;
+        timestamp = Long.toString(currentTimeMicros());
+        getPropertyChangeSupport().firePropertyChange("Status, " + TIMESTAMP, null, null);
+    }
+
+    public static long currentTimeMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000L + now.getNano() / 1_000L;
+    }
+}
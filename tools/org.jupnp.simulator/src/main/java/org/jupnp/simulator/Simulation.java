@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the nodes of a simulation which belong to this JVM, see {@link SimulatorArgs#role}.
+ */
+public class Simulation {
+
+    protected final SimulatorArgs args;
+
+    public Simulation(SimulatorArgs args) {
+        args.validate();
+        this.args = args;
+    }
+
+    /**
+     * Starts the control point before the device hosts, so the discovery includes their initial advertisements.
+     *
+     * @return The report, taken at the end of the simulation before the nodes are shut down.
+     */
+    public SimulationReport run() throws Exception {
+        LoopbackNetwork network = new LoopbackNetwork(args.basePort, 1, args.hosts);
+        ControlPointDriver controlPoint = null;
+        List<DeviceHost> hosts = new ArrayList<>();
+        try {
+            if (args.runsControlPoint()) {
+                controlPoint = new ControlPointDriver(network, args);
+                controlPoint.start();
+            }
+            for (int i = 0; i < args.hosts; i++) {
+                if (args.runsHost(i)) {
+                    DeviceHost host = new DeviceHost(network, i, args);
+                    hosts.add(host);
+                    host.start();
+                }
+            }
+            Thread.sleep(TimeUnit.SECONDS.toMillis(args.duration));
+            return new SimulationReport(args, controlPoint, hosts);
+        } finally {
+            // The control point first, so it doesn't process the byebyes of the hosts
+            if (controlPoint != null) {
+                controlPoint.shutdown();
+            }
+            for (DeviceHost host : hosts) {
+                host.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+import org.jupnp.metrics.DatagramType;
+import org.jupnp.metrics.InMemoryUpnpServiceMetrics;
+
+/**
+ * A snapshot of the nodes of a simulation running in this JVM, taken before they are shut down.
+ */
+public class SimulationReport {
+
+    protected final SimulatorArgs args;
+    protected final boolean controlPoint;
+
+    protected int discoveredDevices;
+    protected long discoveryCompletionMillis = -1;
+    protected int registeredDevices;
+    protected String discoveryLatencies;
+    protected long subscriptionsEstablished;
+    protected long subscriptionsFailed;
+    protected int eventsReceived;
+    protected String eventLatencies;
+    protected long eventsMissed;
+    protected int actionsInvoked;
+    protected String actionLatencies;
+    protected long actionsFailed;
+    protected long byebyesReceived;
+    protected long notifyReceived;
+    protected long searchResponsesReceived;
+    protected long datagramParseFailures;
+    protected long streamRequestTimeouts;
+
+    protected long eventsGenerated;
+    protected long byebyesSent;
+
+    protected final long heapUsed;
+    protected final long heapCommitted;
+    protected final int threads;
+    protected final int peakThreads;
+
+    public SimulationReport(SimulatorArgs args, ControlPointDriver controlPoint, List<DeviceHost> hosts) {
+        this.args = args;
+        this.controlPoint = controlPoint != null;
+        if (controlPoint != null) {
+            discoveredDevices = controlPoint.getDiscoveredDevices();
+            discoveryCompletionMillis = controlPoint.getDiscoveryCompletionMillis();
+            registeredDevices = controlPoint.getRegisteredDevices();
+            discoveryLatencies = controlPoint.getDiscoveryLatencies().toString();
+            subscriptionsEstablished = controlPoint.getSubscriptionsEstablished();
+            subscriptionsFailed = controlPoint.getSubscriptionsFailed();
+            eventsReceived = controlPoint.getEventLatencies().getCount();
+            eventLatencies = controlPoint.getEventLatencies().toString();
+            actionsInvoked = controlPoint.getActionLatencies().getCount();
+            actionLatencies = controlPoint.getActionLatencies().toString();
+            actionsFailed = controlPoint.getActionsFailed();
+            byebyesReceived = controlPoint.getByebyes();
+
+            InMemoryUpnpServiceMetrics metrics = controlPoint.getMetrics();
+            eventsMissed = metrics.getEventsMissed();
+            notifyReceived = metrics.getDatagramsReceived(DatagramType.NOTIFY);
+            searchResponsesReceived = metrics.getDatagramsReceived(DatagramType.SEARCH_RESPONSE);
+            datagramParseFailures = metrics.getDatagramParseFailures();
+            streamRequestTimeouts = metrics.getStreamRequestTimeouts();
+        }
+        for (DeviceHost host : hosts) {
+            eventsGenerated += host.getEventsGenerated();
+            byebyesSent += host.getByebyes();
+        }
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        this.heapUsed = heap.getUsed();
+        this.heapCommitted = heap.getCommitted();
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        this.threads = threadMXBean.getThreadCount();
+        this.peakThreads = threadMXBean.getPeakThreadCount();
+    }
+
+    public int getDiscoveredDevices() {
+        return discoveredDevices;
+    }
+
+    /**
+     * @return The time in milliseconds until all simulated root devices were discovered, or -1.
+     */
+    public long getDiscoveryCompletionMillis() {
+        return discoveryCompletionMillis;
+    }
+
+    public int getEventsReceived() {
+        return eventsReceived;
+    }
+
+    public int getActionsInvoked() {
+        return actionsInvoked;
+    }
+
+    public long getEventsGenerated() {
+        return eventsGenerated;
+    }
+
+    public long getByebyesSent() {
+        return byebyesSent;
+    }
+
+    public long getHeapUsed() {
+        return heapUsed;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getPeakThreads() {
+        return peakThreads;
+    }
+
+    public void print(PrintStream out) {
+        out.println("Simulation of " + args.devices + " devices with " + args.services + " services and "
+                + args.embedded + " embedded devices each, on " + args.hosts + " device hosts, for " + args.duration
+                + " s (role " + args.role + ")");
+        if (controlPoint) {
+            out.println("  Discovery:      " + discoveredDevices + "/" + args.devices + " devices, "
+                    + (discoveryCompletionMillis < 0 ? "not completed"
+                            : "completed after " + discoveryCompletionMillis + " ms")
+                    + ", " + registeredDevices + " registered at the end");
+            out.println("  Discovered at:  " + discoveryLatencies);
+            out.println("  Subscriptions:  " + subscriptionsEstablished + " established, " + subscriptionsFailed
+                    + " failed");
+            out.println("  Events:         " + eventLatencies + ", " + eventsMissed + " missed");
+            out.println("  Actions:        " + actionLatencies + ", " + actionsFailed + " failed");
+            out.println("  Byebyes:        " + byebyesReceived + " received");
+            out.println("  Datagrams:      " + notifyReceived + " NOTIFY and " + searchResponsesReceived
+                    + " search responses received, " + datagramParseFailures + " unparseable");
+            out.println("  HTTP timeouts:  " + streamRequestTimeouts);
+        }
+        if (eventsGenerated > 0 || byebyesSent > 0) {
+            out.println("  Device hosts:   " + eventsGenerated + " state changes, " + byebyesSent + " byebyes sent");
+        }
+        out.println("  Heap:           " + (heapUsed >> 20) + " MB used, " + (heapCommitted >> 20) + " MB committed");
+        out.println("  Threads:        " + threads + " live, " + peakThreads + " peak");
+    }
+}
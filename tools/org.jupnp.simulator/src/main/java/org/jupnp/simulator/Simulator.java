@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+/**
+ * The main class of the simulator, see {@link SimulatorArgs#USAGE}.
+ */
+public class Simulator {
+
+    public static final String TOOL_NAME = "jupnp-simulator";
+
+    public static void main(String[] args) throws Exception {
+        SimulatorArgs simulatorArgs;
+        try {
+            simulatorArgs = SimulatorArgs.parse(args);
+            if (simulatorArgs.doHelp) {
+                System.out.println(SimulatorArgs.USAGE);
+                return;
+            }
+            simulatorArgs.validate();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(SimulatorArgs.USAGE);
+            System.exit(2);
+            return;
+        }
+        new Simulation(simulatorArgs).run().print(System.out);
+        // Some transport threads are not daemon threads
+        System.exit(0);
+    }
+}
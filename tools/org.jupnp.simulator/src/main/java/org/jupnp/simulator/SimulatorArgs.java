@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+/**
+ * The settings of a simulation, parsed from <code>--name=value</code> command line options.
+ */
+public class SimulatorArgs {
+
+    public static final String ROLE_ALL = "all";
+    public static final String ROLE_CONTROL_POINT = "controlpoint";
+    public static final String ROLE_HOST = "host";
+
+    public static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: " + Simulator.TOOL_NAME + " [options]",
+            "  --role=all|controlpoint|host  Nodes to run in this JVM (default: all)",
+            "  --host=N          Index of the device host to run with role host (default: 0)",
+            "  --hosts=N         Number of device hosts, each is a UpnpService (default: 4)",
+            "  --devices=N       Number of simulated root devices on all hosts (default: 100)",
+            "  --services=N      Number of services of every device (default: 2)",
+            "  --embedded=N      Number of embedded devices of every root device (default: 0)",
+            "  --basePort=N      Datagram port of the first node (default: " + LoopbackNetwork.DEFAULT_BASE_PORT + ")",
+            "  --duration=N      Duration of the simulation in seconds (default: 60)",
+            "  --maxAge=N        Max age in seconds of the device advertisements (default: 1800)",
+            "  --events=N        Number of GENA events per second on all hosts (default: 50)",
+            "  --actions=N       Number of actions per second of the control point (default: 10)",
+            "  --churn=N         Number of byebye/alive cycles per second and host (default: 1)");
+
+    public boolean doHelp = false;
+    public String role = ROLE_ALL;
+    public int host = 0;
+    public int hosts = 4;
+    public int devices = 100;
+    public int services = 2;
+    public int embedded = 0;
+    public int basePort = LoopbackNetwork.DEFAULT_BASE_PORT;
+    public int duration = 60;
+    public int maxAge = 1800;
+    public int events = 50;
+    public int actions = 10;
+    public int churn = 1;
+
+    /**
+     * @throws IllegalArgumentException If an option is unknown or its value is not valid.
+     */
+    public static SimulatorArgs parse(String... args) {
+        SimulatorArgs result = new SimulatorArgs();
+        for (String arg : args) {
+            if ("--help".equals(arg) || "-h".equals(arg)) {
+                result.doHelp = true;
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Invalid option: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "role":
+                    result.role = value;
+                    break;
+                case "host":
+                    result.host = parseInt(name, value);
+                    break;
+                case "hosts":
+                    result.hosts = parseInt(name, value);
+                    break;
+                case "devices":
+                    result.devices = parseInt(name, value);
+                    break;
+                case "services":
+                    result.services = parseInt(name, value);
+                    break;
+                case "embedded":
+                    result.embedded = parseInt(name, value);
+                    break;
+                case "basePort":
+                    result.basePort = parseInt(name, value);
+                    break;
+                case "duration":
+                    result.duration = parseInt(name, value);
+                    break;
+                case "maxAge":
+                    result.maxAge = parseInt(name, value);
+                    break;
+                case "events":
+                    result.events = parseInt(name, value);
+                    break;
+                case "actions":
+                    result.actions = parseInt(name, value);
+                    break;
+                case "churn":
+                    result.churn = parseInt(name, value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        return result;
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for --" + name + ": " + value);
+        }
+    }
+
+    public boolean runsControlPoint() {
+        return ROLE_ALL.equals(role) || ROLE_CONTROL_POINT.equals(role);
+    }
+
+    public boolean runsHost(int index) {
+        return ROLE_ALL.equals(role) || (ROLE_HOST.equals(role) && host == index);
+    }
+
+    /**
+     * @throws IllegalArgumentException If the settings are not consistent.
+     */
+    public void validate() {
+        if (!ROLE_ALL.equals(role) && !ROLE_CONTROL_POINT.equals(role) && !ROLE_HOST.equals(role)) {
+            throw new IllegalArgumentException("Unknown role: " + role);
+        }
+        if (hosts < 1 || host < 0 || host >= hosts) {
+            throw new IllegalArgumentException("Invalid host " + host + " of " + hosts + " hosts");
+        }
+        if (devices < 1 || services < 1 || embedded < 0) {
+            throw new IllegalArgumentException("At least one device with one service is required");
+        }
+        if (duration < 1 || maxAge < 1 || events < 0 || actions < 0 || churn < 0) {
+            throw new IllegalArgumentException("Durations and rates must not be negative");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2011-2025 4th Line GmbH, Switzerland and others
+ *
+ * The contents of this file are subject to the terms of the
+ * Common Development and Distribution License Version 1 or later
+ * ("CDDL") (collectively, the "License"). You may not use this file
+ * except in compliance with the License. See LICENSE.txt for more
+ * information.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * SPDX-License-Identifier: CDDL-1.0
+ */
+package org.jupnp.simulator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+class SimulationTest {
+
+    @Test
+    void multicastReachesPeers() {
+        LoopbackNetwork network = new LoopbackNetwork(40000, 1, 3);
+        assertEquals(List.of(40001, 40002, 40003), network.getMulticastPeerPorts(0));
+        // Device hosts only reach the control points
+        assertEquals(List.of(40000), network.getMulticastPeerPorts(2));
+        assertEquals(40003, network.getPort(network.getHostNode(2)));
+        assertThrows(IllegalArgumentException.class, () -> network.getPort(4));
+    }
+
+    @Test
+    void parseArgs() {
+        SimulatorArgs args = SimulatorArgs.parse("--role=host", "--host=2", "--hosts=3", "--devices=300");
+        args.validate();
+        assertFalse(args.runsControlPoint());
+        assertFalse(args.runsHost(1));
+        assertTrue(args.runsHost(2));
+        assertEquals(300, args.devices);
+
+        assertThrows(IllegalArgumentException.class, () -> SimulatorArgs.parse("--devices"));
+        assertThrows(IllegalArgumentException.class, () -> SimulatorArgs.parse("--unknown=1"));
+        assertThrows(IllegalArgumentException.class, () -> SimulatorArgs.parse("--hosts=two"));
+        assertThrows(IllegalArgumentException.class, () -> SimulatorArgs.parse("--host=3", "--hosts=3").validate());
+    }
+
+    @Test
+    void smallNetwork() throws Exception {
+        SimulatorArgs args = SimulatorArgs.parse("--hosts=2", "--devices=10", "--embedded=1", "--duration=5",
+                "--events=20", "--actions=5", "--churn=0",
+                "--basePort=" + (43000 + ThreadLocalRandom.current().nextInt(1000)));
+        SimulationReport report = new Simulation(args).run();
+
+        assertEquals(10, report.getDiscoveredDevices());
+        assertTrue(report.getDiscoveryCompletionMillis() >= 0);
+        assertTrue(report.getEventsGenerated() > 0);
+        assertTrue(report.getEventsReceived() > 0);
+        assertTrue(report.getActionsInvoked() > 0);
+        assertTrue(report.getThreads() > 0);
+    }
+}